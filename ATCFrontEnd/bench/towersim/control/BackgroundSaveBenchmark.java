@@ -0,0 +1,81 @@
+package towersim.control;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Measures how long the JavaFX application thread is blocked by a save of a large control tower,
+ * comparing encoding the text save files on that thread against only copying the control tower
+ * with {@link ControlTowerSaver#copy(ControlTower)} and leaving the encoding to a background
+ * thread.
+ * <p>
+ * The save files are written to in-memory writers, so file system time is not included in either
+ * measurement; it would only add to the time blocked by the synchronous save. Each measurement
+ * is repeated several times after a warm-up, and the fastest time is reported.
+ * <p>
+ * Usage: {@code [num_aircraft]}
+ */
+public final class BackgroundSaveBenchmark {
+
+    /** Number of aircraft saved when none is given on the command line */
+    private static final int DEFAULT_NUM_AIRCRAFT = 100_000;
+
+    /** Number of ticks simulated before saving */
+    private static final int WARM_UP_TICKS = 200;
+
+    /** Number of untimed saves and copies made before measuring */
+    private static final int WARM_UP_ROUNDS = 2;
+
+    /** Number of timed saves and copies */
+    private static final int MEASURED_ROUNDS = 5;
+
+    /** Number of nanoseconds in one millisecond */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private BackgroundSaveBenchmark() {}
+
+    public static void main(String[] args) throws IOException {
+        int numAircraft = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_AIRCRAFT;
+        ControlTower tower = BenchmarkFleet.createTower(numAircraft);
+        for (int i = 0; i < WARM_UP_TICKS; i++) {
+            tower.tick();
+        }
+
+        long bestEncode = Long.MAX_VALUE;
+        long bestCopy = Long.MAX_VALUE;
+        for (int round = 0; round < WARM_UP_ROUNDS + MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            String encoded = encode(tower);
+            long encode = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            ControlTower copy = ControlTowerSaver.copy(tower);
+            long copied = System.nanoTime() - start;
+
+            if (!encoded.equals(encode(copy))) {
+                throw new IllegalStateException("Copy should save the same as the tower");
+            }
+            if (round >= WARM_UP_ROUNDS) {
+                bestEncode = Math.min(bestEncode, encode);
+                bestCopy = Math.min(bestCopy, copied);
+            }
+        }
+
+        System.out.printf("%d aircraft, time blocking the application thread:%n", numAircraft);
+        System.out.printf("%-12s %10.1f ms%n", "encode", bestEncode / NANOS_PER_MILLI);
+        System.out.printf("%-12s %10.1f ms%n", "copy", bestCopy / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Returns the text save files of the given tower, joined together.
+     */
+    private static String encode(ControlTower tower) throws IOException {
+        StringWriter tick = new StringWriter();
+        StringWriter aircraft = new StringWriter();
+        StringWriter queues = new StringWriter();
+        StringWriter terminals = new StringWriter();
+        ControlTowerSaver.saveText(tower, tick, aircraft, queues, terminals);
+        return String.join("|", tick.toString(), aircraft.toString(), queues.toString(),
+                terminals.toString());
+    }
+}
@@ -0,0 +1,138 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.NoSpaceException;
+import towersim.util.NoSuitableGateException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Generates synthetic control towers of a given fleet size for use in benchmarks.
+ */
+public final class BenchmarkFleet {
+
+    /** Seed used for all generated fleets, so that runs are repeatable */
+    private static final long SEED = 42;
+
+    private BenchmarkFleet() {}
+
+    /**
+     * Creates a control tower managing the given number of airplanes, with enough airplane
+     * terminals for every airplane to be parked at a gate at the same time.
+     * <p>
+     * Every aircraft starts partway through its AWAY tasks, so that arrivals are spread out.
+     *
+     * @param numAircraft number of aircraft to generate
+     * @return generated control tower
+     */
+    public static ControlTower createTower(int numAircraft) {
+        return createTower(numAircraft, SEED, "BEN");
+    }
+
+    /**
+     * Creates a control tower managing the given number of airplanes generated from the given
+     * seed, with callsigns starting with the given prefix.
+     * <p>
+     * Fleets generated with different prefixes can be combined without callsigns clashing.
+     *
+     * @param numAircraft    number of aircraft to generate
+     * @param seed           seed of the random aircraft generator
+     * @param callsignPrefix prefix of every generated callsign
+     * @return generated control tower
+     * @see #createTower(int)
+     */
+    public static ControlTower createTower(int numAircraft, long seed, String callsignPrefix) {
+        ControlTower tower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+
+        int gateNumber = 1;
+        int numTerminals = numAircraft / Terminal.MAX_NUM_GATES + 1;
+        for (int i = 1; i <= numTerminals; i++) {
+            Terminal terminal = new AirplaneTerminal(i);
+            for (int j = 0; j < Terminal.MAX_NUM_GATES; j++) {
+                try {
+                    terminal.addGate(new Gate(gateNumber++));
+                } catch (NoSpaceException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            tower.addTerminal(terminal);
+        }
+
+        for (Aircraft aircraft : createAircraft(numAircraft, seed, callsignPrefix)) {
+            try {
+                tower.addAircraft(aircraft);
+            } catch (NoSuitableGateException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return tower;
+    }
+
+    /**
+     * Creates the given number of aircraft, each of which is currently on an AWAY task.
+     *
+     * @param numAircraft number of aircraft to generate
+     * @return generated aircraft
+     */
+    public static List<Aircraft> createAircraft(int numAircraft) {
+        return createAircraft(numAircraft, SEED, "BEN");
+    }
+
+    /**
+     * Creates the given number of aircraft from the given seed, each of which is currently on an
+     * AWAY task and has a callsign starting with the given prefix.
+     *
+     * @param numAircraft    number of aircraft to generate
+     * @param seed           seed of the random aircraft generator
+     * @param callsignPrefix prefix of every generated callsign
+     * @return generated aircraft
+     */
+    public static List<Aircraft> createAircraft(int numAircraft, long seed,
+            String callsignPrefix) {
+        Random random = new Random(seed);
+        List<Aircraft> aircraft = new ArrayList<>(numAircraft);
+        for (int i = 0; i < numAircraft; i++) {
+            int numAway = 2 + random.nextInt(8);
+            List<Task> tasks = new ArrayList<>();
+            for (int j = 0; j < numAway; j++) {
+                tasks.add(new Task(TaskType.AWAY));
+            }
+            tasks.add(new Task(TaskType.LAND));
+            tasks.add(new Task(TaskType.WAIT));
+            tasks.add(new Task(TaskType.LOAD, 10 + random.nextInt(91)));
+            tasks.add(new Task(TaskType.TAKEOFF));
+
+            TaskList taskList = new TaskList(tasks);
+            int skip = random.nextInt(numAway);
+            for (int j = 0; j < skip; j++) {
+                taskList.moveToNextTask();
+            }
+
+            String callsign = String.format("%s%07d", callsignPrefix, i);
+            if (random.nextBoolean()) {
+                AircraftCharacteristics model = AircraftCharacteristics.BOEING_787;
+                aircraft.add(new PassengerAircraft(callsign, model, taskList,
+                        model.fuelCapacity * random.nextDouble(), 0));
+            } else {
+                AircraftCharacteristics model = AircraftCharacteristics.BOEING_747_8F;
+                aircraft.add(new FreightAircraft(callsign, model, taskList,
+                        model.fuelCapacity * random.nextDouble(), 0));
+            }
+        }
+        return aircraft;
+    }
+}
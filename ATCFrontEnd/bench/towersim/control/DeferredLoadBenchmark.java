@@ -0,0 +1,103 @@
+package towersim.control;
+
+import towersim.util.MalformedSaveException;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compares loading a large set of text save files with and without deferring the task lists of
+ * the aircraft loaded (see {@link MappedAircraftLoader#setDeferTaskLists(boolean)}), reporting
+ * the time taken to load, the heap retained by the loaded control tower, and the time taken by
+ * the first tick after loading.
+ * <p>
+ * Every aircraft in the generated fleet is partway through its AWAY tasks, as at the start of a
+ * stress scenario. The heap retained is measured as the difference in used heap after garbage
+ * collection before and after loading, so it is only approximate. Each load is repeated several
+ * times after a warm-up, and the fastest times and smallest heap are reported. The benchmark
+ * should be run with a fixed heap large enough to hold the fleet (e.g. {@code -Xms2g -Xmx2g}).
+ * <p>
+ * Usage: {@code [num_aircraft]}
+ */
+public final class DeferredLoadBenchmark {
+
+    /** Number of aircraft in the save files when none is given on the command line */
+    private static final int DEFAULT_NUM_AIRCRAFT = 500_000;
+
+    /** Number of untimed loads made in each mode before measuring */
+    private static final int WARM_UP_ROUNDS = 2;
+
+    /** Number of timed loads made in each mode */
+    private static final int MEASURED_ROUNDS = 5;
+
+    /** Number of nanoseconds in one millisecond */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /** Number of bytes in one mebibyte */
+    private static final double BYTES_PER_MEBIBYTE = 1024.0 * 1024.0;
+
+    private DeferredLoadBenchmark() {}
+
+    public static void main(String[] args) throws IOException, MalformedSaveException {
+        int numAircraft = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_AIRCRAFT;
+        Path directory = Files.createTempDirectory("towersim-bench");
+        Path[] files = {directory.resolve("tick.txt"), directory.resolve("aircraft.txt"),
+            directory.resolve("queues.txt"), directory.resolve("terminals.txt")};
+        try (Writer tick = Files.newBufferedWriter(files[0]);
+                Writer aircraft = Files.newBufferedWriter(files[1]);
+                Writer queues = Files.newBufferedWriter(files[2]);
+                Writer terminals = Files.newBufferedWriter(files[3])) {
+            ControlTowerSaver.saveText(BenchmarkFleet.createTower(numAircraft), tick, aircraft,
+                    queues, terminals);
+        }
+
+        System.out.printf("%d aircraft%n", numAircraft);
+        System.out.printf("%-10s %10s %12s %14s%n", "task lists", "load ms", "heap MiB",
+                "first tick ms");
+        for (boolean defer : new boolean[] {false, true}) {
+            long bestLoad = Long.MAX_VALUE;
+            long bestHeap = Long.MAX_VALUE;
+            long bestTick = Long.MAX_VALUE;
+            ControlTower tower = null;
+            for (int round = 0; round < WARM_UP_ROUNDS + MEASURED_ROUNDS; round++) {
+                // the tower loaded by the last round must not be counted as in use
+                tower = null;
+                long heapBefore = usedHeap();
+                long start = System.nanoTime();
+                tower = ControlTowerInitialiser.createControlTower(files[0],
+                        files[1], files[2], files[3], ForkJoinPool.commonPool(), defer);
+                long load = System.nanoTime() - start;
+                long heap = usedHeap() - heapBefore;
+
+                start = System.nanoTime();
+                tower.tick();
+                long tick = System.nanoTime() - start;
+                if (round >= WARM_UP_ROUNDS) {
+                    bestLoad = Math.min(bestLoad, load);
+                    bestHeap = Math.min(bestHeap, heap);
+                    bestTick = Math.min(bestTick, tick);
+                }
+            }
+            System.out.printf("%-10s %10.1f %12.1f %14.1f%n", defer ? "deferred" : "eager",
+                    bestLoad / NANOS_PER_MILLI, bestHeap / BYTES_PER_MEBIBYTE,
+                    bestTick / NANOS_PER_MILLI);
+        }
+
+        for (Path file : files) {
+            Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Returns the number of bytes of heap in use after collecting garbage.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
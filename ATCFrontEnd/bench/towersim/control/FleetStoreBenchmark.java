@@ -0,0 +1,95 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.ArrayFleetStore;
+import towersim.aircraft.FleetStore;
+
+import java.util.List;
+
+/**
+ * Compares updating a large fleet by calling {@link Aircraft#tick()} on every aircraft against
+ * running the tick kernel of an {@link ArrayFleetStore} holding the same fleet, and the cost of a
+ * whole {@link ControlTower#tick()} in {@link TickMode#PHASED} mode with and without the store.
+ * <p>
+ * For the update alone, the task lists of the generated aircraft are spread over all of their
+ * tasks, so that aircraft away, waiting and loading are mixed throughout the fleet. Task lists
+ * are not moved on, so every round does the same work.
+ * <p>
+ * Usage: {@code [num_aircraft]}
+ */
+public final class FleetStoreBenchmark {
+
+    /** Number of aircraft simulated when none is given on the command line */
+    private static final int DEFAULT_NUM_AIRCRAFT = 1_000_000;
+
+    /** Number of untimed updates or ticks run before measuring each configuration */
+    private static final int WARM_UP_ROUNDS = 20;
+
+    /** Number of timed updates or ticks in each configuration */
+    private static final int MEASURED_ROUNDS = 100;
+
+    private FleetStoreBenchmark() {}
+
+    public static void main(String[] args) {
+        int numAircraft = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_AIRCRAFT;
+        System.out.printf("%d aircraft%n", numAircraft);
+        System.out.printf("%-22s %15s%n", "configuration", "ns/round");
+
+        List<Aircraft> aircraft = BenchmarkFleet.createAircraft(numAircraft);
+        for (int i = 0; i < aircraft.size(); i++) {
+            aircraft.get(i).getTaskList().moveForward(i);
+        }
+        System.out.printf("%-22s %15.0f%n", "update, objects", measureUpdate(aircraft, null));
+        FleetStore fleetStore = new ArrayFleetStore();
+        aircraft.forEach(fleetStore::add);
+        System.out.printf("%-22s %15.0f%n", "update, fleet store",
+                measureUpdate(aircraft, fleetStore));
+        fleetStore.clear();
+        aircraft = null;
+
+        System.out.printf("%-22s %15.0f%n", "tower tick, objects", measureTick(false,
+                numAircraft));
+        System.out.printf("%-22s %15.0f%n", "tower tick, fleet store", measureTick(true,
+                numAircraft));
+    }
+
+    /**
+     * Returns the average number of nanoseconds taken to update the given aircraft once, by
+     * ticking the given fleet store holding them, or each aircraft if the store is null.
+     */
+    private static double measureUpdate(List<Aircraft> aircraft, FleetStore fleetStore) {
+        long start = 0;
+        for (int round = 0; round < WARM_UP_ROUNDS + MEASURED_ROUNDS; round++) {
+            if (round == WARM_UP_ROUNDS) {
+                start = System.nanoTime();
+            }
+            if (fleetStore != null) {
+                fleetStore.tick();
+            } else {
+                for (Aircraft updated : aircraft) {
+                    updated.tick();
+                }
+            }
+        }
+        return (double) (System.nanoTime() - start) / MEASURED_ROUNDS;
+    }
+
+    /**
+     * Returns the average number of nanoseconds taken by one tick of a generated control tower,
+     * holding its aircraft in a fleet store if requested.
+     */
+    private static double measureTick(boolean useFleetStore, int numAircraft) {
+        ControlTower tower = BenchmarkFleet.createTower(numAircraft);
+        if (useFleetStore) {
+            tower.setFleetStore(new ArrayFleetStore());
+        }
+        long start = 0;
+        for (int round = 0; round < WARM_UP_ROUNDS + MEASURED_ROUNDS; round++) {
+            if (round == WARM_UP_ROUNDS) {
+                start = System.nanoTime();
+            }
+            tower.tick();
+        }
+        return (double) (System.nanoTime() - start) / MEASURED_ROUNDS;
+    }
+}
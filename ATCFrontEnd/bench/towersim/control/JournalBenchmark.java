@@ -0,0 +1,125 @@
+package towersim.control;
+
+import towersim.util.MalformedSaveException;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compares the cost of persisting a control tower on every tick by rewriting a snapshot with
+ * {@link ControlTowerSnapshot#save(ControlTower, Path)} against appending to a
+ * {@link ControlTowerJournal}, for fleets of increasing size.
+ * <p>
+ * For each fleet size, two identical towers are ticked side by side, one of them journalled, and
+ * the extra time taken by the journalled tower is reported along with the average number of bytes
+ * appended per tick and the number of compactions. The journal is then recovered and checked
+ * against the tower.
+ * <p>
+ * Usage: {@code [num_aircraft ...]}
+ */
+public final class JournalBenchmark {
+
+    /** Fleet sizes measured when none are given on the command line */
+    private static final int[] DEFAULT_NUM_AIRCRAFT = {1_000, 10_000, 100_000};
+
+    /** Number of ticks simulated before measuring */
+    private static final int WARM_UP_TICKS = 200;
+
+    /** Number of ticks measured */
+    private static final int MEASURED_TICKS = 200;
+
+    /** Number of snapshot rewrites measured */
+    private static final int MEASURED_REWRITES = 5;
+
+    /** Number of nanoseconds in one millisecond */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private JournalBenchmark() {}
+
+    public static void main(String[] args) throws IOException, MalformedSaveException {
+        int[] sizes = DEFAULT_NUM_AIRCRAFT;
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        Path directory = Files.createTempDirectory("towersim-bench");
+        Path snapshot = directory.resolve("snapshot.atcs");
+        Path journalFile = directory.resolve("snapshot.atcs.journal");
+
+        System.out.printf("%9s %12s %14s %14s %14s %12s%n", "aircraft", "snapshot KiB",
+                "rewrite ms", "journal ms", "bytes/tick", "compactions");
+        for (int numAircraft : sizes) {
+            ControlTower plain = BenchmarkFleet.createTower(numAircraft);
+            ControlTower journalled = BenchmarkFleet.createTower(numAircraft);
+            for (int i = 0; i < WARM_UP_TICKS; i++) {
+                plain.tick();
+                journalled.tick();
+            }
+
+            long bestRewrite = Long.MAX_VALUE;
+            for (int i = 0; i < MEASURED_REWRITES; i++) {
+                long start = System.nanoTime();
+                ControlTowerSnapshot.save(plain, snapshot);
+                bestRewrite = Math.min(bestRewrite, System.nanoTime() - start);
+            }
+            long snapshotSize = Files.size(snapshot);
+
+            long plainNanos = 0;
+            long journalledNanos = 0;
+            long appendedBytes = 0;
+            int appendingTicks = 0;
+            int compactions = 0;
+            try (ControlTowerJournal journal =
+                    new ControlTowerJournal(journalled, snapshot, journalFile)) {
+                for (int i = 0; i < MEASURED_TICKS; i++) {
+                    long start = System.nanoTime();
+                    plain.tick();
+                    plainNanos += System.nanoTime() - start;
+
+                    long sizeBefore = journal.getJournalSize();
+                    start = System.nanoTime();
+                    journalled.tick();
+                    journalledNanos += System.nanoTime() - start;
+                    if (journal.getJournalSize() > sizeBefore) {
+                        appendedBytes += journal.getJournalSize() - sizeBefore;
+                        appendingTicks++;
+                    } else {
+                        compactions++;
+                    }
+                }
+            }
+
+            if (!encode(journalled).equals(
+                    encode(ControlTowerJournal.recover(snapshot, journalFile)))) {
+                throw new IllegalStateException("Recovered tower should match journalled tower");
+            }
+
+            System.out.printf("%9d %12.1f %14.3f %14.3f %14.1f %12d%n", numAircraft,
+                    snapshotSize / 1024.0, bestRewrite / NANOS_PER_MILLI,
+                    Math.max(0, journalledNanos - plainNanos) / NANOS_PER_MILLI / MEASURED_TICKS,
+                    appendingTicks == 0 ? 0.0 : (double) appendedBytes / appendingTicks,
+                    compactions);
+        }
+        Files.deleteIfExists(snapshot);
+        Files.deleteIfExists(journalFile);
+        Files.delete(directory);
+    }
+
+    /**
+     * Returns the text save files of the given tower, joined together.
+     */
+    private static String encode(ControlTower tower) throws IOException {
+        StringWriter tick = new StringWriter();
+        StringWriter aircraft = new StringWriter();
+        StringWriter queues = new StringWriter();
+        StringWriter terminals = new StringWriter();
+        ControlTowerSaver.saveText(tower, tick, aircraft, queues, terminals);
+        return String.join("|", tick.toString(), aircraft.toString(), queues.toString(),
+                terminals.toString());
+    }
+}
@@ -0,0 +1,105 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Measures the time taken and the number of bytes allocated by one call to
+ * {@link ControlTower#loadAircraft()}, comparing the map-copying implementation used by earlier
+ * versions of the simulation with the current loading schedule.
+ * <p>
+ * Every aircraft is loading for longer than the benchmark runs, so no aircraft finishes loading
+ * during a measured call. Allocation is read from the current thread's allocation counter, so the
+ * benchmark must be run on a HotSpot JVM.
+ */
+public final class LoadingAllocationBenchmark {
+
+    /** Numbers of loading aircraft to measure */
+    private static final int[] FLEET_SIZES = {10, 1_000, 10_000};
+
+    /**
+     * Number of aircraft updates to make before measuring, and again while measuring; the number
+     * of calls made is this divided by the number of loading aircraft
+     */
+    private static final int UPDATES_PER_RUN = 20_000_000;
+
+    private LoadingAllocationBenchmark() {}
+
+    public static void main(String[] args) {
+        System.out.printf("%-16s %10s %12s %14s%n", "implementation", "aircraft", "ns/call",
+                "bytes/call");
+        for (int size : FLEET_SIZES) {
+            List<Aircraft> aircraft = BenchmarkFleet.createAircraft(size);
+            Map<Aircraft, Integer> loadingAircraft = new HashMap<>();
+            for (Aircraft a : aircraft) {
+                loadingAircraft.put(a, Integer.MAX_VALUE);
+            }
+
+            MapLoader mapLoader = new MapLoader(loadingAircraft);
+            measure("MapLoader", size, mapLoader::loadAircraft);
+
+            ControlTower tower = new ControlTower(0, aircraft, new LandingQueue(),
+                    new TakeoffQueue(), loadingAircraft);
+            measure("LoadingSchedule", size, tower::loadAircraft);
+        }
+    }
+
+    /**
+     * Prints the average time taken and bytes allocated by one call to the given loader.
+     */
+    private static void measure(String name, int size, Runnable loader) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        int calls = UPDATES_PER_RUN / size;
+        for (int i = 0; i < calls; i++) {
+            loader.run();
+        }
+        long startBytes = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            loader.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - startBytes;
+
+        System.out.printf("%-16s %10d %12.1f %14.1f%n", name, size,
+                (double) elapsed / calls, (double) allocated / calls);
+    }
+
+    /**
+     * The loading bookkeeping used by earlier versions of the simulation, kept for comparison.
+     * Finished aircraft are only removed from the map, as no aircraft finishes while measured.
+     */
+    private static class MapLoader {
+
+        /** Mapping of loading aircraft to the number of ticks remaining for loading */
+        private final Map<Aircraft, Integer> loadingAircraft;
+
+        private MapLoader(Map<Aircraft, Integer> loadingAircraft) {
+            this.loadingAircraft = new HashMap<>(loadingAircraft);
+        }
+
+        private void loadAircraft() {
+            Map<Aircraft, Integer> secondaryLoadingAircraft
+                    = new TreeMap<>(Comparator.comparing(Aircraft::getCallsign));
+            secondaryLoadingAircraft.putAll(this.loadingAircraft);
+
+            for (Map.Entry<Aircraft, Integer> entry : secondaryLoadingAircraft.entrySet()) {
+                int loadTicks = entry.getValue() - 1;
+                this.loadingAircraft.put(entry.getKey(), loadTicks);
+                secondaryLoadingAircraft.put(entry.getKey(), loadTicks);
+                if (loadTicks == 0) {
+                    this.loadingAircraft.remove(entry.getKey());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.util.MalformedSaveException;
+
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Compares loading a large aircraft save file with
+ * {@link ControlTowerInitialiser#loadAircraft(java.io.Reader)} against a
+ * {@link MappedAircraftLoader}, reporting the throughput of each in MiB per second.
+ * <p>
+ * Each loader is run several times after a warm-up, and the fastest run is reported. The file is
+ * written once before measuring, so it is likely to be in the page cache for every run. Both
+ * loaders allocate every aircraft and task they load, so the benchmark should be run with a fixed
+ * heap large enough to hold them (e.g. {@code -Xms2g -Xmx2g}); otherwise garbage collection
+ * dominates the times measured.
+ * <p>
+ * Usage: {@code [num_aircraft]}
+ */
+public final class MappedLoadBenchmark {
+
+    /** Number of aircraft in the file when none is given on the command line */
+    private static final int DEFAULT_NUM_AIRCRAFT = 500_000;
+
+    /** Number of untimed loads made by each loader before measuring */
+    private static final int WARM_UP_ROUNDS = 2;
+
+    /** Number of timed loads made by each loader */
+    private static final int MEASURED_ROUNDS = 5;
+
+    /** Number of nanoseconds in one second */
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /** Number of bytes in one mebibyte */
+    private static final double BYTES_PER_MEBIBYTE = 1024.0 * 1024.0;
+
+    private MappedLoadBenchmark() {}
+
+    public static void main(String[] args) throws IOException, MalformedSaveException {
+        int numAircraft = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_AIRCRAFT;
+        Path file = Files.createTempFile("towersim-bench", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            List<Aircraft> aircraft = BenchmarkFleet.createAircraft(numAircraft);
+            writer.write(String.valueOf(aircraft.size()));
+            for (Aircraft current : aircraft) {
+                writer.write(System.lineSeparator());
+                writer.write(current.encode());
+            }
+        }
+        long fileSize = Files.size(file);
+
+        long bestReader = Long.MAX_VALUE;
+        long bestMapped = Long.MAX_VALUE;
+        MappedAircraftLoader loader = new MappedAircraftLoader();
+        for (int round = 0; round < WARM_UP_ROUNDS + MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            int readerCount = ControlTowerInitialiser.loadAircraft(
+                    new FileReader(file.toFile())).size();
+            long reader = System.nanoTime() - start;
+
+            int mappedCount = loader.load(file).size();
+            if (readerCount != numAircraft || mappedCount != numAircraft) {
+                throw new IllegalStateException("Loaders should load every aircraft");
+            }
+            if (round >= WARM_UP_ROUNDS) {
+                bestReader = Math.min(bestReader, reader);
+                bestMapped = Math.min(bestMapped, loader.getElapsedNanos());
+            }
+        }
+        Files.delete(file);
+
+        System.out.printf("%d aircraft, %.1f MiB%n", numAircraft, fileSize / BYTES_PER_MEBIBYTE);
+        System.out.printf("%-8s %10s %12s%n", "loader", "ms", "MiB/second");
+        print("reader", fileSize, bestReader);
+        print("mapped", fileSize, bestMapped);
+    }
+
+    /**
+     * Prints the time taken and throughput achieved by a loader.
+     */
+    private static void print(String name, long fileSize, long nanos) {
+        System.out.printf("%-8s %10.1f %12.1f%n", name, nanos / 1_000_000.0,
+                fileSize / BYTES_PER_MEBIBYTE / (nanos / NANOS_PER_SECOND));
+    }
+}
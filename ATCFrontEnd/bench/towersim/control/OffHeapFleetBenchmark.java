@@ -0,0 +1,148 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.ArrayFleetStore;
+import towersim.aircraft.BufferFleetStore;
+import towersim.aircraft.FleetStore;
+import towersim.util.MalformedSaveException;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Compares holding the per-tick state of a large fleet in the aircraft themselves, in an
+ * {@link ArrayFleetStore} on the heap and in a {@link BufferFleetStore} outside the heap, by the
+ * heap retained by the store, the time taken by a full garbage collection and the time taken to
+ * update the fleet once. The time taken to flush a file-backed {@link BufferFleetStore} holding
+ * the fleet and to open it again is then measured.
+ * <p>
+ * The heap retained by a store is measured as the difference in used heap after garbage
+ * collection before and after filling it, so it is only approximate. The aircraft themselves
+ * remain on the heap as views of the store and are not included. The benchmark should be run
+ * with a fixed heap large enough to hold the fleet (e.g. {@code -Xms2g -Xmx2g}).
+ * <p>
+ * Usage: {@code [num_aircraft]}
+ */
+public final class OffHeapFleetBenchmark {
+
+    /** Number of aircraft simulated when none is given on the command line */
+    private static final int DEFAULT_NUM_AIRCRAFT = 1_000_000;
+
+    /** Number of untimed updates run before measuring each configuration */
+    private static final int WARM_UP_ROUNDS = 20;
+
+    /** Number of timed updates in each configuration */
+    private static final int MEASURED_ROUNDS = 100;
+
+    /** Number of timed full garbage collections in each configuration */
+    private static final int MEASURED_COLLECTIONS = 5;
+
+    /** Number of bytes in one mebibyte */
+    private static final double BYTES_PER_MEBIBYTE = 1024.0 * 1024.0;
+
+    private OffHeapFleetBenchmark() {}
+
+    public static void main(String[] args) throws IOException, MalformedSaveException {
+        int numAircraft = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_AIRCRAFT;
+        System.out.printf("%d aircraft%n", numAircraft);
+        System.out.printf("%-14s %15s %12s %15s%n", "state", "store heap MiB", "gc ms",
+                "ns/update");
+
+        List<Aircraft> aircraft = BenchmarkFleet.createAircraft(numAircraft);
+        for (int i = 0; i < aircraft.size(); i++) {
+            aircraft.get(i).getTaskList().moveForward(i);
+        }
+        measure("objects", aircraft, null);
+        measure("array store", aircraft, ArrayFleetStore::new);
+        measure("buffer store", aircraft, BufferFleetStore::new);
+
+        Path file = Files.createTempFile("towersim", ".atcf");
+        try {
+            try (BufferFleetStore fileStore = BufferFleetStore.create(file)) {
+                aircraft.forEach(fileStore::add);
+                long start = System.nanoTime();
+                fileStore.flush();
+                System.out.printf("flush: %.1f ms, %.1f MiB%n", (System.nanoTime() - start) / 1e6,
+                        Files.size(file) / BYTES_PER_MEBIBYTE);
+                fileStore.clear();
+            }
+            long start = System.nanoTime();
+            try (BufferFleetStore fileStore = BufferFleetStore.open(file)) {
+                System.out.printf("open: %.1f ms, %d aircraft%n",
+                        (System.nanoTime() - start) / 1e6, fileStore.size());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Prints the heap retained by a fleet store holding the given aircraft, the time taken by a
+     * full garbage collection while the store holds them and the time taken to update the
+     * aircraft once, by ticking the store, or each aircraft if no store is to be created.
+     *
+     * @param name       name of the configuration to print
+     * @param aircraft   aircraft to update
+     * @param storeMaker creates the fleet store to hold the aircraft; or null to use no store
+     */
+    private static void measure(String name, List<Aircraft> aircraft,
+            Supplier<FleetStore> storeMaker) {
+        double heap = storeMaker != null ? storeHeap(aircraft, storeMaker) : 0;
+        FleetStore fleetStore = storeMaker != null ? storeMaker.get() : null;
+        if (fleetStore != null) {
+            aircraft.forEach(fleetStore::add);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_COLLECTIONS; i++) {
+            System.gc();
+        }
+        double collection = (System.nanoTime() - start) / 1e6 / MEASURED_COLLECTIONS;
+
+        start = 0;
+        for (int round = 0; round < WARM_UP_ROUNDS + MEASURED_ROUNDS; round++) {
+            if (round == WARM_UP_ROUNDS) {
+                start = System.nanoTime();
+            }
+            if (fleetStore != null) {
+                fleetStore.tick();
+            } else {
+                for (Aircraft updated : aircraft) {
+                    updated.tick();
+                }
+            }
+        }
+        double update = (double) (System.nanoTime() - start) / MEASURED_ROUNDS;
+        System.out.printf("%-14s %15.1f %12.1f %15.0f%n", name, heap / BYTES_PER_MEBIBYTE,
+                collection, update);
+        if (fleetStore != null) {
+            fleetStore.clear();
+        }
+    }
+
+    /**
+     * Returns the number of bytes of heap retained by a fleet store holding the given aircraft.
+     */
+    private static long storeHeap(List<Aircraft> aircraft, Supplier<FleetStore> storeMaker) {
+        long heapBefore = usedHeap();
+        FleetStore fleetStore = storeMaker.get();
+        aircraft.forEach(fleetStore::add);
+        long heap = usedHeap() - heapBefore;
+        fleetStore.clear();
+        Reference.reachabilityFence(fleetStore);
+        return heap;
+    }
+
+    /**
+     * Returns the number of bytes of heap in use after collecting garbage.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
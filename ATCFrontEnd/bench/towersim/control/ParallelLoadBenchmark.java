@@ -0,0 +1,116 @@
+package towersim.control;
+
+import towersim.util.MalformedSaveException;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compares the time taken to create a control tower from a large set of text save files when
+ * every file is read one after another with
+ * {@link ControlTowerInitialiser#createControlTower(java.io.Reader, java.io.Reader,
+ * java.io.Reader, java.io.Reader)}, against loading them in parallel with
+ * {@link ControlTowerInitialiser#createControlTower(Path, Path, Path, Path, ForkJoinPool)} on
+ * pools of increasing parallelism.
+ * <p>
+ * Each load is repeated several times after a warm-up, and the fastest time is reported. Loading
+ * allocates every aircraft and task in the files, so the benchmark should be run with a fixed
+ * heap large enough to hold several fleets (e.g. {@code -Xms2g -Xmx2g}). The speedup achieved is
+ * bounded by the number of processors available, which is printed with the results.
+ * <p>
+ * Usage: {@code [num_aircraft]}
+ */
+public final class ParallelLoadBenchmark {
+
+    /** Number of aircraft in the save files when none is given on the command line */
+    private static final int DEFAULT_NUM_AIRCRAFT = 500_000;
+
+    /** Parallelism of the pools measured */
+    private static final int[] PARALLELISMS = {1, 2, 4, 8};
+
+    /** Number of ticks simulated before saving, so that the queues and gates are in use */
+    private static final int WARM_UP_TICKS = 200;
+
+    /** Number of untimed loads made in each configuration before measuring */
+    private static final int WARM_UP_ROUNDS = 2;
+
+    /** Number of timed loads made in each configuration */
+    private static final int MEASURED_ROUNDS = 5;
+
+    /** Number of nanoseconds in one millisecond */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private ParallelLoadBenchmark() {}
+
+    public static void main(String[] args) throws IOException, MalformedSaveException {
+        int numAircraft = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_AIRCRAFT;
+        Path directory = Files.createTempDirectory("towersim-bench");
+        Path[] files = {directory.resolve("tick.txt"), directory.resolve("aircraft.txt"),
+            directory.resolve("queues.txt"), directory.resolve("terminals.txt")};
+        ControlTower tower = BenchmarkFleet.createTower(numAircraft);
+        for (int i = 0; i < WARM_UP_TICKS; i++) {
+            tower.tick();
+        }
+        try (Writer tick = Files.newBufferedWriter(files[0]);
+                Writer aircraft = Files.newBufferedWriter(files[1]);
+                Writer queues = Files.newBufferedWriter(files[2]);
+                Writer terminals = Files.newBufferedWriter(files[3])) {
+            ControlTowerSaver.saveText(tower, tick, aircraft, queues, terminals);
+        }
+        String expected = tower.toString();
+        tower = null;
+
+        System.out.printf("%d aircraft, %d processors%n", numAircraft,
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-12s %10s%n", "load", "ms");
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < WARM_UP_ROUNDS + MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            ControlTower loaded = ControlTowerInitialiser.createControlTower(
+                    new FileReader(files[0].toFile()), new FileReader(files[1].toFile()),
+                    new FileReader(files[2].toFile()), new FileReader(files[3].toFile()));
+            long elapsed = System.nanoTime() - start;
+            check(expected, loaded);
+            if (round >= WARM_UP_ROUNDS) {
+                best = Math.min(best, elapsed);
+            }
+        }
+        System.out.printf("%-12s %10.1f%n", "sequential", best / NANOS_PER_MILLI);
+
+        for (int parallelism : PARALLELISMS) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            best = Long.MAX_VALUE;
+            for (int round = 0; round < WARM_UP_ROUNDS + MEASURED_ROUNDS; round++) {
+                long start = System.nanoTime();
+                ControlTower loaded = ControlTowerInitialiser.createControlTower(files[0],
+                        files[1], files[2], files[3], pool);
+                long elapsed = System.nanoTime() - start;
+                check(expected, loaded);
+                if (round >= WARM_UP_ROUNDS) {
+                    best = Math.min(best, elapsed);
+                }
+            }
+            pool.shutdown();
+            System.out.printf("%-12s %10.1f%n", "parallel " + parallelism,
+                    best / NANOS_PER_MILLI);
+        }
+
+        for (Path file : files) {
+            Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Checks that the loaded tower is the same as the tower that was saved.
+     */
+    private static void check(String expected, ControlTower loaded) {
+        if (!expected.equals(loaded.toString())) {
+            throw new IllegalStateException("Loaded tower should match the saved tower");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package towersim.control;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures the cost of a single call to {@link ControlTower#tick()} in {@link TickMode#PHASED}
+ * mode when the aircraft update phase runs on fork/join pools of 1, 2, 4 and 8 threads, compared
+ * with updating aircraft serially.
+ * <p>
+ * Only the aircraft update phase runs in parallel, so the speedup of a whole tick is limited by
+ * the serial phases. Results above the number of available processors will not show any
+ * further speedup.
+ * <p>
+ * Usage: {@code [num_aircraft [chunk_size]]}
+ */
+public final class ParallelUpdateBenchmark {
+
+    /** Number of aircraft simulated when none is given on the command line */
+    private static final int DEFAULT_NUM_AIRCRAFT = 200_000;
+
+    /** Pool sizes to measure */
+    private static final int[] PARALLELISMS = {1, 2, 4, 8};
+
+    /** Number of ticks run before measuring each configuration */
+    private static final int WARMUP_TICKS = 20;
+
+    /**
+     * Number of ticks measured for each configuration; every configuration runs the same ticks
+     * from the same starting state, so that the work done is identical
+     */
+    private static final int MEASURED_TICKS = 200;
+
+    private ParallelUpdateBenchmark() {}
+
+    public static void main(String[] args) {
+        int numAircraft = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_AIRCRAFT;
+        int chunkSize = args.length > 1
+                ? Integer.parseInt(args[1]) : ControlTower.DEFAULT_UPDATE_CHUNK_SIZE;
+
+        System.out.printf("%d aircraft, chunk size %d, %d available processors%n", numAircraft,
+                chunkSize, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-10s %15s %10s%n", "threads", "ns/tick", "speedup");
+
+        // run once beforehand so that the JIT has compiled every phase of the tick
+        measure(null, numAircraft, chunkSize);
+
+        double serialNanos = measure(null, numAircraft, chunkSize);
+        System.out.printf("%-10s %15.0f %10.2f%n", "serial", serialNanos, 1.0);
+        for (int parallelism : PARALLELISMS) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                double nanos = measure(pool, numAircraft, chunkSize);
+                System.out.printf("%-10d %15.0f %10.2f%n", parallelism, nanos,
+                        serialNanos / nanos);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Returns the average number of nanoseconds taken by one tick when aircraft are updated on
+     * the given pool, or serially if the pool is null.
+     */
+    private static double measure(ForkJoinPool pool, int numAircraft, int chunkSize) {
+        ControlTower tower = BenchmarkFleet.createTower(numAircraft);
+        tower.setUpdatePool(pool, chunkSize);
+
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            tower.tick();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_TICKS; i++) {
+            tower.tick();
+        }
+        return (double) (System.nanoTime() - start) / MEASURED_TICKS;
+    }
+}
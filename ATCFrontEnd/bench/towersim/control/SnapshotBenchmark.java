@@ -0,0 +1,110 @@
+package towersim.control;
+
+import towersim.util.MalformedSaveException;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compares saving and loading a large control tower with the four text save files against a
+ * single binary snapshot written by {@link ControlTowerSnapshot}.
+ * <p>
+ * The tower is ticked for a while before saving, so that its queues and loading aircraft are not
+ * empty. Each save and load is repeated several times after a warm-up, and the fastest time is
+ * reported.
+ * <p>
+ * Usage: {@code [num_aircraft]}
+ */
+public final class SnapshotBenchmark {
+
+    /** Number of aircraft saved when none is given on the command line */
+    private static final int DEFAULT_NUM_AIRCRAFT = 100_000;
+
+    /** Number of ticks simulated before saving */
+    private static final int WARM_UP_TICKS = 200;
+
+    /** Number of untimed saves and loads made before measuring */
+    private static final int WARM_UP_ROUNDS = 2;
+
+    /** Number of timed saves and loads */
+    private static final int MEASURED_ROUNDS = 5;
+
+    /** Number of nanoseconds in one millisecond */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private SnapshotBenchmark() {}
+
+    public static void main(String[] args) throws IOException, MalformedSaveException {
+        int numAircraft = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_AIRCRAFT;
+        ControlTower tower = BenchmarkFleet.createTower(numAircraft);
+        for (int i = 0; i < WARM_UP_TICKS; i++) {
+            tower.tick();
+        }
+
+        Path directory = Files.createTempDirectory("towersim-bench");
+        Path tick = directory.resolve("tick.txt");
+        Path aircraft = directory.resolve("aircraft.txt");
+        Path queues = directory.resolve("queues.txt");
+        Path terminals = directory.resolve("terminalsWithGates.txt");
+        Path snapshot = directory.resolve("snapshot.atcs");
+
+        long bestTextSave = Long.MAX_VALUE;
+        long bestTextLoad = Long.MAX_VALUE;
+        long bestSnapshotSave = Long.MAX_VALUE;
+        long bestSnapshotLoad = Long.MAX_VALUE;
+        String textState = null;
+        String snapshotState = null;
+        for (int round = 0; round < WARM_UP_ROUNDS + MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            ControlTowerSaver.saveText(tower, new FileWriter(tick.toFile()),
+                    new FileWriter(aircraft.toFile()), new FileWriter(queues.toFile()),
+                    new FileWriter(terminals.toFile()));
+            long textSave = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            ControlTower fromText = ControlTowerInitialiser.createControlTower(
+                    new FileReader(tick.toFile()), new FileReader(aircraft.toFile()),
+                    new FileReader(queues.toFile()), new FileReader(terminals.toFile()));
+            long textLoad = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            ControlTowerSnapshot.save(tower, snapshot);
+            long snapshotSave = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            ControlTower fromSnapshot = ControlTowerSnapshot.load(snapshot);
+            long snapshotLoad = System.nanoTime() - start;
+
+            if (round >= WARM_UP_ROUNDS) {
+                bestTextSave = Math.min(bestTextSave, textSave);
+                bestTextLoad = Math.min(bestTextLoad, textLoad);
+                bestSnapshotSave = Math.min(bestSnapshotSave, snapshotSave);
+                bestSnapshotLoad = Math.min(bestSnapshotLoad, snapshotLoad);
+            }
+            textState = fromText.getLandingQueue().encode() + fromText.getTakeoffQueue().encode()
+                    + fromText.getLoadingAircraft().size();
+            snapshotState = fromSnapshot.getLandingQueue().encode()
+                    + fromSnapshot.getTakeoffQueue().encode()
+                    + fromSnapshot.getLoadingAircraft().size();
+        }
+
+        long textBytes = Files.size(tick) + Files.size(aircraft) + Files.size(queues)
+                + Files.size(terminals);
+        System.out.printf("%-10s %d aircraft%n", "format", numAircraft);
+        System.out.printf("%-10s %12s %12s %12s%n", "", "bytes", "save ms", "load ms");
+        System.out.printf("%-10s %12d %12.1f %12.1f%n", "text", textBytes,
+                bestTextSave / NANOS_PER_MILLI, bestTextLoad / NANOS_PER_MILLI);
+        System.out.printf("%-10s %12d %12.1f %12.1f%n", "snapshot", Files.size(snapshot),
+                bestSnapshotSave / NANOS_PER_MILLI, bestSnapshotLoad / NANOS_PER_MILLI);
+        System.out.println(textState.equals(snapshotState)
+                ? "Loaded queues match" : "LOADED QUEUES DIFFER");
+
+        for (Path path : new Path[] {tick, aircraft, queues, terminals, snapshot}) {
+            Files.delete(path);
+        }
+        Files.delete(directory);
+    }
+}
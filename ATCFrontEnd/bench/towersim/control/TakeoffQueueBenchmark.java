@@ -0,0 +1,118 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Compares the list-backed takeoff queue used by earlier versions of the simulation with the
+ * current {@link TakeoffQueue}, at several queue sizes.
+ * <p>
+ * Each operation measured is one call to {@code addAircraft}, {@code containsAircraft},
+ * {@code peekAircraft} or {@code removeAircraft}, mirroring how the control tower uses the queue.
+ */
+public final class TakeoffQueueBenchmark {
+
+    /** Queue sizes to measure */
+    private static final int[] QUEUE_SIZES = {10, 1_000, 100_000};
+
+    /** Number of membership checks made against a full queue in each round */
+    private static final int LOOKUPS_PER_ROUND = 1_000;
+
+    /** Minimum time spent measuring each configuration, in nanoseconds */
+    private static final long MEASURE_NANOS = 1_000_000_000L;
+
+    private TakeoffQueueBenchmark() {}
+
+    public static void main(String[] args) {
+        System.out.printf("%-16s %10s %12s%n", "queue", "aircraft", "ns/op");
+        for (int size : QUEUE_SIZES) {
+            List<Aircraft> aircraft = BenchmarkFleet.createAircraft(size);
+            System.out.printf("%-16s %10d %12.1f%n", "ListTakeoffQueue", size,
+                    measure(ListTakeoffQueue::new, aircraft));
+            System.out.printf("%-16s %10d %12.1f%n", "TakeoffQueue", size,
+                    measure(TakeoffQueue::new, aircraft));
+        }
+    }
+
+    /**
+     * Returns the average number of nanoseconds taken by one queue operation.
+     */
+    private static double measure(Supplier<AircraftQueue> queueFactory, List<Aircraft> aircraft) {
+        Random random = new Random(1);
+        long operations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        int found = 0;
+        do {
+            AircraftQueue queue = queueFactory.get();
+            for (Aircraft a : aircraft) {
+                queue.addAircraft(a);
+            }
+            for (int i = 0; i < LOOKUPS_PER_ROUND; i++) {
+                if (queue.containsAircraft(aircraft.get(random.nextInt(aircraft.size())))) {
+                    found++;
+                }
+            }
+            while (queue.peekAircraft() != null) {
+                queue.removeAircraft();
+            }
+            operations += 3L * aircraft.size() + LOOKUPS_PER_ROUND + 1;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MEASURE_NANOS);
+
+        if (found == 0) {
+            throw new IllegalStateException("Lookups should have found queued aircraft");
+        }
+        return (double) elapsed / operations;
+    }
+
+    /**
+     * The list-backed takeoff queue used by earlier versions of the simulation, kept for
+     * comparison.
+     */
+    private static class ListTakeoffQueue extends AircraftQueue {
+
+        /** Aircraft in the queue, in order */
+        private final List<Aircraft> takeoffQueue = new ArrayList<>();
+
+        @Override
+        public void addAircraft(Aircraft aircraft) {
+            this.takeoffQueue.add(aircraft);
+        }
+
+        @Override
+        public Aircraft peekAircraft() {
+            if (this.takeoffQueue.size() == 0) {
+                return null;
+            }
+            return this.takeoffQueue.get(0);
+        }
+
+        @Override
+        public Aircraft removeAircraft() {
+            if (this.takeoffQueue.size() == 0) {
+                return null;
+            }
+            return this.takeoffQueue.remove(0);
+        }
+
+        @Override
+        public List<Aircraft> getAircraftInOrder() {
+            return new ArrayList<>(this.takeoffQueue);
+        }
+
+        @Override
+        public boolean containsAircraft(Aircraft aircraft) {
+            for (Aircraft ac : this.takeoffQueue) {
+                if (ac.equals(aircraft)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package towersim.control;
+
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.MalformedSaveException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the heap retained by the task lists of a large fleet when every task is a separate
+ * {@link Task} object held in a list, as each aircraft's tasks were stored before tasks were
+ * shared, against the compact task lists read by
+ * {@link ControlTowerInitialiser#readTaskList(String)}.
+ * <p>
+ * Each aircraft's tasks are AWAY, LAND, WAIT, a LOAD with a random percentage and TAKEOFF. The
+ * heap retained is measured as the difference in used heap after garbage collection before and
+ * after building the task lists, so it is only approximate. The benchmark should be run with a
+ * fixed heap large enough to hold the task lists (e.g. {@code -Xms2g -Xmx2g}).
+ * <p>
+ * Usage: {@code [num_aircraft]}
+ */
+public final class TaskListMemoryBenchmark {
+
+    /** Number of task lists built when none is given on the command line */
+    private static final int DEFAULT_NUM_AIRCRAFT = 2_000_000;
+
+    /** Seed used to choose the load percentages, so that runs are repeatable */
+    private static final long SEED = 42;
+
+    /** Number of bytes in one mebibyte */
+    private static final double BYTES_PER_MEBIBYTE = 1024.0 * 1024.0;
+
+    private TaskListMemoryBenchmark() {}
+
+    public static void main(String[] args) throws MalformedSaveException {
+        int numAircraft = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_AIRCRAFT;
+        String[] encoded = new String[numAircraft];
+        Random random = new Random(SEED);
+        for (int i = 0; i < numAircraft; i++) {
+            encoded[i] = "AWAY,LAND,WAIT,LOAD@" + (10 + random.nextInt(91)) + ",TAKEOFF";
+        }
+
+        System.out.printf("%d aircraft%n", numAircraft);
+        System.out.printf("%-12s %12s %16s%n", "task lists", "heap MiB", "bytes/aircraft");
+
+        long heapBefore = usedHeap();
+        List<List<Task>> separate = new ArrayList<>(numAircraft);
+        for (String tasks : encoded) {
+            separate.add(readSeparateTasks(tasks));
+        }
+        long heap = usedHeap() - heapBefore;
+        report("separate", heap, separate.size());
+        separate = null;
+
+        heapBefore = usedHeap();
+        List<TaskList> compact = new ArrayList<>(numAircraft);
+        for (String tasks : encoded) {
+            compact.add(ControlTowerInitialiser.readTaskList(tasks));
+        }
+        heap = usedHeap() - heapBefore;
+        report("compact", heap, compact.size());
+    }
+
+    /**
+     * Reads the given encoded tasks into a list holding a new task object for every task.
+     */
+    private static List<Task> readSeparateTasks(String encoded) {
+        List<Task> tasks = new ArrayList<>();
+        for (String task : encoded.split(",")) {
+            String[] parts = task.split("@");
+            TaskType type = TaskType.valueOf(parts[0]);
+            tasks.add(parts.length > 1
+                    ? new Task(type, Integer.parseInt(parts[1])) : new Task(type));
+        }
+        return tasks;
+    }
+
+    /**
+     * Prints the heap retained by the given number of task lists.
+     */
+    private static void report(String name, long heap, int numAircraft) {
+        System.out.printf("%-12s %12.1f %16.1f%n", name, heap / BYTES_PER_MEBIBYTE,
+                (double) heap / numAircraft);
+    }
+
+    /**
+     * Returns the number of bytes of heap in use after collecting garbage.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,72 @@
+package towersim.control;
+
+/**
+ * Measures the cost of a single call to {@link ControlTower#tick()} for increasing fleet sizes,
+ * in each {@link TickMode}.
+ * <p>
+ * With {@link TickMode#PHASED}, the cost per aircraft should stay roughly constant as the fleet
+ * grows. With {@link TickMode#LEGACY}, the cost per aircraft grows linearly with fleet size.
+ * With {@link TickMode#EVENT_DRIVEN}, the cost per aircraft falls as the fleet grows, as most
+ * aircraft end up waiting in a queue for the single runway.
+ * <p>
+ * Usage: {@code [fleet_size ...]}
+ */
+public final class TickScalingBenchmark {
+
+    /** Fleet sizes measured when none are given on the command line */
+    private static final int[] DEFAULT_FLEET_SIZES = {100, 1_000, 10_000};
+
+    /** Largest fleet size measured in {@link TickMode#LEGACY}, as its cost is quadratic */
+    private static final int MAX_LEGACY_FLEET_SIZE = 1_000;
+
+    /** Minimum time spent measuring each configuration, in nanoseconds */
+    private static final long MEASURE_NANOS = 1_000_000_000L;
+
+    private TickScalingBenchmark() {}
+
+    public static void main(String[] args) {
+        int[] fleetSizes = DEFAULT_FLEET_SIZES;
+        if (args.length > 0) {
+            fleetSizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                fleetSizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        System.out.printf("%-12s %10s %15s %18s%n", "mode", "aircraft", "ns/tick",
+                "ns/tick/aircraft");
+        for (TickMode mode : TickMode.values()) {
+            for (int fleetSize : fleetSizes) {
+                if (mode == TickMode.LEGACY && fleetSize > MAX_LEGACY_FLEET_SIZE) {
+                    continue;
+                }
+                double nanosPerTick = measure(mode, fleetSize);
+                System.out.printf("%-12s %10d %15.0f %18.1f%n", mode, fleetSize, nanosPerTick,
+                        nanosPerTick / fleetSize);
+            }
+        }
+    }
+
+    /**
+     * Returns the average number of nanoseconds taken by one tick for the given configuration.
+     */
+    private static double measure(TickMode mode, int fleetSize) {
+        ControlTower tower = BenchmarkFleet.createTower(fleetSize);
+        tower.setTickMode(mode);
+
+        // warm up
+        for (int i = 0; i < 20; i++) {
+            tower.tick();
+        }
+
+        long ticks = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            tower.tick();
+            ticks++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MEASURE_NANOS);
+        return (double) elapsed / ticks;
+    }
+}
@@ -0,0 +1,64 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+
+import java.util.List;
+
+/**
+ * Measures how long it takes to simulate a week of traffic for a large fleet, in
+ * {@link TickMode#EVENT_DRIVEN} and {@link TickMode#PHASED} modes, and checks that both modes
+ * finish in the same state.
+ * <p>
+ * A week is taken to be 10,080 ticks, i.e. one tick per minute.
+ * <p>
+ * Usage: {@code [num_aircraft [num_ticks]]}
+ */
+public final class WeekSimulationBenchmark {
+
+    /** Number of aircraft simulated when none is given on the command line */
+    private static final int DEFAULT_NUM_AIRCRAFT = 50_000;
+
+    /** Number of ticks in a week, at one tick per minute */
+    private static final int TICKS_PER_WEEK = 7 * 24 * 60;
+
+    /** Number of nanoseconds in one second */
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private WeekSimulationBenchmark() {}
+
+    public static void main(String[] args) {
+        int numAircraft = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_AIRCRAFT;
+        int numTicks = args.length > 1 ? Integer.parseInt(args[1]) : TICKS_PER_WEEK;
+
+        ControlTower eventDriven = run(TickMode.EVENT_DRIVEN, numAircraft, numTicks);
+        ControlTower phased = run(TickMode.PHASED, numAircraft, numTicks);
+
+        boolean same = eventDriven.toString().equals(phased.toString())
+                && eventDriven.getLandingQueue().encode().equals(phased.getLandingQueue().encode())
+                && eventDriven.getTakeoffQueue().encode().equals(phased.getTakeoffQueue().encode());
+        List<Aircraft> eventDrivenAircraft = eventDriven.getAircraft();
+        List<Aircraft> phasedAircraft = phased.getAircraft();
+        for (int i = 0; same && i < numAircraft; i++) {
+            same = eventDrivenAircraft.get(i).encode().equals(phasedAircraft.get(i).encode());
+        }
+        System.out.println(same ? "Final states match" : "FINAL STATES DIFFER");
+    }
+
+    /**
+     * Simulates the given number of ticks in the given mode, prints the time taken and returns
+     * the control tower in its final state.
+     */
+    private static ControlTower run(TickMode mode, int numAircraft, int numTicks) {
+        ControlTower tower = BenchmarkFleet.createTower(numAircraft);
+        tower.setTickMode(mode);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < numTicks; i++) {
+            tower.tick();
+        }
+        double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+        System.out.printf("%-12s %d aircraft, %d ticks: %.2f seconds%n", mode, numAircraft,
+                numTicks, seconds);
+        return tower;
+    }
+}
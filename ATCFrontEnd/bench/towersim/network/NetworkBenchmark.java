@@ -0,0 +1,90 @@
+package towersim.network;
+
+import towersim.control.BenchmarkFleet;
+import towersim.control.ControlTower;
+import towersim.control.TickMode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the throughput of an {@link AirportNetwork} of control towers in
+ * {@link TickMode#EVENT_DRIVEN} mode when its shards run on 1, 2, 4 and 8 worker threads.
+ * <p>
+ * Throughput is reported in aircraft-ticks per second, the number of aircraft in the network
+ * multiplied by the number of ticks run, divided by the time taken. Every configuration runs the
+ * same ticks from the same starting state. Results above the number of available processors will
+ * not show any further speedup.
+ * <p>
+ * Usage: {@code [num_towers [aircraft_per_tower [num_ticks]]]}
+ */
+public final class NetworkBenchmark {
+
+    /** Number of control towers in the network when none is given on the command line */
+    private static final int DEFAULT_NUM_TOWERS = 40;
+
+    /** Number of aircraft generated for each tower when none is given on the command line */
+    private static final int DEFAULT_AIRCRAFT_PER_TOWER = 5_000;
+
+    /** Number of ticks measured when none is given on the command line */
+    private static final int DEFAULT_NUM_TICKS = 2_000;
+
+    /** Numbers of worker threads to measure */
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+
+    private NetworkBenchmark() {}
+
+    public static void main(String[] args) throws InterruptedException {
+        int numTowers = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_TOWERS;
+        int aircraftPerTower = args.length > 1
+                ? Integer.parseInt(args[1]) : DEFAULT_AIRCRAFT_PER_TOWER;
+        int numTicks = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_NUM_TICKS;
+
+        System.out.printf("%d towers, %d aircraft per tower, %d ticks, %d available processors%n",
+                numTowers, aircraftPerTower, numTicks,
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-10s %12s %22s %10s %12s%n", "threads", "seconds",
+                "aircraft-ticks/s", "speedup", "handoffs");
+
+        // run once beforehand so that the JIT has compiled the simulation
+        measure(createNetwork(numTowers, aircraftPerTower), numTicks, 1);
+
+        double baseline = 0;
+        for (int numThreads : THREAD_COUNTS) {
+            AirportNetwork network = createNetwork(numTowers, aircraftPerTower);
+            double seconds = measure(network, numTicks, numThreads);
+            double throughput = (double) numTowers * aircraftPerTower * numTicks / seconds;
+            if (baseline == 0) {
+                baseline = throughput;
+            }
+            System.out.printf("%-10d %12.3f %22.0f %10.2f %12d%n", numThreads, seconds,
+                    throughput, throughput / baseline, network.getHandoffCount());
+        }
+    }
+
+    /**
+     * Creates a network of the given number of towers, routing each aircraft to a tower chosen by
+     * its callsign and the tower it arrived at.
+     */
+    private static AirportNetwork createNetwork(int numTowers, int aircraftPerTower) {
+        List<ControlTower> towers = new ArrayList<>(numTowers);
+        for (int i = 0; i < numTowers; i++) {
+            ControlTower tower = BenchmarkFleet.createTower(aircraftPerTower, i,
+                    String.format("N%02d", i));
+            tower.setTickMode(TickMode.EVENT_DRIVEN);
+            towers.add(tower);
+        }
+        return new AirportNetwork(towers, (source, aircraft) ->
+                Math.floorMod(aircraft.getCallsign().hashCode() * 31 + source, numTowers));
+    }
+
+    /**
+     * Returns the number of seconds taken to run the given network for the given number of ticks.
+     */
+    private static double measure(AirportNetwork network, int numTicks, int numThreads)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        network.run(numTicks, numThreads);
+        return (System.nanoTime() - start) / 1e9;
+    }
+}
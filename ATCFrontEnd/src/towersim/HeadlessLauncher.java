@@ -0,0 +1,146 @@
+package towersim;
+
+import towersim.control.ControlTower;
+import towersim.control.ControlTowerInitialiser;
+import towersim.control.ControlTowerSnapshot;
+import towersim.control.TickMode;
+import towersim.util.MalformedSaveException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Entry point for running the Control Tower Simulation without a GUI.
+ * <p>
+ * The control tower is loaded from the same four save files or snapshot file used by
+ * {@link Launcher}, and is then ticked as fast as possible for a given number of ticks. This
+ * allows long periods of simulated time to be replayed without being bound to the clock of the
+ * GUI.
+ */
+public class HeadlessLauncher {
+
+    /** Number of nanoseconds in one second */
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /** Number of bytes in one mebibyte */
+    private static final double BYTES_PER_MEBIBYTE = 1024.0 * 1024.0;
+
+    /**
+     * Utility class; not to be instantiated.
+     */
+    private HeadlessLauncher() {}
+
+    /**
+     * Runs the simulation headlessly.
+     * <p>
+     * Usage: {@code tick_file aircraft_file queues_file terminalsWithGates_file num_ticks
+     * [tick_mode]} or {@code snapshot_file num_ticks [tick_mode]}
+     * <p>
+     * Where the first four arguments, or the snapshot file, are the save files described in
+     * {@link Launcher#main},
+     * {@code num_ticks} is the number of ticks to run the simulation for, and the optional
+     * {@code tick_mode} is the name of the {@link TickMode} to run the control tower in
+     * ({@code PHASED} by default).
+     * <p>
+     * The four save files are loaded in parallel on the common fork/join pool, deferring the
+     * creation of each aircraft's tasks until they are first needed (see
+     * {@link ControlTowerInitialiser#createControlTower(Path, Path, Path, Path, ForkJoinPool,
+     * boolean)}), and the time taken and throughput achieved are printed to standard error. Once
+     * all ticks have been run, the number of ticks per second achieved and the final state of the
+     * control tower are printed to standard output.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 6 || args.length == 4) {
+            System.err.println("Usage: tick_file aircraft_file queues_file"
+                    + " terminalsWithGates_file num_ticks [tick_mode]");
+            System.err.println("   or: snapshot_file num_ticks [tick_mode]\n");
+            System.err.println("Example: saves/tick_basic.txt saves/aircraft_basic.txt"
+                    + " saves/queues_basic.txt saves/terminalsWithGates_basic.txt 100000");
+            System.exit(1);
+        }
+
+        // a snapshot replaces the four text save files
+        boolean snapshot = args.length < 5;
+        int numTicksArg = snapshot ? 1 : 4;
+
+        long numTicks;
+        try {
+            numTicks = Long.parseLong(args[numTicksArg]);
+        } catch (NumberFormatException e) {
+            numTicks = -1;
+        }
+        if (numTicks < 0) {
+            System.err.println("Number of ticks must be a non-negative integer: "
+                    + args[numTicksArg]);
+            System.exit(1);
+            return;
+        }
+
+        TickMode tickMode = TickMode.PHASED;
+        if (args.length == numTicksArg + 2) {
+            try {
+                tickMode = TickMode.valueOf(args[numTicksArg + 1]);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Unknown tick mode: " + args[numTicksArg + 1]);
+                System.exit(1);
+                return;
+            }
+        }
+
+        ControlTower tower;
+        try {
+            if (snapshot) {
+                tower = ControlTowerSnapshot.load(Path.of(args[0]));
+            } else {
+                long loadStart = System.nanoTime();
+                tower = ControlTowerInitialiser.createControlTower(Path.of(args[0]),
+                        Path.of(args[1]), Path.of(args[2]), Path.of(args[3]),
+                        ForkJoinPool.commonPool(), true);
+                double loadSeconds = (System.nanoTime() - loadStart) / NANOS_PER_SECOND;
+                long bytes = 0;
+                for (int i = 0; i < 4; i++) {
+                    bytes += Files.size(Path.of(args[i]));
+                }
+                System.err.printf("Loaded %d aircraft (%d bytes) in %.3f seconds"
+                        + " (%.1f MiB/second)%n", tower.getAircraft().size(), bytes,
+                        loadSeconds, bytes / BYTES_PER_MEBIBYTE / loadSeconds);
+            }
+        } catch (MalformedSaveException | IOException e) {
+            System.err.println("Error loading from file. Stack trace below:");
+            e.printStackTrace();
+            System.exit(1);
+            return;
+        }
+        tower.setTickMode(tickMode);
+
+        long startTime = System.nanoTime();
+        for (long i = 0; i < numTicks; i++) {
+            tower.tick();
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        double elapsedSeconds = elapsedNanos / NANOS_PER_SECOND;
+        System.out.printf("Ran %d ticks in %.3f seconds (%.1f ticks/second)%n",
+                numTicks, elapsedSeconds,
+                elapsedNanos == 0 ? 0.0 : numTicks / elapsedSeconds);
+        printState(tower);
+    }
+
+    /**
+     * Prints the state of the given control tower to standard output.
+     *
+     * @param tower control tower whose state to print
+     */
+    private static void printState(ControlTower tower) {
+        System.out.println(tower);
+        System.out.println("Ticks elapsed: " + tower.getTicksElapsed());
+        System.out.println(tower.getTakeoffQueue());
+        System.out.println(tower.getLandingQueue());
+        System.out.println("Loading aircraft: " + tower.getLoadingAircraft().size());
+        tower.getAircraft().forEach(aircraft -> System.out.println("  " + aircraft.encode()));
+    }
+}
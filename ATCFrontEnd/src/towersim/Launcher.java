@@ -25,7 +25,8 @@ public class Launcher extends Application {
     /**
      * Launches the GUI.
      * <p>
-     * Usage: {@code tick_file aircraft_file queues_file terminalsWithGates_file}
+     * Usage: {@code tick_file aircraft_file queues_file terminalsWithGates_file} or
+     * {@code snapshot_file}
      * <p>
      * Where
      * <ul>
@@ -36,15 +37,18 @@ public class Launcher extends Application {
      * and list of loading aircraft</li>
      * <li>{@code terminalsWithGates_file} is the path to the file containing the terminals and
      * their gates</li>
+     * <li>{@code snapshot_file} is the path to a binary snapshot file, as described in
+     * {@link towersim.control.ControlTowerSnapshot}, used instead of the four text files</li>
      * </ul>
      *
      * @param args command line arguments
      * @given
      */
     public static void main(String[] args) {
-        if (args.length != 4) {
+        if (args.length != 4 && args.length != 1) {
             System.err.println("Usage: tick_file aircraft_file queues_file"
-                    + " terminalsWithGates_file\n");
+                    + " terminalsWithGates_file");
+            System.err.println("   or: snapshot_file\n");
             System.err.println("You did not specify the names of the four required save files"
                     + " from which to load.");
             System.err.println("To do this, you need to add four command line arguments to your "
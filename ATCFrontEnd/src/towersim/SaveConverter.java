@@ -0,0 +1,105 @@
+package towersim;
+
+import towersim.control.ControlTower;
+import towersim.control.ControlTowerInitialiser;
+import towersim.control.ControlTowerSaver;
+import towersim.control.ControlTowerSnapshot;
+import towersim.util.MalformedSaveException;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Converts saves of the Control Tower Simulation between the four text save files and a single
+ * binary snapshot file.
+ * <p>
+ * Fuel amounts are stored to two decimal places in the text save files, so converting a snapshot
+ * to text files rounds them.
+ */
+public class SaveConverter {
+
+    /**
+     * Utility class; not to be instantiated.
+     */
+    private SaveConverter() {}
+
+    /**
+     * Converts a save.
+     * <p>
+     * Usage: {@code to-snapshot tick_file aircraft_file queues_file terminalsWithGates_file
+     * snapshot_file} or {@code to-text snapshot_file tick_file aircraft_file queues_file
+     * terminalsWithGates_file}
+     * <p>
+     * Where the text files and snapshot file are the save files described in
+     * {@link Launcher#main}. The first save given is read, and the second is written.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length != 6 || !(args[0].equals("to-snapshot") || args[0].equals("to-text"))) {
+            System.err.println("Usage: to-snapshot tick_file aircraft_file queues_file"
+                    + " terminalsWithGates_file snapshot_file");
+            System.err.println("   or: to-text snapshot_file tick_file aircraft_file queues_file"
+                    + " terminalsWithGates_file");
+            System.exit(1);
+        }
+
+        try {
+            if (args[0].equals("to-snapshot")) {
+                toSnapshot(args[1], args[2], args[3], args[4], Path.of(args[5]));
+            } else {
+                toText(Path.of(args[1]), args[2], args[3], args[4], args[5]);
+            }
+        } catch (MalformedSaveException | IOException e) {
+            System.err.println("Error converting save. Stack trace below:");
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads a control tower from the given text save files and writes it to the given snapshot.
+     *
+     * @param tickFile               path of the tick file to read
+     * @param aircraftFile           path of the aircraft file to read
+     * @param queuesFile             path of the queues file to read
+     * @param terminalsWithGatesFile path of the terminals with gates file to read
+     * @param snapshotFile           path of the snapshot file to write
+     * @throws MalformedSaveException if any of the text files are invalid
+     * @throws IOException            if an IOException occurs when reading or writing
+     */
+    public static void toSnapshot(String tickFile, String aircraftFile, String queuesFile,
+            String terminalsWithGatesFile, Path snapshotFile)
+            throws MalformedSaveException, IOException {
+        ControlTower tower = ControlTowerInitialiser.createControlTower(
+                new FileReader(tickFile),
+                new FileReader(aircraftFile),
+                new FileReader(queuesFile),
+                new FileReader(terminalsWithGatesFile));
+        ControlTowerSnapshot.save(tower, snapshotFile);
+    }
+
+    /**
+     * Reads a control tower from the given snapshot and writes it to the given text save files.
+     *
+     * @param snapshotFile           path of the snapshot file to read
+     * @param tickFile               path of the tick file to write
+     * @param aircraftFile           path of the aircraft file to write
+     * @param queuesFile             path of the queues file to write
+     * @param terminalsWithGatesFile path of the terminals with gates file to write
+     * @throws MalformedSaveException if the snapshot is invalid
+     * @throws IOException            if an IOException occurs when reading or writing
+     */
+    public static void toText(Path snapshotFile, String tickFile, String aircraftFile,
+            String queuesFile, String terminalsWithGatesFile)
+            throws MalformedSaveException, IOException {
+        ControlTower tower = ControlTowerSnapshot.load(snapshotFile);
+        ControlTowerSaver.saveText(tower,
+                new FileWriter(tickFile),
+                new FileWriter(aircraftFile),
+                new FileWriter(queuesFile),
+                new FileWriter(terminalsWithGatesFile));
+    }
+}
@@ -7,6 +7,8 @@ import towersim.util.Encodable;
 import towersim.util.OccupancyLevel;
 import towersim.util.Tickable;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.StringJoiner;
 
@@ -49,6 +51,22 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     private boolean emergency;
 
+    /**
+     * Listeners to notify when the fuel amount or emergency state changes; null if there are none
+     */
+    private List<AircraftListener> listeners;
+
+    /**
+     * Fleet store holding the fuel amount, cargo and emergency state of this aircraft; null if
+     * they are held by this object
+     */
+    private FleetStore store;
+
+    /**
+     * Position of this aircraft in its fleet store
+     */
+    private int slot;
+
     /**
      * Creates a new aircraft with the given callsign, task list, fuel capacity and amount.
      * <p>
@@ -97,7 +115,20 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * @ass1
      */
     public double getFuelAmount() {
-        return fuelAmount;
+        return this.store != null ? this.store.getFuelAmount(this.slot) : this.fuelAmount;
+    }
+
+    /**
+     * Sets the current amount of fuel onboard, in litres.
+     *
+     * @param fuelAmount new fuel amount
+     */
+    void setFuelAmount(double fuelAmount) {
+        if (this.store != null) {
+            this.store.setFuelAmount(this.slot, fuelAmount);
+        } else {
+            this.fuelAmount = fuelAmount;
+        }
     }
 
     /**
@@ -120,7 +151,7 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * @ass1
      */
     public int getFuelPercentRemaining() {
-        return (int) Math.round(100 * fuelAmount / this.characteristics.fuelCapacity);
+        return (int) Math.round(100 * getFuelAmount() / this.characteristics.fuelCapacity);
     }
 
     /**
@@ -137,7 +168,7 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * @ass1
      */
     public double getTotalWeight() {
-        return this.getCharacteristics().emptyWeight + this.fuelAmount * LITRE_OF_FUEL_WEIGHT;
+        return this.getCharacteristics().emptyWeight + getFuelAmount() * LITRE_OF_FUEL_WEIGHT;
     }
 
     /**
@@ -181,21 +212,70 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
     @Override
     public void tick() {
         TaskType currentTaskType = this.tasks.getCurrentTask().getType();
+        double previousFuelAmount = getFuelAmount();
+        double fuelAmount = previousFuelAmount;
 
         // fuel amount drops by 10% of capacity each AWAY tick
         if (currentTaskType == TaskType.AWAY) {
-            this.fuelAmount -= this.characteristics.fuelCapacity / 10;
-            // fuel amount can't go below 0
-            if (this.fuelAmount < 0) {
-                this.fuelAmount = 0;
-            }
+            fuelAmount = burnFuel(fuelAmount);
         }
 
         // loading replenishes fuelCapacity/loadingTime of maximum fuel capacity
         if (currentTaskType == TaskType.LOAD) {
-            this.fuelAmount = Math.min(this.characteristics.fuelCapacity,
-                    this.fuelAmount + this.characteristics.fuelCapacity / getLoadingTime());
+            fuelAmount = Math.min(this.characteristics.fuelCapacity,
+                    fuelAmount + this.characteristics.fuelCapacity / getLoadingTime());
+        }
+
+        if (fuelAmount != previousFuelAmount) {
+            setFuelAmount(fuelAmount);
+            notifyListeners();
+        }
+    }
+
+    /**
+     * Returns the amount of fuel left after burning the fuel used during a single {@code AWAY}
+     * tick, being 10% of the total capacity, without letting it drop below zero.
+     *
+     * @param fuelAmount amount of fuel onboard before the tick
+     * @return amount of fuel onboard after the tick
+     */
+    private double burnFuel(double fuelAmount) {
+        fuelAmount -= this.characteristics.fuelCapacity / 10;
+        // fuel amount can't go below 0
+        if (fuelAmount < 0) {
+            fuelAmount = 0;
+        }
+        return fuelAmount;
+    }
+
+    /**
+     * Advances this aircraft through the given number of ticks spent on its current
+     * {@code AWAY} or {@code WAIT} tasks.
+     * <p>
+     * This has the same effect as calling {@link #tick()} and then moving the task list on to the
+     * next task, the given number of times, provided that every task passed through is of the
+     * same type as the current task (see {@link TaskList#countTasksOfCurrentType()}). Listeners
+     * are notified at most once.
+     *
+     * @param ticks number of ticks to advance through, must not be negative
+     */
+    public void skipIdleTicks(long ticks) {
+        if (ticks <= 0) {
+            return;
+        }
+        if (this.tasks.getCurrentTask().getType() == TaskType.AWAY) {
+            double previousFuelAmount = getFuelAmount();
+            double fuelAmount = previousFuelAmount;
+            // once the aircraft has run out of fuel, further AWAY ticks have no effect
+            for (long i = 0; i < ticks && fuelAmount > 0; i++) {
+                fuelAmount = burnFuel(fuelAmount);
+            }
+            if (fuelAmount != previousFuelAmount) {
+                setFuelAmount(fuelAmount);
+                notifyListeners();
+            }
         }
+        this.tasks.moveForward(ticks);
     }
 
     /**
@@ -222,7 +302,7 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
                 this.callsign,
                 this.characteristics,
                 this.tasks.getCurrentTask().getType(),
-                this.emergency ? " (EMERGENCY)" : "");
+                hasEmergency() ? " (EMERGENCY)" : "");
     }
 
     /**
@@ -232,7 +312,10 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     @Override
     public void declareEmergency() {
-        this.emergency = true;
+        if (!hasEmergency()) {
+            setEmergency(true);
+            notifyListeners();
+        }
     }
 
     /**
@@ -242,7 +325,10 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     @Override
     public void clearEmergency() {
-        this.emergency = false;
+        if (hasEmergency()) {
+            setEmergency(false);
+            notifyListeners();
+        }
     }
 
     /**
@@ -252,7 +338,103 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     @Override
     public boolean hasEmergency() {
-        return emergency;
+        return this.store != null ? this.store.hasEmergency(this.slot) : this.emergency;
+    }
+
+    /**
+     * Sets whether the aircraft is in a state of emergency, without notifying listeners.
+     *
+     * @param emergency new emergency state
+     */
+    void setEmergency(boolean emergency) {
+        if (this.store != null) {
+            this.store.setEmergency(this.slot, emergency);
+        } else {
+            this.emergency = emergency;
+        }
+    }
+
+    /**
+     * Returns the fleet store holding the state of this aircraft, or null if this aircraft holds
+     * its own state.
+     *
+     * @return fleet store of this aircraft; or null if there is none
+     */
+    FleetStore getStore() {
+        return this.store;
+    }
+
+    /**
+     * Returns the position of this aircraft in its fleet store.
+     *
+     * @return slot of this aircraft in its fleet store
+     */
+    int getSlot() {
+        return this.slot;
+    }
+
+    /**
+     * Makes this aircraft a view of the given slot of the given fleet store, which must already
+     * hold the state of this aircraft, or makes it hold its own state again if the store is null.
+     * <p>
+     * When the store is null, the state must be set again by the caller once this returns.
+     *
+     * @param store fleet store to hold the state of this aircraft; or null for none
+     * @param slot  position of this aircraft in the store
+     */
+    void setStore(FleetStore store, int slot) {
+        this.store = store;
+        this.slot = slot;
+    }
+
+    /**
+     * Returns true if any listener has been registered on this aircraft.
+     *
+     * @return whether this aircraft has listeners
+     */
+    boolean hasListeners() {
+        return this.listeners != null;
+    }
+
+    /**
+     * Registers the given listener to be notified whenever the fuel amount or emergency state of
+     * this aircraft changes.
+     *
+     * @param listener listener to register
+     */
+    public void addListener(AircraftListener listener) {
+        if (this.listeners == null) {
+            this.listeners = new ArrayList<>(1);
+        }
+        this.listeners.add(listener);
+        if (this.store != null) {
+            this.store.listenerAdded(this.slot);
+        }
+    }
+
+    /**
+     * Stops the given listener from being notified of changes to this aircraft.
+     * <p>
+     * If the listener was not registered, no action is taken.
+     *
+     * @param listener listener to remove
+     */
+    public void removeListener(AircraftListener listener) {
+        if (this.listeners != null) {
+            this.listeners.remove(listener);
+        }
+    }
+
+    /**
+     * Notifies all registered listeners that the state of this aircraft has changed.
+     */
+    void notifyListeners() {
+        if (this.listeners == null) {
+            return;
+        }
+        for (int i = 0; i < this.listeners.size(); i++) {
+            this.listeners.get(i).aircraftChanged(this);
+        }
     }
 
     /**
@@ -313,4 +495,4 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
 
         return joiner.toString();
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package towersim.aircraft;
+
+/**
+ * Denotes a class that wishes to be notified when the state of an aircraft changes.
+ */
+public interface AircraftListener {
+
+    /**
+     * Method called after the fuel amount or emergency state of the given aircraft has changed.
+     *
+     * @param aircraft aircraft whose state changed
+     */
+    void aircraftChanged(Aircraft aircraft);
+}
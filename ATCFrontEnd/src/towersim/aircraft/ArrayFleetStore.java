@@ -0,0 +1,134 @@
+package towersim.aircraft;
+
+import java.util.Arrays;
+
+/**
+ * Fleet store that holds the state of its aircraft in parallel primitive arrays on the heap, one
+ * element per slot.
+ * <p>
+ * Emergency states are packed into a bit set of 64 slots per element. The tick kernel walks the
+ * arrays in order, reading the fuel capacity, cargo capacity and loading of each aircraft from
+ * small tables indexed by its characteristics rather than following references.
+ */
+public class ArrayFleetStore extends FleetStore {
+
+    /** Number of slots whose emergency states are packed into each element of the bit set */
+    private static final int SLOTS_PER_WORD = Long.SIZE;
+
+    /** Amount of fuel onboard the aircraft in each slot, in litres */
+    private double[] fuelAmounts;
+
+    /** Number of passengers or amount of freight onboard the aircraft in each slot */
+    private int[] cargo;
+
+    /** Emergency state of the aircraft in each slot, packed into a bit set */
+    private long[] emergencies;
+
+    /** Ordinal of the characteristics of the aircraft in each slot */
+    private byte[] characteristics;
+
+    /** Kind of aircraft held in each slot */
+    private byte[] kinds;
+
+    /**
+     * Creates a new empty array fleet store.
+     */
+    public ArrayFleetStore() {
+        this.fuelAmounts = new double[0];
+        this.cargo = new int[0];
+        this.emergencies = new long[0];
+        this.characteristics = new byte[0];
+        this.kinds = new byte[0];
+    }
+
+    @Override
+    void resize(int capacity) {
+        this.fuelAmounts = Arrays.copyOf(this.fuelAmounts, capacity);
+        this.cargo = Arrays.copyOf(this.cargo, capacity);
+        this.emergencies = Arrays.copyOf(this.emergencies,
+                (capacity + SLOTS_PER_WORD - 1) / SLOTS_PER_WORD);
+        this.characteristics = Arrays.copyOf(this.characteristics, capacity);
+        this.kinds = Arrays.copyOf(this.kinds, capacity);
+    }
+
+    @Override
+    void store(int slot, byte kind, int ordinal, double fuelAmount, int cargo,
+            boolean emergency) {
+        this.fuelAmounts[slot] = fuelAmount;
+        this.cargo[slot] = cargo;
+        setEmergency(slot, emergency);
+        this.characteristics[slot] = (byte) ordinal;
+        this.kinds[slot] = kind;
+    }
+
+    @Override
+    void move(int from, int to) {
+        store(to, this.kinds[from], this.characteristics[from], this.fuelAmounts[from],
+                this.cargo[from], hasEmergency(from));
+    }
+
+    @Override
+    double getFuelAmount(int slot) {
+        return this.fuelAmounts[slot];
+    }
+
+    @Override
+    void setFuelAmount(int slot, double fuelAmount) {
+        this.fuelAmounts[slot] = fuelAmount;
+    }
+
+    @Override
+    int getCargo(int slot) {
+        return this.cargo[slot];
+    }
+
+    @Override
+    void setCargo(int slot, int cargo) {
+        this.cargo[slot] = cargo;
+    }
+
+    @Override
+    boolean hasEmergency(int slot) {
+        return (this.emergencies[slot / SLOTS_PER_WORD] & (1L << slot)) != 0;
+    }
+
+    @Override
+    void setEmergency(int slot, boolean emergency) {
+        if (emergency) {
+            this.emergencies[slot / SLOTS_PER_WORD] |= 1L << slot;
+        } else {
+            this.emergencies[slot / SLOTS_PER_WORD] &= ~(1L << slot);
+        }
+    }
+
+    @Override
+    void update(int from, int to, byte[] taskTypes, int[] loadPercents, boolean[] fuelChanged) {
+        double[] fuelAmounts = this.fuelAmounts;
+        int[] cargo = this.cargo;
+        byte[] characteristics = this.characteristics;
+        byte[] kinds = this.kinds;
+        for (int i = from; i < to; i++) {
+            int kind = kinds[i];
+            int taskType = taskTypes[i];
+            double fuelAmount = fuelAmounts[i];
+            double newFuelAmount = fuelAmount;
+            if (kind != OTHER && taskType == AWAY) {
+                // fuel amount drops by 10% of capacity, but can't go below 0
+                newFuelAmount -= FUEL_CAPACITIES[characteristics[i]] / 10;
+                if (newFuelAmount < 0) {
+                    newFuelAmount = 0;
+                }
+            } else if (kind != OTHER && taskType == LOAD) {
+                int ordinal = characteristics[i];
+                int loadPercent = loadPercents[i];
+                double fuelCapacity = FUEL_CAPACITIES[ordinal];
+                newFuelAmount = Math.min(fuelCapacity,
+                        newFuelAmount + fuelCapacity / loadingTime(kind, ordinal, loadPercent));
+                cargo[i] = Math.min(cargo[i] + cargoPerTick(kind, ordinal, loadPercent),
+                        cargoCapacity(kind, ordinal));
+            }
+            fuelAmounts[i] = newFuelAmount;
+            fuelChanged[i] = newFuelAmount != fuelAmount;
+        }
+    }
+}
@@ -0,0 +1,449 @@
+package towersim.aircraft;
+
+import towersim.tasks.TaskList;
+import towersim.util.MalformedSaveException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fleet store that holds the state of its aircraft outside of the Java heap, in a direct buffer
+ * or in a file mapped into memory, so that the state updated on every tick is never scanned or
+ * copied by the garbage collector.
+ * <p>
+ * The buffer starts with a header of the four bytes {@code ATCF}, the format version, the number
+ * of aircraft and the number of slots, and the length of the names section. It is followed by a
+ * fixed-size little-endian record for each slot, holding the fuel amount as a double, the cargo
+ * and the index of the current task as 32-bit integers, and the characteristics ordinal, the
+ * kind of aircraft and the emergency flag as single bytes.
+ * <p>
+ * A store created by {@link #create(Path)} is backed by a file, which {@link #flush()} makes a
+ * snapshot of the fleet. Flushing writes the names section after the records, holding the
+ * callsign and encoded task list of each aircraft, records the current task of each aircraft and
+ * forces the file to storage. {@link #open(Path)} restores the snapshot by mapping the file and
+ * creating each aircraft as a view of its record, without copying its state; the task lists are
+ * decoded only when first needed (see {@link TaskList#deferred(byte[])}).
+ * <p>
+ * The records of a file-backed store are changed in place as the fleet is updated, so the file
+ * only matches the last snapshot until the fleet next changes. Growing a file-backed store past
+ * its number of slots discards the last snapshot until the store is flushed again.
+ * <p>
+ * Aircraft objects, with their callsigns and task lists, remain on the heap as views of the
+ * store.
+ */
+public class BufferFleetStore extends FleetStore implements Closeable {
+
+    /** Bytes that every file-backed store starts with */
+    private static final int MAGIC = ('A' << 24) | ('T' << 16) | ('C' << 8) | 'F';
+
+    /** Version of the file format written by this class */
+    public static final int VERSION = 1;
+
+    /** Position in the header of the format version */
+    private static final int VERSION_OFFSET = 4;
+
+    /** Position in the header of the number of aircraft in the last snapshot */
+    private static final int SIZE_OFFSET = 8;
+
+    /** Position in the header of the number of slots */
+    private static final int CAPACITY_OFFSET = 12;
+
+    /** Position in the header of the length in bytes of the names section */
+    private static final int NAMES_LENGTH_OFFSET = 16;
+
+    /** Number of bytes in the header */
+    private static final int HEADER_SIZE = 24;
+
+    /** Position in a record of the fuel amount */
+    private static final int FUEL_OFFSET = 0;
+
+    /** Position in a record of the cargo */
+    private static final int CARGO_OFFSET = 8;
+
+    /** Position in a record of the index of the current task, as of the last snapshot */
+    private static final int TASK_INDEX_OFFSET = 12;
+
+    /** Position in a record of the characteristics ordinal */
+    private static final int CHARACTERISTICS_OFFSET = 16;
+
+    /** Position in a record of the kind of aircraft */
+    private static final int KIND_OFFSET = 17;
+
+    /** Position in a record of the emergency flag */
+    private static final int EMERGENCY_OFFSET = 18;
+
+    /** Number of bytes in each record, padded to a multiple of the size of the fuel amount */
+    private static final int RECORD_SIZE = 24;
+
+    /** Greatest number of slots that fit in a single buffer */
+    public static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+
+    /** Channel of the file backing this store; null if the store is held in a direct buffer */
+    private final FileChannel channel;
+
+    /** Buffer holding the header and the records of every slot */
+    private ByteBuffer buffer;
+
+    /** Number of slots in the buffer */
+    private int capacity;
+
+    /**
+     * Creates a new empty fleet store held in a direct buffer, which is not backed by a file.
+     */
+    public BufferFleetStore() {
+        this(null, ByteBuffer.allocateDirect(HEADER_SIZE), 0);
+        writeHeader(0, 0);
+    }
+
+    /**
+     * Creates a new empty fleet store held in the given buffer.
+     *
+     * @param channel  channel of the file mapped into the buffer; or null for a direct buffer
+     * @param buffer   buffer holding the header and records
+     * @param capacity number of slots in the buffer
+     */
+    private BufferFleetStore(FileChannel channel, ByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Creates a new empty fleet store backed by the file at the given path, replacing the file if
+     * it already exists.
+     *
+     * @param file path of the file to back the store
+     * @return new file-backed fleet store
+     * @throws IOException if an IOException occurs when creating or mapping the file
+     */
+    public static BufferFleetStore create(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            BufferFleetStore store = new BufferFleetStore(channel,
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE), 0);
+            store.writeHeader(0, 0);
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Restores the fleet store backed by the file at the given path, as of its last snapshot (see
+     * {@link #flush()}).
+     * <p>
+     * The aircraft restored are returned by {@link #getAircraft()}, in the order they were in
+     * when the snapshot was taken, and continue to be backed by the file.
+     *
+     * @param file path of the file backing the store
+     * @return restored file-backed fleet store
+     * @throws IOException            if an IOException occurs when reading or mapping the file
+     * @throws MalformedSaveException if the file is not a valid snapshot of a fleet store
+     */
+    public static BufferFleetStore open(Path file) throws IOException, MalformedSaveException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                throw new MalformedSaveException("Fleet store file is too short");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC) {
+                throw new MalformedSaveException("Not a fleet store file");
+            }
+            if (header.getInt(VERSION_OFFSET) != VERSION) {
+                throw new MalformedSaveException("Unsupported fleet store version: "
+                        + header.getInt(VERSION_OFFSET));
+            }
+            int size = header.getInt(SIZE_OFFSET);
+            int capacity = header.getInt(CAPACITY_OFFSET);
+            long namesLength = header.getLong(NAMES_LENGTH_OFFSET);
+            long namesOffset = HEADER_SIZE + (long) capacity * RECORD_SIZE;
+            if (capacity < 0 || capacity > MAX_CAPACITY || size < 0 || size > capacity
+                    || namesLength < 0 || namesOffset + namesLength > channel.size()) {
+                throw new MalformedSaveException("Invalid fleet store header");
+            }
+
+            BufferFleetStore store = new BufferFleetStore(channel,
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0, namesOffset), capacity);
+            store.reserve(capacity);
+            // the stream is not closed, as that would close the channel
+            DataInputStream names = new DataInputStream(new BufferedInputStream(
+                    Channels.newInputStream(channel.position(namesOffset))));
+            for (int slot = 0; slot < size; slot++) {
+                String callsign = names.readUTF();
+                int tasksLength = names.readInt();
+                if (tasksLength < 0 || tasksLength > namesLength) {
+                    throw new MalformedSaveException("Invalid task list length: " + tasksLength);
+                }
+                byte[] encodedTasks = names.readNBytes(tasksLength);
+                if (encodedTasks.length != tasksLength) {
+                    throw new EOFException();
+                }
+                store.restore(slot, callsign, encodedTasks);
+            }
+            return store;
+        } catch (EOFException e) {
+            channel.close();
+            throw new MalformedSaveException("Fleet store file is truncated", e);
+        } catch (IOException | MalformedSaveException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates the aircraft whose state is held in the given slot from its callsign and task list,
+     * and adds it to this store.
+     *
+     * @param slot         slot of the aircraft, which is the next slot
+     * @param callsign     callsign of the aircraft
+     * @param encodedTasks encoded task list of the aircraft, starting from its first task
+     * @throws MalformedSaveException if the record or task list of the aircraft is invalid
+     */
+    private void restore(int slot, String callsign, byte[] encodedTasks)
+            throws MalformedSaveException {
+        int record = recordOffset(slot);
+        int ordinal = this.buffer.get(record + CHARACTERISTICS_OFFSET);
+        byte kind = this.buffer.get(record + KIND_OFFSET);
+        int taskIndex = this.buffer.getInt(record + TASK_INDEX_OFFSET);
+        if (ordinal < 0 || ordinal >= CHARACTERISTICS.length
+                || (kind != PASSENGER && kind != FREIGHT)) {
+            throw new MalformedSaveException("Invalid fleet store record: " + callsign);
+        }
+
+        Aircraft aircraft;
+        try {
+            TaskList taskList = TaskList.deferred(encodedTasks);
+            if (taskList == null || taskIndex < 0 || taskIndex >= taskList.size()) {
+                throw new MalformedSaveException("Invalid task list: " + callsign);
+            }
+            taskList.moveForward(taskIndex);
+
+            double fuelAmount = getFuelAmount(slot);
+            int cargo = getCargo(slot);
+            aircraft = kind == PASSENGER
+                    ? new PassengerAircraft(callsign, CHARACTERISTICS[ordinal], taskList,
+                            fuelAmount, cargo)
+                    : new FreightAircraft(callsign, CHARACTERISTICS[ordinal], taskList,
+                            fuelAmount, cargo);
+        } catch (IllegalArgumentException e) {
+            throw new MalformedSaveException("Invalid aircraft: " + callsign, e);
+        }
+        add(aircraft, true);
+    }
+
+    /**
+     * Saves a snapshot of the fleet to the file backing this store, from which it can be restored
+     * by {@link #open(Path)}.
+     * <p>
+     * This takes time proportional to the number of aircraft in the store, as the callsign and
+     * task list of each aircraft are written. The file is forced to storage before this returns.
+     *
+     * @throws IOException           if an IOException occurs when writing to the file
+     * @throws IllegalStateException if this store is not backed by a file, or holds an aircraft
+     *                               that keeps its own state
+     */
+    public void flush() throws IOException {
+        if (this.channel == null) {
+            throw new IllegalStateException("Fleet store is not backed by a file");
+        }
+        int size = size();
+        long namesOffset = HEADER_SIZE + (long) this.capacity * RECORD_SIZE;
+        // the stream is not closed, as that would close the channel
+        DataOutputStream names = new DataOutputStream(new BufferedOutputStream(
+                Channels.newOutputStream(this.channel.position(namesOffset))));
+        for (int slot = 0; slot < size; slot++) {
+            Aircraft aircraft = getAircraft(slot);
+            if (aircraft.getStore() != this) {
+                throw new IllegalStateException("Aircraft that keep their own state cannot be"
+                        + " saved: " + aircraft.getCallsign());
+            }
+            // the task list is encoded from its first task, so that its position is kept
+            TaskList taskList = aircraft.getTaskList().copy();
+            int taskIndex = taskList.getCurrentTaskIndex();
+            taskList.moveForward(taskList.size() - taskIndex);
+            byte[] encodedTasks = taskList.encode().getBytes(StandardCharsets.US_ASCII);
+
+            this.buffer.putInt(recordOffset(slot) + TASK_INDEX_OFFSET, taskIndex);
+            names.writeUTF(aircraft.getCallsign());
+            names.writeInt(encodedTasks.length);
+            names.write(encodedTasks);
+        }
+        names.flush();
+        long namesLength = this.channel.position() - namesOffset;
+        this.channel.truncate(namesOffset + namesLength);
+
+        writeHeader(size, namesLength);
+        ((MappedByteBuffer) this.buffer).force();
+        this.channel.force(false);
+    }
+
+    /**
+     * Closes the file backing this store, if any.
+     * <p>
+     * The store and its aircraft can still be used once closed, as the file remains mapped, but
+     * can no longer be flushed.
+     *
+     * @throws IOException if an IOException occurs when closing the file
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.channel != null) {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Writes the header of the buffer.
+     *
+     * @param size        number of aircraft in the snapshot
+     * @param namesLength length of the names section of the snapshot
+     */
+    private void writeHeader(int size, long namesLength) {
+        this.buffer.putInt(0, MAGIC);
+        this.buffer.putInt(VERSION_OFFSET, VERSION);
+        this.buffer.putInt(SIZE_OFFSET, size);
+        this.buffer.putInt(CAPACITY_OFFSET, this.capacity);
+        this.buffer.putLong(NAMES_LENGTH_OFFSET, namesLength);
+    }
+
+    /**
+     * Returns the position in the buffer of the record of the given slot.
+     */
+    private static int recordOffset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if more than {@link #MAX_CAPACITY} slots are needed
+     * @throws UncheckedIOException  if an IOException occurs when growing the file backing this
+     *                               store
+     */
+    @Override
+    void resize(int capacity) {
+        if (capacity <= this.capacity) {
+            return;
+        }
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Fleet store cannot hold more than " + MAX_CAPACITY
+                    + " aircraft");
+        }
+        int length = recordOffset(capacity);
+        if (this.channel != null) {
+            try {
+                this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, length)
+                        .order(ByteOrder.LITTLE_ENDIAN);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            ByteBuffer grown = ByteBuffer.allocateDirect(length).order(ByteOrder.LITTLE_ENDIAN);
+            grown.put(0, this.buffer, 0, this.buffer.capacity());
+            this.buffer = grown;
+        }
+        this.capacity = capacity;
+        // the names section of the last snapshot has been overwritten by the new slots
+        writeHeader(0, 0);
+    }
+
+    @Override
+    void store(int slot, byte kind, int ordinal, double fuelAmount, int cargo,
+            boolean emergency) {
+        int record = recordOffset(slot);
+        this.buffer.putDouble(record + FUEL_OFFSET, fuelAmount);
+        this.buffer.putInt(record + CARGO_OFFSET, cargo);
+        this.buffer.putInt(record + TASK_INDEX_OFFSET, 0);
+        this.buffer.put(record + CHARACTERISTICS_OFFSET, (byte) ordinal);
+        this.buffer.put(record + KIND_OFFSET, kind);
+        this.buffer.put(record + EMERGENCY_OFFSET, (byte) (emergency ? 1 : 0));
+    }
+
+    @Override
+    void move(int from, int to) {
+        this.buffer.put(recordOffset(to), this.buffer, recordOffset(from), RECORD_SIZE);
+    }
+
+    @Override
+    double getFuelAmount(int slot) {
+        return this.buffer.getDouble(recordOffset(slot) + FUEL_OFFSET);
+    }
+
+    @Override
+    void setFuelAmount(int slot, double fuelAmount) {
+        this.buffer.putDouble(recordOffset(slot) + FUEL_OFFSET, fuelAmount);
+    }
+
+    @Override
+    int getCargo(int slot) {
+        return this.buffer.getInt(recordOffset(slot) + CARGO_OFFSET);
+    }
+
+    @Override
+    void setCargo(int slot, int cargo) {
+        this.buffer.putInt(recordOffset(slot) + CARGO_OFFSET, cargo);
+    }
+
+    @Override
+    boolean hasEmergency(int slot) {
+        return this.buffer.get(recordOffset(slot) + EMERGENCY_OFFSET) != 0;
+    }
+
+    @Override
+    void setEmergency(int slot, boolean emergency) {
+        this.buffer.put(recordOffset(slot) + EMERGENCY_OFFSET, (byte) (emergency ? 1 : 0));
+    }
+
+    @Override
+    void update(int from, int to, byte[] taskTypes, int[] loadPercents, boolean[] fuelChanged) {
+        ByteBuffer buffer = this.buffer;
+        for (int i = from; i < to; i++) {
+            int record = recordOffset(i);
+            int kind = buffer.get(record + KIND_OFFSET);
+            int taskType = taskTypes[i];
+            double fuelAmount = buffer.getDouble(record + FUEL_OFFSET);
+            double newFuelAmount = fuelAmount;
+            if (kind != OTHER && taskType == AWAY) {
+                // fuel amount drops by 10% of capacity, but can't go below 0
+                newFuelAmount -= FUEL_CAPACITIES[buffer.get(record + CHARACTERISTICS_OFFSET)] / 10;
+                if (newFuelAmount < 0) {
+                    newFuelAmount = 0;
+                }
+            } else if (kind != OTHER && taskType == LOAD) {
+                int ordinal = buffer.get(record + CHARACTERISTICS_OFFSET);
+                int loadPercent = loadPercents[i];
+                double fuelCapacity = FUEL_CAPACITIES[ordinal];
+                newFuelAmount = Math.min(fuelCapacity,
+                        newFuelAmount + fuelCapacity / loadingTime(kind, ordinal, loadPercent));
+                buffer.putInt(record + CARGO_OFFSET, Math.min(
+                        buffer.getInt(record + CARGO_OFFSET)
+                                + cargoPerTick(kind, ordinal, loadPercent),
+                        cargoCapacity(kind, ordinal)));
+            }
+            if (newFuelAmount != fuelAmount) {
+                buffer.putDouble(record + FUEL_OFFSET, newFuelAmount);
+            }
+            fuelChanged[i] = newFuelAmount != fuelAmount;
+        }
+    }
+}
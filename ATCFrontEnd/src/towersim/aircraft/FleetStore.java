@@ -0,0 +1,587 @@
+package towersim.aircraft;
+
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Holds the fuel amount, cargo and emergency state of a fleet of aircraft outside of the aircraft
+ * objects, so that the whole fleet can be updated by a single tick kernel.
+ * <p>
+ * Each aircraft added to a store becomes a thin view of its slot in the store: its getters and
+ * setters read and write the store, and its behaviour is otherwise unchanged. Only aircraft whose
+ * class is exactly {@link PassengerAircraft} or {@link FreightAircraft} are held by the store.
+ * Any other aircraft, whose {@link Aircraft#tick()} may be overridden, keeps its own state and is
+ * ticked by calling that method.
+ * <p>
+ * The tick kernel (see {@link #tick(int, int)}) makes three passes over a range of slots. The
+ * type and load percentage of the current task of each aircraft are gathered into primitive
+ * arrays; the state of every held aircraft is updated by a loop over primitive arrays only; and
+ * finally listeners are notified of changed fuel amounts and any other aircraft are ticked.
+ * Ticking a store has exactly the same effect as calling {@link Aircraft#tick()} on each of its
+ * aircraft, except that listeners of different aircraft may be notified in a different order.
+ * <p>
+ * How the state of each slot is stored is left to subclasses.
+ */
+public abstract class FleetStore {
+
+    /** Kind of a slot holding a passenger aircraft, whose cargo is its number of passengers */
+    static final byte PASSENGER = 0;
+
+    /** Kind of a slot holding a freight aircraft, whose cargo is its amount of freight */
+    static final byte FREIGHT = 1;
+
+    /** Kind of a slot holding an aircraft that keeps its own state */
+    static final byte OTHER = 2;
+
+    /** Ordinal of the {@code AWAY} task type, as gathered by the tick kernel */
+    static final int AWAY = TaskType.AWAY.ordinal();
+
+    /** Ordinal of the {@code LOAD} task type, as gathered by the tick kernel */
+    static final int LOAD = TaskType.LOAD.ordinal();
+
+    /** Aircraft characteristics, indexed by ordinal */
+    static final AircraftCharacteristics[] CHARACTERISTICS = AircraftCharacteristics.values();
+
+    /** Fuel capacity of each aircraft characteristics, indexed by ordinal */
+    static final double[] FUEL_CAPACITIES = createFuelCapacities();
+
+    /** Number of load percentages, from zero to 100, whose loading is precomputed */
+    private static final int NUM_LOAD_PERCENTS = 101;
+
+    /** Cargo capacity of each kind of held aircraft and characteristics */
+    private static final int[] CARGO_CAPACITIES = createCargoCapacities();
+
+    /** Loading time of each kind of held aircraft, characteristics and load percentage */
+    private static final int[] LOADING_TIMES = createLoadTable(false);
+
+    /** Cargo loaded on each tick by each kind of held aircraft, characteristics and percentage */
+    private static final int[] CARGO_PER_TICK = createLoadTable(true);
+
+    /** Smallest number of slots allocated once the first aircraft is added */
+    static final int INITIAL_CAPACITY = 16;
+
+    /** Aircraft in each slot */
+    private Aircraft[] aircraft;
+
+    /** Task list of the aircraft in each slot */
+    private TaskList[] taskLists;
+
+    /** Number of slots in use */
+    private int size;
+
+    /** Slots of aircraft that had listeners registered while in this store */
+    private final BitSet listenedSlots;
+
+    /** Slots of aircraft that keep their own state */
+    private final BitSet otherSlots;
+
+    /** Ordinal of the type of the current task of each aircraft, gathered by the tick kernel */
+    private byte[] taskTypes;
+
+    /** Load percentage of the current task of each aircraft, gathered by the tick kernel */
+    private int[] loadPercents;
+
+    /** Whether the fuel amount of each aircraft changed during the tick kernel's update */
+    private boolean[] fuelChanged;
+
+    /**
+     * Creates a new empty fleet store.
+     */
+    FleetStore() {
+        this.aircraft = new Aircraft[0];
+        this.taskLists = new TaskList[0];
+        this.size = 0;
+        this.listenedSlots = new BitSet();
+        this.otherSlots = new BitSet();
+        this.taskTypes = new byte[0];
+        this.loadPercents = new int[0];
+        this.fuelChanged = new boolean[0];
+    }
+
+    /**
+     * Returns the number of aircraft in this store.
+     *
+     * @return number of aircraft
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the aircraft in this store, in order of slot.
+     * <p>
+     * Adding or removing elements from the returned list does not affect this store.
+     *
+     * @return all aircraft in this store
+     */
+    public List<Aircraft> getAircraft() {
+        return new ArrayList<>(Arrays.asList(this.aircraft).subList(0, this.size));
+    }
+
+    /**
+     * Returns true if the given aircraft is in this store. Aircraft are compared by identity.
+     *
+     * @param aircraft aircraft to look for
+     * @return true if the aircraft is in this store; false otherwise
+     */
+    public boolean contains(Aircraft aircraft) {
+        return slotOf(aircraft) >= 0;
+    }
+
+    /**
+     * Returns the slot of the given aircraft in this store, or -1 if it is not in this store.
+     */
+    private int slotOf(Aircraft aircraft) {
+        if (aircraft.getStore() == this) {
+            return aircraft.getSlot();
+        }
+        for (int i = this.otherSlots.nextSetBit(0); i >= 0;
+                i = this.otherSlots.nextSetBit(i + 1)) {
+            if (this.aircraft[i] == aircraft) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the aircraft in the given slot.
+     *
+     * @param slot slot of the aircraft
+     * @return aircraft in the slot
+     */
+    Aircraft getAircraft(int slot) {
+        return this.aircraft[slot];
+    }
+
+    /**
+     * Adds the given aircraft to this store, moving its fuel amount, cargo and emergency state
+     * into the store if it is a passenger or freight aircraft.
+     *
+     * @param aircraft aircraft to add
+     * @throws IllegalArgumentException if the aircraft is already held by a fleet store
+     */
+    public void add(Aircraft aircraft) {
+        if (aircraft.getStore() != null) {
+            throw new IllegalArgumentException("Aircraft is already held by a fleet store: "
+                    + aircraft.getCallsign());
+        }
+        add(aircraft, false);
+    }
+
+    /**
+     * Adds the given aircraft, which must not be held by any store, to the next slot of this
+     * store, which already holds the state of the aircraft if the given flag is set.
+     *
+     * @param aircraft aircraft to add
+     * @param stored   whether the next slot already holds the state of the aircraft, as when
+     *                 restoring a persisted store; if not, the state is copied from the aircraft
+     */
+    void add(Aircraft aircraft, boolean stored) {
+        int slot = this.size;
+        if (slot == this.aircraft.length) {
+            reserve(Math.max(INITIAL_CAPACITY, 2 * slot));
+        }
+
+        byte kind = kindOf(aircraft);
+        if (!stored) {
+            int cargo = 0;
+            if (kind == PASSENGER) {
+                cargo = ((PassengerAircraft) aircraft).getNumPassengers();
+            } else if (kind == FREIGHT) {
+                cargo = ((FreightAircraft) aircraft).getFreightAmount();
+            }
+            store(slot, kind, aircraft.getCharacteristics().ordinal(),
+                    aircraft.getFuelAmount(), cargo, aircraft.hasEmergency());
+        }
+        this.aircraft[slot] = aircraft;
+        this.taskLists[slot] = aircraft.getTaskList();
+        this.listenedSlots.set(slot, aircraft.hasListeners());
+        this.otherSlots.set(slot, kind == OTHER);
+        if (kind != OTHER) {
+            aircraft.setStore(this, slot);
+        }
+        this.size++;
+    }
+
+    /**
+     * Grows this store to hold at least the given number of aircraft without growing again.
+     *
+     * @param capacity number of aircraft to make room for
+     */
+    void reserve(int capacity) {
+        if (capacity <= this.aircraft.length) {
+            return;
+        }
+        this.aircraft = Arrays.copyOf(this.aircraft, capacity);
+        this.taskLists = Arrays.copyOf(this.taskLists, capacity);
+        this.taskTypes = Arrays.copyOf(this.taskTypes, capacity);
+        this.loadPercents = Arrays.copyOf(this.loadPercents, capacity);
+        this.fuelChanged = Arrays.copyOf(this.fuelChanged, capacity);
+        resize(capacity);
+    }
+
+    /**
+     * Removes the given aircraft from this store, moving its state back into the aircraft.
+     * <p>
+     * The aircraft in the last slot is moved into the slot of the removed aircraft, so this takes
+     * constant time for aircraft held by the store. Aircraft are compared by identity.
+     *
+     * @param aircraft aircraft to remove
+     * @return true if the aircraft was in this store; false otherwise
+     */
+    public boolean remove(Aircraft aircraft) {
+        int slot = slotOf(aircraft);
+        if (slot < 0) {
+            return false;
+        }
+
+        release(slot);
+        int last = this.size - 1;
+        if (slot != last) {
+            move(last, slot);
+            this.aircraft[slot] = this.aircraft[last];
+            this.taskLists[slot] = this.taskLists[last];
+            this.listenedSlots.set(slot, this.listenedSlots.get(last));
+            this.otherSlots.set(slot, this.otherSlots.get(last));
+            if (!this.otherSlots.get(slot)) {
+                this.aircraft[slot].setStore(this, slot);
+            }
+        }
+        this.aircraft[last] = null;
+        this.taskLists[last] = null;
+        this.listenedSlots.clear(last);
+        this.otherSlots.clear(last);
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Removes all aircraft from this store, moving their state back into the aircraft.
+     */
+    public void clear() {
+        for (int i = 0; i < this.size; i++) {
+            release(i);
+        }
+        Arrays.fill(this.aircraft, 0, this.size, null);
+        Arrays.fill(this.taskLists, 0, this.size, null);
+        this.listenedSlots.clear();
+        this.otherSlots.clear();
+        this.size = 0;
+    }
+
+    /**
+     * Moves the state held in the given slot back into its aircraft, which stops being a view of
+     * this store.
+     *
+     * @param slot slot of the aircraft to release
+     */
+    private void release(int slot) {
+        Aircraft released = this.aircraft[slot];
+        if (released.getStore() != this) {
+            return;
+        }
+        double fuelAmount = getFuelAmount(slot);
+        int cargo = getCargo(slot);
+        boolean emergency = hasEmergency(slot);
+        released.setStore(null, 0);
+        released.setFuelAmount(fuelAmount);
+        released.setEmergency(emergency);
+        if (released instanceof PassengerAircraft) {
+            ((PassengerAircraft) released).setNumPassengers(cargo);
+        } else {
+            ((FreightAircraft) released).setFreightAmount(cargo);
+        }
+    }
+
+    /**
+     * Records that a listener has been registered on the aircraft in the given slot.
+     *
+     * @param slot slot of the aircraft
+     */
+    void listenerAdded(int slot) {
+        this.listenedSlots.set(slot);
+    }
+
+    /**
+     * Updates every aircraft in this store for a single tick, with the same effect as calling
+     * {@link Aircraft#tick()} on each.
+     */
+    public void tick() {
+        tick(0, this.size);
+    }
+
+    /**
+     * Updates the aircraft in the given range of slots for a single tick, with the same effect as
+     * calling {@link Aircraft#tick()} on each.
+     * <p>
+     * Disjoint ranges may be ticked at the same time on different threads, provided that no
+     * aircraft is added to or removed from the store meanwhile.
+     *
+     * @param from first slot to tick, inclusive
+     * @param to   last slot to tick, exclusive
+     * @throws IndexOutOfBoundsException if the range is not within the slots in use
+     */
+    public void tick(int from, int to) {
+        Objects.checkFromToIndex(from, to, this.size);
+        for (int i = from; i < to; i++) {
+            Task task = this.taskLists[i].getCurrentTask();
+            this.taskTypes[i] = (byte) task.getType().ordinal();
+            this.loadPercents[i] = task.getLoadPercent();
+        }
+
+        update(from, to, this.taskTypes, this.loadPercents, this.fuelChanged);
+
+        for (int i = this.listenedSlots.nextSetBit(from); i >= 0 && i < to;
+                i = this.listenedSlots.nextSetBit(i + 1)) {
+            if (this.fuelChanged[i]) {
+                this.aircraft[i].notifyListeners();
+            }
+        }
+        for (int i = this.otherSlots.nextSetBit(from); i >= 0 && i < to;
+                i = this.otherSlots.nextSetBit(i + 1)) {
+            this.aircraft[i].tick();
+        }
+    }
+
+    /**
+     * Returns the kind of slot in which the given aircraft is held.
+     */
+    static byte kindOf(Aircraft aircraft) {
+        if (aircraft.getClass() == PassengerAircraft.class) {
+            return PASSENGER;
+        } else if (aircraft.getClass() == FreightAircraft.class) {
+            return FREIGHT;
+        }
+        return OTHER;
+    }
+
+    /**
+     * Returns the greatest cargo of a held aircraft of the given kind and characteristics.
+     *
+     * @param kind    kind of the aircraft's slot, {@link #PASSENGER} or {@link #FREIGHT}
+     * @param ordinal ordinal of the aircraft's characteristics
+     * @return cargo capacity of the aircraft
+     */
+    static int cargoCapacity(int kind, int ordinal) {
+        return CARGO_CAPACITIES[kind * CHARACTERISTICS.length + ordinal];
+    }
+
+    /**
+     * Returns the loading time of a held aircraft of the given kind and characteristics, whose
+     * current task is a {@code LOAD} task with the given load percentage, as returned by
+     * {@link Aircraft#getLoadingTime()}.
+     *
+     * @param kind        kind of the aircraft's slot, {@link #PASSENGER} or {@link #FREIGHT}
+     * @param ordinal     ordinal of the aircraft's characteristics
+     * @param loadPercent load percentage of the aircraft's current task
+     * @return loading time in ticks
+     */
+    static int loadingTime(int kind, int ordinal, int loadPercent) {
+        if (loadPercent >= 0 && loadPercent < NUM_LOAD_PERCENTS) {
+            return LOADING_TIMES[loadIndex(kind, ordinal, loadPercent)];
+        }
+        return computeLoadingTime(kind, CHARACTERISTICS[ordinal], loadPercent);
+    }
+
+    /**
+     * Returns the cargo loaded on each tick by a held aircraft of the given kind and
+     * characteristics, whose current task is a {@code LOAD} task with the given load percentage.
+     *
+     * @param kind        kind of the aircraft's slot, {@link #PASSENGER} or {@link #FREIGHT}
+     * @param ordinal     ordinal of the aircraft's characteristics
+     * @param loadPercent load percentage of the aircraft's current task
+     * @return cargo loaded per tick, before limiting the cargo onboard to its capacity
+     */
+    static int cargoPerTick(int kind, int ordinal, int loadPercent) {
+        if (loadPercent >= 0 && loadPercent < NUM_LOAD_PERCENTS) {
+            return CARGO_PER_TICK[loadIndex(kind, ordinal, loadPercent)];
+        }
+        return computeCargoPerTick(kind, CHARACTERISTICS[ordinal], loadPercent);
+    }
+
+    /**
+     * Returns the index in the precomputed loading tables of the given kind, characteristics and
+     * load percentage.
+     */
+    private static int loadIndex(int kind, int ordinal, int loadPercent) {
+        return (kind * CHARACTERISTICS.length + ordinal) * NUM_LOAD_PERCENTS + loadPercent;
+    }
+
+    /**
+     * Returns the total cargo to be loaded by a held aircraft.
+     */
+    private static int cargoToLoad(int kind, AircraftCharacteristics characteristics,
+            int loadPercent) {
+        return kind == PASSENGER
+                ? PassengerAircraft.passengersToLoad(characteristics.passengerCapacity,
+                        loadPercent)
+                : FreightAircraft.freightToLoad(characteristics.freightCapacity, loadPercent);
+    }
+
+    /**
+     * Computes the loading time of a held aircraft, as described in
+     * {@link #loadingTime(int, int, int)}.
+     */
+    private static int computeLoadingTime(int kind, AircraftCharacteristics characteristics,
+            int loadPercent) {
+        int cargoToLoad = cargoToLoad(kind, characteristics, loadPercent);
+        return kind == PASSENGER
+                ? PassengerAircraft.loadingTimeFor(cargoToLoad)
+                : FreightAircraft.loadingTimeFor(cargoToLoad);
+    }
+
+    /**
+     * Computes the cargo loaded per tick by a held aircraft, as described in
+     * {@link #cargoPerTick(int, int, int)}.
+     */
+    private static int computeCargoPerTick(int kind, AircraftCharacteristics characteristics,
+            int loadPercent) {
+        return (int) Math.round(cargoToLoad(kind, characteristics, loadPercent)
+                / (double) computeLoadingTime(kind, characteristics, loadPercent));
+    }
+
+    /**
+     * Returns the fuel capacity of each aircraft characteristics, indexed by ordinal.
+     */
+    private static double[] createFuelCapacities() {
+        double[] capacities = new double[CHARACTERISTICS.length];
+        for (int i = 0; i < capacities.length; i++) {
+            capacities[i] = CHARACTERISTICS[i].fuelCapacity;
+        }
+        return capacities;
+    }
+
+    /**
+     * Returns the cargo capacity of each kind of held aircraft and characteristics.
+     */
+    private static int[] createCargoCapacities() {
+        int[] capacities = new int[2 * CHARACTERISTICS.length];
+        for (int i = 0; i < CHARACTERISTICS.length; i++) {
+            capacities[PASSENGER * CHARACTERISTICS.length + i] =
+                    CHARACTERISTICS[i].passengerCapacity;
+            capacities[FREIGHT * CHARACTERISTICS.length + i] = CHARACTERISTICS[i].freightCapacity;
+        }
+        return capacities;
+    }
+
+    /**
+     * Returns the loading time or the cargo loaded per tick of each kind of held aircraft,
+     * characteristics and load percentage.
+     *
+     * @param cargoPerTick true for the cargo loaded per tick; false for the loading time
+     * @return precomputed loading table
+     */
+    private static int[] createLoadTable(boolean cargoPerTick) {
+        int[] table = new int[2 * CHARACTERISTICS.length * NUM_LOAD_PERCENTS];
+        for (int kind = PASSENGER; kind <= FREIGHT; kind++) {
+            for (int i = 0; i < CHARACTERISTICS.length; i++) {
+                for (int percent = 0; percent < NUM_LOAD_PERCENTS; percent++) {
+                    table[loadIndex(kind, i, percent)] = cargoPerTick
+                            ? computeCargoPerTick(kind, CHARACTERISTICS[i], percent)
+                            : computeLoadingTime(kind, CHARACTERISTICS[i], percent);
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Grows the storage of this store to hold at least the given number of slots, keeping the
+     * state held in the slots already in use.
+     *
+     * @param capacity new number of slots, greater than the number of slots in use
+     */
+    abstract void resize(int capacity);
+
+    /**
+     * Stores the given state in the given slot.
+     *
+     * @param slot       slot in which to store the state
+     * @param kind       kind of aircraft held in the slot
+     * @param ordinal    ordinal of the aircraft's characteristics
+     * @param fuelAmount amount of fuel onboard, in litres
+     * @param cargo      number of passengers or amount of freight onboard
+     * @param emergency  whether the aircraft is in a state of emergency
+     */
+    abstract void store(int slot, byte kind, int ordinal, double fuelAmount, int cargo,
+            boolean emergency);
+
+    /**
+     * Copies the state held in one slot into another.
+     *
+     * @param from slot from which to copy
+     * @param to   slot into which to copy
+     */
+    abstract void move(int from, int to);
+
+    /**
+     * Returns the amount of fuel onboard the aircraft in the given slot, in litres.
+     *
+     * @param slot slot of the aircraft
+     * @return fuel amount
+     */
+    abstract double getFuelAmount(int slot);
+
+    /**
+     * Sets the amount of fuel onboard the aircraft in the given slot, in litres.
+     *
+     * @param slot       slot of the aircraft
+     * @param fuelAmount new fuel amount
+     */
+    abstract void setFuelAmount(int slot, double fuelAmount);
+
+    /**
+     * Returns the number of passengers or amount of freight onboard the aircraft in the given
+     * slot.
+     *
+     * @param slot slot of the aircraft
+     * @return cargo onboard
+     */
+    abstract int getCargo(int slot);
+
+    /**
+     * Sets the number of passengers or amount of freight onboard the aircraft in the given slot.
+     *
+     * @param slot  slot of the aircraft
+     * @param cargo new cargo onboard
+     */
+    abstract void setCargo(int slot, int cargo);
+
+    /**
+     * Returns true if the aircraft in the given slot is in a state of emergency.
+     *
+     * @param slot slot of the aircraft
+     * @return whether the aircraft has an emergency
+     */
+    abstract boolean hasEmergency(int slot);
+
+    /**
+     * Sets whether the aircraft in the given slot is in a state of emergency.
+     *
+     * @param slot      slot of the aircraft
+     * @param emergency new emergency state
+     */
+    abstract void setEmergency(int slot, boolean emergency);
+
+    /**
+     * Updates the fuel amount and cargo held in the given range of slots for a single tick.
+     * <p>
+     * Slots of kind {@link #OTHER} are left unchanged, and recorded as not having changed fuel.
+     *
+     * @param from         first slot to update, inclusive
+     * @param to           last slot to update, exclusive
+     * @param taskTypes    ordinal of the type of the current task of each aircraft
+     * @param loadPercents load percentage of the current task of each aircraft
+     * @param fuelChanged  array in which to record whether the fuel amount of each slot changed
+     */
+    abstract void update(int from, int to, byte[] taskTypes, int[] loadPercents,
+            boolean[] fuelChanged);
+}
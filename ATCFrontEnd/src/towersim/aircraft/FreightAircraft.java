@@ -47,6 +47,30 @@ public class FreightAircraft extends Aircraft {
         this.freightAmount = freightAmount;
     }
 
+    /**
+     * Returns the amount of freight currently onboard the aircraft.
+     *
+     * @return freight onboard, in kilograms
+     */
+    public int getFreightAmount() {
+        FleetStore store = getStore();
+        return store != null ? store.getCargo(getSlot()) : this.freightAmount;
+    }
+
+    /**
+     * Sets the amount of freight currently onboard the aircraft.
+     *
+     * @param freightAmount new amount of freight onboard, in kilograms
+     */
+    void setFreightAmount(int freightAmount) {
+        FleetStore store = getStore();
+        if (store != null) {
+            store.setCargo(getSlot(), freightAmount);
+        } else {
+            this.freightAmount = freightAmount;
+        }
+    }
+
     /**
      * Returns the total weight of the aircraft in its current state.
      * <p>
@@ -62,7 +86,7 @@ public class FreightAircraft extends Aircraft {
      */
     @Override
     public double getTotalWeight() {
-        return super.getTotalWeight() + this.freightAmount;
+        return super.getTotalWeight() + getFreightAmount();
     }
 
     /**
@@ -88,8 +112,17 @@ public class FreightAircraft extends Aircraft {
      */
     @Override
     public int getLoadingTime() {
-        int freightToLoad = this.getFreightToLoad();
+        return loadingTimeFor(this.getFreightToLoad());
+    }
 
+    /**
+     * Returns the number of ticks required to load the given amount of freight, as described in
+     * {@link #getLoadingTime()}.
+     *
+     * @param freightToLoad total freight to be loaded, in kilograms
+     * @return loading time in ticks
+     */
+    static int loadingTimeFor(int freightToLoad) {
         if (freightToLoad < 1000) {
             return 1;
         } else if (freightToLoad <= 50000) {
@@ -113,7 +146,7 @@ public class FreightAircraft extends Aircraft {
      */
     @Override
     public int calculateOccupancyLevel() {
-        return (int) Math.round((double) this.freightAmount * 100
+        return (int) Math.round((double) getFreightAmount() * 100
                 / this.getCharacteristics().freightCapacity);
     }
 
@@ -125,8 +158,20 @@ public class FreightAircraft extends Aircraft {
      * @ass1
      */
     private int getFreightToLoad() {
-        int freightCapacity = this.getCharacteristics().freightCapacity;
-        double loadRatio = (double) this.getTaskList().getCurrentTask().getLoadPercent() / 100;
+        return freightToLoad(this.getCharacteristics().freightCapacity,
+                this.getTaskList().getCurrentTask().getLoadPercent());
+    }
+
+    /**
+     * Returns the total amount of freight to be loaded onto an aircraft with the given freight
+     * capacity by a task with the given load percentage.
+     *
+     * @param freightCapacity maximum amount of freight onboard, in kilograms
+     * @param loadPercent     load percentage of the task
+     * @return total freight to be loaded, in kilograms
+     */
+    static int freightToLoad(int freightCapacity, int loadPercent) {
+        double loadRatio = (double) loadPercent / 100;
         return (int) Math.round(freightCapacity * loadRatio);
     }
 
@@ -164,8 +209,8 @@ public class FreightAircraft extends Aircraft {
         if (this.getTaskList().getCurrentTask().getType() == TaskType.LOAD) {
             int freightToLoadThisTick = (int) Math.round(this.getFreightToLoad()
                     / (double) this.getLoadingTime());
-            this.freightAmount = Math.min(this.freightAmount + freightToLoadThisTick,
-                    this.getCharacteristics().freightCapacity);
+            setFreightAmount(Math.min(getFreightAmount() + freightToLoadThisTick,
+                    this.getCharacteristics().freightCapacity));
         }
     }
 
@@ -174,7 +219,7 @@ public class FreightAircraft extends Aircraft {
      */
     @Override
     public void unload() {
-        this.freightAmount = 0;
+        setFreightAmount(0);
     }
 
     /**
@@ -186,6 +231,6 @@ public class FreightAircraft extends Aircraft {
      */
     @Override
     public String encode() {
-        return super.encode() + ":" + freightAmount;
+        return super.encode() + ":" + getFreightAmount();
     }
 }
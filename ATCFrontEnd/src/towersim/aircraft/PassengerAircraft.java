@@ -54,6 +54,30 @@ public class PassengerAircraft extends Aircraft {
         this.numPassengers = numPassengers;
     }
 
+    /**
+     * Returns the number of passengers currently onboard the aircraft.
+     *
+     * @return passengers onboard
+     */
+    public int getNumPassengers() {
+        FleetStore store = getStore();
+        return store != null ? store.getCargo(getSlot()) : this.numPassengers;
+    }
+
+    /**
+     * Sets the number of passengers currently onboard the aircraft.
+     *
+     * @param numPassengers new number of passengers onboard
+     */
+    void setNumPassengers(int numPassengers) {
+        FleetStore store = getStore();
+        if (store != null) {
+            store.setCargo(getSlot(), numPassengers);
+        } else {
+            this.numPassengers = numPassengers;
+        }
+    }
+
     /**
      * Returns the total weight of the aircraft in its current state.
      * <p>
@@ -70,7 +94,7 @@ public class PassengerAircraft extends Aircraft {
      */
     @Override
     public double getTotalWeight() {
-        return super.getTotalWeight() + this.numPassengers * AVG_PASSENGER_WEIGHT;
+        return super.getTotalWeight() + getNumPassengers() * AVG_PASSENGER_WEIGHT;
     }
 
     /**
@@ -96,7 +120,18 @@ public class PassengerAircraft extends Aircraft {
      */
     @Override
     public int getLoadingTime() {
-        return (int) Math.max(1, Math.round(Math.log10(this.getPassengersToLoad())));
+        return loadingTimeFor(this.getPassengersToLoad());
+    }
+
+    /**
+     * Returns the number of ticks required to load the given number of passengers, as described
+     * in {@link #getLoadingTime()}.
+     *
+     * @param passengersToLoad total number of passengers to be loaded
+     * @return loading time in ticks
+     */
+    static int loadingTimeFor(int passengersToLoad) {
+        return (int) Math.max(1, Math.round(Math.log10(passengersToLoad)));
     }
 
     /**
@@ -113,7 +148,7 @@ public class PassengerAircraft extends Aircraft {
      */
     @Override
     public int calculateOccupancyLevel() {
-        return (int) Math.round((double) this.numPassengers * 100
+        return (int) Math.round((double) getNumPassengers() * 100
                 / this.getCharacteristics().passengerCapacity);
     }
 
@@ -125,8 +160,20 @@ public class PassengerAircraft extends Aircraft {
      * @ass1
      */
     private int getPassengersToLoad() {
-        int passengerCapacity = this.getCharacteristics().passengerCapacity;
-        double loadRatio = (double) this.getTaskList().getCurrentTask().getLoadPercent() / 100;
+        return passengersToLoad(this.getCharacteristics().passengerCapacity,
+                this.getTaskList().getCurrentTask().getLoadPercent());
+    }
+
+    /**
+     * Returns the total number of passengers to be loaded onto an aircraft with the given
+     * passenger capacity by a task with the given load percentage.
+     *
+     * @param passengerCapacity maximum number of passengers onboard
+     * @param loadPercent       load percentage of the task
+     * @return total number of passengers to be loaded
+     */
+    static int passengersToLoad(int passengerCapacity, int loadPercent) {
+        double loadRatio = (double) loadPercent / 100;
         return (int) Math.round(passengerCapacity * loadRatio);
     }
 
@@ -164,8 +211,8 @@ public class PassengerAircraft extends Aircraft {
         if (this.getTaskList().getCurrentTask().getType() == TaskType.LOAD) {
             int paxToLoadThisTick = (int) Math.round(this.getPassengersToLoad()
                     / (double) this.getLoadingTime());
-            this.numPassengers = Math.min(this.numPassengers + paxToLoadThisTick,
-                    this.getCharacteristics().passengerCapacity);
+            setNumPassengers(Math.min(getNumPassengers() + paxToLoadThisTick,
+                    this.getCharacteristics().passengerCapacity));
         }
     }
 
@@ -174,7 +221,7 @@ public class PassengerAircraft extends Aircraft {
      */
     @Override
     public void unload() {
-        this.numPassengers = 0;
+        setNumPassengers(0);
     }
 
     /**
@@ -186,6 +233,6 @@ public class PassengerAircraft extends Aircraft {
      */
     @Override
     public String encode() {
-        return super.encode() + ":" + numPassengers;
+        return super.encode() + ":" + getNumPassengers();
     }
 }
@@ -0,0 +1,101 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.util.MalformedSaveException;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fork/join task that parses a contiguous range of the lines of a mapped aircraft save file.
+ * <p>
+ * Ranges larger than the chunk size are split in half, and the halves are parsed in parallel.
+ * Each aircraft is stored at the index of its line, so the aircraft are in the same order as in
+ * the file regardless of which thread parsed them. The first line found to be invalid is recorded
+ * rather than thrown, and once one has been found, chunks that have not yet started are skipped.
+ */
+class AircraftParseTask extends RecursiveAction {
+
+    /** Serialisation version; parse tasks hold a mapped buffer and are never serialised */
+    private static final long serialVersionUID = 1L;
+
+    /** Mapped window of the file containing the lines, read only with absolute gets */
+    private final ByteBuffer buffer;
+
+    /** Position of the start of each line in the buffer */
+    private final int[] lineStarts;
+
+    /** Position of the end of each line in the buffer, excluding its line terminator */
+    private final int[] lineEnds;
+
+    /** Array in which to store the aircraft parsed from each line */
+    private final Aircraft[] aircraft;
+
+    /** Index of the first line in the range to parse */
+    private final int from;
+
+    /** Index one past the last line in the range to parse */
+    private final int to;
+
+    /** Largest number of lines that are parsed without splitting the range */
+    private final int chunkSize;
+
+    /** Whether the task lists of the aircraft parsed are deferred */
+    private final boolean deferTaskLists;
+
+    /** First exception thrown while parsing any line, shared between all subtasks */
+    private final AtomicReference<MalformedSaveException> failure;
+
+    /**
+     * Creates a new task that parses the lines in the given range.
+     *
+     * @param buffer         mapped window containing the lines
+     * @param lineStarts     start position of each line in the buffer
+     * @param lineEnds       end position of each line in the buffer, exclusive
+     * @param aircraft       array in which to store the aircraft parsed from each line
+     * @param from           index of the first line to parse, inclusive
+     * @param to             index of the last line to parse, exclusive
+     * @param chunkSize      largest number of lines to parse in a single subtask
+     * @param deferTaskLists whether to defer the task lists of the aircraft parsed
+     * @param failure        reference in which to record the first invalid line's exception
+     */
+    AircraftParseTask(ByteBuffer buffer, int[] lineStarts, int[] lineEnds, Aircraft[] aircraft,
+            int from, int to, int chunkSize, boolean deferTaskLists,
+            AtomicReference<MalformedSaveException> failure) {
+        this.buffer = buffer;
+        this.lineStarts = lineStarts;
+        this.lineEnds = lineEnds;
+        this.aircraft = aircraft;
+        this.from = from;
+        this.to = to;
+        this.chunkSize = chunkSize;
+        this.deferTaskLists = deferTaskLists;
+        this.failure = failure;
+    }
+
+    @Override
+    protected void compute() {
+        if (this.failure.get() != null) {
+            return;
+        }
+        if (this.to - this.from <= this.chunkSize) {
+            try {
+                for (int i = this.from; i < this.to; i++) {
+                    this.aircraft[i] = MappedAircraftLoader.readAircraft(this.buffer,
+                            this.lineStarts[i], this.lineEnds[i], this.deferTaskLists);
+                }
+            } catch (MalformedSaveException e) {
+                this.failure.compareAndSet(null, e);
+            }
+            return;
+        }
+        int middle = (this.from + this.to) >>> 1;
+        invokeAll(new AircraftParseTask(this.buffer, this.lineStarts, this.lineEnds,
+                        this.aircraft, this.from, middle, this.chunkSize, this.deferTaskLists,
+                        this.failure),
+                new AircraftParseTask(this.buffer, this.lineStarts, this.lineEnds,
+                        this.aircraft, middle, this.to, this.chunkSize, this.deferTaskLists,
+                        this.failure));
+    }
+}
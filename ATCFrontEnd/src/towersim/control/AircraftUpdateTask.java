@@ -0,0 +1,58 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join task that calls {@link Aircraft#tick()} on a contiguous range of a list of aircraft.
+ * <p>
+ * Ranges larger than the chunk size are split in half, and the halves are updated in parallel.
+ * Each aircraft is ticked exactly once, by a single thread.
+ */
+class AircraftUpdateTask extends RecursiveAction {
+
+    /** Serialisation version; update tasks are only ever run within the pool that forked them */
+    private static final long serialVersionUID = 1L;
+
+    /** Aircraft to update */
+    private final List<Aircraft> aircraft;
+
+    /** Index of the first aircraft in the range to update */
+    private final int from;
+
+    /** Index one past the last aircraft in the range to update */
+    private final int to;
+
+    /** Largest number of aircraft that are updated without splitting the range */
+    private final int chunkSize;
+
+    /**
+     * Creates a new task that updates the aircraft in the given range.
+     *
+     * @param aircraft  list of aircraft, which must not be modified while the task runs
+     * @param from      index of the first aircraft to update, inclusive
+     * @param to        index of the last aircraft to update, exclusive
+     * @param chunkSize largest number of aircraft to update in a single subtask
+     */
+    AircraftUpdateTask(List<Aircraft> aircraft, int from, int to, int chunkSize) {
+        this.aircraft = aircraft;
+        this.from = from;
+        this.to = to;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    protected void compute() {
+        if (this.to - this.from <= this.chunkSize) {
+            for (int i = this.from; i < this.to; i++) {
+                this.aircraft.get(i).tick();
+            }
+            return;
+        }
+        int middle = (this.from + this.to) >>> 1;
+        invokeAll(new AircraftUpdateTask(this.aircraft, this.from, middle, this.chunkSize),
+                new AircraftUpdateTask(this.aircraft, middle, this.to, this.chunkSize));
+    }
+}
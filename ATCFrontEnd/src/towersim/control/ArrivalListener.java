@@ -0,0 +1,21 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+
+/**
+ * Denotes a class that wishes to be notified when aircraft arrive at a control tower.
+ */
+public interface ArrivalListener {
+
+    /**
+     * Method called after an aircraft has finished flying and been added to the landing queue of
+     * the given control tower.
+     * <p>
+     * This method is called while the control tower is placing aircraft in queues, so it must
+     * not add aircraft to or remove aircraft from the control tower.
+     *
+     * @param tower    control tower the aircraft has arrived at
+     * @param aircraft aircraft that has arrived
+     */
+    void aircraftArrived(ControlTower tower, Aircraft aircraft);
+}
@@ -2,16 +2,19 @@ package towersim.control;
 
 import towersim.aircraft.Aircraft;
 import towersim.aircraft.AircraftType;
+import towersim.aircraft.FleetStore;
 import towersim.ground.AirplaneTerminal;
 import towersim.ground.Gate;
 import towersim.ground.HelicopterTerminal;
 import towersim.ground.Terminal;
+import towersim.ground.TerminalListener;
 import towersim.tasks.TaskType;
 import towersim.util.NoSpaceException;
 import towersim.util.NoSuitableGateException;
 import towersim.util.Tickable;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Represents a the control tower of an airport.
@@ -23,6 +26,12 @@ import java.util.*;
  * @ass1
  */
 public class ControlTower implements Tickable {
+    /**
+     * Default largest number of aircraft updated by a single task when aircraft are updated in
+     * parallel.
+     */
+    public static final int DEFAULT_UPDATE_CHUNK_SIZE = 1024;
+
     /**
      * List of all aircraft managed by the control tower.
      */
@@ -54,9 +63,75 @@ public class ControlTower implements Tickable {
     private TakeoffQueue takeoffQueue;
 
     /**
-     * mapping of aircraft that are loading cargo to the number of ticks remaining for loading
+     * aircraft that are loading cargo and the ticks on which they will finish loading
+     */
+    private final LoadingSchedule loadingSchedule;
+
+    /**
+     * the way in which this control tower advances the simulation on each tick
+     */
+    private TickMode tickMode;
+
+    /**
+     * tracks which aircraft need processing on each tick; null unless the tick mode is
+     * {@link TickMode#EVENT_DRIVEN}, and created by the first tick run in that mode
+     */
+    private EventScheduler eventScheduler;
+
+    /**
+     * pool used to update aircraft in parallel; null if aircraft are updated serially
+     */
+    private ForkJoinPool updatePool;
+
+    /**
+     * largest number of aircraft updated by a single task when updating aircraft in parallel
+     */
+    private int updateChunkSize;
+
+    /**
+     * store holding the fuel amount, cargo and emergency state of all aircraft, whose tick kernel
+     * updates the aircraft; null if each aircraft holds its own state
+     */
+    private FleetStore fleetStore;
+
+    /**
+     * listeners to notify when an aircraft arrives at this control tower; null if there are none
+     */
+    private List<ArrivalListener> arrivalListeners;
+
+    /**
+     * listeners to notify of changes to the aircraft, terminals and queues of this control tower;
+     * null if there are none
+     */
+    private List<ControlTowerListener> listeners;
+
+    /**
+     * gates of all terminals, indexed by slot: the position of the gate's terminal in the list of
+     * terminals multiplied by {@link Terminal#MAX_NUM_GATES}, plus the position of the gate within
+     * its terminal
+     */
+    private final List<Gate> gateSlots;
+
+    /**
+     * slot of every gate in {@link #gateSlots}, keyed by identity
+     */
+    private final Map<Gate, Integer> slotsOfGates;
+
+    /**
+     * position of every terminal in the list of terminals, keyed by identity
+     */
+    private final Map<Terminal, Integer> terminalPositions;
+
+    /**
+     * for each aircraft type, the slots of all unoccupied gates in terminals of that type that
+     * are not in a state of emergency
+     */
+    private final Map<AircraftType, BitSet> freeGates;
+
+    /**
+     * mapping of every aircraft parked at a gate in one of the terminals to that gate
      */
-    private Map<Aircraft, Integer> loadingAircraft;
+    private final Map<Aircraft, Gate> gatesOfAircraft;
 
     /**
      * Creates a new ControlTower.
@@ -64,6 +139,9 @@ public class ControlTower implements Tickable {
      * takeoff queue and map of loading aircraft to loading times should
      * all be set to the values passed as parameters.
      * The list of terminals should be initialised as an empty list.
+     * <p>
+     * The entries of the map of loading aircraft are copied into the control tower, so later
+     * changes to the given map do not affect the control tower.
      *
      * @param ticksElapsed    number of ticks that have elapsed since the tower was first create
      * @param aircraft        aircraft managed by control tower
@@ -79,8 +157,20 @@ public class ControlTower implements Tickable {
         this.aircraft = aircraft;
         this.landingQueue = landingQueue;
         this.takeoffQueue = takeoffQueue;
-        this.loadingAircraft = loadingAircraft;
+        this.loadingSchedule = new LoadingSchedule();
+        loadingAircraft.forEach(this.loadingSchedule::add);
         this.terminals = new ArrayList<>();
+        this.tickMode = TickMode.PHASED;
+        this.updatePool = null;
+        this.updateChunkSize = DEFAULT_UPDATE_CHUNK_SIZE;
+        this.gateSlots = new ArrayList<>();
+        this.slotsOfGates = new IdentityHashMap<>();
+        this.terminalPositions = new IdentityHashMap<>();
+        this.freeGates = new EnumMap<>(AircraftType.class);
+        for (AircraftType type : AircraftType.values()) {
+            this.freeGates.put(type, new BitSet());
+        }
+        this.gatesOfAircraft = new HashMap<>();
     }
 
     /**
@@ -90,7 +180,101 @@ public class ControlTower implements Tickable {
      * @ass1
      */
     public void addTerminal(Terminal terminal) {
+        this.terminalPositions.put(terminal, this.terminals.size());
         this.terminals.add(terminal);
+        List<Gate> gates = terminal.getGates();
+        for (int i = 0; i < gates.size(); i++) {
+            indexGate(terminal, gates.get(i), i);
+        }
+        terminal.addListener(new GateIndexUpdater());
+        if (this.listeners != null) {
+            for (ControlTowerListener listener : this.listeners) {
+                listener.terminalAdded(this, terminal);
+            }
+        }
+    }
+
+    /**
+     * Returns the type of aircraft that may park at gates in the given terminal, or null if the
+     * terminal does not accept any type of aircraft.
+     *
+     * @param terminal terminal whose aircraft type to return
+     * @return aircraft type accepted by the terminal
+     */
+    private static AircraftType typeOfTerminal(Terminal terminal) {
+        if (terminal instanceof AirplaneTerminal) {
+            return AircraftType.AIRPLANE;
+        }
+        if (terminal instanceof HelicopterTerminal) {
+            return AircraftType.HELICOPTER;
+        }
+        return null;
+    }
+
+    /**
+     * Gives the given gate a slot in the free-gate index and records whether it is free.
+     *
+     * @param terminal     terminal containing the gate
+     * @param gate         gate to index
+     * @param gatePosition position of the gate within its terminal
+     */
+    private void indexGate(Terminal terminal, Gate gate, int gatePosition) {
+        int slot = this.terminalPositions.get(terminal) * Terminal.MAX_NUM_GATES + gatePosition;
+        while (this.gateSlots.size() <= slot) {
+            this.gateSlots.add(null);
+        }
+        this.gateSlots.set(slot, gate);
+        this.slotsOfGates.put(gate, slot);
+        if (gate.isOccupied()) {
+            this.gatesOfAircraft.put(gate.getAircraftAtGate(), gate);
+        }
+        updateFreeGate(terminal, gate);
+    }
+
+    /**
+     * Updates the free-gate index to reflect whether the given gate may currently be assigned to
+     * an aircraft.
+     *
+     * @param terminal terminal containing the gate
+     * @param gate     gate whose entry to update
+     */
+    private void updateFreeGate(Terminal terminal, Gate gate) {
+        AircraftType type = typeOfTerminal(terminal);
+        Integer slot = this.slotsOfGates.get(gate);
+        if (type == null || slot == null) {
+            return;
+        }
+        this.freeGates.get(type).set(slot, !gate.isOccupied() && !terminal.hasEmergency());
+    }
+
+    /**
+     * Keeps the free-gate index and the mapping of parked aircraft to gates up to date as gates
+     * are added to a terminal, aircraft park at or leave its gates, and emergencies are declared
+     * or cleared.
+     */
+    private class GateIndexUpdater implements TerminalListener {
+        @Override
+        public void gateAdded(Terminal terminal, Gate gate) {
+            indexGate(terminal, gate, terminal.getGates().size() - 1);
+        }
+
+        @Override
+        public void gateOccupancyChanged(Terminal terminal, Gate gate, Aircraft previousAircraft) {
+            if (previousAircraft != null) {
+                gatesOfAircraft.remove(previousAircraft, gate);
+            }
+            if (gate.isOccupied()) {
+                gatesOfAircraft.put(gate.getAircraftAtGate(), gate);
+            }
+            updateFreeGate(terminal, gate);
+        }
+
+        @Override
+        public void emergencyChanged(Terminal terminal) {
+            for (Gate gate : terminal.getGates()) {
+                updateFreeGate(terminal, gate);
+            }
+        }
     }
 
     /**
@@ -134,9 +318,115 @@ public class ControlTower implements Tickable {
             }
         }
         this.aircraft.add(aircraft);
+        if (this.fleetStore != null) {
+            this.fleetStore.add(aircraft);
+        }
+        if (this.eventScheduler != null) {
+            this.eventScheduler.aircraftAdded();
+        }
+        if (this.listeners != null) {
+            for (ControlTowerListener listener : this.listeners) {
+                listener.aircraftAdded(this, aircraft);
+            }
+        }
         placeAircraftInQueues(aircraft);
     }
 
+    /**
+     * Removes the given aircraft from the jurisdiction of this control tower.
+     * <p>
+     * The aircraft is removed from the list of aircraft and from any queue it is waiting in, and
+     * stops loading and leaves its gate if it is parked at one. Its task list is not changed.
+     * Aircraft are compared by identity.
+     * <p>
+     * This takes time proportional to the number of aircraft managed by the control tower.
+     *
+     * @param aircraft aircraft to remove
+     * @return true if the aircraft was managed by this control tower; false otherwise
+     */
+    public boolean removeAircraft(Aircraft aircraft) {
+        int index = 0;
+        while (index < this.aircraft.size() && this.aircraft.get(index) != aircraft) {
+            index++;
+        }
+        if (index == this.aircraft.size()) {
+            return false;
+        }
+
+        this.aircraft.remove(index);
+        if (this.eventScheduler != null) {
+            this.eventScheduler.aircraftRemoved(aircraft, index);
+        }
+        if (this.fleetStore != null) {
+            this.fleetStore.remove(aircraft);
+        }
+        this.landingQueue.removeAircraft(aircraft);
+        this.takeoffQueue.removeAircraft(aircraft);
+        this.loadingSchedule.remove(aircraft);
+        Gate gate = findGateOfAircraft(aircraft);
+        if (gate != null) {
+            gate.aircraftLeaves();
+        }
+        if (this.listeners != null) {
+            for (ControlTowerListener listener : this.listeners) {
+                listener.aircraftRemoved(this, aircraft);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Registers the given listener to be notified whenever an aircraft that has finished flying
+     * is added to the landing queue of this control tower.
+     *
+     * @param listener listener to register
+     */
+    public void addArrivalListener(ArrivalListener listener) {
+        if (this.arrivalListeners == null) {
+            this.arrivalListeners = new ArrayList<>(1);
+        }
+        this.arrivalListeners.add(listener);
+    }
+
+    /**
+     * Stops the given listener from being notified of aircraft arriving at this control tower.
+     * <p>
+     * If the listener was not registered, no action is taken.
+     *
+     * @param listener listener to remove
+     */
+    public void removeArrivalListener(ArrivalListener listener) {
+        if (this.arrivalListeners != null) {
+            this.arrivalListeners.remove(listener);
+        }
+    }
+
+    /**
+     * Registers the given listener to be notified of changes to the aircraft, terminals and
+     * queues of this control tower, and of every tick finished.
+     *
+     * @param listener listener to register
+     */
+    public void addListener(ControlTowerListener listener) {
+        if (this.listeners == null) {
+            this.listeners = new ArrayList<>(1);
+        }
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Stops the given listener from being notified of changes to this control tower.
+     * <p>
+     * If the listener was not registered, no action is taken.
+     *
+     * @param listener listener to remove
+     */
+    public void removeListener(ControlTowerListener listener) {
+        if (this.listeners != null) {
+            this.listeners.remove(listener);
+        }
+    }
+
     /**
      * Returns a list of all aircraft currently managed by this control tower.
      * <p>
@@ -144,11 +434,17 @@ public class ControlTower implements Tickable {
      * they were added by calling {@link #addAircraft(Aircraft)}.
      * <p>
      * Adding or removing elements from the returned list should not affect the original list.
+     * <p>
+     * If the tick mode is {@link TickMode#EVENT_DRIVEN}, any ticks skipped by idle aircraft are
+     * first applied, so that the state of every aircraft is up to date.
      *
      * @return all aircraft
      * @ass1
      */
     public List<Aircraft> getAircraft() {
+        if (this.eventScheduler != null) {
+            this.eventScheduler.synchroniseAll();
+        }
         return new ArrayList<>(this.aircraft);
     }
 
@@ -167,6 +463,10 @@ public class ControlTower implements Tickable {
      * <p>
      * If no unoccupied gates could be found across all compatible terminals, a
      * {@code NoSuitableGateException} should be thrown.
+     * <p>
+     * Rather than searching every terminal, the result is looked up in an index of free gates
+     * that is kept up to date as aircraft park at and leave gates and as terminal emergencies are
+     * declared and cleared.
      *
      * @param aircraft aircraft for which to find gate
      * @return gate for given aircraft if one exists
@@ -174,44 +474,44 @@ public class ControlTower implements Tickable {
      * @ass1
      */
     public Gate findUnoccupiedGate(Aircraft aircraft) throws NoSuitableGateException {
-        AircraftType aircraftType = aircraft.getCharacteristics().type;
-        for (Terminal terminal : terminals) {
-            /*
-             * Only check for available gates at terminals that are of the same aircraft type as
-             * the aircraft and ensure the terminal does not have a current emergency
-             */
-            if ((terminal instanceof AirplaneTerminal && aircraftType == AircraftType.AIRPLANE
-                    && !terminal.hasEmergency())
-                    || (terminal instanceof HelicopterTerminal
-                    && aircraftType == AircraftType.HELICOPTER && !terminal.hasEmergency())) {
-                try {
-                    // This terminal found a gate, return it
-                    return terminal.findUnoccupiedGate();
-                } catch (NoSuitableGateException e) {
-                    // If this terminal has no unoccupied gates, try the next one
-                }
-            }
+        /*
+         * Slots are ordered by terminal and then by gate, so the lowest free slot is the first
+         * unoccupied gate of the first compatible terminal not in a state of emergency
+         */
+        int slot = this.freeGates.get(aircraft.getCharacteristics().type).nextSetBit(0);
+        if (slot < 0) {
+            throw new NoSuitableGateException("No gate available for aircraft");
         }
-        throw new NoSuitableGateException("No gate available for aircraft");
+        return this.gateSlots.get(slot);
     }
 
     /**
      * Finds the gate where the given aircraft is parked, and returns null if the aircraft is
      * not parked at any gate in any terminal.
+     * <p>
+     * The gate is looked up in {@link #getGatesOfAircraft()} rather than by searching every
+     * terminal. Aircraft are compared using {@link Aircraft#equals(Object)}, so the gate of an
+     * equal copy of a parked aircraft is also found.
      *
      * @param aircraft aircraft whose gate to find
      * @return gate occupied by the given aircraft; or null if none exists
      * @ass1
      */
     public Gate findGateOfAircraft(Aircraft aircraft) {
-        for (Terminal terminal : this.terminals) {
-            for (Gate gate : terminal.getGates()) {
-                if (Objects.equals(gate.getAircraftAtGate(), aircraft)) {
-                    return gate;
-                }
-            }
-        }
-        return null;
+        return this.gatesOfAircraft.get(aircraft);
+    }
+
+    /**
+     * Returns a mapping of every aircraft parked at a gate in one of this control tower's
+     * terminals to the gate it is parked at.
+     * <p>
+     * The returned map is a read-only view that is kept up to date as aircraft park at and leave
+     * gates. Aircraft are compared using {@link Aircraft#equals(Object)}.
+     *
+     * @return unmodifiable view of parked aircraft and their gates
+     */
+    public Map<Aircraft, Gate> getGatesOfAircraft() {
+        return Collections.unmodifiableMap(this.gatesOfAircraft);
     }
 
     /**
@@ -243,11 +543,178 @@ public class ControlTower implements Tickable {
 
     /**
      * Returns the mapping of loading aircraft to their remaining load times.
+     * <p>
+     * The returned map is ordered by callsign. Adding or removing elements from the returned map
+     * should not affect the aircraft that are loading.
      *
      * @return loading aircraft map
      */
     public Map<Aircraft, Integer> getLoadingAircraft() {
-        return this.loadingAircraft;
+        return this.loadingSchedule.toMap();
+    }
+
+    /**
+     * Returns the way in which this control tower advances the simulation on each tick.
+     *
+     * @return tick mode of this control tower
+     */
+    public TickMode getTickMode() {
+        return this.tickMode;
+    }
+
+    /**
+     * Sets the way in which this control tower advances the simulation on each tick.
+     * <p>
+     * Control towers use {@link TickMode#PHASED} by default. {@link TickMode#LEGACY} should only be
+     * used to reproduce the behaviour of saves created by earlier versions of the simulation.
+     * {@link TickMode#EVENT_DRIVEN} gives the same results as {@link TickMode#PHASED}, but is
+     * faster when most aircraft are away, waiting at a gate or waiting in a queue.
+     *
+     * @param tickMode tick mode to use
+     */
+    public void setTickMode(TickMode tickMode) {
+        Objects.requireNonNull(tickMode);
+        if (tickMode == this.tickMode) {
+            return;
+        }
+        if (this.eventScheduler != null) {
+            this.eventScheduler.synchroniseAll();
+            this.eventScheduler = null;
+        }
+        this.tickMode = tickMode;
+    }
+
+    /**
+     * Sets the pool used to call {@link Aircraft#tick()} on all aircraft in parallel during the
+     * aircraft update phase of each tick, or stops updating aircraft in parallel if the given pool
+     * is null.
+     * <p>
+     * The aircraft list is split into chunks of at most {@code chunkSize} aircraft, which are
+     * updated as separate fork/join tasks. All other phases of the tick, which change the queues,
+     * runway and gates shared between aircraft, are still run serially on the calling thread.
+     * <p>
+     * Updating an aircraft only depends on and changes the state of that aircraft, so the results
+     * of every tick are exactly the same as when aircraft are updated serially, regardless of the
+     * pool's parallelism or the chunk size. This relies on no two aircraft sharing a task list.
+     * <p>
+     * Any {@link towersim.aircraft.AircraftListener} registered on an aircraft is notified on the
+     * pool's threads, possibly while listeners of other aircraft are being notified. A listener
+     * that changes state shared between aircraft must therefore hold a lock while doing so, and
+     * the result must not depend on the order of notification. The landing queue's listener,
+     * which moves aircraft between priority classes, does both.
+     * <p>
+     * Parallel updates are only used in {@link TickMode#PHASED} mode.
+     *
+     * @param pool      pool to update aircraft on; or null to update aircraft serially
+     * @param chunkSize largest number of aircraft to update in a single task
+     * @throws IllegalArgumentException if chunkSize is less than one
+     */
+    public void setUpdatePool(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least one: " + chunkSize);
+        }
+        this.updatePool = pool;
+        this.updateChunkSize = chunkSize;
+    }
+
+    /**
+     * Returns the store holding the state of the aircraft managed by this control tower.
+     *
+     * @return fleet store of this control tower; or null if each aircraft holds its own state
+     * @see #setFleetStore(FleetStore)
+     */
+    public FleetStore getFleetStore() {
+        return this.fleetStore;
+    }
+
+    /**
+     * Sets the store in which the fuel amount, cargo and emergency state of every aircraft
+     * managed by this control tower are held, or moves their state back into the aircraft if the
+     * given store is null.
+     * <p>
+     * All aircraft managed by the control tower, and any added later, are added to the store, and
+     * removed aircraft are removed from it. The aircraft remain usable as before, as views of the
+     * store. In {@link TickMode#PHASED} mode, aircraft are then updated by the store's tick kernel
+     * (see {@link FleetStore#tick(int, int)}), in parallel if an update pool has been set, which
+     * gives the same results as calling {@link Aircraft#tick()} on each aircraft. Any previous
+     * store is cleared.
+     * <p>
+     * The given store may already hold some of the aircraft managed by this control tower, as
+     * when the aircraft were restored from a persisted store (see
+     * {@link towersim.aircraft.BufferFleetStore#open(java.nio.file.Path)}), but no others.
+     *
+     * @param fleetStore store to hold the aircraft state; or null to stop using a store
+     * @throws IllegalArgumentException if the given store holds an aircraft not managed by this
+     *                                  control tower, or if an aircraft is already held by
+     *                                  another store
+     */
+    public void setFleetStore(FleetStore fleetStore) {
+        if (fleetStore == this.fleetStore) {
+            return;
+        }
+        if (fleetStore != null) {
+            int numStored = 0;
+            for (Aircraft aircraft : this.aircraft) {
+                if (fleetStore.contains(aircraft)) {
+                    numStored++;
+                }
+            }
+            if (numStored != fleetStore.size()) {
+                throw new IllegalArgumentException("Fleet store must only hold aircraft managed"
+                        + " by this control tower");
+            }
+        }
+        if (this.fleetStore != null) {
+            this.fleetStore.clear();
+        }
+        this.fleetStore = fleetStore;
+        if (fleetStore != null) {
+            List<Aircraft> added = new ArrayList<>();
+            try {
+                for (Aircraft aircraft : this.aircraft) {
+                    if (!fleetStore.contains(aircraft)) {
+                        fleetStore.add(aircraft);
+                        added.add(aircraft);
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                added.forEach(fleetStore::remove);
+                this.fleetStore = null;
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Informs the event scheduler and listeners, if any, that the given aircraft has been removed
+     * from the given queue and moved on to a new task by the control tower.
+     *
+     * @param movedAircraft aircraft whose task has changed
+     * @param queue         type of the task the aircraft was queued for
+     */
+    private void aircraftMoved(Aircraft movedAircraft, TaskType queue) {
+        if (this.eventScheduler != null) {
+            this.eventScheduler.aircraftChanged(movedAircraft);
+        }
+        if (this.listeners != null) {
+            for (ControlTowerListener listener : this.listeners) {
+                listener.aircraftDequeued(this, movedAircraft, queue);
+            }
+        }
+    }
+
+    /**
+     * Informs the listeners, if any, that the given aircraft has been added to the given queue.
+     *
+     * @param queuedAircraft aircraft that was queued
+     * @param queue          type of the task the aircraft is queued for
+     */
+    private void aircraftQueued(Aircraft queuedAircraft, TaskType queue) {
+        if (this.listeners != null) {
+            for (ControlTowerListener listener : this.listeners) {
+                listener.aircraftQueued(this, queuedAircraft, queue);
+            }
+        }
     }
 
     /**
@@ -258,16 +725,18 @@ public class ControlTower implements Tickable {
      * @return true if an aircraft was successfully landed and parked; false otherwise
      */
     public boolean tryLandAircraft() {
-        if (this.landingQueue.peekAircraft() == null) {
+        Aircraft nextToLand = this.landingQueue.peekAircraft();
+        if (nextToLand == null) {
             return false;
         }
 
         try {
-            Gate aircraftGate = this.findUnoccupiedGate(this.landingQueue.peekAircraft());
+            Gate aircraftGate = this.findUnoccupiedGate(nextToLand);
             Aircraft aircraftToLand = this.landingQueue.removeAircraft();
             aircraftGate.parkAircraft(aircraftToLand);
             aircraftToLand.unload();
             aircraftToLand.getTaskList().moveToNextTask();
+            aircraftMoved(aircraftToLand, TaskType.LAND);
         } catch (NoSuitableGateException e) {
             return false;
         } catch (NoSpaceException e) {
@@ -288,6 +757,7 @@ public class ControlTower implements Tickable {
         }
         Aircraft aircraftToTakeoff = this.takeoffQueue.removeAircraft();
         aircraftToTakeoff.getTaskList().moveToNextTask();
+        aircraftMoved(aircraftToTakeoff, TaskType.TAKEOFF);
     }
 
     /**
@@ -297,26 +767,18 @@ public class ControlTower implements Tickable {
      * If any aircraft's time remaining is now zero, it has finished loading and
      * should be removed from the loading map.
      * Additionally, it should leave the gate it is parked at and should move on to its next task.
+     * <p>
+     * Aircraft that finish loading on the same tick are processed in callsign order. Rather than
+     * decrementing every remaining time, the loading schedule only advances its clock and
+     * releases the aircraft whose loading has finished.
      */
     public void loadAircraft() {
-        Map<Aircraft, Integer> secondaryLoadingAircraft
-                = new TreeMap<Aircraft, Integer>(Comparator.comparing(Aircraft::getCallsign));
-
-        secondaryLoadingAircraft.putAll(this.loadingAircraft);
-
-        for (Map.Entry<Aircraft, Integer> entry : secondaryLoadingAircraft.entrySet()) {
-            int loadTicks = entry.getValue();
-            loadTicks = loadTicks - 1;
-
-            // decrements load time by one for each aircraft
-            loadingAircraft.put(entry.getKey(), loadTicks);
-            secondaryLoadingAircraft.put(entry.getKey(), loadTicks);
-
-            if (loadTicks == 0) {
-                loadingAircraft.remove(entry.getKey());
-                findGateOfAircraft(entry.getKey()).aircraftLeaves();
-                entry.getKey().getTaskList().moveToNextTask();
-            }
+        this.loadingSchedule.advance();
+        Aircraft finishedAircraft;
+        while ((finishedAircraft = this.loadingSchedule.pollFinished()) != null) {
+            findGateOfAircraft(finishedAircraft).aircraftLeaves();
+            finishedAircraft.getTaskList().moveToNextTask();
+            aircraftMoved(finishedAircraft, TaskType.LOAD);
         }
     }
 
@@ -333,16 +795,24 @@ public class ControlTower implements Tickable {
         if (currentAircraftTask == TaskType.LAND
                 && !(this.landingQueue.containsAircraft(aircraft))) {
             this.landingQueue.addAircraft(aircraft);
+            aircraftQueued(aircraft, TaskType.LAND);
+            if (this.arrivalListeners != null) {
+                for (ArrivalListener listener : this.arrivalListeners) {
+                    listener.aircraftArrived(this, aircraft);
+                }
+            }
 
         // if aircraft currently in TAKEOFF, then add to takeoff queue if not already in it
         } else if (currentAircraftTask == TaskType.TAKEOFF
                 && !(this.takeoffQueue.containsAircraft(aircraft))) {
             this.takeoffQueue.addAircraft(aircraft);
+            aircraftQueued(aircraft, TaskType.TAKEOFF);
 
         // if aircraft currently in LOAD, then add to loading Aircraft if not already in it
         } else if (currentAircraftTask == TaskType.LOAD
-                && !(this.loadingAircraft.containsKey(aircraft))) {
-            this.loadingAircraft.put(aircraft, aircraft.getLoadingTime());
+                && !(this.loadingSchedule.contains(aircraft))) {
+            this.loadingSchedule.add(aircraft, aircraft.getLoadingTime());
+            aircraftQueued(aircraft, TaskType.LOAD);
         }
     }
 
@@ -383,27 +853,138 @@ public class ControlTower implements Tickable {
      *
      *      Place all aircraft in their appropriate queues by calling placeAllAircraftInQueues().
      *
+     * Each of these phases is run exactly once per tick, unless the tick mode of this control
+     * tower is {@link TickMode#LEGACY} (see {@link #setTickMode(TickMode)}). In
+     * {@link TickMode#EVENT_DRIVEN} mode, each phase only processes the aircraft whose state can
+     * change on this tick.
+     *
      * @ass1
      */
     @Override
     public void tick() {
-        // Call tick() on all other sub-entities
-        for (Aircraft aircraft : this.aircraft) {
+        if (this.tickMode == TickMode.LEGACY) {
+            legacyTick();
+        } else if (this.tickMode == TickMode.EVENT_DRIVEN) {
+            if (this.eventScheduler == null) {
+                this.eventScheduler = new EventScheduler(this.aircraft, this.ticksElapsed);
+            }
+            eventDrivenTick();
+        } else {
+            updateAircraft();
+            advanceIdleAircraft();
+            loadAircraft();
+            useRunway();
+            placeAllAircraftInQueues();
+            this.ticksElapsed += 1;
+        }
 
-            aircraft.tick();
+        if (this.listeners != null) {
+            for (ControlTowerListener listener : this.listeners) {
+                listener.tickFinished(this);
+            }
+        }
+    }
 
-            // move all AWAY and WAIT aircraft to next task
-            TaskType aircraftCurrentTask = aircraft.getTaskList().getCurrentTask().getType();
-            if (aircraftCurrentTask == TaskType.AWAY || aircraftCurrentTask == TaskType.WAIT) {
-                aircraft.getTaskList().moveToNextTask();
+    /**
+     * Calls {@link Aircraft#tick()} on all aircraft managed by the control tower, or ticks the
+     * fleet store if one has been set, in parallel if an update pool has been set (see
+     * {@link #setUpdatePool(ForkJoinPool, int)}).
+     */
+    private void updateAircraft() {
+        if (this.fleetStore != null) {
+            if (this.updatePool != null && this.fleetStore.size() > this.updateChunkSize) {
+                this.updatePool.invoke(new FleetUpdateTask(this.fleetStore, 0,
+                        this.fleetStore.size(), this.updateChunkSize));
+            } else {
+                this.fleetStore.tick();
             }
+            return;
+        }
+        if (this.updatePool != null && this.aircraft.size() > this.updateChunkSize) {
+            this.updatePool.invoke(new AircraftUpdateTask(this.aircraft, 0, this.aircraft.size(),
+                    this.updateChunkSize));
+            return;
+        }
+        for (Aircraft aircraft : this.aircraft) {
+            aircraft.tick();
+        }
+    }
 
+    /**
+     * Moves all aircraft with a current task type of AWAY or WAIT to their next task.
+     */
+    private void advanceIdleAircraft() {
+        for (Aircraft aircraft : this.aircraft) {
+            advanceIfIdle(aircraft);
+        }
+    }
+
+    /**
+     * Moves the given aircraft to its next task if its current task type is AWAY or WAIT.
+     *
+     * @param aircraft aircraft to advance
+     */
+    private void advanceIfIdle(Aircraft aircraft) {
+        TaskType aircraftCurrentTask = aircraft.getTaskList().getCurrentTask().getType();
+        if (aircraftCurrentTask == TaskType.AWAY || aircraftCurrentTask == TaskType.WAIT) {
+            aircraft.getTaskList().moveToNextTask();
+        }
+    }
+
+    /**
+     * Returns true if the runway should be used for landing on this tick, or false if it should
+     * be used for taking off.
+     * <p>
+     * Landing is attempted from the second tick after the control tower was created and every
+     * second tick thereafter.
+     *
+     * @return whether a landing should be attempted this tick
+     */
+    private boolean isLandingTick() {
+        long ticksSinceCommencement = this.ticksElapsed - this.ticksAtCommencement;
+        return ticksSinceCommencement != 0 && ticksSinceCommencement % 2 == 0;
+    }
+
+    /**
+     * Attempts to land one aircraft if this is a landing tick, otherwise (or if no aircraft could
+     * be landed) attempts to allow one aircraft to take off.
+     */
+    private void useRunway() {
+        if (!isLandingTick() || !tryLandAircraft()) {
+            tryTakeOffAircraft();
+        }
+    }
+
+    /**
+     * Advances the simulation by one tick, processing only the aircraft whose state can change.
+     * <p>
+     * Idle aircraft are only updated on the tick they move on to a task of a different type, and
+     * only aircraft whose task has changed are placed in queues.
+     */
+    private void eventDrivenTick() {
+        this.eventScheduler.updateAircraft(this.ticksElapsed);
+        loadAircraft();
+        useRunway();
+
+        BitSet pendingAircraft = this.eventScheduler.getPendingAircraft();
+        for (int i = pendingAircraft.nextSetBit(0); i >= 0; i = pendingAircraft.nextSetBit(i + 1)) {
+            placeAircraftInQueues(this.aircraft.get(i));
+        }
+        pendingAircraft.clear();
+        this.ticksElapsed += 1;
+    }
+
+    /**
+     * Advances the simulation by one tick, running the loading, runway, queue placement and clock
+     * phases once for every aircraft managed by the control tower.
+     */
+    private void legacyTick() {
+        for (Aircraft aircraft : this.aircraft) {
+            aircraft.tick();
+            advanceIfIdle(aircraft);
             loadAircraft();
 
-            // calculates how many ticks have occurred since creation of control tower and
-            // determine whether landing or takeoff would occur based on if its every second day
-            long ticksSinceCommencement = this.ticksElapsed - this.ticksAtCommencement;
-            if (ticksSinceCommencement != 0 && ticksSinceCommencement % 2 == 0) {
+            if (isLandingTick()) {
                 if (tryLandAircraft()) {
                     tryLandAircraft();
                 } else {
@@ -414,7 +995,6 @@ public class ControlTower implements Tickable {
             }
 
             placeAllAircraftInQueues();
-
             this.ticksElapsed += 1;
         }
     }
@@ -435,6 +1015,6 @@ public class ControlTower implements Tickable {
                 this.getAircraft().size(),
                 this.landingQueue.getAircraftInOrder().size(),
                 this.takeoffQueue.getAircraftInOrder().size(),
-                this.loadingAircraft.size());
+                this.loadingSchedule.size());
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
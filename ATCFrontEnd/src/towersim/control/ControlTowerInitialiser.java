@@ -16,7 +16,13 @@ import towersim.util.MalformedSaveException;
 import towersim.util.NoSpaceException;
 
 import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Utility class that contains static methods for loading a
@@ -44,22 +50,6 @@ public class ControlTowerInitialiser {
         }
     }
 
-    /**
-     * Returns the number of at (@) symbols found using iteration.
-     *
-     * @param line task to be validated
-     * @return the number of (@) within the string
-     */
-    private static int checkSymbolQuantity(String line) {
-        int count = 0;
-        for (int i = 0; i < line.length(); i++) {
-            if (line.charAt(i) == '@') {
-                count++;
-            }
-        }
-        return count;
-    }
-
     /**
      * Checks that the given input is a valid Enum constant of AircraftCharacteristics.
      *
@@ -150,6 +140,71 @@ public class ControlTowerInitialiser {
         }
     }
 
+    /**
+     * Returns the index of the next occurrence of the separator in the line at or after the given
+     * index, or the length of the line if there are no more separators.
+     *
+     * @param line      the line being tokenised
+     * @param separator the character separating fields
+     * @param fromIndex index of the first character of the current field
+     * @return index one past the last character of the current field
+     */
+    private static int endOfField(String line, char separator, int fromIndex) {
+        int end = line.indexOf(separator, fromIndex);
+        return end < 0 ? line.length() : end;
+    }
+
+    /**
+     * Returns the length of the line once any trailing separators have been removed, so that
+     * trailing empty fields are ignored in the same way as by String.split(String).
+     *
+     * @param line      the line being tokenised
+     * @param separator the character separating fields
+     * @return index one past the last character of the last non-empty field
+     */
+    private static int endOfFields(String line, char separator) {
+        int end = line.length();
+        while (end > 0 && line.charAt(end - 1) == separator) {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Returns a map of callsigns to the aircraft with that callsign, used to resolve the callsigns
+     * listed in a save file in constant time.
+     * <p>
+     * If more than one aircraft has the same callsign, the first such aircraft in the list is
+     * used.
+     *
+     * @param aircraft list of all aircraft
+     * @return map of callsigns to aircraft
+     */
+    private static Map<String, Aircraft> indexByCallsign(List<Aircraft> aircraft) {
+        Map<String, Aircraft> callsigns = new HashMap<>(aircraft.size() * 4 / 3 + 1);
+        for (Aircraft currentAircraft : aircraft) {
+            callsigns.putIfAbsent(currentAircraft.getCallsign(), currentAircraft);
+        }
+        return callsigns;
+    }
+
+    /**
+     * Returns the aircraft with the given callsign.
+     *
+     * @param callsigns map of callsigns to aircraft
+     * @param callsign  callsign of the aircraft to find
+     * @return aircraft with the given callsign
+     * @throws MalformedSaveException if no aircraft has the given callsign
+     */
+    private static Aircraft findAircraft(Map<String, Aircraft> callsigns, String callsign)
+            throws MalformedSaveException {
+        Aircraft found = callsigns.get(callsign);
+        if (found == null) {
+            throw new MalformedSaveException();
+        }
+        return found;
+    }
+
     /**
      * Loads the number of ticks elapsed from the given reader instance.
      * The contents read from the reader are invalid if any of the following conditions are true:
@@ -176,10 +231,6 @@ public class ControlTowerInitialiser {
             }
 
             return ticks;
-        } catch (IOException ioe) {
-            throw new IOException();
-        } catch (MalformedSaveException mse) {
-            throw new MalformedSaveException();
         }
     }
 
@@ -235,10 +286,6 @@ public class ControlTowerInitialiser {
             }
 
             return aircrafts;
-        } catch (IOException ioe) {
-            throw new IOException();
-        } catch (MalformedSaveException mse) {
-            throw new MalformedSaveException();
         }
     }
 
@@ -272,68 +319,80 @@ public class ControlTowerInitialiser {
      *                                invalid according to the rules above
      */
     public static Aircraft readAircraft(String line) throws MalformedSaveException {
-        try {
-            validateColons(line, 5);
-        } catch (MalformedSaveException mse) {
-            throw new MalformedSaveException();
-        }
+        validateColons(line, 5);
 
-        String[] lineContents = line.split(":");
+        // locates each of the six colon-separated fields of the line
+        int callsignEnd = line.indexOf(':');
+        int characteristicsEnd = line.indexOf(':', callsignEnd + 1);
+        int taskListEnd = line.indexOf(':', characteristicsEnd + 1);
+        int fuelEnd = line.indexOf(':', taskListEnd + 1);
+        int emergencyEnd = line.indexOf(':', fuelEnd + 1);
 
-        AircraftCharacteristics aircraftCharacteristics;
-        double aircraftFuelAmount;
-        int cargoAmount;
-        int aircraftPassengerCapacity;
-        int aircraftFreightCapacity;
-        boolean emergency = false;
-        TaskList aircraftTaskList;
-        try {
-            // validates the aircraft characteristics (1st index of split array)
-            aircraftCharacteristics = validateCharacteristics(lineContents[1]);
-
-            // validates the fuel amount (3rd index of split array) of the aircraft
-            // to ensure it remains between 0 and the fuel capacity
-            double aircraftFuelCapacity = aircraftCharacteristics.fuelCapacity;
-            aircraftFuelAmount = validateDouble(lineContents[3]);
-            if (aircraftFuelAmount < 0 || aircraftFuelAmount > aircraftFuelCapacity) {
-                throw new MalformedSaveException();
-            }
+        // validates the aircraft characteristics (2nd field)
+        AircraftCharacteristics aircraftCharacteristics = validateCharacteristics(
+                line.substring(callsignEnd + 1, characteristicsEnd));
 
-            // validates the numerical value of cargo and determines which type of cargo it is
-            cargoAmount = validateInteger(lineContents[5]);
-            aircraftPassengerCapacity = aircraftCharacteristics.passengerCapacity;
-            aircraftFreightCapacity = aircraftCharacteristics.freightCapacity;
-            if (cargoAmount < 0
-                    || ((cargoAmount > aircraftFreightCapacity)
-                    && (cargoAmount > aircraftPassengerCapacity))) {
-                throw new MalformedSaveException();
-            }
+        double aircraftFuelAmount = validateDouble(line.substring(taskListEnd + 1, fuelEnd));
+        int cargoAmount = validateInteger(line.substring(emergencyEnd + 1));
 
-            // determines the emergency state (4th index in split array)
-            if (lineContents[4].equals("true")) {
-                emergency = true;
-            }
+        // determines the emergency state (5th field)
+        boolean emergency = line.substring(fuelEnd + 1, emergencyEnd).equals("true");
+
+        // creates the aircraft task list using the comma-connected string in the 3rd field
+        TaskList aircraftTaskList = readTaskList(
+                line.substring(characteristicsEnd + 1, taskListEnd));
+        String callsign = line.substring(0, callsignEnd);
 
-            // creates the aircraft task list using the comma-connected string in 2nd index
-            aircraftTaskList = readTaskList(lineContents[2]);
-        } catch (MalformedSaveException mfe) {
+        return createAircraft(callsign, aircraftCharacteristics, aircraftTaskList,
+                aircraftFuelAmount, emergency, cargoAmount);
+    }
+
+    /**
+     * Creates an aircraft from its decoded fields, after checking that its fuel amount and cargo
+     * are within the capacities of its characteristics.
+     * <p>
+     * The aircraft is a passenger aircraft if its characteristics allow more passengers than
+     * freight, or a freight aircraft if they allow more freight than passengers.
+     *
+     * @param callsign        callsign of the aircraft
+     * @param characteristics characteristics of the aircraft
+     * @param taskList        task list of the aircraft
+     * @param fuelAmount      current amount of fuel onboard, in litres
+     * @param emergency       whether the aircraft has declared an emergency
+     * @param cargoAmount     number of passengers or amount of freight onboard
+     * @return created aircraft
+     * @throws MalformedSaveException if the fuel amount or cargo is out of range, or the
+     *                                characteristics allow as many passengers as freight
+     */
+    static Aircraft createAircraft(String callsign, AircraftCharacteristics characteristics,
+            TaskList taskList, double fuelAmount, boolean emergency, int cargoAmount)
+            throws MalformedSaveException {
+
+        // validates the fuel amount to ensure it remains between 0 and the fuel capacity
+        if (fuelAmount < 0 || fuelAmount > characteristics.fuelCapacity) {
+            throw new MalformedSaveException();
+        }
+
+        // validates the numerical value of cargo and determines which type of cargo it is
+        int aircraftPassengerCapacity = characteristics.passengerCapacity;
+        int aircraftFreightCapacity = characteristics.freightCapacity;
+        if (cargoAmount < 0
+                || ((cargoAmount > aircraftFreightCapacity)
+                && (cargoAmount > aircraftPassengerCapacity))) {
             throw new MalformedSaveException();
         }
 
         // generates the aircraft as either passenger or freight based on the cargo given
         if (aircraftPassengerCapacity > aircraftFreightCapacity) {
             PassengerAircraft passengerAircraft = new PassengerAircraft(
-                    lineContents[0],
-                    aircraftCharacteristics, aircraftTaskList,
-                    aircraftFuelAmount, cargoAmount);
+                    callsign, characteristics, taskList, fuelAmount, cargoAmount);
             if (emergency) {
                 passengerAircraft.declareEmergency();
             }
             return passengerAircraft;
         } else if (aircraftPassengerCapacity < aircraftFreightCapacity) {
             FreightAircraft freightAircraft = new FreightAircraft(
-                    lineContents[0], aircraftCharacteristics,
-                    aircraftTaskList, aircraftFuelAmount, cargoAmount);
+                    callsign, characteristics, taskList, fuelAmount, cargoAmount);
             if (emergency) {
                 freightAircraft.declareEmergency();
             }
@@ -368,39 +427,40 @@ public class ControlTowerInitialiser {
     public static TaskList readTaskList(String taskListPart) throws MalformedSaveException {
         List<Task> tasks = new ArrayList<Task>();
 
-        // splits string into tasks
-        String[] taskComponents = taskListPart.split(",");
-
-        try {
-            for (String task : taskComponents) {
-                if (checkSymbolQuantity(task) == 1) {
-                    // if there is an '@' then its of type LOAD, where the string is
-                    // further decomposed to the task type and load percentage
-                    String[] loadTypeComponents = task.split("@");
-
-                    int loadPercent = validateInteger(loadTypeComponents[1]);
-                    if (loadPercent < 0) {
-                        throw new MalformedSaveException();
-                    }
-
-                    // use helper method to validate the task using the task type found on the
-                    // 0th index and load percent on 1st index of the loadTypeComponents
-                    Task taskToBeAdded = new Task(
-                            validateTaskType(loadTypeComponents[0]), loadPercent);
-                    tasks.add(taskToBeAdded);
-
-                } else if (checkSymbolQuantity(task) == 0) {
-                    // if it does not have '@', then it is any task but LOAD, and
-                    // further decomposition is not necessary
-                    Task taskToBeAdded = new Task(validateTaskType(task));
-                    tasks.add(taskToBeAdded);
-                } else {
+        // walks through the comma-separated tasks
+        int end = endOfFields(taskListPart, ',');
+        int taskStart = 0;
+        while (true) {
+            int taskEnd = Math.min(endOfField(taskListPart, ',', taskStart), end);
+            String task = taskListPart.substring(taskStart, taskEnd);
+
+            int symbolIndex = task.indexOf('@');
+            if (symbolIndex < 0) {
+                // if it does not have '@', then it is any task but LOAD, and
+                // further decomposition is not necessary
+                tasks.add(Task.of(validateTaskType(task)));
+            } else if (task.indexOf('@', symbolIndex + 1) < 0) {
+                // if there is an '@' then its of type LOAD, where the string is
+                // further decomposed to the task type and load percentage
+                int loadPercent = validateInteger(task.substring(symbolIndex + 1));
+                if (loadPercent < 0) {
                     throw new MalformedSaveException();
                 }
+                tasks.add(Task.of(validateTaskType(task.substring(0, symbolIndex)), loadPercent));
+            } else {
+                throw new MalformedSaveException();
+            }
+
+            if (taskEnd >= end) {
+                break;
             }
+            taskStart = taskEnd + 1;
+        }
+
+        try {
             return new TaskList(tasks);
-        } catch (MalformedSaveException | IllegalArgumentException ex) {
-            throw new MalformedSaveException();
+        } catch (IllegalArgumentException iae) {
+            throw new MalformedSaveException(iae);
         }
     }
 
@@ -427,6 +487,17 @@ public class ControlTowerInitialiser {
      */
     public static List<Terminal> loadTerminalsWithGates(Reader reader, List<Aircraft> aircraft)
             throws MalformedSaveException, IOException {
+        return loadTerminalsWithGates(reader, indexByCallsign(aircraft));
+    }
+
+    /**
+     * Loads the list of terminals and their gates from the given reader instance, resolving the
+     * callsigns of parked aircraft using the given map.
+     *
+     * @see #loadTerminalsWithGates(Reader, List)
+     */
+    private static List<Terminal> loadTerminalsWithGates(Reader reader,
+            Map<String, Aircraft> callsigns) throws MalformedSaveException, IOException {
 
         List<Terminal> terminals = new ArrayList<Terminal>();
 
@@ -446,7 +517,7 @@ public class ControlTowerInitialiser {
                 if (bufferElapsed > numTerminal) {
                     throw new MalformedSaveException();
                 }
-                terminals.add(readTerminal(terminalEncoded, bufferedReader, aircraft));
+                terminals.add(readTerminal(terminalEncoded, bufferedReader, callsigns));
                 bufferElapsed++;
             }
             if (bufferElapsed <= numTerminal) {
@@ -454,11 +525,6 @@ public class ControlTowerInitialiser {
             }
 
             return terminals;
-
-        } catch (IOException ioe) {
-            throw new IOException();
-        } catch (MalformedSaveException mse) {
-            throw new MalformedSaveException();
         }
     }
 
@@ -496,63 +562,67 @@ public class ControlTowerInitialiser {
      */
     public static Terminal readTerminal(String line, BufferedReader reader, List<Aircraft> aircraft)
             throws IOException, MalformedSaveException {
+        return readTerminal(line, reader, indexByCallsign(aircraft));
+    }
 
-        int terminalNum;
-        int gateNum;
-        Terminal terminal = null;
-
-        try {
-            validateColons(line, 3);
+    /**
+     * Reads a terminal from the given string and reads its gates from the given reader instance,
+     * resolving the callsigns of parked aircraft using the given map.
+     *
+     * @see #readTerminal(String, BufferedReader, List)
+     */
+    private static Terminal readTerminal(String line, BufferedReader reader,
+            Map<String, Aircraft> callsigns) throws IOException, MalformedSaveException {
+        validateColons(line, 3);
+
+        // locates each of the four colon-separated fields of the line
+        int typeEnd = line.indexOf(':');
+        int numberEnd = line.indexOf(':', typeEnd + 1);
+        int emergencyEnd = line.indexOf(':', numberEnd + 1);
+
+        // validates the terminal number (2nd field)
+        int terminalNum = validateInteger(line.substring(typeEnd + 1, numberEnd));
+        if (terminalNum < 1) {
+            throw new MalformedSaveException();
+        }
 
-            String[] terminalComponents = line.split(":");
+        // validates the distinct terminal type of AirplaneTerminal
+        // or Helicopter Terminal (1st field)
+        Terminal terminal;
+        String terminalType = line.substring(0, typeEnd);
+        if (terminalType.equals("AirplaneTerminal")) {
+            terminal = new AirplaneTerminal(terminalNum);
+        } else if (terminalType.equals("HelicopterTerminal")) {
+            terminal = new HelicopterTerminal(terminalNum);
+        } else {
+            throw new MalformedSaveException();
+        }
 
-            // validates the terminal number (1st index of split array)
-            terminalNum = validateInteger(terminalComponents[1]);
-            if (terminalNum < 1) {
-                throw new MalformedSaveException();
-            }
+        // validates the emergency status (3rd field)
+        if (line.substring(numberEnd + 1, emergencyEnd).equals("true")) {
+            terminal.declareEmergency();
+        }
 
-            // validates the distinct terminal type of AirplaneTerminal
-            // or Helicopter Terminal (0th index of split array)
-            String terminalType = terminalComponents[0];
-            if (terminalType.equals("AirplaneTerminal")) {
-                terminal = new AirplaneTerminal(terminalNum);
-            } else if (terminalType.equals("HelicopterTerminal")) {
-                terminal = new HelicopterTerminal(terminalNum);
-            } else {
-                throw new MalformedSaveException();
-            }
+        // validates the number of gates is within the limits of 0 and max capacity
+        int maxGates = Terminal.MAX_NUM_GATES;
+        int gateNum = validateInteger(line.substring(emergencyEnd + 1));
+        if (gateNum < 0 || gateNum > maxGates) {
+            throw new MalformedSaveException();
+        }
 
-            // validates the emergency status (2nd index of split array)
-            if (terminalComponents[2].equals("true")) {
-                terminal.declareEmergency();
-            }
+        // checking for EOF (end of file) when reading each encoded gate
+        for (int i = 0; i < gateNum; i++) {
+            String gateEncoded = reader.readLine();
 
-            // validates the number of gates is within the limits of 0 and max capacity
-            int maxGates = Terminal.MAX_NUM_GATES;
-            gateNum = validateInteger(terminalComponents[3]);
-            if (gateNum < 0 || gateNum > maxGates) {
+            if (gateEncoded == null) {
                 throw new MalformedSaveException();
             }
 
-
-            // checking for EOF (end of file) when reading each encoded gate
-            for (int i = 0; i < gateNum; i++) {
-                String gateEncoded = reader.readLine();
-
-                if (gateEncoded == null) {
-                    throw new MalformedSaveException();
-                }
-
-                Gate gate = readGate(gateEncoded, aircraft);
-                terminal.addGate(gate);
+            try {
+                terminal.addGate(readGate(gateEncoded, callsigns));
+            } catch (NoSpaceException e) {
+                // from terminal.addGate - this should not occur since the limits are checked
             }
-        } catch (MalformedSaveException mse) {
-            throw new MalformedSaveException();
-        } catch (IOException ioe) {
-            throw new IOException();
-        } catch (NoSpaceException e) {
-            // from terminal.addGate - this should not occur since the limits are checked
         }
         return terminal;
     }
@@ -580,44 +650,40 @@ public class ControlTowerInitialiser {
      */
     public static Gate readGate(String line, List<Aircraft> aircraft)
             throws MalformedSaveException {
+        return readGate(line, indexByCallsign(aircraft));
+    }
 
-        try {
-            validateColons(line, 1);
-        } catch (MalformedSaveException mse) {
-            throw new MalformedSaveException();
-        }
-
-        String[] gateContents = line.split(":");
-
-        int gateNum;
-        String aircraftCallsign;
-        boolean validCallsign = false;
-        Gate gate;
-        try {
-            // validates the gate number to be at least 1
-            gateNum = validateInteger(gateContents[0]);
-            if (gateNum < 1) {
-                throw new MalformedSaveException();
-            }
+    /**
+     * Reads a gate from its encoded representation in the given string, resolving the callsign
+     * of the parked aircraft using the given map.
+     *
+     * @see #readGate(String, List)
+     */
+    private static Gate readGate(String line, Map<String, Aircraft> callsigns)
+            throws MalformedSaveException {
+        validateColons(line, 1);
 
-            gate = new Gate(gateNum);
+        int numberEnd = line.indexOf(':');
 
-            // checks that the callsign extracted from the string and stored in gateContents
-            // is either a valid aircraft string (belongs in the aircraft list) or empty
-            aircraftCallsign = gateContents[1];
-            for (Aircraft currentAircraft : aircraft) {
-                if (currentAircraft.getCallsign().equals(aircraftCallsign)) {
-                    validCallsign = true;
-                    gate.parkAircraft(currentAircraft);
-                    break;
-                }
-            }
+        // validates the gate number to be at least 1
+        int gateNum = validateInteger(line.substring(0, numberEnd));
+        if (gateNum < 1) {
+            throw new MalformedSaveException();
+        }
 
-            if (!aircraftCallsign.equals("empty") && !validCallsign) {
-                throw new MalformedSaveException();
+        Gate gate = new Gate(gateNum);
+
+        // checks that the callsign in the second field is either
+        // a valid aircraft callsign (belongs in the aircraft list) or empty
+        String aircraftCallsign = line.substring(numberEnd + 1);
+        Aircraft parkedAircraft = callsigns.get(aircraftCallsign);
+        if (parkedAircraft != null) {
+            try {
+                gate.parkAircraft(parkedAircraft);
+            } catch (NoSpaceException e) {
+                // not possible, as the gate has just been created
             }
-
-        } catch (MalformedSaveException | NoSpaceException mse) {
+        } else if (!aircraftCallsign.equals("empty")) {
             throw new MalformedSaveException();
         }
 
@@ -640,18 +706,27 @@ public class ControlTowerInitialiser {
     public static void loadQueues(Reader reader, List<Aircraft> aircraft, TakeoffQueue takeoffQueue,
         LandingQueue landingQueue, Map<Aircraft, Integer> loadingAircraft)
             throws MalformedSaveException, IOException {
+        loadQueues(reader, indexByCallsign(aircraft), takeoffQueue, landingQueue,
+                loadingAircraft);
+    }
+
+    /**
+     * Loads the takeoff queue, landing queue and map of loading aircraft from the given reader
+     * instance, resolving callsigns using the given map.
+     *
+     * @see #loadQueues(Reader, List, TakeoffQueue, LandingQueue, Map)
+     */
+    private static void loadQueues(Reader reader, Map<String, Aircraft> callsigns,
+            TakeoffQueue takeoffQueue, LandingQueue landingQueue,
+            Map<Aircraft, Integer> loadingAircraft) throws MalformedSaveException, IOException {
 
         try (BufferedReader bufferedReader = new BufferedReader(reader)) {
             // the contents of the takeoff and landing queue are read by the shared method readQueue
-            readQueue(bufferedReader, aircraft, takeoffQueue);
-            readQueue(bufferedReader, aircraft, landingQueue);
+            readQueue(bufferedReader, callsigns, takeoffQueue);
+            readQueue(bufferedReader, callsigns, landingQueue);
 
             // loading aircraft is unique compared to the other queues and hence handled separately
-            readLoadingAircraft(bufferedReader, aircraft, loadingAircraft);
-        } catch (MalformedSaveException mse) {
-            throw new MalformedSaveException();
-        } catch (IOException ioe) {
-            throw new IOException();
+            readLoadingAircraft(bufferedReader, callsigns, loadingAircraft);
         }
     }
 
@@ -687,73 +762,83 @@ public class ControlTowerInitialiser {
      */
     public static void readQueue(BufferedReader reader, List<Aircraft> aircraft,
             AircraftQueue queue) throws IOException, MalformedSaveException {
+        readQueue(reader, indexByCallsign(aircraft), queue);
+    }
 
-        String aircrafts = null;
-        boolean invalidCallsign = false;
+    /**
+     * Reads an aircraft queue from the given reader instance, resolving callsigns using the given
+     * map.
+     *
+     * @see #readQueue(BufferedReader, List, AircraftQueue)
+     */
+    private static void readQueue(BufferedReader reader, Map<String, Aircraft> callsigns,
+            AircraftQueue queue) throws IOException, MalformedSaveException {
+        String line = reader.readLine();
 
-        try {
-            String line = reader.readLine();
+        if (line == null) {
+            throw new MalformedSaveException();
+        }
 
-            if (line == null) {
-                throw new MalformedSaveException();
-            }
+        validateColons(line, 1);
 
-            validateColons(line, 1);
+        int typeEnd = line.indexOf(':');
 
-            String[] aircraftQueueContents = line.split(":");
+        // checks that the queue type written in the first field is equivalent to the
+        // queue type provided as the parameter. This ensures that the operations are
+        // held in a specific queue.
+        if (!line.substring(0, typeEnd).equals(queue.getClass().getSimpleName())) {
+            throw new MalformedSaveException();
+        }
 
-            // checks that the queue type written in the first line and stored in
-            // aircraftQueueContents (index 0) is equivalent to the queue type provided as
-            // the parameter. This ensures that the operations are held in a specific queue.
-            if (!aircraftQueueContents[0].equals(queue.getClass().getSimpleName())) {
-                throw new MalformedSaveException();
-            }
+        // number of aircraft in the queue (second field)
+        int numAircraftInQueue = validateInteger(line.substring(typeEnd + 1));
 
-            // number of aircraft in the queue (stored at index 1 of split array)
-            int numAircraftInQueue = validateInteger(aircraftQueueContents[1]);
+        // ensures that if the number of aircraft is greater than 0, then the next
+        // readable line is not null
+        if (numAircraftInQueue == 0) {
+            return;
+        }
+        String aircrafts = numAircraftInQueue > 0 ? reader.readLine() : null;
+        if (aircrafts == null) {
+            throw new MalformedSaveException();
+        }
 
-            // ensures that if the number of aircraft is greater than 0, then the next
-            // readable line is not null
-            if (numAircraftInQueue > 0) {
-                aircrafts = reader.readLine();
-            } else if (numAircraftInQueue == 0) {
-                return;
-            }
+        // validates that the number of callsigns present within the queue is equivalent
+        // to the number of aircraft described on the previous line
+        int end = endOfFields(aircrafts, ',');
+        if (countCallsigns(aircrafts, end) != numAircraftInQueue) {
+            throw new MalformedSaveException();
+        }
 
-            if (aircrafts == null) {
-                throw new MalformedSaveException();
-            }
-
-            // splits array to separate each callsign from the second line of queue encoded
-            String[] aircraftCallsigns = aircrafts.split(",");
-
-            // validates that the number of callsigns present within the queue is equivalent
-            // to the number of aircraft described on the previous line
-            if (aircraftCallsigns.length != numAircraftInQueue) {
-                throw new MalformedSaveException();
+        // validates that all callsigns read from the queue
+        // belong to the list of aircraft given as parameter
+        int callsignStart = 0;
+        while (true) {
+            int callsignEnd = Math.min(endOfField(aircrafts, ',', callsignStart), end);
+            queue.addAircraft(findAircraft(callsigns,
+                    aircrafts.substring(callsignStart, callsignEnd)));
+            if (callsignEnd >= end) {
+                break;
             }
+            callsignStart = callsignEnd + 1;
+        }
+    }
 
-            // validates that all callsigns read from the queue
-            // belong to the list of aircraft given as parameter
-            for (String callsign : aircraftCallsigns) {
-                for (Aircraft currentAircraft : aircraft) {
-                    if (currentAircraft.getCallsign().equals(callsign)) {
-                        invalidCallsign = true;
-                        queue.addAircraft(currentAircraft);
-                        break;
-                    } else {
-                        invalidCallsign = false;
-                    }
-                }
-                if (!invalidCallsign) {
-                    throw new MalformedSaveException();
-                }
+    /**
+     * Returns the number of comma-separated entries before the given index of the line.
+     *
+     * @param line line listing comma-separated entries
+     * @param end  index one past the last character of the last entry
+     * @return number of entries
+     */
+    private static int countCallsigns(String line, int end) {
+        int count = 1;
+        for (int i = 0; i < end; i++) {
+            if (line.charAt(i) == ',') {
+                count++;
             }
-        } catch (MalformedSaveException mse) {
-            throw new MalformedSaveException();
-        } catch (IOException ioe) {
-            throw new IOException();
         }
+        return count;
     }
 
     /**
@@ -794,78 +879,71 @@ public class ControlTowerInitialiser {
      */
     public static void readLoadingAircraft(BufferedReader reader, List<Aircraft> aircraft,
         Map<Aircraft, Integer> loadingAircraft) throws IOException, MalformedSaveException {
+        readLoadingAircraft(reader, indexByCallsign(aircraft), loadingAircraft);
+    }
 
-        String loadingDetails = null;
-        boolean invalidCallsign = false;
-        try {
-            String line = reader.readLine();
+    /**
+     * Reads the map of currently loading aircraft from the given reader instance, resolving
+     * callsigns using the given map.
+     *
+     * @see #readLoadingAircraft(BufferedReader, List, Map)
+     */
+    private static void readLoadingAircraft(BufferedReader reader,
+            Map<String, Aircraft> callsigns, Map<Aircraft, Integer> loadingAircraft)
+            throws IOException, MalformedSaveException {
+        String line = reader.readLine();
 
-            if (line == null) {
-                throw new MalformedSaveException();
-            }
+        if (line == null) {
+            throw new MalformedSaveException();
+        }
 
-            validateColons(line, 1);
+        validateColons(line, 1);
 
-            // split array of the first line
-            String[] loadingContents = line.split(":");
+        // validates the number of aircrafts present in loading is an integer (second field)
+        int numAircraftInLoading = validateInteger(line.substring(line.indexOf(':') + 1));
 
-            // validates the number of aircrafts present in loading is an integer (at index 1)
-            int numAircraftInLoading = validateInteger(loadingContents[1]);
+        // ensures that if number of aircraft in loading is more than 0,
+        // then the next line is not null
+        if (numAircraftInLoading == 0) {
+            return;
+        }
+        String loadingDetails = numAircraftInLoading > 0 ? reader.readLine() : null;
+        if (loadingDetails == null) {
+            throw new MalformedSaveException();
+        }
 
-            // ensures that if number of aircraft in loading is more than 0,
-            // then the next line is not null
-            if (numAircraftInLoading > 0) {
-                loadingDetails = reader.readLine();
-            } else if (numAircraftInLoading == 0) {
-                return;
-            }
+        // the line consists of comma-separated colon (:) tuples which contain the callsign of
+        // the aircraft and its respective ticks remaining in load
+        int end = endOfFields(loadingDetails, ',');
 
-            if (loadingDetails == null) {
+        // validate that the number of aircraft read is equivalent to the number given
+        if (countCallsigns(loadingDetails, end) != numAircraftInLoading) {
+            throw new MalformedSaveException();
+        }
+
+        // checks through each colon (:) tuple to satisfy properties
+        int tupleStart = 0;
+        while (true) {
+            int tupleEnd = Math.min(endOfField(loadingDetails, ',', tupleStart), end);
+            int colon = endOfField(loadingDetails, ':', tupleStart);
+            if (colon >= tupleEnd || endOfField(loadingDetails, ':', colon + 1) < tupleEnd) {
                 throw new MalformedSaveException();
             }
 
-            // splits the line into colon (:) tuple strings which contain the callsign of
-            // the aircraft and its respective ticks remaining in load
-            String[] aircraftLoadingDetails = loadingDetails.split(",");
-
-            // validate that the number of aircraft read is equivalent to the number given
-            if (aircraftLoadingDetails.length != numAircraftInLoading) {
+            // isolating the callsign of the aircraft and its ticks remaining
+            int ticksRemaining = validateInteger(loadingDetails.substring(colon + 1, tupleEnd));
+            if (ticksRemaining < 1) {
                 throw new MalformedSaveException();
             }
 
-            // checks through each colon (:) tuple in the array to satisfy properties
-            for (String loadingInfo : aircraftLoadingDetails) {
-                validateColons(loadingInfo, 1);
+            // checks that all callsigns read belong to the given list of aircraft
+            loadingAircraft.put(findAircraft(callsigns,
+                    loadingDetails.substring(tupleStart, colon)), ticksRemaining);
 
-                String[] loadCallsignAndTicks = loadingInfo.split(":");
-
-                // isolating the callsign of the aircraft and its ticks remaining at indexes 0 and 1
-                String aircraftCallsign = loadCallsignAndTicks[0];
-
-                int ticksRemaining = validateInteger(loadCallsignAndTicks[1]);
-                if (ticksRemaining < 1) {
-                    throw new MalformedSaveException();
-                }
-
-                // checks that all callsigns read belong to the given list of aircraft
-                for (Aircraft currentAircraft : aircraft) {
-                    if (currentAircraft.getCallsign().equals(aircraftCallsign)) {
-                        invalidCallsign = true;
-                        loadingAircraft.put(currentAircraft, ticksRemaining);
-                        // do we add aircraft/loading time like this???
-                        break;
-                    } else {
-                        invalidCallsign = false;
-                    }
-                }
-                if (!invalidCallsign) {
-                    throw new MalformedSaveException();
-                }
+            if (tupleEnd >= end) {
+                break;
             }
-        } catch (MalformedSaveException mse) {
-            throw new MalformedSaveException();
-        } catch (IOException ioe) {
-            throw new IOException();
+            tupleStart = tupleEnd + 1;
         }
     }
 
@@ -898,6 +976,133 @@ public class ControlTowerInitialiser {
      */
     public static ControlTower createControlTower(Reader tick, Reader aircraft, Reader queues,
         Reader terminalsWithGates) throws MalformedSaveException, IOException {
+        long ticks = loadTick(tick);
+        return createControlTower(ticks, loadAircraft(aircraft), queues, terminalsWithGates);
+    }
+
+    /**
+     * Creates a control tower instance from the given list of aircraft, which has already been
+     * loaded, and by reading the remaining save files from the given readers.
+     * <p>
+     * This allows the aircraft to be loaded by other means, such as by a
+     * {@link MappedAircraftLoader}.
+     *
+     * @param tick               reader from which to load the number of ticks elapsed
+     * @param aircraft           list of all aircraft managed by the control tower
+     * @param queues             reader from which to load the aircraft queues
+     *                           and map of loading aircraft
+     * @param terminalsWithGates reader from which to load the terminals and their gates
+     * @return control tower created from the aircraft and by reading from the given readers
+     * @throws MalformedSaveException if reading from any of the given readers results
+     *                                in a MalformedSaveException, indicating the contents
+     *                                of that reader are invalid
+     * @throws IOException            if an IOException is encountered when
+     *                                reading from any of the readers
+     * @see #createControlTower(Reader, Reader, Reader, Reader)
+     */
+    public static ControlTower createControlTower(Reader tick, List<Aircraft> aircraft,
+            Reader queues, Reader terminalsWithGates) throws MalformedSaveException, IOException {
+        return createControlTower(loadTick(tick), aircraft, queues, terminalsWithGates);
+    }
+
+    /**
+     * Creates a control tower instance by loading the save files at the given paths, using the
+     * given pool to load them in parallel.
+     * <p>
+     * The queues and terminals files are read and decoded on the pool while the aircraft file is
+     * parsed in parallel chunks by a {@link MappedAircraftLoader}. Once every aircraft has been
+     * loaded and indexed by callsign, the queues, terminals and gates are read from the decoded
+     * files, resolving the callsigns they refer to. The control tower created, and the files
+     * rejected, are the same as for {@link #createControlTower(Reader, Reader, Reader, Reader)}.
+     *
+     * @param tick               path of the file from which to load the number of ticks elapsed
+     * @param aircraft           path of the file from which to load the list of aircraft
+     * @param queues             path of the file from which to load the aircraft queues
+     *                           and map of loading aircraft
+     * @param terminalsWithGates path of the file from which to load the terminals and their gates
+     * @param pool               pool to load the files on
+     * @return control tower created by loading the given files
+     * @throws MalformedSaveException if the contents of any of the files are invalid
+     * @throws IOException            if an IOException is encountered when reading any of the
+     *                                files
+     */
+    public static ControlTower createControlTower(Path tick, Path aircraft, Path queues,
+            Path terminalsWithGates, ForkJoinPool pool)
+            throws MalformedSaveException, IOException {
+        return createControlTower(tick, aircraft, queues, terminalsWithGates, pool, false);
+    }
+
+    /**
+     * Creates a control tower instance by loading the save files at the given paths in parallel
+     * on the given pool, as for
+     * {@link #createControlTower(Path, Path, Path, Path, ForkJoinPool)}, optionally deferring the
+     * creation of the tasks of each aircraft until they are first needed.
+     * <p>
+     * Deferring task lists (see {@link MappedAircraftLoader#setDeferTaskLists(boolean)}) reduces
+     * the memory used and the time taken to load large saves in which most aircraft are away or
+     * waiting, without changing how the control tower behaves.
+     *
+     * @param tick               path of the file from which to load the number of ticks elapsed
+     * @param aircraft           path of the file from which to load the list of aircraft
+     * @param queues             path of the file from which to load the aircraft queues
+     *                           and map of loading aircraft
+     * @param terminalsWithGates path of the file from which to load the terminals and their gates
+     * @param pool               pool to load the files on
+     * @param deferTaskLists     whether to defer the task lists of the aircraft loaded
+     * @return control tower created by loading the given files
+     * @throws MalformedSaveException if the contents of any of the files are invalid
+     * @throws IOException            if an IOException is encountered when reading any of the
+     *                                files
+     */
+    public static ControlTower createControlTower(Path tick, Path aircraft, Path queues,
+            Path terminalsWithGates, ForkJoinPool pool, boolean deferTaskLists)
+            throws MalformedSaveException, IOException {
+        ForkJoinTask<String> queuesText = pool.submit(() -> readText(queues));
+        ForkJoinTask<String> terminalsText = pool.submit(() -> readText(terminalsWithGates));
+
+        long ticks;
+        try (Reader tickReader = new FileReader(tick.toFile())) {
+            ticks = loadTick(tickReader);
+        }
+        MappedAircraftLoader loader = new MappedAircraftLoader();
+        loader.setParsePool(pool, MappedAircraftLoader.DEFAULT_PARSE_CHUNK_SIZE);
+        loader.setDeferTaskLists(deferTaskLists);
+        List<Aircraft> aircrafts = loader.load(aircraft);
+
+        return createControlTower(ticks, aircrafts, new StringReader(join(queuesText)),
+                new StringReader(join(terminalsText)));
+    }
+
+    /**
+     * Reads the whole of the given file, decoded with the same charset as a FileReader.
+     */
+    private static String readText(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), Charset.defaultCharset());
+    }
+
+    /**
+     * Waits for the given file to have been read, and returns its contents.
+     */
+    private static String join(ForkJoinTask<String> text) throws IOException {
+        try {
+            return text.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading save file");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Creates a control tower with the given number of ticks elapsed and list of aircraft, by
+     * reading its queues, terminals and gates from the given readers.
+     */
+    private static ControlTower createControlTower(long ticks, List<Aircraft> aircrafts,
+            Reader queues, Reader terminalsWithGates) throws MalformedSaveException, IOException {
 
         // instantiates empty queues and loading map
         TakeoffQueue takeoffQueue = new TakeoffQueue();
@@ -905,27 +1110,19 @@ public class ControlTowerInitialiser {
         TreeMap<Aircraft, Integer> loadingAircraft
                 = new TreeMap<>(Comparator.comparing(Aircraft::getCallsign));
 
-        try {
-            // load all information to the collections with the given readers
-            long ticks = loadTick(tick);
-            List<Aircraft> aircrafts = loadAircraft(aircraft);
-            List<Terminal> terminals = loadTerminalsWithGates(terminalsWithGates, aircrafts);
-            loadQueues(queues, aircrafts, takeoffQueue, landingQueue, loadingAircraft);
-
-            // create a control tower after acquiring all information from the load methods
-            ControlTower controlTower = new ControlTower(ticks, aircrafts, landingQueue,
-                    takeoffQueue, loadingAircraft);
-
-            for (Terminal terminal : terminals) {
-                controlTower.addTerminal(terminal);
-            }
+        // callsigns are indexed once, rather than searched for in the list on every lookup
+        Map<String, Aircraft> callsigns = indexByCallsign(aircrafts);
+        List<Terminal> terminals = loadTerminalsWithGates(terminalsWithGates, callsigns);
+        loadQueues(queues, callsigns, takeoffQueue, landingQueue, loadingAircraft);
 
-            return controlTower;
+        // create a control tower after acquiring all information from the load methods
+        ControlTower controlTower = new ControlTower(ticks, aircrafts, landingQueue,
+                takeoffQueue, loadingAircraft);
 
-        } catch (MalformedSaveException mse) {
-            throw new MalformedSaveException();
-        } catch (IOException ioe) {
-            throw new IOException();
+        for (Terminal terminal : terminals) {
+            controlTower.addTerminal(terminal);
         }
+
+        return controlTower;
     }
 }
\ No newline at end of file
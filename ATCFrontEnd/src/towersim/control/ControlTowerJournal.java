@@ -0,0 +1,1195 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftListener;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.ground.Terminal;
+import towersim.ground.TerminalListener;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.MalformedSaveException;
+import towersim.util.NoSpaceException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.DoubleConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Persists a control tower as a snapshot file, as described in {@link ControlTowerSnapshot},
+ * followed by an append-only journal of the changes made to it since the snapshot was written.
+ * <p>
+ * Once created, a journal listens to its control tower and appends one block to the journal file
+ * at the end of every tick, holding only what changed on that tick: aircraft queued for or
+ * released from the runway and gates, the task, fuel and cargo of those aircraft and of every
+ * loading aircraft, gates being parked at or left, and emergencies declared or cleared. The cost
+ * of each tick therefore depends on how much changed, not on the number of aircraft. Aircraft on
+ * {@code AWAY} or {@code WAIT} tasks are not journalled at all, as their progress is known in
+ * advance; it is re-derived by {@link #recover(Path, Path)}.
+ * <p>
+ * The journal is compacted, by rewriting the snapshot and starting an empty journal, whenever it
+ * grows larger than the snapshot, and on the tick after aircraft, terminals or gates are added to
+ * or removed from the control tower. In {@link TickMode#LEGACY} mode, where a single tick runs
+ * every phase once per aircraft, the journal is compacted on every tick.
+ * <p>
+ * Compacting the journal writes the whole control tower on the thread that ticks it. To compact
+ * without holding up ticking, {@link #startCompaction()} instead copies the control tower and
+ * journals every tick twice, once relative to each snapshot, while the copy is written on another
+ * thread; {@link #finishCompaction(Compaction)} then only has to swap the files between ticks.
+ * <p>
+ * The journal file starts with the four bytes {@code ATCJ}, a 16-bit format version and the
+ * number of ticks elapsed when the snapshot was written. Each block that follows is its length
+ * and CRC-32 checksum as 32-bit integers, then the number of ticks elapsed and the block's
+ * records. A block that was only partly written, for example because the application stopped
+ * while writing it, fails its checksum and is ignored along with anything after it.
+ */
+public class ControlTowerJournal implements Closeable {
+
+    /** Bytes that every journal starts with */
+    private static final int MAGIC = ('A' << 24) | ('T' << 16) | ('C' << 8) | 'J';
+
+    /** Version of the journal format written by this class */
+    public static final int VERSION = 1;
+
+    /** Number of bytes in the header at the start of the journal file */
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Long.BYTES;
+
+    /** Number of bytes before the contents of each block, holding its length and checksum */
+    private static final int BLOCK_HEADER_SIZE = 2 * Integer.BYTES;
+
+    /** Suffix of the temporary file a journal is started in by a compaction in progress */
+    private static final String JOURNAL_TEMPORARY_SUFFIX = ".journal.tmp";
+
+    /** Initial capacity of the buffer holding the records of the block being written */
+    private static final int INITIAL_BUFFER_SIZE = 1 << 12;
+
+    /** Record holding the task, fuel and cargo of an aircraft */
+    private static final int AIRCRAFT_RECORD = 1;
+
+    /** Record holding whether an aircraft has declared an emergency */
+    private static final int EMERGENCY_RECORD = 2;
+
+    /** Record of an aircraft being added to a queue */
+    private static final int QUEUE_ADD_RECORD = 3;
+
+    /** Record of an aircraft being removed from a queue */
+    private static final int QUEUE_REMOVE_RECORD = 4;
+
+    /** Record holding the aircraft parked at a gate */
+    private static final int GATE_RECORD = 5;
+
+    /** Record holding whether a terminal has declared an emergency */
+    private static final int TERMINAL_EMERGENCY_RECORD = 6;
+
+    /** Queue code stored for the landing queue */
+    private static final int LANDING_QUEUE = 0;
+
+    /** Queue code stored for the takeoff queue */
+    private static final int TAKEOFF_QUEUE = 1;
+
+    /** Queue code stored for the loading aircraft */
+    private static final int LOADING_AIRCRAFT = 2;
+
+    /** Control tower being journalled */
+    private final ControlTower tower;
+
+    /** Path of the snapshot file */
+    private final Path snapshotFile;
+
+    /** Path of the journal file */
+    private final Path journalFile;
+
+    /** Listener registered with the control tower */
+    private final ControlTowerListener towerListener = new TowerListener();
+
+    /** Journal of the changes made since the snapshot in the snapshot file was written */
+    private Segment journal;
+
+    /** Compaction whose snapshot is being written in the background; or null if none is */
+    private Compaction pendingCompaction;
+
+    /** Size of the snapshot file in bytes */
+    private long snapshotSize;
+
+    /** Whether the control tower has changed in a way that cannot be journalled */
+    private boolean compactionRequired;
+
+    /** Whether the journal has been closed */
+    private boolean closed;
+
+    /**
+     * Creates a new journal for the given control tower, writing a snapshot of its current state
+     * to the given snapshot file and starting an empty journal in the given journal file. Both
+     * files are replaced if they already exist.
+     * <p>
+     * Changes to the control tower are journalled until {@link #close()} is called.
+     *
+     * @param tower        control tower to journal
+     * @param snapshotFile path of the snapshot file
+     * @param journalFile  path of the journal file
+     * @throws IOException if an IOException occurs when writing to either file
+     */
+    public ControlTowerJournal(ControlTower tower, Path snapshotFile, Path journalFile)
+            throws IOException {
+        this.tower = tower;
+        this.snapshotFile = snapshotFile;
+        this.journalFile = journalFile;
+        compact();
+        tower.addListener(this.towerListener);
+    }
+
+    /**
+     * Rewrites the snapshot file with the current state of the control tower and starts an empty
+     * journal, abandoning any compaction started by {@link #startCompaction()}.
+     * <p>
+     * The new snapshot is written to a temporary file that then replaces the old snapshot, so
+     * the snapshot file is never left partly written. If the application stops before the journal
+     * has been restarted, the old journal is recognised as older than the snapshot and ignored.
+     *
+     * @throws IOException if an IOException occurs when writing to either file
+     */
+    public void compact() throws IOException {
+        abandonCompaction();
+        Path temporaryFile = this.snapshotFile.resolveSibling(
+                this.snapshotFile.getFileName() + ".tmp");
+        ControlTowerSnapshot.save(this.tower, temporaryFile);
+        Files.move(temporaryFile, this.snapshotFile, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        this.snapshotSize = Files.size(this.snapshotFile);
+
+        if (this.journal != null) {
+            this.journal.close();
+        }
+        this.journal = new Segment(this.journalFile);
+        this.compactionRequired = false;
+    }
+
+    /**
+     * Starts compacting the journal without writing the new snapshot on the calling thread,
+     * which must be the thread that ticks the control tower.
+     * <p>
+     * A copy of the control tower is taken as by {@link ControlTowerSaver#copy(ControlTower)},
+     * and a second journal is started relative to it, so that from now on each tick is journalled
+     * twice. The copy may then be written by {@link Compaction#writeSnapshot(DoubleConsumer)} on
+     * any thread while the control tower keeps being ticked, after which
+     * {@link #finishCompaction(Compaction)} replaces the snapshot and journal files with the new
+     * ones between ticks. Until then, the old snapshot and journal are kept up to date, so
+     * {@link #recover(Path, Path)} still recovers every tick.
+     * <p>
+     * Any compaction already started is abandoned. If the control tower has changed in a way that
+     * cannot be journalled, or is in {@link TickMode#LEGACY} mode, the journal must be compacted by
+     * the next tick anyway, so it is compacted now by {@link #compact()}, and the compaction
+     * returned has nothing left to write.
+     *
+     * @return compaction whose snapshot is to be written
+     * @throws IOException if an IOException occurs when starting the new journal
+     */
+    public Compaction startCompaction() throws IOException {
+        abandonCompaction();
+        if (this.compactionRequired || this.tower.getTickMode() == TickMode.LEGACY) {
+            compact();
+            return new Compaction(null, null, null);
+        }
+        Path directory = this.snapshotFile.toAbsolutePath().getParent();
+        String prefix = this.snapshotFile.getFileName().toString();
+        Path temporarySnapshot = Files.createTempFile(directory, prefix, ".tmp");
+        try {
+            Segment nextJournal = new Segment(
+                    Files.createTempFile(directory, prefix, JOURNAL_TEMPORARY_SUFFIX));
+            this.pendingCompaction = new Compaction(ControlTowerSaver.copy(this.tower),
+                    temporarySnapshot, nextJournal);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporarySnapshot);
+            throw e;
+        }
+        return this.pendingCompaction;
+    }
+
+    /**
+     * Finishes the given compaction once its snapshot has been written, by replacing the snapshot
+     * file with the new snapshot and the journal file with the journal started alongside it. This
+     * must be called on the thread that ticks the control tower, between ticks.
+     * <p>
+     * If the compaction has been abandoned, because the journal has since been compacted or
+     * closed or another compaction started, the new snapshot is deleted instead.
+     *
+     * @param compaction compaction started by {@link #startCompaction()}
+     * @throws IllegalStateException if the snapshot of the compaction has not been written
+     * @throws IOException           if an IOException occurs when replacing either file
+     */
+    public void finishCompaction(Compaction compaction) throws IOException {
+        if (compaction != this.pendingCompaction) {
+            compaction.deleteSnapshot();
+            return;
+        }
+        if (!compaction.written) {
+            throw new IllegalStateException("Snapshot of the compaction has not been written");
+        }
+        this.pendingCompaction = null;
+        Files.move(compaction.snapshotFile, this.snapshotFile, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        this.snapshotSize = Files.size(this.snapshotFile);
+        this.journal.close();
+        this.journal = compaction.journal;
+        // until the new journal is in place, the old one is ignored as older than the snapshot,
+        // so if moving it fails, the next tick must write another snapshot
+        this.compactionRequired = true;
+        this.journal.moveTo(this.journalFile);
+        this.compactionRequired = false;
+    }
+
+    /**
+     * Abandons the given compaction, for example because its snapshot could not be written,
+     * deleting its new snapshot and journal and leaving the snapshot and journal files as they
+     * are. This must be called on the thread that ticks the control tower.
+     *
+     * @param compaction compaction started by {@link #startCompaction()}
+     * @throws IOException if an IOException occurs when deleting the new files
+     */
+    public void abandonCompaction(Compaction compaction) throws IOException {
+        if (compaction == this.pendingCompaction) {
+            abandonCompaction();
+        } else {
+            compaction.deleteSnapshot();
+        }
+    }
+
+    /**
+     * Abandons the compaction in progress, if any. Its snapshot may still be being written, in
+     * which case it is deleted by {@link Compaction#writeSnapshot(DoubleConsumer)} once written.
+     */
+    private void abandonCompaction() throws IOException {
+        Compaction abandoned = this.pendingCompaction;
+        if (abandoned == null) {
+            return;
+        }
+        this.pendingCompaction = null;
+        abandoned.abandoned = true;
+        abandoned.journal.close();
+        Files.deleteIfExists(abandoned.journal.file);
+        // a snapshot being written is deleted by the thread writing it once it has been written
+        if (!abandoned.started || abandoned.written) {
+            abandoned.deleteSnapshot();
+        }
+    }
+
+    /**
+     * Returns the size of the journal file in bytes, including its header.
+     *
+     * @return size of the journal file
+     */
+    public long getJournalSize() {
+        return this.journal.size;
+    }
+
+    /**
+     * Returns the size of the snapshot file in bytes, as of the last compaction.
+     *
+     * @return size of the snapshot file
+     */
+    public long getSnapshotSize() {
+        return this.snapshotSize;
+    }
+
+    /**
+     * Writes any changes not yet journalled, for example emergencies declared since the last
+     * tick, stops journalling the control tower and closes the journal file. Any compaction in
+     * progress is abandoned.
+     *
+     * @throws IOException if an IOException occurs when writing to the journal file
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.tower.removeListener(this.towerListener);
+        try {
+            abandonCompaction();
+            if (this.compactionRequired) {
+                compact();
+            } else if (this.journal.records.position() > 0 || !this.journal.dirty.isEmpty()) {
+                this.journal.writeBlock();
+            }
+        } finally {
+            this.journal.close();
+        }
+    }
+
+    /**
+     * A compaction started by {@link #startCompaction()}, whose snapshot is written by
+     * {@link #writeSnapshot(DoubleConsumer)} before the compaction is finished by
+     * {@link #finishCompaction(Compaction)}.
+     */
+    public final class Compaction {
+
+        /** Copy of the control tower to write; or null if there is nothing to write */
+        private final ControlTower copy;
+
+        /** Temporary file the new snapshot is written to */
+        private final Path snapshotFile;
+
+        /** Journal of the changes made since the copy was taken */
+        private final Segment journal;
+
+        /** Whether writing the new snapshot has started */
+        private volatile boolean started;
+
+        /** Whether the new snapshot has been written */
+        private volatile boolean written;
+
+        /** Whether the compaction has been abandoned, so its snapshot is no longer wanted */
+        private volatile boolean abandoned;
+
+        private Compaction(ControlTower copy, Path snapshotFile, Segment journal) {
+            this.copy = copy;
+            this.snapshotFile = snapshotFile;
+            this.journal = journal;
+            this.written = copy == null;
+        }
+
+        /**
+         * Writes the new snapshot to a temporary file, reporting the progress made to the given
+         * consumer as described in {@link ControlTowerSnapshot#save(ControlTower, Path,
+         * DoubleConsumer)}. This may be called on any thread, but only once. Nothing is written
+         * if the compaction has already been abandoned.
+         *
+         * @param progress consumer of the fraction of the snapshot written
+         * @throws IOException if an IOException occurs when writing the snapshot
+         */
+        public void writeSnapshot(DoubleConsumer progress) throws IOException {
+            this.started = true;
+            if (this.copy == null || this.abandoned) {
+                progress.accept(1);
+                return;
+            }
+            try {
+                ControlTowerSnapshot.save(this.copy, this.snapshotFile, progress);
+            } catch (IOException | RuntimeException e) {
+                deleteSnapshot();
+                throw e;
+            }
+            this.written = true;
+            if (this.abandoned) {
+                deleteSnapshot();
+            }
+        }
+
+        /**
+         * Deletes the temporary file the new snapshot is written to, if any.
+         */
+        private void deleteSnapshot() throws IOException {
+            if (this.snapshotFile != null) {
+                Files.deleteIfExists(this.snapshotFile);
+            }
+        }
+    }
+
+    /**
+     * Listens for aircraft being queued and released by the control tower, and for the end of
+     * each tick, passing each change on to the journal and to the journal of any compaction in
+     * progress.
+     */
+    private class TowerListener implements ControlTowerListener {
+
+        @Override
+        public void aircraftAdded(ControlTower tower, Aircraft aircraft) {
+            compactionRequired = true;
+        }
+
+        @Override
+        public void aircraftRemoved(ControlTower tower, Aircraft aircraft) {
+            compactionRequired = true;
+        }
+
+        @Override
+        public void terminalAdded(ControlTower tower, Terminal terminal) {
+            compactionRequired = true;
+        }
+
+        @Override
+        public void aircraftQueued(ControlTower tower, Aircraft aircraft, TaskType queue) {
+            journal.aircraftQueued(aircraft, queue);
+            if (pendingCompaction != null) {
+                pendingCompaction.journal.aircraftQueued(aircraft, queue);
+            }
+        }
+
+        @Override
+        public void aircraftDequeued(ControlTower tower, Aircraft aircraft, TaskType queue) {
+            journal.aircraftDequeued(aircraft, queue);
+            if (pendingCompaction != null) {
+                pendingCompaction.journal.aircraftDequeued(aircraft, queue);
+            }
+        }
+
+        @Override
+        public void tickFinished(ControlTower tower) {
+            try {
+                // while a compaction is in progress, the journal is about to be replaced anyway
+                if (compactionRequired || tower.getTickMode() == TickMode.LEGACY
+                        || (pendingCompaction == null && journal.size > snapshotSize)) {
+                    compact();
+                } else {
+                    journal.writeBlock();
+                    if (pendingCompaction != null) {
+                        pendingCompaction.journal.writeBlock();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Returns the code stored for the queue of aircraft waiting for the given type of task.
+     */
+    private static int queueCode(TaskType queue) {
+        switch (queue) {
+            case LAND:
+                return LANDING_QUEUE;
+            case TAKEOFF:
+                return TAKEOFF_QUEUE;
+            case LOAD:
+                return LOADING_AIRCRAFT;
+            default:
+                throw new IllegalArgumentException("No queue for " + queue + " tasks");
+        }
+    }
+
+    /**
+     * A journal file holding the changes made to the control tower since a snapshot of it was
+     * taken, and the state needed to journal further changes relative to that snapshot.
+     */
+    private class Segment {
+
+        /** Path of the journal file */
+        private Path file;
+
+        /** Journal file, open for appending blocks; or null once closed */
+        private FileChannel channel;
+
+        /** Size of the journal file in bytes */
+        private long size;
+
+        /** Aircraft managed by the control tower when the snapshot was taken, in snapshot order */
+        private final List<Aircraft> aircraft;
+
+        /** Position of each aircraft in the snapshot */
+        private final Map<Aircraft, Integer> positions;
+
+        /** Index of the current task of each aircraft when the snapshot was taken */
+        private final int[] baseTaskIndices;
+
+        /** Listener registered with each aircraft, by position */
+        private final AircraftListener[] aircraftListeners;
+
+        /** Terminals managed by the control tower when the snapshot was taken */
+        private final List<Terminal> terminals;
+
+        /** Listener registered with each terminal, by position */
+        private final List<TerminalListener> terminalListeners;
+
+        /** Positions of aircraft whose last journalled emergency state is true */
+        private final BitSet emergencies = new BitSet();
+
+        /** Positions of aircraft that are loading, whose fuel changes on every tick */
+        private final BitSet loading = new BitSet();
+
+        /** Positions of aircraft whose task, fuel or cargo must be journalled in the next block */
+        private final BitSet dirty = new BitSet();
+
+        /** Records of the block being written */
+        private ByteBuffer records = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+        /**
+         * Starts an empty journal in the given file, replacing it if it already exists, relative
+         * to a snapshot of the control tower as it is now. Listeners are registered with every
+         * aircraft and terminal of the control tower, recording their positions and state.
+         *
+         * @param file path of the journal file
+         * @throws IOException if an IOException occurs when writing to the file
+         */
+        private Segment(Path file) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC);
+            header.putShort((short) VERSION);
+            header.putLong(tower.getTicksElapsed());
+            header.flip();
+            writeFully(header);
+            this.size = HEADER_SIZE;
+
+            this.aircraft = tower.getAircraft();
+            int numAircraft = this.aircraft.size();
+            this.positions = new IdentityHashMap<>(numAircraft);
+            this.baseTaskIndices = new int[numAircraft];
+            this.aircraftListeners = new AircraftListener[numAircraft];
+            for (int i = 0; i < numAircraft; i++) {
+                Aircraft current = this.aircraft.get(i);
+                this.positions.put(current, i);
+                this.baseTaskIndices[i] = current.getTaskList().getCurrentTaskIndex();
+                this.emergencies.set(i, current.hasEmergency());
+                int position = i;
+                this.aircraftListeners[i] = changed -> emergencyChanged(position, changed);
+                current.addListener(this.aircraftListeners[i]);
+            }
+
+            for (Aircraft loadingAircraft : tower.getLoadingAircraft().keySet()) {
+                this.loading.set(this.positions.get(loadingAircraft));
+            }
+
+            this.terminals = new ArrayList<>(tower.getTerminals());
+            this.terminalListeners = new ArrayList<>(this.terminals.size());
+            for (int i = 0; i < this.terminals.size(); i++) {
+                TerminalListener listener = new GateListener(i);
+                this.terminals.get(i).addListener(listener);
+                this.terminalListeners.add(listener);
+            }
+        }
+
+        /**
+         * Removes the listeners registered when the journal was started and closes the journal
+         * file, without writing any changes not yet journalled.
+         *
+         * @throws IOException if an IOException occurs when closing the file
+         */
+        private void close() throws IOException {
+            for (int i = 0; i < this.aircraftListeners.length; i++) {
+                this.aircraft.get(i).removeListener(this.aircraftListeners[i]);
+            }
+            for (int i = 0; i < this.terminalListeners.size(); i++) {
+                this.terminals.get(i).removeListener(this.terminalListeners.get(i));
+            }
+            if (this.channel != null) {
+                this.channel.close();
+                this.channel = null;
+            }
+        }
+
+        /**
+         * Moves the journal file to the given path, replacing any file already there, and carries
+         * on appending blocks to it there.
+         *
+         * @param target path to move the journal file to
+         * @throws IOException if an IOException occurs when moving or reopening the file
+         */
+        private void moveTo(Path target) throws IOException {
+            // the file is closed while it is moved, as an open file cannot be moved everywhere
+            this.channel.close();
+            this.channel = null;
+            Files.move(this.file, target, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            this.file = target;
+            this.channel = FileChannel.open(target, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+
+        /**
+         * Journals the emergency state of the aircraft at the given position if it has changed.
+         * Called whenever the fuel amount or emergency state of the aircraft changes.
+         */
+        private void emergencyChanged(int position, Aircraft changed) {
+            if (changed.hasEmergency() != this.emergencies.get(position)) {
+                this.emergencies.flip(position);
+                writeRecord(EMERGENCY_RECORD, position, changed.hasEmergency() ? 1 : 0);
+            }
+        }
+
+        /**
+         * Returns the position of the given aircraft in the snapshot, or -1 if it was added after
+         * the snapshot was taken, in which case the next tick compacts the journal.
+         */
+        private int positionOf(Aircraft changed) {
+            Integer position = this.positions.get(changed);
+            if (position == null) {
+                compactionRequired = true;
+                return -1;
+            }
+            return position;
+        }
+
+        /**
+         * Journals the given aircraft being added to the queue of aircraft waiting for the given
+         * type of task.
+         */
+        private void aircraftQueued(Aircraft queued, TaskType queue) {
+            int position = positionOf(queued);
+            if (position < 0) {
+                return;
+            }
+            if (queue == TaskType.LOAD) {
+                writeRecord(QUEUE_ADD_RECORD, LOADING_AIRCRAFT, position);
+                writeVarLong(queued.getLoadingTime());
+                this.loading.set(position);
+            } else {
+                writeRecord(QUEUE_ADD_RECORD, queueCode(queue), position);
+            }
+            this.dirty.set(position);
+        }
+
+        /**
+         * Journals the given aircraft being removed from the queue of aircraft waiting for the
+         * given type of task.
+         */
+        private void aircraftDequeued(Aircraft dequeued, TaskType queue) {
+            int position = positionOf(dequeued);
+            if (position < 0) {
+                return;
+            }
+            writeRecord(QUEUE_REMOVE_RECORD, queueCode(queue), position);
+            this.loading.clear(position);
+            this.dirty.set(position);
+        }
+
+        /**
+         * Listens for gates being added to, parked at or left in a terminal, and for emergencies
+         * declared on the terminal.
+         */
+        private class GateListener implements TerminalListener {
+
+            /** Position of the terminal in the snapshot */
+            private final int terminalPosition;
+
+            private GateListener(int terminalPosition) {
+                this.terminalPosition = terminalPosition;
+            }
+
+            @Override
+            public void gateAdded(Terminal terminal, Gate gate) {
+                compactionRequired = true;
+            }
+
+            @Override
+            public void gateOccupancyChanged(Terminal terminal, Gate gate,
+                    Aircraft previousAircraft) {
+                Aircraft parked = gate.getAircraftAtGate();
+                int occupant = parked == null ? -1 : positionOf(parked);
+                if (parked != null && occupant < 0) {
+                    return;
+                }
+                // zero marks an empty gate, so positions are stored one higher
+                writeRecord(GATE_RECORD, this.terminalPosition,
+                        terminal.getGates().indexOf(gate));
+                writeVarLong(occupant + 1);
+            }
+
+            @Override
+            public void emergencyChanged(Terminal terminal) {
+                writeRecord(TERMINAL_EMERGENCY_RECORD, this.terminalPosition,
+                        terminal.hasEmergency() ? 1 : 0);
+            }
+        }
+
+        /**
+         * Adds a record with the given tag and two operands to the block being written.
+         */
+        private void writeRecord(int tag, int first, int second) {
+            if (compactionRequired) {
+                // the next tick rewrites the snapshot, so the block will never be written
+                return;
+            }
+            ensureCapacity(1);
+            this.records.put((byte) tag);
+            writeVarLong(first);
+            writeVarLong(second);
+        }
+
+        /**
+         * Adds the given non-negative integer to the block being written, as an unsigned LEB128
+         * varint.
+         */
+        private void writeVarLong(long value) {
+            if (compactionRequired) {
+                return;
+            }
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                this.records.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            this.records.put((byte) value);
+        }
+
+        /**
+         * Grows the buffer holding the records of the block being written, if necessary, so that
+         * it can hold the given number of additional bytes.
+         */
+        private void ensureCapacity(int numBytes) {
+            if (this.records.remaining() < numBytes) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(2 * this.records.capacity(),
+                        this.records.position() + numBytes));
+                this.records.flip();
+                larger.put(this.records);
+                this.records = larger;
+            }
+        }
+
+        /**
+         * Appends a block to the journal holding the records written since the last block,
+         * followed by the task, fuel and cargo of every aircraft that was queued, released or is
+         * loading.
+         *
+         * @throws IOException if an IOException occurs when writing to the journal file
+         */
+        private void writeBlock() throws IOException {
+            BitSet changed = this.dirty;
+            changed.or(this.loading);
+            for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+                Aircraft current = this.aircraft.get(i);
+                TaskList tasks = current.getTaskList();
+                int taskOffset = Math.floorMod(
+                        tasks.getCurrentTaskIndex() - this.baseTaskIndices[i], tasks.size());
+                writeRecord(AIRCRAFT_RECORD, i, taskOffset);
+                ensureCapacity(Double.BYTES);
+                this.records.putDouble(current.getFuelAmount());
+                writeVarLong(ControlTowerSnapshot.cargoOf(current));
+            }
+            changed.clear();
+
+            ByteBuffer contents = ByteBuffer.allocate(10 + this.records.position());
+            long ticks = tower.getTicksElapsed();
+            while ((ticks & ~0x7FL) != 0) {
+                contents.put((byte) ((ticks & 0x7F) | 0x80));
+                ticks >>>= 7;
+            }
+            contents.put((byte) ticks);
+            this.records.flip();
+            contents.put(this.records);
+            this.records.clear();
+            contents.flip();
+
+            CRC32 checksum = new CRC32();
+            checksum.update(contents.duplicate());
+            ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+            header.putInt(contents.remaining());
+            header.putInt((int) checksum.getValue());
+            header.flip();
+
+            this.size += header.remaining() + contents.remaining();
+            writeFully(header);
+            writeFully(contents);
+        }
+
+        /**
+         * Writes every remaining byte of the given buffer to the end of the journal file.
+         */
+        private void writeFully(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Creates a control tower from the given snapshot file, replaying every complete block of
+     * the given journal file onto it.
+     * <p>
+     * If the journal file does not exist, is shorter than its header, or was started before the
+     * snapshot was written, the control tower is loaded from the snapshot alone. Blocks at the
+     * end of the journal that were only partly written are ignored. Aircraft on {@code AWAY} or
+     * {@code WAIT} tasks are advanced from the tick they were last journalled to the tick of the
+     * last block, as they would have been by the control tower.
+     * <p>
+     * As with {@link ControlTowerSnapshot#load(Path)}, the landing and takeoff schedule of the
+     * control tower that is returned starts afresh from the tick it was recovered at.
+     *
+     * @param snapshotFile path of the snapshot file
+     * @param journalFile  path of the journal file
+     * @return control tower recovered from the files
+     * @throws MalformedSaveException if the snapshot is invalid according to
+     *                                {@link ControlTowerSnapshot#load(Path)}, the journal does not
+     *                                start with the expected bytes, has a version newer than
+     *                                {@link #VERSION} or was started after the snapshot was
+     *                                written, or a complete block contains invalid records
+     * @throws IOException            if an IOException occurs when reading from either file
+     */
+    public static ControlTower recover(Path snapshotFile, Path journalFile)
+            throws MalformedSaveException, IOException {
+        ControlTower snapshot = ControlTowerSnapshot.load(snapshotFile);
+        if (!Files.exists(journalFile)) {
+            return snapshot;
+        }
+        ByteBuffer journal = ByteBuffer.wrap(Files.readAllBytes(journalFile));
+        if (journal.remaining() < HEADER_SIZE) {
+            return snapshot;
+        }
+        if (journal.getInt() != MAGIC) {
+            throw new MalformedSaveException("Not a control tower journal");
+        }
+        int version = journal.getShort();
+        if (version > VERSION) {
+            throw new MalformedSaveException("Unsupported journal version " + version);
+        }
+        long baseTicks = journal.getLong();
+        if (baseTicks > snapshot.getTicksElapsed()) {
+            throw new MalformedSaveException("Journal is newer than the snapshot");
+        }
+        if (baseTicks < snapshot.getTicksElapsed()) {
+            // the snapshot was rewritten, but the application stopped before the journal was
+            return snapshot;
+        }
+
+        Replay replay = new Replay(snapshot);
+        while (journal.remaining() >= BLOCK_HEADER_SIZE) {
+            int length = journal.getInt();
+            int expectedChecksum = journal.getInt();
+            if (length < 0 || length > journal.remaining()) {
+                break;
+            }
+            ByteBuffer contents = journal.slice();
+            contents.limit(length);
+            CRC32 checksum = new CRC32();
+            checksum.update(contents.duplicate());
+            if ((int) checksum.getValue() != expectedChecksum) {
+                break;
+            }
+            journal.position(journal.position() + length);
+            try {
+                replay.applyBlock(contents);
+            } catch (BufferUnderflowException e) {
+                throw new MalformedSaveException("Journal block ends part way through a record");
+            }
+        }
+        return replay.createControlTower();
+    }
+
+    /**
+     * State of a control tower being recovered, held by position in the snapshot.
+     */
+    private static class Replay {
+
+        /** Control tower loaded from the snapshot */
+        private final ControlTower snapshot;
+
+        /** Aircraft loaded from the snapshot, each on the task it was on at the snapshot */
+        private final List<Aircraft> aircraft;
+
+        /** Number of ticks elapsed at the snapshot or the last block replayed */
+        private long ticks;
+
+        /** Number of tasks each aircraft has moved on by since the snapshot */
+        private final int[] taskOffsets;
+
+        /** Fuel amount of each aircraft */
+        private final double[] fuelAmounts;
+
+        /** Cargo of each aircraft */
+        private final int[] cargo;
+
+        /** Emergency state of each aircraft */
+        private final boolean[] emergencies;
+
+        /** Number of ticks elapsed when each aircraft was last journalled */
+        private final long[] journalledTicks;
+
+        /** Positions of the aircraft in the landing queue, in order of arrival */
+        private final Set<Integer> landingQueue = new LinkedHashSet<>();
+
+        /** Positions of the aircraft in the takeoff queue, in order */
+        private final Set<Integer> takeoffQueue = new LinkedHashSet<>();
+
+        /**
+         * Loading time and number of ticks elapsed when loading was last known to have that time
+         * remaining, of each loading aircraft
+         */
+        private final Map<Integer, long[]> loadingAircraft = new LinkedHashMap<>();
+
+        /** Position of the aircraft plus one parked at each gate of each terminal, or zero */
+        private final int[][] gates;
+
+        /** Emergency state of each terminal */
+        private final boolean[] terminalEmergencies;
+
+        private Replay(ControlTower snapshot) {
+            this.snapshot = snapshot;
+            this.aircraft = snapshot.getAircraft();
+            this.ticks = snapshot.getTicksElapsed();
+
+            int numAircraft = this.aircraft.size();
+            Map<Aircraft, Integer> positions = new IdentityHashMap<>(numAircraft);
+            this.taskOffsets = new int[numAircraft];
+            this.fuelAmounts = new double[numAircraft];
+            this.cargo = new int[numAircraft];
+            this.emergencies = new boolean[numAircraft];
+            this.journalledTicks = new long[numAircraft];
+            for (int i = 0; i < numAircraft; i++) {
+                Aircraft current = this.aircraft.get(i);
+                positions.put(current, i);
+                this.fuelAmounts[i] = current.getFuelAmount();
+                this.cargo[i] = ControlTowerSnapshot.cargoOf(current);
+                this.emergencies[i] = current.hasEmergency();
+                this.journalledTicks[i] = this.ticks;
+            }
+
+            for (Aircraft landing : snapshot.getLandingQueue().getAircraftInOrder()) {
+                this.landingQueue.add(positions.get(landing));
+            }
+            for (Aircraft takingOff : snapshot.getTakeoffQueue().getAircraftInOrder()) {
+                this.takeoffQueue.add(positions.get(takingOff));
+            }
+            for (Map.Entry<Aircraft, Integer> entry
+                    : snapshot.getLoadingAircraft().entrySet()) {
+                this.loadingAircraft.put(positions.get(entry.getKey()),
+                        new long[] {entry.getValue(), this.ticks});
+            }
+
+            List<Terminal> terminals = snapshot.getTerminals();
+            this.gates = new int[terminals.size()][];
+            this.terminalEmergencies = new boolean[terminals.size()];
+            for (int i = 0; i < terminals.size(); i++) {
+                List<Gate> terminalGates = terminals.get(i).getGates();
+                this.gates[i] = new int[terminalGates.size()];
+                for (int j = 0; j < terminalGates.size(); j++) {
+                    Aircraft parked = terminalGates.get(j).getAircraftAtGate();
+                    this.gates[i][j] = parked == null ? 0 : positions.get(parked) + 1;
+                }
+                this.terminalEmergencies[i] = terminals.get(i).hasEmergency();
+            }
+        }
+
+        /**
+         * Applies the records of a single block to the state being recovered.
+         */
+        private void applyBlock(ByteBuffer block) throws MalformedSaveException {
+            long blockTicks = readVarLong(block);
+            if (blockTicks < this.ticks) {
+                throw new MalformedSaveException("Journal blocks out of order");
+            }
+            this.ticks = blockTicks;
+
+            int numAircraft = this.aircraft.size();
+            while (block.hasRemaining()) {
+                int tag = block.get();
+                switch (tag) {
+                    case AIRCRAFT_RECORD: {
+                        int position = readVarInt(block, numAircraft - 1);
+                        this.taskOffsets[position] = readVarInt(block,
+                                this.aircraft.get(position).getTaskList().size() - 1);
+                        this.fuelAmounts[position] = block.getDouble();
+                        this.cargo[position] = readVarInt(block, Integer.MAX_VALUE);
+                        this.journalledTicks[position] = blockTicks;
+                        break;
+                    }
+                    case EMERGENCY_RECORD: {
+                        int position = readVarInt(block, numAircraft - 1);
+                        this.emergencies[position] = readVarInt(block, 1) != 0;
+                        break;
+                    }
+                    case QUEUE_ADD_RECORD: {
+                        int queue = readVarInt(block, LOADING_AIRCRAFT);
+                        int position = readVarInt(block, numAircraft - 1);
+                        if (queue == LANDING_QUEUE) {
+                            this.landingQueue.add(position);
+                        } else if (queue == TAKEOFF_QUEUE) {
+                            this.takeoffQueue.add(position);
+                        } else {
+                            this.loadingAircraft.put(position, new long[] {
+                                readVarInt(block, Integer.MAX_VALUE), blockTicks});
+                        }
+                        break;
+                    }
+                    case QUEUE_REMOVE_RECORD: {
+                        int queue = readVarInt(block, LOADING_AIRCRAFT);
+                        int position = readVarInt(block, numAircraft - 1);
+                        if (queue == LANDING_QUEUE) {
+                            this.landingQueue.remove(position);
+                        } else if (queue == TAKEOFF_QUEUE) {
+                            this.takeoffQueue.remove(position);
+                        } else {
+                            this.loadingAircraft.remove(position);
+                        }
+                        break;
+                    }
+                    case GATE_RECORD: {
+                        int terminal = readVarInt(block, this.gates.length - 1);
+                        int gate = readVarInt(block, this.gates[terminal].length - 1);
+                        this.gates[terminal][gate] = readVarInt(block, numAircraft);
+                        break;
+                    }
+                    case TERMINAL_EMERGENCY_RECORD: {
+                        int terminal = readVarInt(block, this.gates.length - 1);
+                        this.terminalEmergencies[terminal] = readVarInt(block, 1) != 0;
+                        break;
+                    }
+                    default:
+                        throw new MalformedSaveException("Unknown journal record " + tag);
+                }
+            }
+        }
+
+        /**
+         * Creates a control tower holding the state recovered at the tick of the last block.
+         */
+        private ControlTower createControlTower() throws MalformedSaveException {
+            List<Aircraft> recovered = new ArrayList<>(this.aircraft.size());
+            for (int i = 0; i < this.aircraft.size(); i++) {
+                recovered.add(recoverAircraft(i));
+            }
+
+            LandingQueue landing = new LandingQueue();
+            for (int position : this.landingQueue) {
+                landing.addAircraft(recovered.get(position));
+            }
+            TakeoffQueue takeoff = new TakeoffQueue();
+            for (int position : this.takeoffQueue) {
+                takeoff.addAircraft(recovered.get(position));
+            }
+            Map<Aircraft, Integer> loading =
+                    new TreeMap<>(Comparator.comparing(Aircraft::getCallsign));
+            for (Map.Entry<Integer, long[]> entry : this.loadingAircraft.entrySet()) {
+                long[] loadingTime = entry.getValue();
+                long ticksRemaining = loadingTime[0] - (this.ticks - loadingTime[1]);
+                Aircraft loadingAircraft = recovered.get(entry.getKey());
+                if (ticksRemaining < 1) {
+                    throw new MalformedSaveException("Journal does not record "
+                            + loadingAircraft.getCallsign() + " finishing loading");
+                }
+                loading.put(loadingAircraft, (int) ticksRemaining);
+            }
+
+            ControlTower tower = new ControlTower(this.ticks, recovered, landing, takeoff,
+                    loading);
+            List<Terminal> terminals = this.snapshot.getTerminals();
+            for (int i = 0; i < terminals.size(); i++) {
+                tower.addTerminal(recoverTerminal(i, terminals.get(i), recovered));
+            }
+            return tower;
+        }
+
+        /**
+         * Creates the aircraft at the given position as it was at the tick of the last block,
+         * advancing it through any idle ticks since it was last journalled.
+         */
+        private Aircraft recoverAircraft(int position) throws MalformedSaveException {
+            Aircraft original = this.aircraft.get(position);
+            TaskList originalTasks = original.getTaskList();
+            List<Task> tasks = new ArrayList<>(originalTasks.size());
+            for (int i = 0; i < originalTasks.size(); i++) {
+                tasks.add(originalTasks.getCurrentTask());
+                originalTasks.moveToNextTask();
+            }
+            TaskList taskList = new TaskList(tasks);
+            taskList.moveForward(this.taskOffsets[position]);
+
+            Aircraft recovered;
+            try {
+                recovered = original instanceof FreightAircraft
+                        ? new FreightAircraft(original.getCallsign(),
+                                original.getCharacteristics(), taskList,
+                                this.fuelAmounts[position], this.cargo[position])
+                        : new PassengerAircraft(original.getCallsign(),
+                                original.getCharacteristics(), taskList,
+                                this.fuelAmounts[position], this.cargo[position]);
+            } catch (IllegalArgumentException e) {
+                throw new MalformedSaveException("Invalid aircraft " + original.getCallsign(), e);
+            }
+            if (this.emergencies[position]) {
+                recovered.declareEmergency();
+            }
+
+            // idle aircraft move on without being journalled until they reach a queued task
+            long idleTicks = this.ticks - this.journalledTicks[position];
+            while (idleTicks > 0 && isIdle(taskList.getCurrentTask().getType())) {
+                int sameType = taskList.countTasksOfCurrentType();
+                long skipped = sameType < 0 ? idleTicks : Math.min(sameType, idleTicks);
+                recovered.skipIdleTicks(skipped);
+                idleTicks -= skipped;
+            }
+            return recovered;
+        }
+
+        /**
+         * Creates a copy of the given terminal loaded from the snapshot, with the recovered gate
+         * occupancy and emergency state.
+         */
+        private Terminal recoverTerminal(int position, Terminal original,
+                List<Aircraft> recovered) throws MalformedSaveException {
+            Terminal terminal = original instanceof HelicopterTerminal
+                    ? new HelicopterTerminal(original.getTerminalNumber())
+                    : new AirplaneTerminal(original.getTerminalNumber());
+            if (this.terminalEmergencies[position]) {
+                terminal.declareEmergency();
+            }
+            List<Gate> originalGates = original.getGates();
+            for (int i = 0; i < originalGates.size(); i++) {
+                Gate gate = new Gate(originalGates.get(i).getGateNumber());
+                int parked = this.gates[position][i];
+                try {
+                    if (parked > 0) {
+                        gate.parkAircraft(recovered.get(parked - 1));
+                    }
+                    terminal.addGate(gate);
+                } catch (NoSpaceException e) {
+                    throw new MalformedSaveException("Invalid gate " + gate.getGateNumber(), e);
+                }
+            }
+            return terminal;
+        }
+
+        /**
+         * Returns true if aircraft on tasks of the given type move on every tick without being
+         * journalled.
+         */
+        private static boolean isIdle(TaskType type) {
+            return type == TaskType.AWAY || type == TaskType.WAIT;
+        }
+    }
+
+    /**
+     * Reads an unsigned LEB128 varint from the given block.
+     */
+    private static long readVarLong(ByteBuffer block) throws MalformedSaveException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int next = block.get();
+            value |= (long) (next & 0x7F) << shift;
+            if ((next & 0x80) == 0) {
+                if (value < 0) {
+                    throw new MalformedSaveException("Journal value out of range");
+                }
+                return value;
+            }
+        }
+        throw new MalformedSaveException("Journal varint too long");
+    }
+
+    /**
+     * Reads an unsigned LEB128 varint from the given block, checking that it is at most the given
+     * maximum.
+     */
+    private static int readVarInt(ByteBuffer block, int max) throws MalformedSaveException {
+        long value = readVarLong(block);
+        if (value > max) {
+            throw new MalformedSaveException("Journal value " + value + " out of range");
+        }
+        return (int) value;
+    }
+}
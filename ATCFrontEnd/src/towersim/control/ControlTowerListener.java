@@ -0,0 +1,69 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.ground.Terminal;
+import towersim.tasks.TaskType;
+
+/**
+ * Denotes a class that wishes to be notified of the changes a control tower makes to the aircraft,
+ * terminals and queues under its jurisdiction.
+ * <p>
+ * Idle aircraft (those on {@code AWAY} or {@code WAIT} tasks) are moved on to their next task on
+ * every tick without any notification, as their progress is known in advance. Every other change
+ * the control tower makes to an aircraft is notified.
+ */
+public interface ControlTowerListener {
+
+    /**
+     * Method called after an aircraft has been added to the given control tower, before it is
+     * placed in any queue.
+     *
+     * @param tower    control tower the aircraft was added to
+     * @param aircraft aircraft that was added
+     */
+    void aircraftAdded(ControlTower tower, Aircraft aircraft);
+
+    /**
+     * Method called after an aircraft has been removed from the given control tower, along with
+     * any queue it was waiting in and any gate it was parked at.
+     *
+     * @param tower    control tower the aircraft was removed from
+     * @param aircraft aircraft that was removed
+     */
+    void aircraftRemoved(ControlTower tower, Aircraft aircraft);
+
+    /**
+     * Method called after a terminal has been added to the given control tower.
+     *
+     * @param tower    control tower the terminal was added to
+     * @param terminal terminal that was added
+     */
+    void terminalAdded(ControlTower tower, Terminal terminal);
+
+    /**
+     * Method called after an aircraft has been added to the landing queue ({@code LAND}), takeoff
+     * queue ({@code TAKEOFF}) or loading aircraft ({@code LOAD}) of the given control tower.
+     *
+     * @param tower    control tower managing the aircraft
+     * @param aircraft aircraft that was queued
+     * @param queue    type of the task the aircraft is queued for
+     */
+    void aircraftQueued(ControlTower tower, Aircraft aircraft, TaskType queue);
+
+    /**
+     * Method called after an aircraft has landed, taken off or finished loading, i.e. after it has
+     * been removed from the given queue of the control tower and moved on to its next task.
+     *
+     * @param tower    control tower managing the aircraft
+     * @param aircraft aircraft that was removed from the queue
+     * @param queue    type of the task the aircraft was queued for
+     */
+    void aircraftDequeued(ControlTower tower, Aircraft aircraft, TaskType queue);
+
+    /**
+     * Method called after the given control tower has finished a tick.
+     *
+     * @param tower control tower that has ticked
+     */
+    void tickFinished(ControlTower tower);
+}
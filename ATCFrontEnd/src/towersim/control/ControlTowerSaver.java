@@ -0,0 +1,256 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.ground.Terminal;
+import towersim.util.NoSpaceException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Utility class that contains static methods for saving a control tower to the text save files
+ * read by {@link ControlTowerInitialiser}.
+ */
+public class ControlTowerSaver {
+
+    /** Number of times progress is reported while saving, at most */
+    private static final int PROGRESS_REPORTS = 100;
+
+    /**
+     * Utility class; not to be instantiated.
+     */
+    private ControlTowerSaver() {}
+
+    /**
+     * Saves the current state of the given control tower to the given writers, in the text format
+     * read by {@link ControlTowerInitialiser#createControlTower}.
+     * <p>
+     * The tick writer receives the number of ticks elapsed. The aircraft writer receives the
+     * number of aircraft followed by each encoded aircraft, one per line. The queues writer
+     * receives the encoded takeoff and landing queues followed by the loading aircraft and their
+     * remaining loading times. The terminals writer receives the number of terminals followed by
+     * each encoded terminal and its gates.
+     * <p>
+     * Each writer is closed once it has been written to.
+     *
+     * @param tower                    control tower to save
+     * @param tickWriter               writer to which the number of ticks elapsed will be written
+     * @param aircraftWriter           writer to which the list of aircraft will be written
+     * @param queuesWriter             writer to which the takeoff/landing queues and loading map
+     *                                 will be written
+     * @param terminalsWithGatesWriter writer to which the list of terminals and their gates will
+     *                                 be written
+     * @throws IOException if an IOException occurs when writing to the writers
+     */
+    public static void saveText(ControlTower tower, Writer tickWriter, Writer aircraftWriter,
+            Writer queuesWriter, Writer terminalsWithGatesWriter) throws IOException {
+        saveText(tower, tickWriter, aircraftWriter, queuesWriter, terminalsWithGatesWriter,
+                progress -> {});
+    }
+
+    /**
+     * Saves the current state of the given control tower to the given writers, as described in
+     * {@link #saveText(ControlTower, Writer, Writer, Writer, Writer)}, reporting the progress
+     * made to the given consumer.
+     * <p>
+     * Progress is reported as the fraction of aircraft written so far, from 0 to 1, at most a
+     * hundred times, and is always reported as 1 once every writer has been written to.
+     *
+     * @param tower                    control tower to save
+     * @param tickWriter               writer to which the number of ticks elapsed will be written
+     * @param aircraftWriter           writer to which the list of aircraft will be written
+     * @param queuesWriter             writer to which the takeoff/landing queues and loading map
+     *                                 will be written
+     * @param terminalsWithGatesWriter writer to which the list of terminals and their gates will
+     *                                 be written
+     * @param progress                 consumer of the fraction of the save completed
+     * @throws IOException if an IOException occurs when writing to the writers
+     */
+    public static void saveText(ControlTower tower, Writer tickWriter, Writer aircraftWriter,
+            Writer queuesWriter, Writer terminalsWithGatesWriter, DoubleConsumer progress)
+            throws IOException {
+
+        // writes the ticks elapsed in the current control tower in a single line
+        try (BufferedWriter writer = new BufferedWriter(tickWriter)) {
+            writer.write(String.valueOf(tower.getTicksElapsed()));
+        }
+
+        // writes the aircraft present within the control tower, with no line separator after
+        // the last line
+        List<Aircraft> aircraft = tower.getAircraft();
+        try (BufferedWriter writer = new BufferedWriter(aircraftWriter)) {
+            writer.write(String.valueOf(aircraft.size()));
+            int step = progressStep(aircraft.size());
+            for (int i = 0; i < aircraft.size(); i++) {
+                writer.write(System.lineSeparator());
+                writer.write(aircraft.get(i).encode());
+                if ((i + 1) % step == 0) {
+                    progress.accept((double) (i + 1) / aircraft.size());
+                }
+            }
+        }
+
+        // writes the takeoff and landing queues as well as the loading aircraft information
+        try (BufferedWriter writer = new BufferedWriter(queuesWriter)) {
+
+            // ensures in both takeoff and landing cases that if there are aircraft
+            // in the queues, then line separator is used to write new lines
+            writer.write(tower.getTakeoffQueue().encode());
+            if (tower.getTakeoffQueue().getAircraftInOrder().size() != 0) {
+                writer.write(System.lineSeparator());
+            }
+
+            writer.write(tower.getLandingQueue().encode());
+            if (tower.getLandingQueue().getAircraftInOrder().size() != 0) {
+                writer.write(System.lineSeparator());
+            }
+
+            // writes the first of two lines with loading aircraft information
+            Map<Aircraft, Integer> loadingAircraft = tower.getLoadingAircraft();
+            writer.write(String.format("LoadingAircraft:%d", loadingAircraft.size()));
+            if (loadingAircraft.size() != 0) {
+                writer.write(System.lineSeparator());
+            }
+
+            // second line for loading aircraft is joined with every aircraft and its respective
+            // loading time in colon (:) separated tuples.
+            StringJoiner joiner = new StringJoiner(",");
+            for (Map.Entry<Aircraft, Integer> entry : loadingAircraft.entrySet()) {
+                joiner.add(String.format("%s:%d", entry.getKey().getCallsign(),
+                        entry.getValue()));
+            }
+            writer.write(joiner.toString());
+        }
+
+        // writes terminals alongside with any gates using the same logic in line separation
+        // as writing aircraft above
+        try (BufferedWriter writer = new BufferedWriter(terminalsWithGatesWriter)) {
+            writer.write(String.valueOf(tower.getTerminals().size()));
+            for (Terminal terminal : tower.getTerminals()) {
+                writer.write(System.lineSeparator());
+                writer.write(terminal.encode());
+            }
+        }
+        progress.accept(1);
+    }
+
+    /**
+     * Returns the number of aircraft to save between each report of progress, when saving the
+     * given number of aircraft.
+     *
+     * @param numAircraft number of aircraft being saved
+     * @return number of aircraft saved between each report of progress
+     */
+    static int progressStep(int numAircraft) {
+        return Math.max(1, numAircraft / PROGRESS_REPORTS);
+    }
+
+    /**
+     * Returns a copy of the given control tower, holding copies of its aircraft, queues, loading
+     * aircraft and terminals as they are now.
+     * <p>
+     * The copy shares no state that changes when the given control tower ticks, so it can be
+     * saved on another thread while the given control tower keeps running. Copying is much
+     * cheaper than encoding, as the immutable tasks of each aircraft are shared rather than
+     * copied. As with a control tower loaded from a save, the copy's landing and takeoff schedule
+     * starts afresh from its current tick, and its tick mode is {@link TickMode#PHASED}.
+     *
+     * @param tower control tower to copy
+     * @return copy of the control tower
+     */
+    public static ControlTower copy(ControlTower tower) {
+        List<Aircraft> aircraft = tower.getAircraft();
+        List<Aircraft> copiedAircraft = new ArrayList<>(aircraft.size());
+        Map<Aircraft, Aircraft> copies = new IdentityHashMap<>(aircraft.size());
+        for (Aircraft current : aircraft) {
+            Aircraft copied = copyAircraft(current);
+            copiedAircraft.add(copied);
+            copies.put(current, copied);
+        }
+
+        LandingQueue landingQueue = ((LandingQueue) tower.getLandingQueue()).copy(copies);
+        TakeoffQueue takeoffQueue = new TakeoffQueue();
+        for (Aircraft takingOff : tower.getTakeoffQueue().getAircraftInOrder()) {
+            takeoffQueue.addAircraft(copies.get(takingOff));
+        }
+        Map<Aircraft, Integer> loadingAircraft =
+                new TreeMap<>(Comparator.comparing(Aircraft::getCallsign));
+        tower.getLoadingAircraft().forEach((loading, ticksRemaining) ->
+                loadingAircraft.put(copies.get(loading), ticksRemaining));
+
+        ControlTower copy = new ControlTower(tower.getTicksElapsed(), copiedAircraft,
+                landingQueue, takeoffQueue, loadingAircraft);
+        for (Terminal terminal : tower.getTerminals()) {
+            copy.addTerminal(copyTerminal(terminal, copies));
+        }
+        return copy;
+    }
+
+    /**
+     * Returns a copy of the given aircraft, on the same task.
+     */
+    private static Aircraft copyAircraft(Aircraft aircraft) {
+        Aircraft copy;
+        if (aircraft instanceof FreightAircraft) {
+            copy = new FreightAircraft(aircraft.getCallsign(), aircraft.getCharacteristics(),
+                    aircraft.getTaskList().copy(), aircraft.getFuelAmount(),
+                    ((FreightAircraft) aircraft).getFreightAmount());
+        } else if (aircraft instanceof PassengerAircraft) {
+            copy = new PassengerAircraft(aircraft.getCallsign(), aircraft.getCharacteristics(),
+                    aircraft.getTaskList().copy(), aircraft.getFuelAmount(),
+                    ((PassengerAircraft) aircraft).getNumPassengers());
+        } else {
+            throw new IllegalArgumentException("Unknown kind of aircraft: "
+                    + aircraft.getClass().getSimpleName());
+        }
+        if (aircraft.hasEmergency()) {
+            copy.declareEmergency();
+        }
+        return copy;
+    }
+
+    /**
+     * Returns a copy of the given terminal and its gates, with the copies of the aircraft parked
+     * at each gate.
+     */
+    private static Terminal copyTerminal(Terminal terminal, Map<Aircraft, Aircraft> copies) {
+        Terminal copy;
+        if (terminal instanceof HelicopterTerminal) {
+            copy = new HelicopterTerminal(terminal.getTerminalNumber());
+        } else if (terminal instanceof AirplaneTerminal) {
+            copy = new AirplaneTerminal(terminal.getTerminalNumber());
+        } else {
+            throw new IllegalArgumentException("Unknown kind of terminal: "
+                    + terminal.getClass().getSimpleName());
+        }
+        if (terminal.hasEmergency()) {
+            copy.declareEmergency();
+        }
+        for (Gate gate : terminal.getGates()) {
+            Gate copiedGate = new Gate(gate.getGateNumber());
+            try {
+                if (gate.getAircraftAtGate() != null) {
+                    copiedGate.parkAircraft(copies.get(gate.getAircraftAtGate()));
+                }
+                copy.addGate(copiedGate);
+            } catch (NoSpaceException e) {
+                // not possible, as the gate is new and the terminal it is copied from has room
+            }
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,572 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.MalformedSaveException;
+import towersim.util.NoSpaceException;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Utility class that contains static methods for saving a control tower to, and loading it from,
+ * a single binary snapshot file.
+ * <p>
+ * A snapshot holds the same information as the four text save files read by
+ * {@link ControlTowerInitialiser}, except that fuel amounts are stored exactly rather than
+ * rounded to two decimal places. A snapshot starts with the four bytes {@code ATCS} and a 16-bit
+ * format version, followed by a sequence of sections. Each section is a one-byte tag, the length
+ * of the section's contents in bytes as a 32-bit integer, and then the contents.
+ * <p>
+ * The sections, which must appear in this order, are:
+ * <ol>
+ * <li>{@code TICKS}: the number of ticks elapsed</li>
+ * <li>{@code CHARACTERISTICS}: the names of the aircraft characteristics used by the aircraft,
+ * each stored once</li>
+ * <li>{@code CALLSIGNS}: the callsign of every aircraft, in the order returned by
+ * {@link ControlTower#getAircraft()}. Every other section refers to aircraft by their position in
+ * this table.</li>
+ * <li>{@code AIRCRAFT}: for each aircraft, its characteristics as a position in the
+ * characteristics table, its emergency and cargo flags, its exact fuel amount, its cargo and its
+ * task list, starting from its current task</li>
+ * <li>{@code QUEUES}: the takeoff queue, landing queue and loading aircraft</li>
+ * <li>{@code TERMINALS}: the terminals and their gates</li>
+ * </ol>
+ * Counts, positions and other non-negative integers are stored as unsigned LEB128 varints, and
+ * each task is stored as a single varint. Sections with unknown tags are skipped, so that
+ * sections may be added to the format without changing its version.
+ */
+public class ControlTowerSnapshot {
+
+    /** Bytes that every snapshot starts with */
+    private static final int MAGIC = ('A' << 24) | ('T' << 16) | ('C' << 8) | 'S';
+
+    /** Version of the snapshot format written by this class */
+    public static final int VERSION = 1;
+
+    /** Tag of the section storing the number of ticks elapsed */
+    private static final int TICKS_SECTION = 1;
+
+    /** Tag of the section storing the table of aircraft characteristics */
+    private static final int CHARACTERISTICS_SECTION = 2;
+
+    /** Tag of the section storing the table of callsigns */
+    private static final int CALLSIGNS_SECTION = 3;
+
+    /** Tag of the section storing the aircraft */
+    private static final int AIRCRAFT_SECTION = 4;
+
+    /** Tag of the section storing the takeoff queue, landing queue and loading aircraft */
+    private static final int QUEUES_SECTION = 5;
+
+    /** Tag of the section storing the terminals and their gates */
+    private static final int TERMINALS_SECTION = 6;
+
+    /** Tags of the sections that every snapshot must contain, in order */
+    private static final int[] REQUIRED_SECTIONS = {TICKS_SECTION, CHARACTERISTICS_SECTION,
+        CALLSIGNS_SECTION, AIRCRAFT_SECTION, QUEUES_SECTION, TERMINALS_SECTION};
+
+    /** Task types in the order of the codes they are stored as */
+    private static final TaskType[] TASK_TYPES = {TaskType.AWAY, TaskType.LAND, TaskType.WAIT,
+        TaskType.LOAD, TaskType.TAKEOFF};
+
+    /** Number of low bits of a stored task that hold the code of its type */
+    private static final int TASK_TYPE_BITS = 3;
+
+    /** Aircraft flag set if the aircraft has declared an emergency */
+    private static final int EMERGENCY_FLAG = 1;
+
+    /** Aircraft flag set if the aircraft carries freight rather than passengers */
+    private static final int FREIGHT_FLAG = 2;
+
+    /** Terminal kind stored for airplane terminals */
+    private static final int AIRPLANE_TERMINAL = 0;
+
+    /** Terminal kind stored for helicopter terminals */
+    private static final int HELICOPTER_TERMINAL = 1;
+
+    /**
+     * Utility class; not to be instantiated.
+     */
+    private ControlTowerSnapshot() {}
+
+    /**
+     * Saves the current state of the given control tower to a snapshot at the given path,
+     * replacing the file if it already exists.
+     *
+     * @param tower control tower to save
+     * @param file  path of the snapshot file to write
+     * @throws IOException if an IOException occurs when writing to the file
+     */
+    public static void save(ControlTower tower, Path file) throws IOException {
+        save(tower, file, progress -> {});
+    }
+
+    /**
+     * Saves the current state of the given control tower to a snapshot at the given path,
+     * replacing the file if it already exists, and reporting the progress made to the given
+     * consumer.
+     * <p>
+     * Progress is reported as the fraction of aircraft written so far, from 0 to 1, at most a
+     * hundred times, and is always reported as 1 once the snapshot has been written.
+     *
+     * @param tower    control tower to save
+     * @param file     path of the snapshot file to write
+     * @param progress consumer of the fraction of the save completed
+     * @throws IOException if an IOException occurs when writing to the file
+     */
+    public static void save(ControlTower tower, Path file, DoubleConsumer progress)
+            throws IOException {
+        List<Aircraft> aircraft = tower.getAircraft();
+        Map<Aircraft, Integer> positions = new IdentityHashMap<>(aircraft.size());
+        for (int i = 0; i < aircraft.size(); i++) {
+            positions.put(aircraft.get(i), i);
+        }
+
+        try (SnapshotOutput output = new SnapshotOutput(FileChannel.open(file,
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING))) {
+            output.writeInt(MAGIC);
+            output.writeShort(VERSION);
+
+            output.beginSection(TICKS_SECTION);
+            output.writeVarLong(tower.getTicksElapsed());
+            output.endSection();
+
+            Map<AircraftCharacteristics, Integer> characteristics =
+                    writeCharacteristics(output, aircraft);
+
+            output.beginSection(CALLSIGNS_SECTION);
+            output.writeVarLong(aircraft.size());
+            for (Aircraft current : aircraft) {
+                output.writeString(current.getCallsign());
+            }
+            output.endSection();
+
+            output.beginSection(AIRCRAFT_SECTION);
+            int step = ControlTowerSaver.progressStep(aircraft.size());
+            for (int i = 0; i < aircraft.size(); i++) {
+                writeAircraft(output, aircraft.get(i), characteristics);
+                if ((i + 1) % step == 0) {
+                    progress.accept((double) (i + 1) / aircraft.size());
+                }
+            }
+            output.endSection();
+
+            output.beginSection(QUEUES_SECTION);
+            writeQueue(output, tower.getTakeoffQueue(), positions);
+            writeQueue(output, tower.getLandingQueue(), positions);
+            Map<Aircraft, Integer> loadingAircraft = tower.getLoadingAircraft();
+            output.writeVarLong(loadingAircraft.size());
+            for (Map.Entry<Aircraft, Integer> entry : loadingAircraft.entrySet()) {
+                output.writeVarLong(positionOf(entry.getKey(), positions));
+                output.writeVarLong(entry.getValue());
+            }
+            output.endSection();
+
+            output.beginSection(TERMINALS_SECTION);
+            output.writeVarLong(tower.getTerminals().size());
+            for (Terminal terminal : tower.getTerminals()) {
+                writeTerminal(output, terminal, positions);
+            }
+            output.endSection();
+        }
+        progress.accept(1);
+    }
+
+    /**
+     * Creates a control tower from the snapshot at the given path.
+     * <p>
+     * The snapshot is invalid if it does not start with the expected bytes, has a version newer
+     * than {@link #VERSION}, is missing a required section, has a section whose length does not
+     * match its contents, or contains any value that the text save files would reject, such as an
+     * unknown callsign or an invalid task list.
+     *
+     * @param file path of the snapshot file to read
+     * @return control tower created from the snapshot
+     * @throws MalformedSaveException if the contents of the file are invalid according to the
+     *                                rules above
+     * @throws IOException            if an IOException occurs when reading from the file
+     */
+    public static ControlTower load(Path file) throws MalformedSaveException, IOException {
+        try (SnapshotInput input = new SnapshotInput(FileChannel.open(file,
+                StandardOpenOption.READ))) {
+            if (input.readInt() != MAGIC) {
+                throw new MalformedSaveException("Not a control tower snapshot");
+            }
+            int version = input.readShort();
+            if (version > VERSION) {
+                throw new MalformedSaveException("Unsupported snapshot version " + version);
+            }
+
+            long ticks = 0;
+            List<AircraftCharacteristics> characteristics = null;
+            List<String> callsigns = null;
+            List<Aircraft> aircraft = null;
+            TakeoffQueue takeoffQueue = new TakeoffQueue();
+            LandingQueue landingQueue = new LandingQueue();
+            Map<Aircraft, Integer> loadingAircraft =
+                    new TreeMap<>(Comparator.comparing(Aircraft::getCallsign));
+            List<Terminal> terminals = null;
+
+            int sectionsRead = 0;
+            while (input.hasRemaining()) {
+                int tag = input.readByte();
+                int length = input.readInt();
+                if (length < 0) {
+                    throw new MalformedSaveException("Invalid section length " + length);
+                }
+                boolean required = sectionsRead < REQUIRED_SECTIONS.length
+                        && tag == REQUIRED_SECTIONS[sectionsRead];
+                if (!required) {
+                    for (int requiredTag : REQUIRED_SECTIONS) {
+                        if (tag == requiredTag) {
+                            throw new MalformedSaveException("Section " + tag + " out of order");
+                        }
+                    }
+                    // sections added in later versions of the format are ignored
+                    input.skip(length);
+                    continue;
+                }
+
+                long sectionEnd = input.position() + length;
+                switch (tag) {
+                    case TICKS_SECTION:
+                        ticks = input.readVarLong();
+                        break;
+                    case CHARACTERISTICS_SECTION:
+                        characteristics = readCharacteristics(input);
+                        break;
+                    case CALLSIGNS_SECTION:
+                        callsigns = readCallsigns(input);
+                        break;
+                    case AIRCRAFT_SECTION:
+                        aircraft = readAircraft(input, callsigns, characteristics);
+                        break;
+                    case QUEUES_SECTION:
+                        readQueue(input, aircraft, takeoffQueue);
+                        readQueue(input, aircraft, landingQueue);
+                        readLoadingAircraft(input, aircraft, loadingAircraft);
+                        break;
+                    default:
+                        terminals = readTerminals(input, aircraft);
+                        break;
+                }
+                if (input.position() != sectionEnd) {
+                    throw new MalformedSaveException("Length of section " + tag
+                            + " does not match its contents");
+                }
+                sectionsRead++;
+            }
+            if (sectionsRead < REQUIRED_SECTIONS.length) {
+                throw new MalformedSaveException("Snapshot is missing section "
+                        + REQUIRED_SECTIONS[sectionsRead]);
+            }
+
+            ControlTower tower = new ControlTower(ticks, aircraft, landingQueue, takeoffQueue,
+                    loadingAircraft);
+            for (Terminal terminal : terminals) {
+                tower.addTerminal(terminal);
+            }
+            return tower;
+        }
+    }
+
+    /**
+     * Writes the table of characteristics used by the given aircraft, returning the position of
+     * each characteristics in the table.
+     */
+    private static Map<AircraftCharacteristics, Integer> writeCharacteristics(
+            SnapshotOutput output, List<Aircraft> aircraft) throws IOException {
+        Map<AircraftCharacteristics, Integer> characteristics =
+                new EnumMap<>(AircraftCharacteristics.class);
+        for (Aircraft current : aircraft) {
+            characteristics.putIfAbsent(current.getCharacteristics(), characteristics.size());
+        }
+        output.beginSection(CHARACTERISTICS_SECTION);
+        output.writeVarLong(characteristics.size());
+        // entries of an EnumMap are iterated in declaration order, not table order
+        AircraftCharacteristics[] table = new AircraftCharacteristics[characteristics.size()];
+        characteristics.forEach((model, position) -> table[position] = model);
+        for (AircraftCharacteristics model : table) {
+            output.writeString(model.name());
+        }
+        output.endSection();
+        return characteristics;
+    }
+
+    /**
+     * Reads the table of characteristics.
+     */
+    private static List<AircraftCharacteristics> readCharacteristics(SnapshotInput input)
+            throws MalformedSaveException, IOException {
+        int count = input.readVarInt(AircraftCharacteristics.values().length);
+        List<AircraftCharacteristics> characteristics = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = input.readString();
+            try {
+                characteristics.add(AircraftCharacteristics.valueOf(name));
+            } catch (IllegalArgumentException e) {
+                throw new MalformedSaveException("Unknown aircraft characteristics " + name);
+            }
+        }
+        return characteristics;
+    }
+
+    /**
+     * Reads the table of callsigns.
+     */
+    private static List<String> readCallsigns(SnapshotInput input)
+            throws MalformedSaveException, IOException {
+        int count = input.readVarInt(Integer.MAX_VALUE);
+        // the count is not trusted to size the list, as each callsign takes at least one byte
+        List<String> callsigns = new ArrayList<>(Math.min(count, SnapshotOutput.BUFFER_SIZE));
+        for (int i = 0; i < count; i++) {
+            callsigns.add(input.readString());
+        }
+        return callsigns;
+    }
+
+    /**
+     * Writes the given aircraft, referring to its characteristics by their position in the table.
+     */
+    private static void writeAircraft(SnapshotOutput output, Aircraft aircraft,
+            Map<AircraftCharacteristics, Integer> characteristics) throws IOException {
+        output.writeVarLong(characteristics.get(aircraft.getCharacteristics()));
+
+        int flags = aircraft.hasEmergency() ? EMERGENCY_FLAG : 0;
+        if (aircraft instanceof FreightAircraft) {
+            flags |= FREIGHT_FLAG;
+        }
+        output.writeByte(flags);
+        output.writeDouble(aircraft.getFuelAmount());
+        output.writeVarLong(cargoOf(aircraft));
+
+        // tasks are written starting from the current task, as in the text format
+        TaskList tasks = aircraft.getTaskList();
+        output.writeVarLong(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.getCurrentTask();
+            int code = 0;
+            while (TASK_TYPES[code] != task.getType()) {
+                code++;
+            }
+            long encoded = code;
+            if (task.getType() == TaskType.LOAD) {
+                encoded |= (long) task.getLoadPercent() << TASK_TYPE_BITS;
+            }
+            output.writeVarLong(encoded);
+            tasks.moveToNextTask();
+        }
+    }
+
+    /**
+     * Returns the amount of freight carried by the given freight aircraft, or the number of
+     * passengers on board the given passenger aircraft.
+     *
+     * @param aircraft aircraft to get the cargo of
+     * @return amount of cargo on board the aircraft
+     * @throws IllegalArgumentException if the aircraft is neither a freight nor a passenger
+     *                                  aircraft
+     */
+    static int cargoOf(Aircraft aircraft) {
+        if (aircraft instanceof FreightAircraft) {
+            return ((FreightAircraft) aircraft).getFreightAmount();
+        } else if (aircraft instanceof PassengerAircraft) {
+            return ((PassengerAircraft) aircraft).getNumPassengers();
+        }
+        throw new IllegalArgumentException("Unknown kind of aircraft: "
+                + aircraft.getClass().getSimpleName());
+    }
+
+    /**
+     * Reads every aircraft, whose callsigns have already been read.
+     */
+    private static List<Aircraft> readAircraft(SnapshotInput input, List<String> callsigns,
+            List<AircraftCharacteristics> characteristics)
+            throws MalformedSaveException, IOException {
+        List<Aircraft> aircraft = new ArrayList<>(callsigns.size());
+        for (String callsign : callsigns) {
+            AircraftCharacteristics model = characteristics.get(
+                    input.readVarInt(characteristics.size() - 1));
+            int flags = input.readByte();
+            double fuelAmount = input.readDouble();
+            if (!(fuelAmount >= 0 && fuelAmount <= model.fuelCapacity)) {
+                throw new MalformedSaveException("Invalid fuel amount for " + callsign);
+            }
+            int cargo = input.readVarInt(Integer.MAX_VALUE);
+
+            int numTasks = input.readVarInt(Integer.MAX_VALUE);
+            List<Task> tasks = new ArrayList<>(Math.min(numTasks, SnapshotOutput.BUFFER_SIZE));
+            for (int i = 0; i < numTasks; i++) {
+                long encoded = input.readVarLong();
+                int code = (int) (encoded & ((1 << TASK_TYPE_BITS) - 1));
+                long loadPercent = encoded >>> TASK_TYPE_BITS;
+                if (code >= TASK_TYPES.length || loadPercent > Integer.MAX_VALUE
+                        || (loadPercent != 0 && TASK_TYPES[code] != TaskType.LOAD)) {
+                    throw new MalformedSaveException("Invalid task for " + callsign);
+                }
+                tasks.add(TASK_TYPES[code] == TaskType.LOAD
+                        ? Task.of(TaskType.LOAD, (int) loadPercent)
+                        : Task.of(TASK_TYPES[code]));
+            }
+
+            Aircraft read;
+            try {
+                TaskList taskList = new TaskList(tasks);
+                read = (flags & FREIGHT_FLAG) != 0
+                        ? new FreightAircraft(callsign, model, taskList, fuelAmount, cargo)
+                        : new PassengerAircraft(callsign, model, taskList, fuelAmount, cargo);
+            } catch (IllegalArgumentException e) {
+                throw new MalformedSaveException("Invalid aircraft " + callsign, e);
+            }
+            if ((flags & EMERGENCY_FLAG) != 0) {
+                read.declareEmergency();
+            }
+            aircraft.add(read);
+        }
+        return aircraft;
+    }
+
+    /**
+     * Writes the aircraft in the given queue, in order, as positions in the callsign table.
+     */
+    private static void writeQueue(SnapshotOutput output, AircraftQueue queue,
+            Map<Aircraft, Integer> positions) throws IOException {
+        List<Aircraft> queued = queue.getAircraftInOrder();
+        output.writeVarLong(queued.size());
+        for (Aircraft current : queued) {
+            output.writeVarLong(positionOf(current, positions));
+        }
+    }
+
+    /**
+     * Reads the aircraft in a queue, adding them to the given queue in order.
+     */
+    private static void readQueue(SnapshotInput input, List<Aircraft> aircraft,
+            AircraftQueue queue) throws MalformedSaveException, IOException {
+        int count = input.readVarInt(aircraft.size());
+        for (int i = 0; i < count; i++) {
+            queue.addAircraft(aircraft.get(input.readVarInt(aircraft.size() - 1)));
+        }
+    }
+
+    /**
+     * Reads the loading aircraft and their remaining loading times into the given map.
+     */
+    private static void readLoadingAircraft(SnapshotInput input, List<Aircraft> aircraft,
+            Map<Aircraft, Integer> loadingAircraft) throws MalformedSaveException, IOException {
+        int count = input.readVarInt(aircraft.size());
+        for (int i = 0; i < count; i++) {
+            Aircraft loading = aircraft.get(input.readVarInt(aircraft.size() - 1));
+            int ticksRemaining = input.readVarInt(Integer.MAX_VALUE);
+            if (ticksRemaining < 1) {
+                throw new MalformedSaveException("Invalid loading time for "
+                        + loading.getCallsign());
+            }
+            loadingAircraft.put(loading, ticksRemaining);
+        }
+    }
+
+    /**
+     * Writes the given terminal and its gates.
+     */
+    private static void writeTerminal(SnapshotOutput output, Terminal terminal,
+            Map<Aircraft, Integer> positions) throws IOException {
+        if (terminal instanceof HelicopterTerminal) {
+            output.writeByte(HELICOPTER_TERMINAL);
+        } else if (terminal instanceof AirplaneTerminal) {
+            output.writeByte(AIRPLANE_TERMINAL);
+        } else {
+            throw new IllegalArgumentException("Unknown kind of terminal: "
+                    + terminal.getClass().getSimpleName());
+        }
+        output.writeVarLong(terminal.getTerminalNumber());
+        output.writeByte(terminal.hasEmergency() ? 1 : 0);
+        output.writeVarLong(terminal.getGates().size());
+        for (Gate gate : terminal.getGates()) {
+            output.writeVarLong(gate.getGateNumber());
+            Aircraft parked = gate.getAircraftAtGate();
+            // zero marks an empty gate, so positions are stored one higher
+            output.writeVarLong(parked == null ? 0 : positionOf(parked, positions) + 1);
+        }
+    }
+
+    /**
+     * Reads every terminal and its gates, parking aircraft at the gates they occupy.
+     */
+    private static List<Terminal> readTerminals(SnapshotInput input, List<Aircraft> aircraft)
+            throws MalformedSaveException, IOException {
+        int count = input.readVarInt(Integer.MAX_VALUE);
+        List<Terminal> terminals = new ArrayList<>(Math.min(count, SnapshotOutput.BUFFER_SIZE));
+        for (int i = 0; i < count; i++) {
+            int kind = input.readByte();
+            int terminalNumber = input.readVarInt(Integer.MAX_VALUE);
+            if (terminalNumber < 1) {
+                throw new MalformedSaveException("Invalid terminal number " + terminalNumber);
+            }
+            Terminal terminal;
+            if (kind == AIRPLANE_TERMINAL) {
+                terminal = new AirplaneTerminal(terminalNumber);
+            } else if (kind == HELICOPTER_TERMINAL) {
+                terminal = new HelicopterTerminal(terminalNumber);
+            } else {
+                throw new MalformedSaveException("Unknown kind of terminal " + kind);
+            }
+            if (input.readByte() != 0) {
+                terminal.declareEmergency();
+            }
+
+            int numGates = input.readVarInt(Terminal.MAX_NUM_GATES);
+            for (int j = 0; j < numGates; j++) {
+                int gateNumber = input.readVarInt(Integer.MAX_VALUE);
+                if (gateNumber < 1) {
+                    throw new MalformedSaveException("Invalid gate number " + gateNumber);
+                }
+                Gate gate = new Gate(gateNumber);
+                int parked = input.readVarInt(aircraft.size());
+                try {
+                    if (parked > 0) {
+                        gate.parkAircraft(aircraft.get(parked - 1));
+                    }
+                    terminal.addGate(gate);
+                } catch (NoSpaceException e) {
+                    // not possible, as the gate is new and the number of gates has been checked
+                }
+            }
+            terminals.add(terminal);
+        }
+        return terminals;
+    }
+
+    /**
+     * Returns the position in the callsign table of the given aircraft.
+     */
+    private static int positionOf(Aircraft aircraft, Map<Aircraft, Integer> positions) {
+        Integer position = positions.get(aircraft);
+        if (position == null) {
+            throw new IllegalStateException(aircraft.getCallsign()
+                    + " is not managed by the control tower");
+        }
+        return position;
+    }
+}
@@ -0,0 +1,338 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.tasks.TaskType;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of which aircraft managed by a control tower need to be processed on each tick when
+ * the tower is in {@link TickMode#EVENT_DRIVEN} mode.
+ * <p>
+ * Aircraft are referred to by their position in the control tower's list of aircraft, and fall
+ * into one of three groups:
+ * <ul>
+ * <li><b>idle</b> aircraft are on an {@code AWAY} or {@code WAIT} task. Each tick moves them on
+ * to their next task, so the tick on which they reach a task of a different type is known in
+ * advance. They are not touched until that tick (their <i>wake tick</i>), at which point all of
+ * the ticks they skipped are applied at once using {@link Aircraft#skipIdleTicks(long)}.</li>
+ * <li><b>loading</b> aircraft are on a {@code LOAD} task, and are ticked on every tick as they
+ * refuel and take on cargo.</li>
+ * <li>all other aircraft are on a {@code LAND} or {@code TAKEOFF} task. Ticking them has no
+ * effect, so they are left alone until the control tower moves them off the runway.</li>
+ * </ul>
+ * Aircraft whose task changes are marked as <i>pending</i>, so that the control tower only needs
+ * to place those aircraft in queues at the end of the tick.
+ */
+class EventScheduler {
+
+    /** Wake tick of an aircraft that is not idle, or will never reach a different task */
+    private static final long NEVER = Long.MAX_VALUE;
+
+    /** Initial capacity of the wake heap arrays */
+    private static final int INITIAL_HEAP_CAPACITY = 16;
+
+    /** All aircraft managed by the control tower */
+    private final List<Aircraft> aircraft;
+
+    /** Position of every aircraft in the list of aircraft, keyed by identity */
+    private final Map<Aircraft, Integer> positions;
+
+    /** For each idle aircraft, the first tick that has not yet been applied to it */
+    private long[] idleSince;
+
+    /** For each aircraft, the tick on which it reaches a task of a different type, or NEVER */
+    private long[] wakeTicks;
+
+    /** Positions of aircraft on AWAY or WAIT tasks */
+    private final BitSet idleAircraft;
+
+    /** Positions of aircraft on LOAD tasks */
+    private final BitSet loadingAircraft;
+
+    /** Positions of aircraft that may need to be placed in a queue */
+    private final BitSet pendingAircraft;
+
+    /** Wake ticks of the entries in the wake heap */
+    private long[] heapTicks;
+
+    /** Positions of the aircraft in the wake heap, at the same indices as their wake ticks */
+    private int[] heapPositions;
+
+    /** Number of entries in the wake heap */
+    private int heapSize;
+
+    /** First tick whose aircraft update and task advance phases have not yet run */
+    private long stepTick;
+
+    /**
+     * Creates a new scheduler for the given list of aircraft, starting at the given tick.
+     * <p>
+     * Every aircraft is initially marked as pending.
+     *
+     * @param aircraft     list of all aircraft managed by the control tower
+     * @param ticksElapsed number of ticks elapsed for the control tower
+     */
+    EventScheduler(List<Aircraft> aircraft, long ticksElapsed) {
+        this.aircraft = aircraft;
+        this.positions = new IdentityHashMap<>();
+        this.idleSince = new long[Math.max(aircraft.size(), 1)];
+        this.wakeTicks = new long[this.idleSince.length];
+        this.idleAircraft = new BitSet();
+        this.loadingAircraft = new BitSet();
+        this.pendingAircraft = new BitSet();
+        this.heapTicks = new long[INITIAL_HEAP_CAPACITY];
+        this.heapPositions = new int[INITIAL_HEAP_CAPACITY];
+        this.heapSize = 0;
+        this.stepTick = ticksElapsed;
+        for (int i = 0; i < aircraft.size(); i++) {
+            this.positions.put(aircraft.get(i), i);
+            classify(i);
+        }
+        this.pendingAircraft.set(0, aircraft.size());
+    }
+
+    /**
+     * Starts tracking the aircraft most recently appended to the list of aircraft.
+     */
+    void aircraftAdded() {
+        int position = this.aircraft.size() - 1;
+        if (position >= this.wakeTicks.length) {
+            int capacity = Math.max(position + 1, this.wakeTicks.length * 2);
+            this.idleSince = Arrays.copyOf(this.idleSince, capacity);
+            this.wakeTicks = Arrays.copyOf(this.wakeTicks, capacity);
+        }
+        this.positions.put(this.aircraft.get(position), position);
+        classify(position);
+        this.pendingAircraft.set(position);
+    }
+
+    /**
+     * Stops tracking the aircraft that was at the given position in the list of aircraft, which
+     * it has just been removed from.
+     * <p>
+     * If the removed aircraft is idle, it is first brought up to date with the ticks that have
+     * run so far. The aircraft after it move down one position, and its entries in the wake heap
+     * are dropped.
+     *
+     * @param removed  aircraft that was removed
+     * @param position position the aircraft was at before it was removed
+     */
+    void aircraftRemoved(Aircraft removed, int position) {
+        if (this.idleAircraft.get(position)) {
+            removed.skipIdleTicks(this.stepTick - this.idleSince[position]);
+        }
+        this.positions.remove(removed);
+        for (int i = position; i < this.aircraft.size(); i++) {
+            this.positions.put(this.aircraft.get(i), i);
+        }
+        int numMoved = this.aircraft.size() - position;
+        System.arraycopy(this.idleSince, position + 1, this.idleSince, position, numMoved);
+        System.arraycopy(this.wakeTicks, position + 1, this.wakeTicks, position, numMoved);
+        removeBit(this.idleAircraft, position);
+        removeBit(this.loadingAircraft, position);
+        removeBit(this.pendingAircraft, position);
+
+        // shifting positions down keeps the order of the remaining entries, so the heap only
+        // needs restoring where the removed aircraft's entries are dropped
+        int size = 0;
+        for (int i = 0; i < this.heapSize; i++) {
+            int entryPosition = this.heapPositions[i];
+            if (entryPosition == position) {
+                continue;
+            }
+            this.heapTicks[size] = this.heapTicks[i];
+            this.heapPositions[size] = entryPosition > position ? entryPosition - 1
+                    : entryPosition;
+            size++;
+        }
+        this.heapSize = size;
+        for (int parent = size / 2 - 1; parent >= 0; parent--) {
+            siftDown(parent, this.heapTicks[parent], this.heapPositions[parent]);
+        }
+    }
+
+    /**
+     * Clears the given bit of the given set, moving every set bit above it down by one.
+     */
+    private static void removeBit(BitSet bits, int position) {
+        BitSet above = bits.get(position + 1, Math.max(position + 1, bits.length()));
+        bits.clear(position, Math.max(position, bits.length()));
+        for (int i = above.nextSetBit(0); i >= 0; i = above.nextSetBit(i + 1)) {
+            bits.set(position + i);
+        }
+    }
+
+    /**
+     * Updates the group of the given aircraft after the control tower has moved it on to a new
+     * task, and marks it as pending.
+     *
+     * @param changedAircraft aircraft whose task has changed
+     */
+    void aircraftChanged(Aircraft changedAircraft) {
+        Integer position = this.positions.get(changedAircraft);
+        if (position == null) {
+            return;
+        }
+        classify(position);
+        this.pendingAircraft.set(position);
+    }
+
+    /**
+     * Runs the aircraft update and task advance phases of the given tick.
+     * <p>
+     * All loading aircraft are ticked, then every idle aircraft whose wake tick has been reached
+     * is brought up to date and moved on to its next task.
+     *
+     * @param tick tick to run, which must be the first tick not yet run
+     */
+    void updateAircraft(long tick) {
+        for (int i = this.loadingAircraft.nextSetBit(0); i >= 0;
+                i = this.loadingAircraft.nextSetBit(i + 1)) {
+            this.aircraft.get(i).tick();
+        }
+
+        this.stepTick = tick + 1;
+        while (this.heapSize > 0 && this.heapTicks[0] <= tick) {
+            long wakeTick = this.heapTicks[0];
+            int position = pollHeap();
+            if (this.wakeTicks[position] != wakeTick) {
+                // aircraft was reclassified after this entry was added
+                continue;
+            }
+            synchronise(position);
+            classify(position);
+            this.pendingAircraft.set(position);
+        }
+    }
+
+    /**
+     * Returns the positions of all aircraft that may need to be placed in a queue. The caller is
+     * expected to clear the returned set once the aircraft have been placed.
+     *
+     * @return positions of pending aircraft
+     */
+    BitSet getPendingAircraft() {
+        return this.pendingAircraft;
+    }
+
+    /**
+     * Brings every idle aircraft up to date with the ticks that have run so far.
+     */
+    void synchroniseAll() {
+        for (int i = this.idleAircraft.nextSetBit(0); i >= 0;
+                i = this.idleAircraft.nextSetBit(i + 1)) {
+            synchronise(i);
+        }
+    }
+
+    /**
+     * Applies all ticks that have run since the idle aircraft at the given position was last
+     * brought up to date.
+     */
+    private void synchronise(int position) {
+        this.aircraft.get(position).skipIdleTicks(this.stepTick - this.idleSince[position]);
+        this.idleSince[position] = this.stepTick;
+    }
+
+    /**
+     * Places the aircraft at the given position into the group matching its current task,
+     * scheduling it to wake if it is idle.
+     */
+    private void classify(int position) {
+        Aircraft classified = this.aircraft.get(position);
+        TaskType taskType = classified.getTaskList().getCurrentTask().getType();
+
+        this.idleAircraft.clear(position);
+        this.loadingAircraft.clear(position);
+        this.wakeTicks[position] = NEVER;
+
+        if (taskType == TaskType.AWAY || taskType == TaskType.WAIT) {
+            this.idleAircraft.set(position);
+            this.idleSince[position] = this.stepTick;
+            int idleTasks = classified.getTaskList().countTasksOfCurrentType();
+            if (idleTasks > 0) {
+                // the last idle task is advanced past during the tick idleTasks - 1 from now
+                this.wakeTicks[position] = this.stepTick + idleTasks - 1;
+                addToHeap(this.wakeTicks[position], position);
+            }
+        } else if (taskType == TaskType.LOAD) {
+            this.loadingAircraft.set(position);
+        }
+    }
+
+    /**
+     * Adds an entry to the wake heap.
+     */
+    private void addToHeap(long wakeTick, int position) {
+        if (this.heapSize == this.heapTicks.length) {
+            this.heapTicks = Arrays.copyOf(this.heapTicks, this.heapSize * 2);
+            this.heapPositions = Arrays.copyOf(this.heapPositions, this.heapSize * 2);
+        }
+        int child = this.heapSize++;
+        while (child > 0) {
+            int parent = (child - 1) / 2;
+            if (!isBefore(wakeTick, position, this.heapTicks[parent],
+                    this.heapPositions[parent])) {
+                break;
+            }
+            this.heapTicks[child] = this.heapTicks[parent];
+            this.heapPositions[child] = this.heapPositions[parent];
+            child = parent;
+        }
+        this.heapTicks[child] = wakeTick;
+        this.heapPositions[child] = position;
+    }
+
+    /**
+     * Removes the entry at the top of the wake heap and returns its aircraft position.
+     */
+    private int pollHeap() {
+        int top = this.heapPositions[0];
+        int last = --this.heapSize;
+        siftDown(0, this.heapTicks[last], this.heapPositions[last]);
+        return top;
+    }
+
+    /**
+     * Places the given entry in the wake heap at the given index, or below it, moving entries
+     * that should be processed before it up to make room.
+     */
+    private void siftDown(int parent, long wakeTick, int position) {
+        while (true) {
+            int child = 2 * parent + 1;
+            if (child >= this.heapSize) {
+                break;
+            }
+            if (child + 1 < this.heapSize && isBefore(this.heapTicks[child + 1],
+                    this.heapPositions[child + 1], this.heapTicks[child],
+                    this.heapPositions[child])) {
+                child++;
+            }
+            if (!isBefore(this.heapTicks[child], this.heapPositions[child], wakeTick, position)) {
+                break;
+            }
+            this.heapTicks[parent] = this.heapTicks[child];
+            this.heapPositions[parent] = this.heapPositions[child];
+            parent = child;
+        }
+        this.heapTicks[parent] = wakeTick;
+        this.heapPositions[parent] = position;
+    }
+
+    /**
+     * Returns true if the first wake heap entry should be processed before the second: entries
+     * are ordered by wake tick, and then by position in the list of aircraft.
+     */
+    private static boolean isBefore(long firstTick, int firstPosition, long secondTick,
+            int secondPosition) {
+        if (firstTick != secondTick) {
+            return firstTick < secondTick;
+        }
+        return firstPosition < secondPosition;
+    }
+}
@@ -0,0 +1,55 @@
+package towersim.control;
+
+import towersim.aircraft.FleetStore;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join task that runs the tick kernel of a fleet store over a contiguous range of its slots.
+ * <p>
+ * Ranges larger than the chunk size are split in half, and the halves are updated in parallel.
+ * Each slot is ticked exactly once, by a single thread.
+ */
+class FleetUpdateTask extends RecursiveAction {
+
+    /** Serialisation version, declared because RecursiveAction is Serializable */
+    private static final long serialVersionUID = 1L;
+
+    /** Fleet store to update */
+    private final FleetStore fleetStore;
+
+    /** First slot in the range to update */
+    private final int from;
+
+    /** Slot one past the last slot in the range to update */
+    private final int to;
+
+    /** Largest number of slots that are updated without splitting the range */
+    private final int chunkSize;
+
+    /**
+     * Creates a new task that updates the slots in the given range.
+     *
+     * @param fleetStore fleet store, to which aircraft must not be added while the task runs
+     * @param from       first slot to update, inclusive
+     * @param to         last slot to update, exclusive
+     * @param chunkSize  largest number of slots to update in a single subtask
+     */
+    FleetUpdateTask(FleetStore fleetStore, int from, int to, int chunkSize) {
+        this.fleetStore = fleetStore;
+        this.from = from;
+        this.to = to;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    protected void compute() {
+        if (this.to - this.from <= this.chunkSize) {
+            this.fleetStore.tick(this.from, this.to);
+            return;
+        }
+        int middle = (this.from + this.to) >>> 1;
+        invokeAll(new FleetUpdateTask(this.fleetStore, this.from, middle, this.chunkSize),
+                new FleetUpdateTask(this.fleetStore, middle, this.to, this.chunkSize));
+    }
+}
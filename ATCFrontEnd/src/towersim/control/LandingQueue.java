@@ -1,74 +1,200 @@
 package towersim.control;
 
 import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftListener;
 import towersim.aircraft.PassengerAircraft;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Represents a rule-based queue of aircraft waiting in the air to land.
  * The rules in the landing queue are designed to ensure that aircraft are prioritised for landing
  * based on "urgency" factors such as remaining fuel onboard, emergency status and cargo type.
+ * <p>
+ * Aircraft are kept in one bucket per priority class (emergency, low fuel, passenger, other),
+ * ordered first-in-first-out within each bucket. Whenever the emergency state or fuel amount of a
+ * queued aircraft changes, it is moved to the bucket matching its new priority while keeping its
+ * original place in the order of arrival.
  */
 public class LandingQueue extends AircraftQueue {
 
     /**
-     * The landing queue which contains aircrafts preparing to land
+     * Fuel percentage at or below which an aircraft is considered to be low on fuel
      */
-    private List<Aircraft> landingQueue;
+    private static final int LOW_FUEL_PERCENT = 20;
+
+    /**
+     * Priority class of aircraft in a state of emergency (highest priority)
+     */
+    private static final int EMERGENCY_PRIORITY = 0;
+
+    /**
+     * Priority class of aircraft that are low on fuel
+     */
+    private static final int LOW_FUEL_PRIORITY = 1;
+
+    /**
+     * Priority class of aircraft carrying passengers
+     */
+    private static final int PASSENGER_PRIORITY = 2;
+
+    /**
+     * Priority class of all other aircraft (lowest priority)
+     */
+    private static final int OTHER_PRIORITY = 3;
+
+    /**
+     * One bucket per priority class, each mapping arrival order to the aircraft that arrived
+     */
+    private final List<TreeMap<Long, Aircraft>> buckets;
+
+    /**
+     * Position in the queue of every aircraft currently in the queue, keyed by aircraft
+     */
+    private final Map<Aircraft, QueuePosition> positions;
+
+    /**
+     * Listener registered on every queued aircraft to keep its priority class up to date.
+     * <p>
+     * Aircraft may be updated in parallel (see
+     * {@link ControlTower#setUpdatePool(java.util.concurrent.ForkJoinPool, int)}), so the
+     * listener can be called from several threads at once; see {@link #reprioritise(Aircraft)}.
+     */
+    private final AircraftListener priorityListener;
+
+    /**
+     * Arrival number to give to the next aircraft added to the queue
+     */
+    private long nextArrival;
+
+    /**
+     * The arrival number and current priority class of an aircraft in the queue
+     */
+    private static class QueuePosition {
+        /** Number identifying when the aircraft arrived relative to others in the queue */
+        private final long arrival;
+        /** Priority class the aircraft is currently bucketed under */
+        private int priority;
+
+        /** Creates a new queue position with the given arrival number and priority class */
+        private QueuePosition(long arrival, int priority) {
+            this.arrival = arrival;
+            this.priority = priority;
+        }
+    }
 
     /**
      * Constructs a new LandingQueue with an initially empty queue of aircraft.
      */
     public LandingQueue() {
-        landingQueue = new ArrayList<Aircraft>();
+        this.buckets = new ArrayList<>(OTHER_PRIORITY + 1);
+        for (int i = 0; i <= OTHER_PRIORITY; i++) {
+            this.buckets.add(new TreeMap<>());
+        }
+        this.positions = new HashMap<>();
+        this.priorityListener = this::reprioritise;
+        this.nextArrival = 0;
+    }
+
+    /**
+     * Returns the priority class of the given aircraft, where a lower value is a higher priority.
+     * <p>
+     * Aircraft in a state of emergency come first, then aircraft that are low on fuel, then
+     * passenger aircraft, and finally all other aircraft.
+     *
+     * @param aircraft aircraft whose priority to determine
+     * @return priority class of the aircraft
+     */
+    private static int priorityOf(Aircraft aircraft) {
+        if (aircraft.hasEmergency()) {
+            return EMERGENCY_PRIORITY;
+        }
+        if (aircraft.getFuelPercentRemaining() <= LOW_FUEL_PERCENT) {
+            return LOW_FUEL_PRIORITY;
+        }
+        if (aircraft instanceof PassengerAircraft) {
+            return PASSENGER_PRIORITY;
+        }
+        return OTHER_PRIORITY;
+    }
+
+    /**
+     * Moves the given queued aircraft to the bucket matching its current priority class, if it
+     * has changed.
+     * <p>
+     * This may be called for different aircraft on several threads at once, while no aircraft is
+     * being added to or removed from the queue, so the buckets are only changed while holding the
+     * lock on the queue's positions. Each aircraft keeps its arrival number, so the resulting
+     * order does not depend on the order in which the aircraft are reprioritised.
+     *
+     * @param aircraft aircraft whose state has changed
+     */
+    private void reprioritise(Aircraft aircraft) {
+        synchronized (this.positions) {
+            QueuePosition position = this.positions.get(aircraft);
+            if (position == null) {
+                return;
+            }
+            int priority = priorityOf(aircraft);
+            if (priority != position.priority) {
+                this.buckets.get(position.priority).remove(position.arrival);
+                this.buckets.get(priority).put(position.arrival, aircraft);
+                position.priority = priority;
+            }
+        }
+    }
+
+    /**
+     * Returns the highest priority non-empty bucket, or null if the queue is empty.
+     *
+     * @return bucket containing the aircraft at the front of the queue
+     */
+    private TreeMap<Long, Aircraft> frontBucket() {
+        for (TreeMap<Long, Aircraft> bucket : this.buckets) {
+            if (!bucket.isEmpty()) {
+                return bucket;
+            }
+        }
+        return null;
     }
 
     /**
      * Adds the given aircraft to the queue.
+     * <p>
+     * If the aircraft is already in the queue, no action is taken.
      *
      * @param aircraft aircraft to add to queue
      */
     public void addAircraft(Aircraft aircraft) {
-        this.landingQueue.add(aircraft);
+        if (this.positions.containsKey(aircraft)) {
+            return;
+        }
+        QueuePosition position = new QueuePosition(this.nextArrival++, priorityOf(aircraft));
+        this.positions.put(aircraft, position);
+        this.buckets.get(position.priority).put(position.arrival, aircraft);
+        aircraft.addListener(this.priorityListener);
     }
 
     /**
      * Returns the aircraft at the front of the queue without removing it from the queue,
      * or null if the queue is empty.
+     * <p>
+     * Aircraft in a state of emergency are at the front of the queue, followed by aircraft with
+     * 20 percent of their fuel or less remaining, then passenger aircraft, and finally all other
+     * aircraft. Aircraft of the same priority are ordered by how long they have been waiting.
      *
      * @return aircraft at front of queue
      */
     public Aircraft peekAircraft() {
-        if (this.landingQueue.size() == 0) {
+        TreeMap<Long, Aircraft> bucket = frontBucket();
+        if (bucket == null) {
             return null;
         }
-
-        /*
-        checks based on priority, emergency comes first, then low fuel aircrafts,
-        then passenger aircrafts and finally if nothing is returned then the first
-        aircraft in the queue.
-         */
-
-        for (Aircraft aircraft : this.landingQueue) {
-            if (aircraft.hasEmergency()) {
-                return aircraft;
-            }
-        }
-
-        for (Aircraft aircraft : this.landingQueue) {
-            if (aircraft.getFuelPercentRemaining() <= 20) {
-                return aircraft;
-            }
-        }
-
-        for (Aircraft aircraft : this.landingQueue) {
-            if (aircraft instanceof PassengerAircraft) {
-                return aircraft;
-            }
-        }
-        return this.landingQueue.get(0);
+        return bucket.firstEntry().getValue();
     }
 
     /**
@@ -78,12 +204,31 @@ public class LandingQueue extends AircraftQueue {
      * @return aircraft at front of queue
      */
     public Aircraft removeAircraft() {
-        if (this.landingQueue.size() == 0) {
+        TreeMap<Long, Aircraft> bucket = frontBucket();
+        if (bucket == null) {
             return null;
         }
+        Aircraft aircraft = bucket.pollFirstEntry().getValue();
+        this.positions.remove(aircraft);
+        aircraft.removeListener(this.priorityListener);
+        return aircraft;
+    }
 
-        int positionOfAircraft = this.landingQueue.indexOf(this.peekAircraft());
-        return this.landingQueue.remove(positionOfAircraft);
+    /**
+     * Removes the given aircraft from the queue, wherever it is in the queue.
+     *
+     * @param aircraft aircraft to remove
+     * @return true if the aircraft was in the queue; false otherwise
+     */
+    public boolean removeAircraft(Aircraft aircraft) {
+        QueuePosition position = this.positions.remove(aircraft);
+        if (position == null) {
+            return false;
+        }
+        // the aircraft given may be an equal copy of the one queued
+        Aircraft queued = this.buckets.get(position.priority).remove(position.arrival);
+        queued.removeListener(this.priorityListener);
+        return true;
     }
 
     /**
@@ -92,36 +237,51 @@ public class LandingQueue extends AircraftQueue {
      * @return list of all aircraft in queue, in queue order
      */
     public List<Aircraft> getAircraftInOrder() {
-        if (this.landingQueue.size() == 0) {
-            return this.landingQueue;
+        List<Aircraft> orderedAircraft = new ArrayList<>(this.positions.size());
+        for (TreeMap<Long, Aircraft> bucket : this.buckets) {
+            orderedAircraft.addAll(bucket.values());
         }
-
-        // creates a copy of the landing queue and an empty ordered queue
-        List<Aircraft> landingQueue2 = new ArrayList<Aircraft>(this.landingQueue);
-        List<Aircraft> orderedAircraft = new ArrayList<Aircraft>();
-
-        // completes the ordered queue by removing from the original queue
-        for (int i = 0; i < landingQueue2.size(); i++) {
-            orderedAircraft.add(this.removeAircraft());
-        }
-
-        // replaces the original queue back to its normal state using the copy made
-        this.landingQueue = landingQueue2;
         return orderedAircraft;
     }
 
     /**
      * Returns true if the given aircraft is in the queue.
+     * <p>
+     * Aircraft are compared using {@link Aircraft#equals(Object)}, so an equal copy of a queued
+     * aircraft is also found.
      *
      * @param aircraft aircraft to find in queue
      * @return true if aircraft is in queue; false otherwise
      */
     public boolean containsAircraft(Aircraft aircraft) {
-        for (Aircraft ac : this.landingQueue) {
-            if (ac.equals(aircraft)) {
-                return true;
+        return this.positions.containsKey(aircraft);
+    }
+
+    /**
+     * Returns a copy of this queue holding the given copies of the aircraft in this queue, in the
+     * same order and with the same order of arrival.
+     * <p>
+     * Each copy must be in the same state as the aircraft it was copied from, so that it has the
+     * same landing priority. The copy is built in time linear in the number of aircraft queued,
+     * rather than adding each aircraft to a new queue.
+     *
+     * @param copies copy of each aircraft in this queue
+     * @return copy of this queue
+     */
+    LandingQueue copy(Map<Aircraft, Aircraft> copies) {
+        LandingQueue copy = new LandingQueue();
+        copy.nextArrival = this.nextArrival;
+        for (int priority = 0; priority < this.buckets.size(); priority++) {
+            // copying a sorted map into a TreeMap takes linear time
+            TreeMap<Long, Aircraft> bucket = new TreeMap<>(this.buckets.get(priority));
+            bucket.replaceAll((arrival, aircraft) -> copies.get(aircraft));
+            for (Map.Entry<Long, Aircraft> entry : bucket.entrySet()) {
+                Aircraft copied = entry.getValue();
+                copy.positions.put(copied, new QueuePosition(entry.getKey(), priority));
+                copied.addListener(copy.priorityListener);
             }
+            copy.buckets.set(priority, bucket);
         }
-        return false;
+        return copy;
     }
 }
@@ -0,0 +1,230 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Keeps track of aircraft that are loading cargo at a gate and the tick of the loading clock on
+ * which each of them finishes loading.
+ * <p>
+ * The loading clock advances by one each time {@link #advance()} is called. Aircraft are held in
+ * a binary min-heap ordered by the tick on which they finish loading and then by callsign, so
+ * that aircraft finishing on the same tick are always released in callsign order. Advancing the
+ * clock does not allocate, and releasing a finished aircraft takes O(log n) time.
+ */
+class LoadingSchedule {
+
+    /** Initial capacity of the heap arrays */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Orders aircraft by callsign when they finish loading on the same tick */
+    private static final Comparator<Aircraft> CALLSIGN_ORDER =
+            Comparator.comparing(Aircraft::getCallsign);
+
+    /** Tick of the loading clock on which each aircraft in the heap finishes loading */
+    private long[] finishTicks;
+
+    /** Aircraft in the heap, at the same positions as their finish ticks */
+    private Aircraft[] aircraft;
+
+    /** Number of aircraft in the heap */
+    private int size;
+
+    /** Aircraft currently in the schedule, keyed by identity */
+    private final Set<Aircraft> scheduledAircraft;
+
+    /** Number of times the loading clock has advanced */
+    private long clock;
+
+    /**
+     * Creates a new empty loading schedule.
+     */
+    LoadingSchedule() {
+        this.finishTicks = new long[INITIAL_CAPACITY];
+        this.aircraft = new Aircraft[INITIAL_CAPACITY];
+        this.size = 0;
+        this.scheduledAircraft = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.clock = 0;
+    }
+
+    /**
+     * Adds the given aircraft to the schedule, to finish loading after the loading clock has
+     * advanced the given number of times.
+     * <p>
+     * An aircraft with less than one tick remaining finishes loading the next time the clock
+     * advances. If the aircraft is already in the schedule, no action is taken.
+     *
+     * @param loadingAircraft aircraft that has started loading
+     * @param ticksRemaining  number of ticks until the aircraft finishes loading
+     */
+    void add(Aircraft loadingAircraft, int ticksRemaining) {
+        if (!this.scheduledAircraft.add(loadingAircraft)) {
+            return;
+        }
+        if (this.size == this.aircraft.length) {
+            this.finishTicks = Arrays.copyOf(this.finishTicks, this.size * 2);
+            this.aircraft = Arrays.copyOf(this.aircraft, this.size * 2);
+        }
+        int position = this.size++;
+        this.finishTicks[position] = this.clock + Math.max(ticksRemaining, 1);
+        this.aircraft[position] = loadingAircraft;
+        siftUp(position);
+    }
+
+    /**
+     * Returns true if the given aircraft is in the schedule.
+     *
+     * @param loadingAircraft aircraft to find
+     * @return true if the aircraft is loading; false otherwise
+     */
+    boolean contains(Aircraft loadingAircraft) {
+        return this.scheduledAircraft.contains(loadingAircraft);
+    }
+
+    /**
+     * Returns the number of aircraft in the schedule.
+     *
+     * @return number of loading aircraft
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Advances the loading clock by one tick.
+     */
+    void advance() {
+        this.clock++;
+    }
+
+    /**
+     * Removes and returns the next aircraft that has finished loading as of the current tick of
+     * the loading clock, or null if no more aircraft have finished loading.
+     * <p>
+     * Aircraft finishing on the same tick are returned in callsign order.
+     *
+     * @return aircraft that has finished loading; or null if none
+     */
+    Aircraft pollFinished() {
+        if (this.size == 0 || this.finishTicks[0] > this.clock) {
+            return null;
+        }
+        Aircraft finished = this.aircraft[0];
+        int last = --this.size;
+        this.finishTicks[0] = this.finishTicks[last];
+        this.aircraft[0] = this.aircraft[last];
+        this.aircraft[last] = null;
+        if (last > 0) {
+            siftDown(0);
+        }
+        this.scheduledAircraft.remove(finished);
+        return finished;
+    }
+
+    /**
+     * Removes the given aircraft from the schedule before it has finished loading.
+     * <p>
+     * This takes time proportional to the number of aircraft in the schedule.
+     *
+     * @param loadingAircraft aircraft to remove
+     * @return true if the aircraft was in the schedule; false otherwise
+     */
+    boolean remove(Aircraft loadingAircraft) {
+        if (!this.scheduledAircraft.remove(loadingAircraft)) {
+            return false;
+        }
+        int position = 0;
+        while (this.aircraft[position] != loadingAircraft) {
+            position++;
+        }
+        int last = --this.size;
+        this.finishTicks[position] = this.finishTicks[last];
+        this.aircraft[position] = this.aircraft[last];
+        this.aircraft[last] = null;
+        if (position < last) {
+            siftDown(position);
+            siftUp(position);
+        }
+        return true;
+    }
+
+    /**
+     * Returns a new mapping of every aircraft in the schedule to the number of ticks remaining
+     * until it finishes loading, ordered by callsign.
+     *
+     * @return loading aircraft and their remaining loading times
+     */
+    Map<Aircraft, Integer> toMap() {
+        Map<Aircraft, Integer> loadingAircraft = new TreeMap<>(CALLSIGN_ORDER);
+        for (int i = 0; i < this.size; i++) {
+            loadingAircraft.put(this.aircraft[i], (int) (this.finishTicks[i] - this.clock));
+        }
+        return loadingAircraft;
+    }
+
+    /**
+     * Returns true if the entry at the first position should be closer to the top of the heap
+     * than the entry at the second position.
+     */
+    private boolean isBefore(int first, int second) {
+        if (this.finishTicks[first] != this.finishTicks[second]) {
+            return this.finishTicks[first] < this.finishTicks[second];
+        }
+        return CALLSIGN_ORDER.compare(this.aircraft[first], this.aircraft[second]) < 0;
+    }
+
+    /**
+     * Moves the entry at the given position up the heap until its parent is before it.
+     */
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (!isBefore(position, parent)) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    /**
+     * Moves the entry at the given position down the heap until it is before both its children.
+     */
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < this.size && isBefore(left, smallest)) {
+                smallest = left;
+            }
+            if (right < this.size && isBefore(right, smallest)) {
+                smallest = right;
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    /**
+     * Swaps the heap entries at the two given positions.
+     */
+    private void swap(int first, int second) {
+        long finishTick = this.finishTicks[first];
+        this.finishTicks[first] = this.finishTicks[second];
+        this.finishTicks[second] = finishTick;
+        Aircraft swapped = this.aircraft[first];
+        this.aircraft[first] = this.aircraft[second];
+        this.aircraft[second] = swapped;
+    }
+}
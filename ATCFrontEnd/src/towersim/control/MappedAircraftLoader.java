@@ -0,0 +1,564 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.MalformedSaveException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Loads the list of aircraft from an aircraft save file by memory-mapping the file and parsing
+ * each record straight from the mapped bytes.
+ * <p>
+ * The file is valid under the same rules as {@link ControlTowerInitialiser#loadAircraft(Reader)},
+ * and the aircraft loaded are the same. Unlike that method, lines are never copied into Strings:
+ * aircraft characteristics and task types are matched against the bytes of their names, and fuel
+ * amounts and cargo are parsed from their digits in place. Only callsigns are decoded, as each
+ * aircraft keeps its callsign as a String. A record with a field in a form that is not parsed
+ * in place, such as a fuel amount in scientific notation, is decoded as a whole and read by
+ * {@link ControlTowerInitialiser#readAircraft(String)}.
+ * <p>
+ * Files are mapped one window at a time, so files larger than 2 GiB can be loaded. The number of
+ * bytes read and the time taken by the last load are recorded so that throughput can be reported.
+ * <p>
+ * If a parse pool is set, the lines of each window are still found on the calling thread, but
+ * the aircraft are then parsed from them in parallel chunks on the pool.
+ * <p>
+ * If task lists are deferred, each aircraft's task list is kept as its encoded bytes, and its
+ * tasks are only created when they are first needed (see {@link TaskList#deferred(byte[])}).
+ */
+public class MappedAircraftLoader {
+
+    /** Default largest number of lines parsed in a single task when a parse pool is set */
+    public static final int DEFAULT_PARSE_CHUNK_SIZE = 16_384;
+
+    /** Number of lines that space is first allocated for when parsing in parallel */
+    private static final int INITIAL_LINE_CAPACITY = 1024;
+
+    /** Size of the windows that files are mapped in, unless another size is given */
+    private static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    /** Largest number of digits in an integer parsed in place, so that it cannot overflow */
+    private static final int MAX_INTEGER_DIGITS = 9;
+
+    /** Powers of ten that are exactly representable as doubles */
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8,
+        1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /**
+     * Largest digits of a fuel amount parsed in place. Any integer up to this value is exactly
+     * representable as a double, so dividing it by an exact power of ten rounds the same way as
+     * Double.parseDouble(String).
+     */
+    private static final long MAX_EXACT_DIGITS = 1L << 53;
+
+    /** Aircraft characteristics, in the order of their names below */
+    private static final AircraftCharacteristics[] CHARACTERISTICS =
+            AircraftCharacteristics.values();
+
+    /** Names of the aircraft characteristics, encoded as bytes */
+    private static final byte[][] CHARACTERISTICS_NAMES = encodeNames(CHARACTERISTICS);
+
+    /** Task types, in the order of their names below */
+    private static final TaskType[] TASK_TYPES = TaskType.values();
+
+    /** Names of the task types, encoded as bytes */
+    private static final byte[][] TASK_TYPE_NAMES = encodeNames(TASK_TYPES);
+
+    /** Encoded emergency field of an aircraft that has declared an emergency */
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+
+    /** Number of nanoseconds in one second */
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /** Largest number of bytes mapped at once */
+    private final int windowSize;
+
+    /** Pool that aircraft are parsed on; or null if they are parsed on the calling thread */
+    private ForkJoinPool parsePool;
+
+    /** Largest number of lines parsed in a single task on the parse pool */
+    private int parseChunkSize;
+
+    /** Whether the task lists of the aircraft loaded are deferred */
+    private boolean deferTaskLists;
+
+    /** Number of bytes in the file read by the last load */
+    private long bytesRead;
+
+    /** Number of nanoseconds taken by the last load */
+    private long elapsedNanos;
+
+    /**
+     * Creates a new loader that maps files in windows of up to 1 GiB.
+     */
+    public MappedAircraftLoader() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates a new loader that maps files in windows of up to the given size. Every line of the
+     * files loaded must fit within one window.
+     *
+     * @param windowSize largest number of bytes to map at once
+     * @throws IllegalArgumentException if the window size is not positive
+     */
+    MappedAircraftLoader(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        this.windowSize = windowSize;
+        this.parsePool = null;
+        this.parseChunkSize = DEFAULT_PARSE_CHUNK_SIZE;
+    }
+
+    /**
+     * Sets the pool used to parse aircraft in parallel, or stops parsing them in parallel if the
+     * given pool is null.
+     * <p>
+     * The lines of each mapped window are found on the thread calling {@link #load(Path)}, and are
+     * then split into chunks of at most {@code chunkSize} lines, which are parsed as separate
+     * fork/join tasks. The aircraft loaded, and the files rejected, are the same as when parsing
+     * on the calling thread, although which invalid line is reported may differ.
+     *
+     * @param pool      pool to parse aircraft on; or null to parse them on the calling thread
+     * @param chunkSize largest number of lines to parse in a single task
+     * @throws IllegalArgumentException if chunkSize is less than one
+     */
+    public void setParsePool(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least one: " + chunkSize);
+        }
+        this.parsePool = pool;
+        this.parseChunkSize = chunkSize;
+    }
+
+    /**
+     * Sets whether the task lists of the aircraft loaded are deferred.
+     * <p>
+     * A deferred task list keeps only the bytes of its encoded tasks, the type of its current
+     * task and the number of tasks of that type that follow, and creates its tasks when they are
+     * first needed: when the aircraft loads, moves on to a task of a different type, or is
+     * encoded. Aircraft that stay away or waiting for a long time therefore use much less memory
+     * until they next change task type. The aircraft loaded behave exactly the same as when
+     * their task lists are not deferred, and the same files are rejected. Task lists in a form
+     * that is not parsed in place are never deferred.
+     * <p>
+     * Task lists are not deferred by default.
+     *
+     * @param deferTaskLists whether to defer the task lists of the aircraft loaded
+     */
+    public void setDeferTaskLists(boolean deferTaskLists) {
+        this.deferTaskLists = deferTaskLists;
+    }
+
+    /**
+     * Loads the list of all aircraft from the aircraft save file at the given path.
+     * <p>
+     * The contents of the file are invalid under the same conditions as for
+     * {@link ControlTowerInitialiser#loadAircraft(Reader)}.
+     *
+     * @param file path of the aircraft file to load
+     * @return list of aircraft read from the file
+     * @throws MalformedSaveException if the contents of the file are invalid, or a line does not
+     *                                fit within one window
+     * @throws IOException            if an IOException is encountered when mapping the file
+     */
+    public List<Aircraft> load(Path file) throws MalformedSaveException, IOException {
+        long startTime = System.nanoTime();
+        List<Aircraft> aircraft = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long windowStart = 0;
+            ByteBuffer window = map(channel, windowStart, fileSize);
+            int lineStart = 0;
+            int numAircraft = 0;
+            boolean headerRead = false;
+
+            // lines waiting to be parsed on the parse pool, relative to the current window
+            int[] lineStarts = new int[0];
+            int[] lineEnds = new int[0];
+            int numLines = 0;
+
+            while (true) {
+                int limit = window.limit();
+                boolean lastWindow = windowStart + limit == fileSize;
+                if (lineStart >= limit && lastWindow) {
+                    break;
+                }
+
+                // finds the end of the line, and the start of the next one, treating "\n", "\r"
+                // and "\r\n" as line terminators in the same way as BufferedReader.readLine()
+                int lineEnd = lineStart;
+                while (lineEnd < limit && window.get(lineEnd) != '\n'
+                        && window.get(lineEnd) != '\r') {
+                    lineEnd++;
+                }
+                int nextLine = -1;
+                if (lineEnd == limit) {
+                    if (lastWindow) {
+                        nextLine = limit;
+                    }
+                } else if (window.get(lineEnd) == '\n') {
+                    nextLine = lineEnd + 1;
+                } else if (lineEnd + 1 < limit) {
+                    nextLine = window.get(lineEnd + 1) == '\n' ? lineEnd + 2 : lineEnd + 1;
+                } else if (lastWindow) {
+                    nextLine = lineEnd + 1;
+                }
+
+                if (nextLine < 0) {
+                    // the line continues past the end of the window, so the next window starts
+                    // at the start of the line
+                    if (lineStart == 0) {
+                        throw new MalformedSaveException("Line at byte " + windowStart
+                                + " is longer than " + this.windowSize + " bytes");
+                    }
+                    parseLines(window, lineStarts, lineEnds, numLines, aircraft);
+                    numLines = 0;
+                    windowStart += lineStart;
+                    window = map(channel, windowStart, fileSize);
+                    lineStart = 0;
+                    continue;
+                }
+
+                if (!headerRead) {
+                    try {
+                        numAircraft = Integer.parseInt(decode(window, lineStart, lineEnd));
+                    } catch (NumberFormatException nfe) {
+                        throw new MalformedSaveException();
+                    }
+                    headerRead = true;
+                    if (numAircraft == 0) {
+                        break;
+                    }
+                } else {
+                    // more lines are present than the number of aircraft declared
+                    if (aircraft.size() + numLines >= numAircraft) {
+                        throw new MalformedSaveException();
+                    }
+                    if (this.parsePool == null) {
+                        aircraft.add(readAircraft(window, lineStart, lineEnd,
+                                this.deferTaskLists));
+                    } else {
+                        if (numLines == lineStarts.length) {
+                            int capacity = Math.max(INITIAL_LINE_CAPACITY, 2 * numLines);
+                            lineStarts = Arrays.copyOf(lineStarts, capacity);
+                            lineEnds = Arrays.copyOf(lineEnds, capacity);
+                        }
+                        lineStarts[numLines] = lineStart;
+                        lineEnds[numLines] = lineEnd;
+                        numLines++;
+                    }
+                }
+                lineStart = nextLine;
+            }
+            parseLines(window, lineStarts, lineEnds, numLines, aircraft);
+
+            // an empty file has no line declaring the number of aircraft
+            if (!headerRead) {
+                throw new MalformedSaveException();
+            }
+            // fewer lines are present than the number of aircraft declared
+            if (aircraft.size() < numAircraft) {
+                throw new MalformedSaveException();
+            }
+            this.bytesRead = fileSize;
+        } finally {
+            this.elapsedNanos = System.nanoTime() - startTime;
+        }
+        return aircraft;
+    }
+
+    /**
+     * Returns the number of bytes read by the last successful load.
+     *
+     * @return size of the last file loaded, in bytes
+     */
+    public long getBytesRead() {
+        return this.bytesRead;
+    }
+
+    /**
+     * Returns the time taken by the last load, including mapping the file.
+     *
+     * @return duration of the last load, in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * Returns the throughput of the last successful load.
+     *
+     * @return bytes read per second by the last load; or 0 if no time was measured
+     */
+    public double getBytesPerSecond() {
+        return this.elapsedNanos == 0 ? 0.0 : this.bytesRead * NANOS_PER_SECOND / this.elapsedNanos;
+    }
+
+    /**
+     * Parses the given lines of the window on the parse pool, adding the aircraft parsed to the
+     * end of the given list in the order of their lines.
+     */
+    private void parseLines(ByteBuffer window, int[] lineStarts, int[] lineEnds, int numLines,
+            List<Aircraft> aircraft) throws MalformedSaveException {
+        if (numLines == 0) {
+            return;
+        }
+        Aircraft[] parsed = new Aircraft[numLines];
+        AtomicReference<MalformedSaveException> failure = new AtomicReference<>();
+        this.parsePool.invoke(new AircraftParseTask(window, lineStarts, lineEnds, parsed, 0,
+                numLines, this.parseChunkSize, this.deferTaskLists, failure));
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        aircraft.addAll(Arrays.asList(parsed));
+    }
+
+    /**
+     * Maps the window of the file starting at the given position, as read-only.
+     */
+    private ByteBuffer map(FileChannel channel, long position, long fileSize) throws IOException {
+        long size = Math.min(this.windowSize, fileSize - position);
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    }
+
+    /**
+     * Reads the aircraft encoded between the given positions of the buffer, under the same rules
+     * as {@link ControlTowerInitialiser#readAircraft(String)}, deferring its task list if
+     * requested. Only absolute gets are used, so lines of the same buffer may be read by several
+     * threads at once.
+     */
+    static Aircraft readAircraft(ByteBuffer buffer, int start, int end, boolean deferTaskList)
+            throws MalformedSaveException {
+        // locates each of the six colon-separated fields, and checks there are exactly five colons
+        int callsignEnd = nextColon(buffer, start, end);
+        int characteristicsEnd = nextColon(buffer, callsignEnd + 1, end);
+        int taskListEnd = nextColon(buffer, characteristicsEnd + 1, end);
+        int fuelEnd = nextColon(buffer, taskListEnd + 1, end);
+        int emergencyEnd = nextColon(buffer, fuelEnd + 1, end);
+        if (emergencyEnd >= end || nextColon(buffer, emergencyEnd + 1, end) < end) {
+            throw new MalformedSaveException();
+        }
+
+        int characteristicsIndex = findName(buffer, callsignEnd + 1, characteristicsEnd,
+                CHARACTERISTICS_NAMES);
+        if (characteristicsIndex < 0) {
+            throw new MalformedSaveException();
+        }
+
+        double fuelAmount = parseDecimal(buffer, taskListEnd + 1, fuelEnd);
+        int cargoAmount = parseDigits(buffer, emergencyEnd + 1, end);
+        TaskList taskList = null;
+        if (!Double.isNaN(fuelAmount) && cargoAmount >= 0) {
+            taskList = deferTaskList
+                    ? deferTaskList(buffer, characteristicsEnd + 1, taskListEnd)
+                    : readTaskList(buffer, characteristicsEnd + 1, taskListEnd);
+        }
+        if (taskList == null) {
+            return ControlTowerInitialiser.readAircraft(decode(buffer, start, end));
+        }
+
+        return ControlTowerInitialiser.createAircraft(decode(buffer, start, callsignEnd),
+                CHARACTERISTICS[characteristicsIndex], taskList, fuelAmount,
+                matches(buffer, fuelEnd + 1, emergencyEnd, TRUE), cargoAmount);
+    }
+
+    /**
+     * Reads the task list encoded between the given positions of the buffer, under the same rules
+     * as {@link ControlTowerInitialiser#readTaskList(String)}. Returns null if a load percentage
+     * is not parsed in place.
+     */
+    private static TaskList readTaskList(ByteBuffer buffer, int start, int end)
+            throws MalformedSaveException {
+        // trailing empty tasks are ignored, as by String.split(String)
+        while (end > start && buffer.get(end - 1) == ',') {
+            end--;
+        }
+
+        List<Task> tasks = new ArrayList<>();
+        int taskStart = start;
+        while (true) {
+            int taskEnd = taskStart;
+            int symbolIndex = -1;
+            while (taskEnd < end && buffer.get(taskEnd) != ',') {
+                if (buffer.get(taskEnd) == '@') {
+                    if (symbolIndex >= 0) {
+                        throw new MalformedSaveException();
+                    }
+                    symbolIndex = taskEnd;
+                }
+                taskEnd++;
+            }
+
+            int typeIndex = findName(buffer, taskStart, symbolIndex < 0 ? taskEnd : symbolIndex,
+                    TASK_TYPE_NAMES);
+            if (typeIndex < 0) {
+                throw new MalformedSaveException();
+            }
+            TaskType type = TASK_TYPES[typeIndex];
+            if (symbolIndex < 0) {
+                tasks.add(Task.of(type));
+            } else {
+                int loadPercent = parseDigits(buffer, symbolIndex + 1, taskEnd);
+                if (loadPercent < 0) {
+                    return null;
+                }
+                tasks.add(Task.of(type, loadPercent));
+            }
+
+            if (taskEnd >= end) {
+                break;
+            }
+            taskStart = taskEnd + 1;
+        }
+
+        try {
+            return new TaskList(tasks);
+        } catch (IllegalArgumentException iae) {
+            throw new MalformedSaveException(iae);
+        }
+    }
+
+    /**
+     * Creates a deferred task list from the tasks encoded between the given positions of the
+     * buffer, under the same rules as {@link ControlTowerInitialiser#readTaskList(String)}.
+     * Returns null if the tasks are not in a form that is deferred.
+     */
+    private static TaskList deferTaskList(ByteBuffer buffer, int start, int end)
+            throws MalformedSaveException {
+        byte[] encodedTasks = new byte[end - start];
+        buffer.get(start, encodedTasks);
+        try {
+            return TaskList.deferred(encodedTasks);
+        } catch (IllegalArgumentException iae) {
+            throw new MalformedSaveException(iae);
+        }
+    }
+
+    /**
+     * Returns the position of the next colon at or after the given position, or the end position
+     * if there are no more colons before it.
+     */
+    private static int nextColon(ByteBuffer buffer, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (buffer.get(i) == ':') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Returns the index of the name equal to the bytes between the given positions, or -1 if
+     * there is none.
+     */
+    private static int findName(ByteBuffer buffer, int start, int end, byte[][] names) {
+        for (int i = 0; i < names.length; i++) {
+            if (matches(buffer, start, end, names[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns true if the bytes between the given positions are equal to the given bytes.
+     */
+    private static boolean matches(ByteBuffer buffer, int start, int end, byte[] expected) {
+        if (end - start != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (buffer.get(start + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the unsigned integer of at most nine digits between the given positions. Returns -1
+     * if the bytes are not in that form.
+     */
+    private static int parseDigits(ByteBuffer buffer, int start, int end) {
+        if (start >= end || end - start > MAX_INTEGER_DIGITS) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Parses the unsigned decimal number between the given positions, which must have digits
+     * both before and after its decimal point if it has one. Returns NaN if the bytes are not in
+     * that form, or have too many significant digits to be parsed exactly.
+     */
+    private static double parseDecimal(ByteBuffer buffer, int start, int end) {
+        long digits = 0;
+        int numDigits = 0;
+        int fractionDigits = -1;
+        for (int i = start; i < end; i++) {
+            int b = buffer.get(i);
+            if (b == '.' && fractionDigits < 0 && numDigits > 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            int digit = b - '0';
+            if (digit < 0 || digit > 9 || digits > (MAX_EXACT_DIGITS - digit) / 10) {
+                return Double.NaN;
+            }
+            digits = digits * 10 + digit;
+            numDigits++;
+            if (fractionDigits >= 0) {
+                fractionDigits++;
+            }
+        }
+        if (numDigits == 0 || fractionDigits == 0 || fractionDigits >= POWERS_OF_TEN.length) {
+            return Double.NaN;
+        }
+        return fractionDigits < 0 ? digits : digits / POWERS_OF_TEN[fractionDigits];
+    }
+
+    /**
+     * Decodes the UTF-8 bytes between the given positions.
+     */
+    private static String decode(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the names of the given enum constants, encoded as bytes.
+     */
+    private static byte[][] encodeNames(Enum<?>[] constants) {
+        byte[][] names = new byte[constants.length][];
+        for (int i = 0; i < constants.length; i++) {
+            names[i] = constants[i].name().getBytes(StandardCharsets.US_ASCII);
+        }
+        return names;
+    }
+}
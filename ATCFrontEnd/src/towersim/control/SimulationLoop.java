@@ -0,0 +1,328 @@
+package towersim.control;
+
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs a control tower on a dedicated thread, ticking it at a fixed interval while it is not
+ * paused, and publishes a snapshot of it for other threads to show.
+ * <p>
+ * Once the loop is started, the control tower belongs to the simulation thread: other threads
+ * must not read or modify it, but instead {@link #submit(Command) submit} commands, which the
+ * simulation thread runs between ticks. After a tick or a batch of commands, the simulation
+ * thread publishes a copy of the control tower (as made by
+ * {@link ControlTowerSaver#copy(ControlTower)}) through a {@link SnapshotExchanger}, but only if
+ * the previous snapshot has been taken. Copying the control tower is expensive, so while the
+ * reader has not taken the last snapshot, no copies are made; once it has, the changes made since
+ * are published straight away, even if the loop is paused. The simulation thread does not touch
+ * a snapshot once it has been published, so a reader may use the newest one for as long as it
+ * likes while the simulation keeps running. Reading a snapshot may still change it, for example
+ * by decoding a deferred task list, so it must only be used by one thread at a time; a reader
+ * that hands it on to another thread should copy it first.
+ * <p>
+ * Ticks are spaced the tick interval apart, measured from the start of one tick to the start of
+ * the next. A tick that takes longer than the interval delays the next tick rather than causing
+ * several to run back to back. With an interval of zero, the control tower is ticked as fast as
+ * it can be.
+ * <p>
+ * If a tick throws a runtime exception, the loop pauses itself rather than stopping, so commands
+ * (such as saving) can still be run; see {@link #setTickFailureHandler(Consumer)}.
+ */
+public class SimulationLoop {
+
+    /**
+     * Command run by the simulation thread with the control tower between ticks.
+     *
+     * @param <T> type of the result of the command
+     */
+    @FunctionalInterface
+    public interface Command<T> {
+
+        /**
+         * Runs the command with the given control tower.
+         *
+         * @param tower control tower of the simulation
+         * @return result of the command
+         * @throws Exception if the command fails
+         */
+        T run(ControlTower tower) throws Exception;
+    }
+
+    /** Control tower ticked by the simulation thread */
+    private final ControlTower tower;
+
+    /** Slot through which snapshots of the control tower are published */
+    private final SnapshotExchanger<ControlTower> snapshots = new SnapshotExchanger<>();
+
+    /** Commands waiting to be run by the simulation thread */
+    private final BlockingQueue<Runnable> commands = new LinkedBlockingQueue<>();
+
+    /** Command submitted only to wake the simulation thread, which leaves the tower unchanged */
+    private static final Runnable WAKE = () -> {};
+
+    /** Thread that ticks the control tower and runs commands */
+    private final Thread thread;
+
+    /** Time between the start of one tick and the start of the next, in nanoseconds */
+    private volatile long tickInterval;
+
+    /** Whether ticking is paused; commands are still run while paused */
+    private volatile boolean paused = true;
+
+    /** Whether the loop has been asked to stop */
+    private volatile boolean stopped = false;
+
+    /** Whether the control tower has changed since the last snapshot was published */
+    private volatile boolean unpublished = false;
+
+    /** Called with the exception thrown by a failed tick; or null if failures are not reported */
+    private volatile Consumer<RuntimeException> tickFailureHandler;
+
+    /**
+     * Creates a new paused simulation loop for the given control tower, which is not started
+     * until {@link #start()} is called.
+     *
+     * @param tower        control tower to tick
+     * @param tickInterval time between ticks, in nanoseconds
+     * @throws IllegalArgumentException if tickInterval is negative
+     */
+    public SimulationLoop(ControlTower tower, long tickInterval) {
+        this.tower = Objects.requireNonNull(tower);
+        setTickInterval(tickInterval);
+        this.thread = new Thread(this::run, "towersim-simulation");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the simulation thread, which publishes a first snapshot straight away.
+     *
+     * @throws IllegalThreadStateException if the loop has already been started
+     */
+    public void start() {
+        this.thread.start();
+    }
+
+    /**
+     * Stops the simulation thread once it has finished its current tick or command, and waits
+     * for it to stop. Commands that have not been run yet are never run.
+     *
+     * @throws InterruptedException if interrupted while waiting for the thread to stop
+     */
+    public void stop() throws InterruptedException {
+        this.stopped = true;
+        this.commands.add(WAKE);
+        if (this.thread.isAlive()) {
+            this.thread.join();
+        }
+    }
+
+    /**
+     * Pauses or resumes ticking. When ticking is resumed, the next tick is run one tick interval
+     * later.
+     *
+     * @param paused whether ticking should be paused
+     */
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+        this.commands.add(WAKE);
+    }
+
+    /**
+     * Sets the time between the start of one tick and the start of the next. The interval
+     * applies from the last tick run, so the next tick may be run straight away.
+     *
+     * @param tickInterval time between ticks, in nanoseconds
+     * @throws IllegalArgumentException if tickInterval is negative
+     */
+    public void setTickInterval(long tickInterval) {
+        if (tickInterval < 0) {
+            throw new IllegalArgumentException("Tick interval must not be negative: "
+                    + tickInterval);
+        }
+        this.tickInterval = tickInterval;
+        this.commands.add(WAKE);
+    }
+
+    /**
+     * Sets the handler called on the simulation thread whenever a tick throws a runtime
+     * exception, replacing any handler set before, or stops reporting failures if the handler is
+     * null.
+     * <p>
+     * When a tick fails, the loop pauses itself and completes every command still waiting to be
+     * run exceptionally with an {@link IllegalStateException} caused by the tick's exception. It
+     * then publishes the control tower as the failed tick left it, and calls the handler. Commands
+     * submitted afterwards are run as usual, and ticking is tried again once the loop is resumed.
+     *
+     * @param handler called with the exception thrown by a failed tick
+     */
+    public void setTickFailureHandler(Consumer<RuntimeException> handler) {
+        this.tickFailureHandler = handler;
+    }
+
+    /**
+     * Submits a command to be run by the simulation thread with the control tower before its
+     * next tick. Commands are run in the order they are submitted, and a snapshot including
+     * their changes is published once they have run and the previous snapshot has been taken.
+     *
+     * @param command command to run
+     * @param <T>     type of the result of the command
+     * @return future completed on the simulation thread with the result of the command, or
+     *         completed exceptionally with the exception thrown by the command, or if a tick
+     *         fails before the command is run
+     */
+    public <T> CompletableFuture<T> submit(Command<T> command) {
+        SubmittedCommand<T> submitted = new SubmittedCommand<>(Objects.requireNonNull(command));
+        this.commands.add(submitted);
+        return submitted.result;
+    }
+
+    /**
+     * Takes the newest snapshot of the control tower published since a snapshot was last taken.
+     * If the control tower has changed since the snapshot was published, the simulation thread is
+     * woken to publish another.
+     * <p>
+     * The snapshot must not be modified. See {@link SnapshotExchanger#take()}.
+     *
+     * @return newest snapshot not yet taken; or null if none has been published since
+     */
+    public ControlTower takeSnapshot() {
+        ControlTower snapshot = this.snapshots.take();
+        // the simulation thread marks the tower as unpublished before checking whether the slot
+        // is empty, so either it sees the slot emptied here or this sees the mark
+        if (snapshot != null && this.unpublished) {
+            this.commands.add(WAKE);
+        }
+        return snapshot;
+    }
+
+    /* Ticks the control tower and runs commands until stopped */
+    private void run() {
+        towerChanged();
+        long lastTick = System.nanoTime();
+        boolean wasPaused = true;
+        try {
+            while (!this.stopped) {
+                Runnable command;
+                if (this.paused) {
+                    wasPaused = true;
+                    command = this.commands.take();
+                } else {
+                    long now = System.nanoTime();
+                    if (wasPaused) {
+                        wasPaused = false;
+                        lastTick = now;
+                    }
+                    // waiting commands are run first, even if a tick is overdue
+                    long wait = lastTick + this.tickInterval - now;
+                    command = wait > 0
+                            ? this.commands.poll(wait, TimeUnit.NANOSECONDS)
+                            : this.commands.poll();
+                    if (command == null) {
+                        lastTick = System.nanoTime();
+                        tick();
+                        continue;
+                    }
+                }
+                runCommands(command);
+            }
+        } catch (InterruptedException e) {
+            // the simulation thread is only interrupted when the application is exiting
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+     * Ticks the control tower. If the tick fails, pauses the loop, fails the commands waiting to
+     * be run and reports the failure.
+     */
+    private void tick() {
+        try {
+            this.tower.tick();
+        } catch (RuntimeException e) {
+            this.paused = true;
+            IllegalStateException cause = new IllegalStateException(
+                    "Control tower failed to tick before the command was run", e);
+            Runnable command;
+            while ((command = this.commands.poll()) != null) {
+                if (command instanceof SubmittedCommand) {
+                    ((SubmittedCommand<?>) command).result.completeExceptionally(cause);
+                }
+            }
+            towerChanged();
+            Consumer<RuntimeException> handler = this.tickFailureHandler;
+            if (handler != null) {
+                handler.accept(e);
+            }
+            return;
+        }
+        towerChanged();
+    }
+
+    /*
+     * Runs the given command and any others already waiting, then publishes a snapshot if one is
+     * wanted and any of them, or an earlier tick or command, changed the control tower.
+     */
+    private void runCommands(Runnable first) {
+        boolean changed = false;
+        for (Runnable command = first; command != null && !this.stopped;
+                command = this.commands.poll()) {
+            command.run();
+            changed |= command != WAKE;
+        }
+        if (changed) {
+            towerChanged();
+        } else {
+            publishIfWanted();
+        }
+    }
+
+    /* Marks the control tower as changed, and publishes a copy of it if one is wanted */
+    private void towerChanged() {
+        this.unpublished = true;
+        publishIfWanted();
+    }
+
+    /*
+     * Publishes a copy of the control tower as it is now if it has changed since the last
+     * snapshot was published, and that snapshot has been taken.
+     */
+    private void publishIfWanted() {
+        if (this.unpublished && this.snapshots.isEmpty()) {
+            this.unpublished = false;
+            this.snapshots.publish(ControlTowerSaver.copy(this.tower));
+        }
+    }
+
+    /**
+     * Command submitted to be run by the simulation thread, along with the future to complete
+     * with its result.
+     */
+    private class SubmittedCommand<T> implements Runnable {
+
+        /** Command to run */
+        private final Command<T> command;
+
+        /** Future completed with the result of the command */
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        /**
+         * Creates a new submitted command that has not been run yet.
+         */
+        private SubmittedCommand(Command<T> command) {
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            try {
+                this.result.complete(this.command.run(SimulationLoop.this.tower));
+            } catch (Exception e) {
+                this.result.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package towersim.control;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A single slot through which one thread hands the newest of a series of snapshots to another,
+ * without either thread blocking or taking a lock.
+ * <p>
+ * Publishing a snapshot replaces any snapshot that has not been taken yet, so a reader that falls
+ * behind skips straight to the newest snapshot instead of working through a backlog, and the
+ * writer never waits for the reader. Each snapshot is taken at most once.
+ * <p>
+ * Everything the writer did before publishing a snapshot is visible to the reader that takes it.
+ * Snapshots must not be modified once published, as the writer no longer knows when they are
+ * read.
+ *
+ * @param <T> type of the snapshots exchanged
+ */
+public class SnapshotExchanger<T> {
+
+    /** Newest snapshot published that has not been taken yet; or null if there is none */
+    private final AtomicReference<T> slot = new AtomicReference<>();
+
+    /**
+     * Publishes the given snapshot, replacing any snapshot that has not been taken yet.
+     *
+     * @param snapshot snapshot to publish
+     * @throws NullPointerException if snapshot is null
+     */
+    public void publish(T snapshot) {
+        this.slot.set(Objects.requireNonNull(snapshot));
+    }
+
+    /**
+     * Returns true if there is no snapshot waiting to be taken, either because the last one
+     * published has been taken or because none has been published yet.
+     * <p>
+     * A writer whose snapshots are expensive to make can check this before making one, so it
+     * only makes a snapshot when the reader is ready for it.
+     *
+     * @return whether the slot is empty
+     */
+    public boolean isEmpty() {
+        return this.slot.get() == null;
+    }
+
+    /**
+     * Takes the newest snapshot published since a snapshot was last taken, leaving the slot
+     * empty.
+     *
+     * @return newest snapshot not yet taken; or null if none has been published since
+     */
+    public T take() {
+        return this.slot.getAndSet(null);
+    }
+}
@@ -0,0 +1,212 @@
+package towersim.control;
+
+import towersim.util.MalformedSaveException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the primitive values that make up a binary snapshot from a file channel, through a
+ * direct byte buffer.
+ * <p>
+ * This is the counterpart of {@link SnapshotOutput}. Running out of bytes part-way through a value
+ * means the snapshot has been truncated, and is reported as a {@link MalformedSaveException}.
+ */
+class SnapshotInput implements Closeable {
+
+    /** Channel the snapshot is read from */
+    private final FileChannel channel;
+
+    /** Buffer holding bytes read from the channel but not yet consumed */
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates a new input reading from the given channel, starting at its current position.
+     *
+     * @param channel channel to read from, which is closed when this input is closed
+     */
+    SnapshotInput(FileChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(SnapshotOutput.BUFFER_SIZE);
+        this.buffer.limit(0);
+    }
+
+    /**
+     * Returns the position in the file of the next byte to be read.
+     *
+     * @return current position
+     * @throws IOException if the position of the channel cannot be read
+     */
+    long position() throws IOException {
+        return this.channel.position() - this.buffer.remaining();
+    }
+
+    /**
+     * Returns true if there are more bytes to read before the end of the file.
+     *
+     * @return true if the end of the file has not been reached; false otherwise
+     * @throws IOException if reading from the channel fails
+     */
+    boolean hasRemaining() throws IOException {
+        return this.buffer.hasRemaining() || fill(1);
+    }
+
+    /**
+     * Reads an unsigned byte.
+     *
+     * @return byte read, from 0 to 255
+     * @throws MalformedSaveException if the end of the file is reached
+     * @throws IOException            if reading from the channel fails
+     */
+    int readByte() throws MalformedSaveException, IOException {
+        require(Byte.BYTES);
+        return this.buffer.get() & 0xFF;
+    }
+
+    /**
+     * Reads an unsigned 16-bit integer.
+     *
+     * @return integer read, from 0 to 65535
+     * @throws MalformedSaveException if the end of the file is reached
+     * @throws IOException            if reading from the channel fails
+     */
+    int readShort() throws MalformedSaveException, IOException {
+        require(Short.BYTES);
+        return this.buffer.getShort() & 0xFFFF;
+    }
+
+    /**
+     * Reads a 32-bit integer.
+     *
+     * @return integer read
+     * @throws MalformedSaveException if the end of the file is reached
+     * @throws IOException            if reading from the channel fails
+     */
+    int readInt() throws MalformedSaveException, IOException {
+        require(Integer.BYTES);
+        return this.buffer.getInt();
+    }
+
+    /**
+     * Reads a double.
+     *
+     * @return double read
+     * @throws MalformedSaveException if the end of the file is reached
+     * @throws IOException            if reading from the channel fails
+     */
+    double readDouble() throws MalformedSaveException, IOException {
+        require(Double.BYTES);
+        return this.buffer.getDouble();
+    }
+
+    /**
+     * Reads a non-negative varint of at most ten bytes.
+     *
+     * @return integer read
+     * @throws MalformedSaveException if the varint is too long or the end of the file is reached
+     * @throws IOException            if reading from the channel fails
+     */
+    long readVarLong() throws MalformedSaveException, IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int next = readByte();
+            value |= (long) (next & 0x7F) << shift;
+            if ((next & 0x80) == 0) {
+                if (value < 0) {
+                    throw new MalformedSaveException("Varint out of range");
+                }
+                return value;
+            }
+        }
+        throw new MalformedSaveException("Varint is too long");
+    }
+
+    /**
+     * Reads a non-negative varint that must be no greater than the given maximum.
+     *
+     * @param max largest value allowed
+     * @return integer read
+     * @throws MalformedSaveException if the value is greater than the maximum or the end of the
+     *                                file is reached
+     * @throws IOException            if reading from the channel fails
+     */
+    int readVarInt(int max) throws MalformedSaveException, IOException {
+        long value = readVarLong();
+        if (value > max) {
+            throw new MalformedSaveException("Value " + value + " is greater than " + max);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads a string written by {@link SnapshotOutput#writeString(String)}.
+     *
+     * @return string read
+     * @throws MalformedSaveException if the string is longer than the buffer or the end of the
+     *                                file is reached
+     * @throws IOException            if reading from the channel fails
+     */
+    String readString() throws MalformedSaveException, IOException {
+        int length = readVarInt(this.buffer.capacity());
+        require(length);
+        byte[] bytes = new byte[length];
+        this.buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Skips over the given number of bytes.
+     *
+     * @param numBytes number of bytes to skip
+     * @throws MalformedSaveException if the end of the file is reached first
+     * @throws IOException            if reading from the channel fails
+     */
+    void skip(long numBytes) throws MalformedSaveException, IOException {
+        while (numBytes > 0) {
+            require(1);
+            int skipped = (int) Math.min(numBytes, this.buffer.remaining());
+            this.buffer.position(this.buffer.position() + skipped);
+            numBytes -= skipped;
+        }
+    }
+
+    /**
+     * Closes the channel.
+     *
+     * @throws IOException if closing the channel fails
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Makes sure at least the given number of bytes are in the buffer.
+     */
+    private void require(int numBytes) throws MalformedSaveException, IOException {
+        if (this.buffer.remaining() < numBytes && !fill(numBytes)) {
+            throw new MalformedSaveException("Unexpected end of snapshot");
+        }
+    }
+
+    /**
+     * Reads from the channel until at least the given number of bytes are in the buffer, or the
+     * end of the file is reached. Returns true if enough bytes were read.
+     */
+    private boolean fill(int numBytes) throws IOException {
+        this.buffer.compact();
+        try {
+            while (this.buffer.position() < numBytes) {
+                if (this.channel.read(this.buffer) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            this.buffer.flip();
+        }
+    }
+}
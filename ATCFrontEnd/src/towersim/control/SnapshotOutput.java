@@ -0,0 +1,230 @@
+package towersim.control;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the primitive values that make up a binary snapshot to a file channel, through a direct
+ * byte buffer.
+ * <p>
+ * Values are written in big-endian byte order. Non-negative integers can be written as unsigned
+ * LEB128 varints, which take one byte for values below 128. Sections are prefixed with their
+ * length in bytes, which is filled in once the section has been written.
+ */
+class SnapshotOutput implements Closeable {
+
+    /** Size of the direct buffer that values are written into before reaching the channel */
+    static final int BUFFER_SIZE = 1 << 16;
+
+    /** Channel the snapshot is written to */
+    private final FileChannel channel;
+
+    /** Buffer holding bytes not yet written to the channel */
+    private final ByteBuffer buffer;
+
+    /** Number of bytes written to the channel before the start of the buffer */
+    private long flushedBytes;
+
+    /** Position in the file of the length of the section being written; or -1 if none */
+    private long sectionLengthPosition;
+
+    /**
+     * Creates a new output writing to the given channel, starting at its current position.
+     *
+     * @param channel channel to write to, which is closed when this output is closed
+     * @throws IOException if the position of the channel cannot be read
+     */
+    SnapshotOutput(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.flushedBytes = channel.position();
+        this.sectionLengthPosition = -1;
+    }
+
+    /**
+     * Returns the position in the file that the next byte will be written to.
+     *
+     * @return current position
+     */
+    long position() {
+        return this.flushedBytes + this.buffer.position();
+    }
+
+    /**
+     * Writes the given byte.
+     *
+     * @param value byte to write, of which only the lowest 8 bits are written
+     * @throws IOException if writing to the channel fails
+     */
+    void writeByte(int value) throws IOException {
+        ensureSpace(Byte.BYTES);
+        this.buffer.put((byte) value);
+    }
+
+    /**
+     * Writes the given bytes.
+     *
+     * @param bytes bytes to write
+     * @throws IOException if writing to the channel fails
+     */
+    void writeBytes(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensureSpace(1);
+            int length = Math.min(bytes.length - offset, this.buffer.remaining());
+            this.buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * Writes the given 16-bit integer.
+     *
+     * @param value integer to write, of which only the lowest 16 bits are written
+     * @throws IOException if writing to the channel fails
+     */
+    void writeShort(int value) throws IOException {
+        ensureSpace(Short.BYTES);
+        this.buffer.putShort((short) value);
+    }
+
+    /**
+     * Writes the given 32-bit integer.
+     *
+     * @param value integer to write
+     * @throws IOException if writing to the channel fails
+     */
+    void writeInt(int value) throws IOException {
+        ensureSpace(Integer.BYTES);
+        this.buffer.putInt(value);
+    }
+
+    /**
+     * Writes the exact bits of the given double.
+     *
+     * @param value double to write
+     * @throws IOException if writing to the channel fails
+     */
+    void writeDouble(double value) throws IOException {
+        ensureSpace(Double.BYTES);
+        this.buffer.putDouble(value);
+    }
+
+    /**
+     * Writes the given non-negative integer as a varint of one to ten bytes.
+     *
+     * @param value integer to write
+     * @throws IllegalArgumentException if the value is negative
+     * @throws IOException              if writing to the channel fails
+     */
+    void writeVarLong(long value) throws IOException {
+        if (value < 0) {
+            throw new IllegalArgumentException("Varints must not be negative: " + value);
+        }
+        ensureSpace(10);
+        while ((value & ~0x7FL) != 0) {
+            this.buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        this.buffer.put((byte) value);
+    }
+
+    /**
+     * Writes the given string as a varint byte length followed by its UTF-8 bytes.
+     *
+     * @param value string to write
+     * @throws IOException if writing to the channel fails
+     */
+    void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        writeBytes(bytes);
+    }
+
+    /**
+     * Starts a new section with the given tag, followed by a placeholder for its length.
+     *
+     * @param tag tag identifying the section
+     * @throws IllegalStateException if the previous section has not been ended
+     * @throws IOException           if writing to the channel fails
+     */
+    void beginSection(int tag) throws IOException {
+        if (this.sectionLengthPosition >= 0) {
+            throw new IllegalStateException("Previous section has not been ended");
+        }
+        writeByte(tag);
+        // the length is written into a single buffer, so that it can be filled in as a whole
+        ensureSpace(Integer.BYTES);
+        this.sectionLengthPosition = position();
+        this.buffer.putInt(0);
+    }
+
+    /**
+     * Ends the current section, filling in its length.
+     *
+     * @throws IllegalStateException if no section has been started
+     * @throws IOException           if the section is longer than the largest length that can be
+     *                               stored, or writing to the channel fails
+     */
+    void endSection() throws IOException {
+        if (this.sectionLengthPosition < 0) {
+            throw new IllegalStateException("No section has been started");
+        }
+        long length = position() - this.sectionLengthPosition - Integer.BYTES;
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot section is too large: " + length + " bytes");
+        }
+        if (this.sectionLengthPosition >= this.flushedBytes) {
+            this.buffer.putInt((int) (this.sectionLengthPosition - this.flushedBytes),
+                    (int) length);
+        } else {
+            ByteBuffer lengthBytes = ByteBuffer.allocate(Integer.BYTES).putInt((int) length);
+            lengthBytes.flip();
+            long lengthPosition = this.sectionLengthPosition;
+            while (lengthBytes.hasRemaining()) {
+                lengthPosition += this.channel.write(lengthBytes, lengthPosition);
+            }
+        }
+        this.sectionLengthPosition = -1;
+    }
+
+    /**
+     * Writes all buffered bytes to the channel.
+     *
+     * @throws IOException if writing to the channel fails
+     */
+    void flush() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.flushedBytes += this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    /**
+     * Writes all buffered bytes to the channel, then closes the channel.
+     *
+     * @throws IOException if writing to or closing the channel fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Makes sure the buffer has space for at least the given number of bytes, writing the
+     * buffered bytes to the channel if it does not.
+     */
+    private void ensureSpace(int numBytes) throws IOException {
+        if (this.buffer.remaining() < numBytes) {
+            flush();
+        }
+    }
+}
@@ -2,8 +2,13 @@ package towersim.control;
 
 import towersim.aircraft.Aircraft;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Represents a first-in-first-out (FIFO) queue of aircraft waiting to take off.
@@ -16,22 +21,32 @@ public class TakeoffQueue extends AircraftQueue {
     /**
      * The takeoff queue which contains aircrafts preparing to takeoff
      */
-    private List<Aircraft> takeoffQueue;
+    private final Deque<Aircraft> takeoffQueue;
+
+    /**
+     * All aircraft currently in the takeoff queue
+     */
+    private final Set<Aircraft> queuedAircraft;
 
     /**
      * Constructs a new TakeoffQueue with an initially empty queue of aircraft.
      */
     public TakeoffQueue() {
-        takeoffQueue = new ArrayList<Aircraft>();
+        takeoffQueue = new ArrayDeque<Aircraft>();
+        queuedAircraft = new HashSet<>();
     }
 
     /**
      * Adds the given aircraft to the queue.
+     * <p>
+     * If the aircraft is already in the queue, no action is taken.
      *
      * @param aircraft aircraft to add to queue
      */
     public void addAircraft(Aircraft aircraft) {
-        this.takeoffQueue.add(aircraft);
+        if (this.queuedAircraft.add(aircraft)) {
+            this.takeoffQueue.addLast(aircraft);
+        }
     }
 
     /**
@@ -41,10 +56,7 @@ public class TakeoffQueue extends AircraftQueue {
      * @return aircraft at front of queue
      */
     public Aircraft peekAircraft() {
-        if (this.takeoffQueue.size() == 0) {
-            return null;
-        }
-        return this.takeoffQueue.get(0);
+        return this.takeoffQueue.peekFirst();
     }
 
     /**
@@ -54,10 +66,31 @@ public class TakeoffQueue extends AircraftQueue {
      * @return aircraft at front of queue
      */
     public Aircraft removeAircraft() {
-        if (this.takeoffQueue.size() == 0) {
-            return null;
+        Aircraft aircraft = this.takeoffQueue.pollFirst();
+        if (aircraft != null) {
+            this.queuedAircraft.remove(aircraft);
         }
-        return this.takeoffQueue.remove(0);
+        return aircraft;
+    }
+
+    /**
+     * Removes the given aircraft from the queue, wherever it is in the queue.
+     * <p>
+     * This takes time proportional to the length of the queue.
+     *
+     * @param aircraft aircraft to remove
+     * @return true if the aircraft was in the queue; false otherwise
+     */
+    public boolean removeAircraft(Aircraft aircraft) {
+        if (!this.queuedAircraft.remove(aircraft)) {
+            return false;
+        }
+        Iterator<Aircraft> iterator = this.takeoffQueue.iterator();
+        while (!iterator.next().equals(aircraft)) {
+            // skip aircraft before the one being removed
+        }
+        iterator.remove();
+        return true;
     }
 
     /**
@@ -71,16 +104,14 @@ public class TakeoffQueue extends AircraftQueue {
 
     /**
      * Returns true if the given aircraft is in the queue.
+     * <p>
+     * Aircraft are compared using {@link Aircraft#equals(Object)}, so an equal copy of a queued
+     * aircraft is also found.
      *
      * @param aircraft aircraft to find in queue
      * @return true if aircraft is in queue; false otherwise
      */
     public boolean containsAircraft(Aircraft aircraft) {
-        for (Aircraft ac : this.takeoffQueue) {
-            if (ac.equals(aircraft)) {
-                return true;
-            }
-        }
-        return false;
+        return this.queuedAircraft.contains(aircraft);
     }
 }
@@ -0,0 +1,40 @@
+package towersim.control;
+
+/**
+ * Represents the possible ways in which a control tower can advance the simulation by one tick.
+ * <p>
+ * <table border="1">
+ * <caption>Enum Definitions</caption>
+ * <tr><th>TickMode</th><th>Description</th></tr>
+ * <tr><td>{@code PHASED}</td><td>Each phase of the tick runs exactly once per tick</td></tr>
+ * <tr><td>{@code LEGACY}</td><td>Every phase of the tick runs once per aircraft</td></tr>
+ * <tr><td>{@code EVENT_DRIVEN}</td><td>As {@code PHASED}, but only aircraft whose state can
+ * change are processed</td></tr>
+ * </table>
+ */
+public enum TickMode {
+    /**
+     * The tick is processed as a fixed sequence of phases (aircraft update, task advance,
+     * loading, runway, queue placement, clock), each of which runs exactly once per tick.
+     */
+    PHASED,
+
+    /**
+     * The loading, runway, queue placement and clock phases are run once for every aircraft
+     * managed by the control tower, as in earlier versions of the simulation.
+     * <p>
+     * This mode should only be used to reproduce the behaviour of older saves.
+     */
+    LEGACY,
+
+    /**
+     * The same phases are run as in {@link #PHASED} mode, with the same results, but aircraft
+     * are only processed on ticks where their state can change.
+     * <p>
+     * Aircraft on {@code AWAY} or {@code WAIT} tasks are skipped until the tick on which they
+     * reach a task of a different type, and aircraft waiting in a queue are skipped until they
+     * use the runway. Skipped ticks are applied to an aircraft when it is next processed, or
+     * when the list of aircraft is requested from the control tower.
+     */
+    EVENT_DRIVEN
+}
@@ -4,32 +4,48 @@ import javafx.animation.*;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.geometry.VPos;
+import javafx.scene.Cursor;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.TextAlignment;
+import javafx.scene.transform.Transform;
 import javafx.util.Duration;
 import towersim.aircraft.Aircraft;
 import towersim.aircraft.PassengerAircraft;
-import towersim.control.AircraftQueue;
-import towersim.control.TakeoffQueue;
 import towersim.ground.Gate;
 import towersim.ground.Terminal;
 import towersim.tasks.Task;
 import towersim.tasks.TaskType;
 
-import java.util.HashMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * Subclass of the JavaFX Canvas to represent the main elements of the airport graphically.
+ * <p>
+ * The canvas is a scrollable and zoomable view of the airport: the mouse wheel scrolls the view,
+ * the mouse wheel with the control key held (or a zoom gesture) zooms it around the pointer, and
+ * dragging with any button other than the primary button pans it. Queues longer than their strip
+ * wrap onto further rows, and the terminals are laid out below them in as many rows as needed.
+ * Only the rows of aircraft and the terminals that lie within the view are laid out and drawn.
+ * <p>
+ * The airport is divided into areas: the runway band, each queue strip and each terminal block,
+ * along with the tick status bar, which stays at the bottom of the canvas. Each time the canvas
+ * is drawn, only the areas whose drawn state has changed since they were last painted are
+ * repainted, along with the parts of any areas they overlap. Parts of the airport that never
+ * change, such as the runway and the outlines of the queues and terminals, are drawn once into
+ * offscreen images and copied onto the canvas.
  * @given
  */
 public class AirportCanvas extends Canvas {
@@ -37,8 +53,67 @@ public class AirportCanvas extends Canvas {
     /** View model containing the main model of the application */
     private final ViewModel viewModel;
 
-    /** Mapping of clickable regions (rectangles) to aircraft drawn on the canvas */
-    private final Map<ClickableRegion, Aircraft> drawnAircraft;
+    /** Areas of the airport, in the order in which they are painted */
+    private final List<CanvasArea> areas;
+
+    /** Area of the runway band */
+    private final RunwayArea runwayArea;
+
+    /** Area of the takeoff queue */
+    private final StripArea takeoffArea;
+
+    /** Area of the landing queue */
+    private final StripArea landingArea;
+
+    /** Area of the list of aircraft that are away */
+    private final StripArea awayArea;
+
+    /** Area of the tick status bar, which is fixed to the canvas rather than the airport */
+    private final TickStatusArea statusArea;
+
+    /**
+     * Clickable regions of the aircraft drawn on the canvas, indexed by the cells of the airport
+     * they overlap. Regions are added as aircraft are drawn and removed when the area they were
+     * drawn in is next painted.
+     */
+    private final RegionGrid<ClickableRegion> regionGrid = new RegionGrid<>(AIRCRAFT_WIDTH);
+
+    /** Number of terminal areas in the list of areas */
+    private int numTerminalAreas = 0;
+
+    /** Terminals of the control tower, as of the last time the canvas was drawn */
+    private List<Terminal> terminals = List.of();
+
+    /** Height of the airport as last laid out, in pixels at a zoom of 1 */
+    private double airportHeight;
+
+    /** Whether the whole canvas must be repainted the next time it is drawn */
+    private boolean repaintAll = true;
+
+    /** X coordinate of the airport shown at the left edge of the canvas */
+    private double viewX = 0;
+
+    /** Y coordinate of the airport shown at the top edge of the canvas */
+    private double viewY = 0;
+
+    /** Number of canvas pixels per pixel of the airport */
+    private double zoom = 1;
+
+    /** Zoom of the view when the offscreen images were last drawn */
+    private double layerZoom;
+
+    /** Smallest zoom of the view, at which the largest airports can be seen at once */
+    private static final double MIN_ZOOM = 0.1;
+
+    /** Largest zoom of the view */
+    private static final double MAX_ZOOM = 4;
+
+    /** Factor by which the view is zoomed for each step of the mouse wheel */
+    private static final double ZOOM_STEP = 1.1;
+
+    /** Canvas coordinates of the last point at which the view was dragged */
+    private double dragX;
+    private double dragY;
 
     /** Width of an aircraft when drawn on the canvas, in pixels */
     private static final double AIRCRAFT_WIDTH = 75;
@@ -52,6 +127,39 @@ public class AirportCanvas extends Canvas {
     /** Height of an aircraft when drawn on the canvas, in pixels */
     private static final double AIRCRAFT_HEIGHT = AIRCRAFT_WIDTH;
 
+    /** Margin around the runway and terminals, in pixels */
+    private static final double MARGIN = 5;
+
+    /** Height of the label above the gates of a terminal, in pixels */
+    private static final double TERMINAL_LABEL_HEIGHT = 25;
+
+    /** Height of a terminal including its gates, in pixels */
+    private static final double TERMINAL_HEIGHT = TERMINAL_LABEL_HEIGHT + AIRCRAFT_HEIGHT;
+
+    /** Width of the label of the takeoff and landing queues, in pixels */
+    private static final double QUEUE_LABEL_WIDTH = 65;
+
+    /** Width of the label of the list of aircraft that are away, in pixels */
+    private static final double AWAY_LABEL_WIDTH = 85;
+
+    /** Number of aircraft in each row of a queue or the list of aircraft that are away */
+    private static final int QUEUE_CAPACITY = 6;
+
+    /** Height of the tick status bar, in pixels */
+    private static final double STATUS_HEIGHT = 20;
+
+    /** Width of each terminal, in pixels */
+    private final double terminalWidth;
+
+    /** Offscreen image of the runway */
+    private WritableImage runwayLayer;
+
+    /** Offscreen image of an empty terminal */
+    private WritableImage terminalLayer;
+
+    /** Aircraft being animated on the runway; or null if no aircraft has been animated */
+    private Aircraft runwayAircraft;
+
     /** X coordinate of the aircraft being animated on the runway */
     private final DoubleProperty runwayAnimationX = new SimpleDoubleProperty(0);
 
@@ -61,7 +169,16 @@ public class AirportCanvas extends Canvas {
     /** Animation timeline of an aircraft taking off */
     private final Timeline takeoffTimeline;
 
-    /** A class to represent a rectangular region on the canvas that responds to click events */
+    /** Controller playing the animations of aircraft landing and taking off */
+    private final RunwayAnimator runwayAnimator = new RunwayAnimator();
+
+    /** Maximum number of animations waiting for the animation being played to finish */
+    private static final int MAX_QUEUED_ANIMATIONS = 2;
+
+    /**
+     * A class to represent a rectangular region of the airport that selects the aircraft drawn in
+     * it when clicked
+     */
     private static class ClickableRegion {
 
         /** X-coordinate of the region (top left) */
@@ -72,13 +189,17 @@ public class AirportCanvas extends Canvas {
         private final double width;
         /** Height of the region, in pixels */
         private final double height;
+        /** Aircraft drawn in the region */
+        private final Aircraft aircraft;
 
         /** Creates a new clickable region with the given coordinates and dimensions */
-        public ClickableRegion(double x, double y, double width, double height) {
+        public ClickableRegion(double x, double y, double width, double height,
+                Aircraft aircraft) {
             this.xcoord = x;
             this.ycoord = y;
             this.width = width;
             this.height = height;
+            this.aircraft = aircraft;
         }
 
         /**
@@ -91,6 +212,74 @@ public class AirportCanvas extends Canvas {
         }
     }
 
+    /**
+     * A rectangular area of the airport that is repainted only when the state drawn in it
+     * changes, or when an overlapping area is repainted.
+     * <p>
+     * Areas may paint outside their bounds, by up to one pixel for strokes along their edges.
+     * The clickable regions of the aircraft drawn in an area lie within its bounds, and are
+     * indexed by the canvas' region grid until the area is next painted.
+     */
+    private abstract class CanvasArea {
+
+        /** X-coordinate of the area (top left) */
+        private double xcoord;
+        /** Y-coordinate of the area (top left) */
+        private double ycoord;
+        /** Width of the area, in pixels */
+        private double width;
+        /** Height of the area, in pixels */
+        private double height;
+
+        /** State of the model drawn in the area when it was last checked; or null if never */
+        private Object drawnState;
+
+        /** Clickable regions of the aircraft drawn in the area when it was last painted */
+        private final List<ClickableRegion> clickableRegions = new ArrayList<>();
+
+        /**
+         * Moves this area to the given coordinates and dimensions, returning whether or not it
+         * has moved or changed size
+         */
+        public boolean setBounds(double x, double y, double width, double height) {
+            boolean moved = x != this.xcoord || y != this.ycoord
+                    || width != this.width || height != this.height;
+            this.xcoord = x;
+            this.ycoord = y;
+            this.width = width;
+            this.height = height;
+            return moved;
+        }
+
+        /** Returns the x-coordinate of the right edge of this area */
+        public double right() {
+            return this.xcoord + this.width;
+        }
+
+        /** Returns the y-coordinate of the bottom edge of this area */
+        public double bottom() {
+            return this.ycoord + this.height;
+        }
+
+        /**
+         * Returns the state of the model drawn in this area. The area is repainted whenever the
+         * returned state is not equal to the state returned the last time it was checked.
+         */
+        public abstract Object getState();
+
+        /** Paints this area onto the canvas with the given graphics context */
+        public abstract void paint(GraphicsContext gc);
+
+        /**
+         * Returns whether or not this area, including the pixel around it, overlaps the given
+         * rectangle
+         */
+        public boolean intersects(double x, double y, double width, double height) {
+            return this.xcoord - 1 < x + width && x < this.xcoord + this.width + 1
+                    && this.ycoord - 1 < y + height && y < this.ycoord + this.height + 1;
+        }
+    }
+
     /**
      * Creates a new AirportCanvas with the given dimensions.
      *
@@ -103,24 +292,25 @@ public class AirportCanvas extends Canvas {
         super(width, height);
 
         this.viewModel = viewModel;
-        this.drawnAircraft = new HashMap<>();
 
-        this.runwayStartX = getWidth() / 2 + AIRCRAFT_WIDTH + 5;
-        this.runwayWidth = getWidth() / 2 - 2 * 5 - AIRCRAFT_WIDTH;
+        this.runwayStartX = getWidth() / 2 + AIRCRAFT_WIDTH + MARGIN;
+        this.runwayWidth = getWidth() / 2 - 2 * MARGIN - AIRCRAFT_WIDTH;
+        this.terminalWidth = getWidth() / 2 - (2 * MARGIN);
+
+        this.runwayArea = new RunwayArea();
+        this.takeoffArea = new StripArea("T/O", QUEUE_LABEL_WIDTH);
+        this.landingArea = new StripArea("LND", QUEUE_LABEL_WIDTH);
+        this.awayArea = new StripArea("AWAY", AWAY_LABEL_WIDTH);
+        this.statusArea = new TickStatusArea();
+        this.areas = new ArrayList<>(List.of(this.runwayArea, this.takeoffArea,
+                this.landingArea, this.awayArea));
 
         setOnMouseClicked(event -> {
             /* Discard any click that is not a primary (left mouse button) click */
             if (event.getButton() != MouseButton.PRIMARY) {
                 return;
             }
-            double x = event.getX();
-            double y = event.getY();
-            Aircraft clickedAircraft = null;
-            for (Map.Entry<ClickableRegion, Aircraft> entry : drawnAircraft.entrySet()) {
-                if (entry.getKey().wasClicked(x, y)) {
-                    clickedAircraft = entry.getValue();
-                }
-            }
+            Aircraft clickedAircraft = aircraftAt(event.getX(), event.getY());
             viewModel.getSelectedAircraft().set(clickedAircraft);
             viewModel.registerChange();
 
@@ -129,6 +319,37 @@ public class AirportCanvas extends Canvas {
             addEventFilter(MouseEvent.MOUSE_PRESSED, e -> requestFocus());
         });
 
+        setOnMouseMoved(event -> setCursor(aircraftAt(event.getX(), event.getY()) != null
+                ? Cursor.HAND
+                : Cursor.DEFAULT));
+
+        setOnMousePressed(event -> {
+            this.dragX = event.getX();
+            this.dragY = event.getY();
+        });
+        setOnMouseDragged(event -> {
+            if (event.getButton() != MouseButton.PRIMARY) {
+                scrollBy(event.getX() - this.dragX, event.getY() - this.dragY);
+                this.dragX = event.getX();
+                this.dragY = event.getY();
+            }
+        });
+        setOnScroll(event -> {
+            if (event.isControlDown()) {
+                if (event.getDeltaY() != 0) {
+                    zoomBy(event.getDeltaY() > 0 ? ZOOM_STEP : 1 / ZOOM_STEP,
+                            event.getX(), event.getY());
+                }
+            } else {
+                scrollBy(event.getDeltaX(), event.getDeltaY());
+            }
+            event.consume();
+        });
+        setOnZoom(event -> {
+            zoomBy(event.getZoomFactor(), event.getX(), event.getY());
+            event.consume();
+        });
+
         landTimeline = new Timeline(
                 new KeyFrame(Duration.seconds(0),
                         new KeyValue(runwayAnimationX,
@@ -147,57 +368,292 @@ public class AirportCanvas extends Canvas {
                 ),
                 new KeyFrame(Duration.seconds(1),
                         "end animation",
-                        e -> drawRunway(),
                         new KeyValue(runwayAnimationX, runwayStartX - AIRCRAFT_WIDTH,
                                 Interpolator.EASE_IN)
                 )
         );
+
+        landTimeline.setOnFinished(e -> runwayAnimator.playNext());
+        takeoffTimeline.setOnFinished(e -> runwayAnimator.playNext());
+    }
+
+    /*
+     * Returns the aircraft drawn at the given point on the canvas, or null if none is. Aircraft
+     * hidden by the tick status bar cannot be clicked. Only the regions in the cell of the
+     * region grid containing the point are checked, so this is cheap enough to call on every
+     * movement of the mouse.
+     */
+    private Aircraft aircraftAt(double x, double y) {
+        if (y >= getHeight() - STATUS_HEIGHT) {
+            return null;
+        }
+        double airportX = this.viewX + x / this.zoom;
+        double airportY = this.viewY + y / this.zoom;
+        List<ClickableRegion> candidates = this.regionGrid.candidatesAt(airportX, airportY);
+        for (int i = candidates.size() - 1; i >= 0; --i) {
+            if (candidates.get(i).wasClicked(airportX, airportY)) {
+                return candidates.get(i).aircraft;
+            }
+        }
+        return null;
+    }
+
+    /* Scrolls the view by the given number of canvas pixels */
+    private void scrollBy(double deltaX, double deltaY) {
+        this.viewX -= deltaX / this.zoom;
+        this.viewY -= deltaY / this.zoom;
+        this.repaintAll = true;
+        this.viewModel.registerChange();
+    }
+
+    /* Zooms the view by the given factor, keeping the given point on the canvas in place */
+    private void zoomBy(double factor, double x, double y) {
+        double newZoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, this.zoom * factor));
+        this.viewX += x / this.zoom - x / newZoom;
+        this.viewY += y / this.zoom - y / newZoom;
+        this.zoom = newZoom;
+        this.repaintAll = true;
+        this.viewModel.registerChange();
+    }
+
+    /* Returns the width of the airport shown on the canvas, in pixels of the airport */
+    private double viewWidth() {
+        return getWidth() / this.zoom;
+    }
+
+    /* Returns the height of the airport shown on the canvas, in pixels of the airport */
+    private double viewHeight() {
+        return getHeight() / this.zoom;
     }
 
     /**
      * Draws all the relevant elements of the airport onto the canvas.
+     * <p>
+     * Only the areas of the canvas whose drawn state has changed since the canvas was last drawn
+     * are repainted.
      *
      * @given
      */
     public void draw() {
-        this.drawnAircraft.clear();
+        long start = System.nanoTime();
+        drawChangedAreas();
+        this.viewModel.recordFrameTime(System.nanoTime() - start);
+    }
+
+    /* Repaints the areas of the canvas whose drawn state has changed */
+    private void drawChangedAreas() {
+        layout();
+        if (this.runwayLayer == null || this.layerZoom != this.zoom) {
+            createLayers();
+            this.repaintAll = true;
+        }
 
+        List<CanvasArea> changedAreas = new ArrayList<>();
+        for (CanvasArea area : this.areas) {
+            if (isInView(area)) {
+                checkState(area, changedAreas);
+            }
+        }
+        checkState(this.statusArea, changedAreas);
+
+        if (this.repaintAll) {
+            this.repaintAll = false;
+            // areas outside the view are not painted, so drop their regions as well
+            this.regionGrid.clear();
+            for (CanvasArea area : this.areas) {
+                area.clickableRegions.clear();
+            }
+            repaint(0, 0, getWidth(), getHeight());
+            return;
+        }
+        for (CanvasArea area : changedAreas) {
+            if (area == this.statusArea) {
+                repaint(area.xcoord - 1, area.ycoord - 1, area.width + 2, area.height + 2);
+            } else {
+                double x = Math.floor((area.xcoord - this.viewX) * this.zoom) - 1;
+                double y = Math.floor((area.ycoord - this.viewY) * this.zoom) - 1;
+                repaint(x, y, Math.ceil(area.width * this.zoom) + 3,
+                        Math.ceil(area.height * this.zoom) + 3);
+            }
+        }
+    }
+
+    /* Adds the given area to the given list if the state drawn in it has changed */
+    private static void checkState(CanvasArea area, List<CanvasArea> changedAreas) {
+        Object state = area.getState();
+        if (!state.equals(area.drawnState)) {
+            area.drawnState = state;
+            changedAreas.add(area);
+        }
+    }
+
+    /*
+     * Lays out the areas of the airport for the current queues and terminals, and keeps the view
+     * within the airport. The whole canvas is repainted if any area or the view has moved. This is
+     * called on every frame, so it takes the lists of aircraft the view model makes once per
+     * snapshot rather than listing them again; each strip then draws just the rows in view.
+     */
+    private void layout() {
+        this.takeoffArea.aircraft = this.viewModel.getTakeoffQueueAircraft();
+        this.landingArea.aircraft = this.viewModel.getLandingQueueAircraft();
+        this.awayArea.aircraft = this.viewModel.getAwayAircraft();
+        this.terminals = this.viewModel.getControlTower().getTerminals();
+        while (this.numTerminalAreas < this.terminals.size()) {
+            this.areas.add(new TerminalArea(this.numTerminalAreas++));
+        }
+
+        boolean moved = this.takeoffArea.setBounds(0, 0, queueWidth(QUEUE_LABEL_WIDTH),
+                this.takeoffArea.numRows() * AIRCRAFT_HEIGHT);
+        moved |= this.landingArea.setBounds(0, this.takeoffArea.bottom(),
+                queueWidth(QUEUE_LABEL_WIDTH), this.landingArea.numRows() * AIRCRAFT_HEIGHT);
+        moved |= this.awayArea.setBounds(awayStartX(), 0, queueWidth(AWAY_LABEL_WIDTH),
+                this.awayArea.numRows() * AIRCRAFT_HEIGHT);
+        moved |= this.runwayArea.setBounds(awayStartX(), this.awayArea.bottom() + MARGIN,
+                runwayStartX + runwayWidth - awayStartX(), AIRCRAFT_HEIGHT);
+
+        final double spaceAbove = Math.max(
+                this.landingArea.bottom() + 2 * MARGIN,
+                this.runwayArea.bottom() + MARGIN); // queues + padding
+        for (int i = 0; i < this.numTerminalAreas; ++i) {
+            final double terminalStartX = MARGIN + (i % 2 == 1
+                    ? terminalWidth + 2 * MARGIN
+                    : 0);
+            final double terminalStartY = spaceAbove + MARGIN
+                    + ((i / 2) * (TERMINAL_HEIGHT + MARGIN));
+            moved |= this.areas.get(this.areas.size() - this.numTerminalAreas + i)
+                    .setBounds(terminalStartX, terminalStartY, terminalWidth, TERMINAL_HEIGHT);
+        }
+        this.airportHeight = spaceAbove + MARGIN
+                + ((this.numTerminalAreas + 1) / 2) * (TERMINAL_HEIGHT + MARGIN);
+
+        // the bottom of the airport may be scrolled up to the top of the tick status bar
+        double airportWidth = Math.max(getWidth(), this.awayArea.right() + MARGIN);
+        double maxViewX = Math.max(0, airportWidth - viewWidth());
+        double maxViewY = Math.max(0,
+                this.airportHeight - (getHeight() - STATUS_HEIGHT) / this.zoom);
+        double clampedX = Math.max(0, Math.min(maxViewX, this.viewX));
+        double clampedY = Math.max(0, Math.min(maxViewY, this.viewY));
+        moved |= clampedX != this.viewX || clampedY != this.viewY;
+        this.viewX = clampedX;
+        this.viewY = clampedY;
+
+        if (moved) {
+            this.repaintAll = true;
+        }
+    }
+
+    /* Returns whether or not any part of the given area lies within the view */
+    private boolean isInView(CanvasArea area) {
+        return area.intersects(this.viewX, this.viewY, viewWidth(), viewHeight());
+    }
+
+    /*
+     * Repaints the given rectangle of the canvas, by painting every area that overlaps it in
+     * order, clipped to the rectangle.
+     */
+    private void repaint(double x, double y, double width, double height) {
         GraphicsContext gc = getGraphicsContext2D();
+        gc.save();
+        gc.beginPath();
+        gc.rect(x, y, width, height);
+        gc.clip();
 
         gc.setFill(Color.DARKGREEN);
-        gc.fillRect(0, 0, getWidth(), getHeight());
+        gc.fillRect(x, y, width, height);
+
+        gc.save();
+        gc.scale(this.zoom, this.zoom);
+        gc.translate(-this.viewX, -this.viewY);
+        double airportX = this.viewX + x / this.zoom;
+        double airportY = this.viewY + y / this.zoom;
+        for (CanvasArea area : this.areas) {
+            if (isInView(area) && area.intersects(airportX, airportY,
+                    width / this.zoom, height / this.zoom)) {
+                clearRegions(area);
+                area.paint(gc);
+            }
+        }
+        gc.restore();
 
-        drawRunway();
-        drawQueue(viewModel.getControlTower().getTakeoffQueue(), 0, 0);
-        drawQueue(viewModel.getControlTower().getLandingQueue(), 0, AIRCRAFT_HEIGHT);
-        drawAwayAircraft();
-        drawTerminals();
-        drawTickStatus();
+        if (this.statusArea.intersects(x, y, width, height)) {
+            this.statusArea.paint(gc);
+        }
+        gc.restore();
     }
 
-    /* Draws the runway */
-    private void drawRunway() {
-        GraphicsContext gc = getGraphicsContext2D();
+    /* Removes the clickable regions drawn in the given area from the region grid */
+    private void clearRegions(CanvasArea area) {
+        for (ClickableRegion region : area.clickableRegions) {
+            this.regionGrid.remove(region, region.xcoord, region.ycoord, region.width,
+                    region.height);
+        }
+        area.clickableRegions.clear();
+    }
+
+    /* Draws the parts of the airport that never change into offscreen images */
+    private void createLayers() {
+        this.layerZoom = this.zoom;
+        this.runwayLayer = createLayer(runwayStartX, 0, runwayWidth, AIRCRAFT_HEIGHT,
+                gc -> drawRunway(gc, 0));
+        this.terminalLayer = createLayer(0, 0, terminalWidth, TERMINAL_HEIGHT,
+                gc -> drawEmptyTerminal(gc, 0, 0));
+        for (StripArea strip : List.of(this.takeoffArea, this.landingArea, this.awayArea)) {
+            strip.createLayers();
+        }
+    }
+
+    /*
+     * Draws the given rectangle of the airport into an offscreen image, including the pixel
+     * around it, using the given painter. The image is drawn at the current zoom and the output
+     * scale of the window showing the canvas, if any, so that it is as sharp as drawing onto the
+     * canvas directly.
+     */
+    private WritableImage createLayer(double x, double y, double width, double height,
+            Consumer<GraphicsContext> painter) {
+        Canvas layer = new Canvas(width + 2, height + 2);
+        GraphicsContext gc = layer.getGraphicsContext2D();
+        gc.translate(1 - x, 1 - y);
+        painter.accept(gc);
+
+        double scale = this.zoom;
+        if (getScene() != null && getScene().getWindow() != null) {
+            scale *= getScene().getWindow().getOutputScaleX();
+        }
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        parameters.setTransform(Transform.scale(scale, scale));
+        return layer.snapshot(parameters, null);
+    }
+
+    /*
+     * Draws an offscreen image made by createLayer onto the canvas, with the given rectangle of
+     * the airport at the given position.
+     */
+    private void drawLayer(GraphicsContext gc, WritableImage layer, double x, double y,
+            double width, double height) {
+        gc.drawImage(layer, x - 1, y - 1, width + 2, height + 2);
+    }
 
+    /* Draws the runway at the given y-coordinate */
+    private void drawRunway(GraphicsContext gc, double runwayStartY) {
         final double runwayHeight = AIRCRAFT_HEIGHT;
-        final double marginTop = 5;
         final double lineLength = 30;
         final double runwayTarmacWidth = AIRCRAFT_WIDTH;
 
         gc.setFill(Color.gray(0.2));
         gc.fillRect(runwayStartX,
-                AIRCRAFT_HEIGHT + marginTop,
+                runwayStartY,
                 runwayTarmacWidth,
                 runwayHeight);
         gc.setFill(Color.BLACK);
         gc.fillRect(runwayStartX + runwayTarmacWidth,
-                AIRCRAFT_HEIGHT + marginTop,
+                runwayStartY,
                 runwayWidth - runwayTarmacWidth,
                 runwayHeight);
 
         for (int i = 0; i < ((runwayWidth - runwayTarmacWidth) - lineLength) / lineLength; ++i) {
             gc.setStroke(Color.WHITE);
-            final double lineY = AIRCRAFT_HEIGHT + marginTop + (runwayHeight / 2);
+            final double lineY = runwayStartY + (runwayHeight / 2);
             final double lineStartOffset = 7; // makes lines look more centered
             gc.strokeLine(runwayStartX + runwayTarmacWidth + lineStartOffset + lineLength / 2
                             + (i * lineLength),
@@ -211,7 +667,8 @@ public class AirportCanvas extends Canvas {
     /**
      * Performs the animation of the aircraft currently landing or taking off.
      * <p>
-     * Called once per tick of the view model.
+     * Called once per tick of the view model. If another aircraft is still being animated, the
+     * animation is queued and played once the animations before it have finished.
      *
      * @given
      */
@@ -227,221 +684,397 @@ public class AirportCanvas extends Canvas {
             return;
         }
 
-        Aircraft finalAircraftToAnimate = aircraftToAnimate;
-        AnimationTimer timer = new AnimationTimer() {
-            @Override
-            public void handle(long now) {
-                draw();
+        this.runwayAnimator.enqueue(new RunwayAnimation(aircraftToAnimate, takingOff));
+    }
+
+    /* An animation of an aircraft landing or taking off */
+    private static class RunwayAnimation {
+
+        /** Aircraft to animate */
+        private final Aircraft aircraft;
+        /** Whether the aircraft is taking off, rather than landing */
+        private final boolean takingOff;
+
+        /** Creates a new animation of the given aircraft */
+        public RunwayAnimation(Aircraft aircraft, boolean takingOff) {
+            this.aircraft = aircraft;
+            this.takingOff = takingOff;
+        }
+    }
+
+    /*
+     * Plays queued runway animations one at a time. While an animation is playing, the canvas
+     * is drawn once on every pulse; once no animations are left, the final frame is drawn and the
+     * timer stops itself until another animation is queued.
+     */
+    private class RunwayAnimator extends AnimationTimer {
+
+        /** Animations waiting for the animation being played to finish */
+        private final Deque<RunwayAnimation> queued = new ArrayDeque<>();
+
+        /** Whether an animation is being played */
+        private boolean playing = false;
+
+        /** Whether the timer has been started and not yet stopped */
+        private boolean running = false;
 
-                drawAircraft(finalAircraftToAnimate,
+        /*
+         * Queues the given animation, playing it straight away if no other animation is being
+         * played. If too many animations are already waiting, the oldest is dropped, so that the
+         * runway does not fall ever further behind the simulation.
+         */
+        public void enqueue(RunwayAnimation animation) {
+            if (this.queued.size() == MAX_QUEUED_ANIMATIONS) {
+                this.queued.removeFirst();
+            }
+            this.queued.addLast(animation);
+            if (!this.playing) {
+                playNext();
+            }
+            if (!this.running) {
+                this.running = true;
+                start();
+            }
+        }
+
+        /* Plays the next queued animation, if any; called when an animation finishes */
+        public void playNext() {
+            RunwayAnimation next = this.queued.pollFirst();
+            this.playing = next != null;
+            if (next != null) {
+                runwayAircraft = next.aircraft;
+                if (next.takingOff) {
+                    takeoffTimeline.playFromStart();
+                } else {
+                    landTimeline.playFromStart();
+                }
+            }
+        }
+
+        @Override
+        public void handle(long now) {
+            // only the runway band changes as the aircraft moves along it
+            draw();
+            if (!this.playing) {
+                this.running = false;
+                stop();
+            }
+        }
+    }
+
+    /* Area of the runway band, including the aircraft being animated along the runway */
+    private class RunwayArea extends CanvasArea {
+
+        @Override
+        public Object getState() {
+            if (runwayAircraft == null) {
+                return List.of();
+            }
+            return List.of(aircraftState(runwayAircraft), runwayAnimationX.get());
+        }
+
+        @Override
+        public void paint(GraphicsContext gc) {
+            drawLayer(gc, runwayLayer, runwayStartX, super.ycoord, runwayWidth, AIRCRAFT_HEIGHT);
+            if (runwayAircraft != null) {
+                drawAircraft(this, runwayAircraft,
                         runwayAnimationX.doubleValue(),
-                        AIRCRAFT_HEIGHT + 5,
+                        super.ycoord,
                         Color.WHITE);
             }
-        };
-        timer.start();
-        if (takingOff) {
-            takeoffTimeline.play();
-        } else {
-            landTimeline.play();
         }
     }
 
-    /* Draws an aircraft queue */
-    private void drawQueue(AircraftQueue queue, double x, double y) {
-        GraphicsContext gc = getGraphicsContext2D();
+    /*
+     * Area of an aircraft queue or the list of aircraft that are away. Aircraft beyond the first
+     * row wrap onto further rows below it, and only the rows within the view are drawn.
+     */
+    private class StripArea extends CanvasArea {
 
-        final int queueCapacity = 6;
-        final double labelWidth = 65;
+        /** Text of the label at the start of the first row */
+        private final String label;
 
-        gc.setFill(Color.WHITE);
-        gc.fillRect(x, y, AIRCRAFT_WIDTH * queueCapacity + labelWidth, AIRCRAFT_HEIGHT);
+        /** Width of the label, in pixels */
+        private final double labelWidth;
 
-        gc.setStroke(Color.BLACK);
-        gc.strokeRect(x, y, AIRCRAFT_WIDTH * queueCapacity + labelWidth, AIRCRAFT_HEIGHT);
+        /** Offscreen image of the empty first row, including the label */
+        private WritableImage labelledLayer;
 
-        gc.setFill(Color.BLACK);
-        gc.setTextBaseline(VPos.CENTER);
-        gc.setTextAlign(TextAlignment.LEFT);
-        gc.setFont(Font.font("monospace", FontWeight.BOLD, 30));
-        String labelText;
-        if (queue instanceof TakeoffQueue) {
-            labelText = "T/O";
-        } else {
-            labelText = "LND";
+        /** Offscreen image of an empty row after the first */
+        private WritableImage rowLayer;
+
+        /** Aircraft in the strip, in order, as of the last time the canvas was laid out */
+        private List<Aircraft> aircraft = List.of();
+
+        /** Index of the first row within the view */
+        private int firstRow;
+
+        /** Index of the row after the last row within the view */
+        private int endRow;
+
+        /* Creates a new strip with the given label */
+        public StripArea(String label, double labelWidth) {
+            this.label = label;
+            this.labelWidth = labelWidth;
         }
-        gc.fillText(labelText, x + 5, y + AIRCRAFT_HEIGHT / 2);
 
-        gc.setStroke(Color.BLACK);
-        gc.strokeLine(x + labelWidth, y, x + labelWidth, y + AIRCRAFT_HEIGHT);
+        /* Draws the empty rows of the strip into offscreen images */
+        public void createLayers() {
+            this.labelledLayer = createLayer(0, 0, queueWidth(this.labelWidth), AIRCRAFT_HEIGHT,
+                    gc -> drawEmptyQueue(gc, this.label, 0, 0, this.labelWidth));
+            this.rowLayer = createLayer(0, 0, queueWidth(this.labelWidth), AIRCRAFT_HEIGHT,
+                    gc -> drawEmptyQueue(gc, "", 0, 0, this.labelWidth));
+        }
 
-        // Draw aircraft in queue
-        var aircraft = queue.getAircraftInOrder();
+        /* Returns the number of rows needed to hold the aircraft in the strip */
+        public int numRows() {
+            return Math.max(1, (this.aircraft.size() + QUEUE_CAPACITY - 1) / QUEUE_CAPACITY);
+        }
 
-        for (int i = 0; i < aircraft.size(); ++i) {
-            Aircraft a = aircraft.get(i);
-            drawAircraft(a, x + labelWidth + AIRCRAFT_WIDTH * i, y, Color.BLACK);
+        @Override
+        public Object getState() {
+            this.firstRow = Math.max(0,
+                    (int) Math.floor((viewY - super.ycoord) / AIRCRAFT_HEIGHT));
+            this.endRow = Math.min(numRows(),
+                    (int) Math.ceil((viewY + viewHeight() - super.ycoord) / AIRCRAFT_HEIGHT));
+            return List.of(this.firstRow, this.endRow, aircraftState(visibleAircraft()));
+        }
+
+        /* Returns the aircraft in the rows within the view */
+        private List<Aircraft> visibleAircraft() {
+            int end = Math.min(this.aircraft.size(), this.endRow * QUEUE_CAPACITY);
+            int start = Math.min(end, this.firstRow * QUEUE_CAPACITY);
+            return this.aircraft.subList(start, end);
+        }
+
+        @Override
+        public void paint(GraphicsContext gc) {
+            for (int row = this.firstRow; row < this.endRow; ++row) {
+                drawLayer(gc, row == 0 ? this.labelledLayer : this.rowLayer, super.xcoord,
+                        super.ycoord + row * AIRCRAFT_HEIGHT, queueWidth(this.labelWidth),
+                        AIRCRAFT_HEIGHT);
+            }
+            List<Aircraft> visible = visibleAircraft();
+            int first = this.firstRow * QUEUE_CAPACITY;
+            for (int i = 0; i < visible.size(); ++i) {
+                int slot = (first + i) % QUEUE_CAPACITY;
+                int row = (first + i) / QUEUE_CAPACITY;
+                drawAircraft(this, visible.get(i),
+                        super.xcoord + this.labelWidth + AIRCRAFT_WIDTH * slot,
+                        super.ycoord + row * AIRCRAFT_HEIGHT,
+                        Color.BLACK);
+            }
         }
     }
 
-    /* Draws the list of aircraft that are currently AWAY */
-    private void drawAwayAircraft() {
-        GraphicsContext gc = getGraphicsContext2D();
+    /* Returns the x-coordinate of the list of aircraft that are currently AWAY */
+    private double awayStartX() {
+        return getWidth() / 2 + MARGIN;
+    }
 
-        final int capacity = 6;
-        final double labelWidth = 85;
-        final double x = getWidth() / 2 + 5;
-        final double y = 0;
+    /* Returns the width of a queue with a label of the given width */
+    private static double queueWidth(double labelWidth) {
+        return AIRCRAFT_WIDTH * QUEUE_CAPACITY + labelWidth;
+    }
 
+    /* Draws an empty row of an aircraft queue with the given label */
+    private void drawEmptyQueue(GraphicsContext gc, String labelText, double x, double y,
+            double labelWidth) {
         gc.setFill(Color.WHITE);
-        gc.fillRect(x, y, AIRCRAFT_WIDTH * capacity + labelWidth, AIRCRAFT_HEIGHT);
+        gc.fillRect(x, y, queueWidth(labelWidth), AIRCRAFT_HEIGHT);
 
         gc.setStroke(Color.BLACK);
-        gc.strokeRect(x, y, AIRCRAFT_WIDTH * capacity + labelWidth, AIRCRAFT_HEIGHT);
+        gc.strokeRect(x, y, queueWidth(labelWidth), AIRCRAFT_HEIGHT);
 
         gc.setFill(Color.BLACK);
         gc.setTextBaseline(VPos.CENTER);
         gc.setTextAlign(TextAlignment.LEFT);
         gc.setFont(Font.font("monospace", FontWeight.BOLD, 30));
-        gc.fillText("AWAY", x + 5, y + AIRCRAFT_HEIGHT / 2);
+        gc.fillText(labelText, x + 5, y + AIRCRAFT_HEIGHT / 2);
 
         gc.setStroke(Color.BLACK);
         gc.strokeLine(x + labelWidth, y, x + labelWidth, y + AIRCRAFT_HEIGHT);
+    }
+
+    /* Area of a terminal and its gates */
+    private class TerminalArea extends CanvasArea {
+
+        /** Index of the terminal in the control tower's list of terminals */
+        private final int index;
 
-        // Draw aircraft in queue
-        var aircraft = viewModel.getControlTower().getAircraft().stream()
-                .filter(a -> a.getTaskList().getCurrentTask().getType() == TaskType.AWAY)
-                .collect(Collectors.toList());
+        /* Creates the area of the terminal at the given index */
+        public TerminalArea(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Object getState() {
+            Terminal terminal = terminals.get(this.index);
+            List<Object> state = new ArrayList<>();
+            state.add(terminal);
+            state.add(terminal.hasEmergency());
+            state.add(terminal.calculateOccupancyLevel());
+            for (Gate gate : terminal.getGates()) {
+                state.add(gate.getGateNumber());
+                state.add(gate.isOccupied() ? aircraftState(gate.getAircraftAtGate()) : "");
+            }
+            return state;
+        }
 
-        for (int i = 0; i < aircraft.size(); ++i) {
-            Aircraft a = aircraft.get(i);
-            drawAircraft(a, x + labelWidth + AIRCRAFT_WIDTH * i, y, Color.BLACK);
+        @Override
+        public void paint(GraphicsContext gc) {
+            drawTerminal(gc, this, terminals.get(this.index), super.xcoord, super.ycoord);
         }
     }
 
-    /* Draws the terminals and their gates */
-    private void drawTerminals() {
-        GraphicsContext gc = getGraphicsContext2D();
+    /* Draws a terminal without its text or gates */
+    private void drawEmptyTerminal(GraphicsContext gc, double terminalStartX,
+            double terminalStartY) {
+        gc.setFill(Color.gray(0.7));
+        gc.fillRect(terminalStartX,
+                terminalStartY,
+                terminalWidth,
+                TERMINAL_LABEL_HEIGHT);
 
-        final double terminalLabelHeight = 25;
+        gc.setFill(Color.gray(0.2));
+        gc.fillRect(terminalStartX,
+                terminalStartY + TERMINAL_LABEL_HEIGHT,
+                terminalWidth,
+                AIRCRAFT_HEIGHT);
+    }
+
+    /* Draws a terminal and its gates */
+    private void drawTerminal(GraphicsContext gc, CanvasArea area, Terminal terminal,
+            double terminalStartX, double terminalStartY) {
+        final double terminalLabelHeight = TERMINAL_LABEL_HEIGHT;
         final double terminalAircraftHeight = AIRCRAFT_HEIGHT;
-        final double terminalHeight = terminalLabelHeight + terminalAircraftHeight;
-        final double marginBelow = 5;
-        final double marginLeft = 5;
-        final double spaceAbove = 2 * AIRCRAFT_HEIGHT + 2 * marginBelow; // queues + padding
-        final double terminalWidth = getWidth() / 2 - (2 * marginLeft);
 
-        List<Terminal> terminals = this.viewModel.getControlTower().getTerminals();
+        drawLayer(gc, terminalLayer, terminalStartX, terminalStartY, terminalWidth,
+                TERMINAL_HEIGHT);
 
-        for (int i = 0; i < terminals.size(); ++i) {
-            Terminal terminal = terminals.get(i);
+        if (terminal.hasEmergency()) {
+            gc.setFill(Color.RED);
+        } else {
+            gc.setFill(Color.BLACK);
+        }
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setFont(Font.font("sans-serif", FontWeight.BOLD, 14));
 
-            final double terminalStartX = marginLeft + (i % 2 == 1
-                    ? terminalWidth + 2 * marginLeft
-                    : 0);
-            final double terminalStartY = spaceAbove + marginBelow
-                    + ((i / 2) * (terminalHeight + marginBelow));
+        String terminalText = terminal.getClass().getSimpleName() + " "
+                + terminal.getTerminalNumber();
+        if (terminal.hasEmergency()) {
+            terminalText += " (emergency)";
+        }
+        gc.fillText(terminalText,
+                terminalStartX + terminalWidth / 2,
+                terminalStartY + 0.5 * terminalLabelHeight);
 
-            gc.setFill(Color.gray(0.7));
-            gc.fillRect(terminalStartX,
-                    terminalStartY,
-                    terminalWidth,
-                    terminalLabelHeight);
+        // Number of gates and max number of gates
+        String numGatesText = terminal.getGates().size() + "/" + Terminal.MAX_NUM_GATES
+                + " gates";
+        gc.setFill(Color.BLACK);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setFont(Font.font("sans-serif", FontWeight.NORMAL, 14));
+        gc.fillText(numGatesText,
+                terminalStartX + 2, // 2px left padding
+                terminalStartY + 0.5 * terminalLabelHeight);
 
-            if (terminal.hasEmergency()) {
-                gc.setFill(Color.RED);
-            } else {
-                gc.setFill(Color.BLACK);
-            }
-            gc.setTextBaseline(VPos.CENTER);
-            gc.setTextAlign(TextAlignment.CENTER);
-            gc.setFont(Font.font("sans-serif", FontWeight.BOLD, 14));
+        // Occupancy level
+        String occupancyText = terminal.calculateOccupancyLevel() + "%";
+        gc.setFill(Color.BLACK);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setTextAlign(TextAlignment.RIGHT);
+        gc.setFont(Font.font("sans-serif", FontWeight.NORMAL, 14));
+        gc.fillText(occupancyText,
+                terminalStartX + terminalWidth - 2, // 2px right padding
+                terminalStartY + 0.5 * terminalLabelHeight);
 
-            String terminalText = terminal.getClass().getSimpleName() + " "
-                    + terminal.getTerminalNumber();
-            if (terminal.hasEmergency()) {
-                terminalText += " (emergency)";
-            }
-            gc.fillText(terminalText,
-                    terminalStartX + terminalWidth / 2,
-                    terminalStartY + 0.5 * terminalLabelHeight);
+        List<Gate> gates = terminal.getGates();
+        for (int j = 0; j < gates.size(); ++j) {
+            Gate gate = gates.get(j);
 
-            // Number of gates and max number of gates
-            String numGatesText = terminal.getGates().size() + "/" + Terminal.MAX_NUM_GATES
-                    + " gates";
-            gc.setFill(Color.BLACK);
-            gc.setTextBaseline(VPos.CENTER);
-            gc.setTextAlign(TextAlignment.LEFT);
-            gc.setFont(Font.font("sans-serif", FontWeight.NORMAL, 14));
-            gc.fillText(numGatesText,
-                    terminalStartX + 2, // 2px left padding
-                    terminalStartY + 0.5 * terminalLabelHeight);
+            final double gateWidth = AIRCRAFT_WIDTH + 15;
 
-            // Occupancy level
-            String occupancyText = terminal.calculateOccupancyLevel() + "%";
-            gc.setFill(Color.BLACK);
+            // Draw gate number
+            gc.setFill(Color.WHITE);
             gc.setTextBaseline(VPos.CENTER);
-            gc.setTextAlign(TextAlignment.RIGHT);
-            gc.setFont(Font.font("sans-serif", FontWeight.NORMAL, 14));
-            gc.fillText(occupancyText,
-                    terminalStartX + terminalWidth - 2, // 2px right padding
-                    terminalStartY + 0.5 * terminalLabelHeight);
-
-            gc.setFill(Color.gray(0.2));
-            gc.fillRect(terminalStartX,
-                    terminalStartY + terminalLabelHeight,
-                    terminalWidth,
-                    terminalAircraftHeight);
-
-            List<Gate> gates = terminal.getGates();
-            for (int j = 0; j < gates.size(); ++j) {
-                Gate gate = gates.get(j);
-
-                final double gateWidth = AIRCRAFT_WIDTH + 15;
-
-                // Draw gate number
-                gc.setFill(Color.WHITE);
-                gc.setTextBaseline(VPos.CENTER);
-                gc.setTextAlign(TextAlignment.LEFT);
-                gc.setFont(Font.font("monospace", FontWeight.BOLD, 12));
-                gc.fillText(String.valueOf(gate.getGateNumber()),
-                        terminalStartX + 2 + gateWidth * j, // 2px left padding
-                        terminalStartY + terminalLabelHeight + terminalAircraftHeight / 2.0);
-
-                // Draw dividing line
-                final double gateLineX = terminalStartX + gateWidth * (j + 1);
-                if (j != Terminal.MAX_NUM_GATES - 1) {
-                    gc.setStroke(Color.WHITE);
-                    gc.strokeLine(gateLineX,
-                            terminalStartY + terminalLabelHeight,
-                            gateLineX,
-                            terminalStartY + terminalLabelHeight + terminalAircraftHeight);
-                }
+            gc.setTextAlign(TextAlignment.LEFT);
+            gc.setFont(Font.font("monospace", FontWeight.BOLD, 12));
+            gc.fillText(String.valueOf(gate.getGateNumber()),
+                    terminalStartX + 2 + gateWidth * j, // 2px left padding
+                    terminalStartY + terminalLabelHeight + terminalAircraftHeight / 2.0);
+
+            // Draw dividing line
+            final double gateLineX = terminalStartX + gateWidth * (j + 1);
+            if (j != Terminal.MAX_NUM_GATES - 1) {
+                gc.setStroke(Color.WHITE);
+                gc.strokeLine(gateLineX,
+                        terminalStartY + terminalLabelHeight,
+                        gateLineX,
+                        terminalStartY + terminalLabelHeight + terminalAircraftHeight);
+            }
 
-                // Draw parked aircraft
-                if (gate.isOccupied()) {
-                    drawAircraft(gate.getAircraftAtGate(),
-                            gateLineX - AIRCRAFT_WIDTH,
-                            terminalStartY + terminalLabelHeight,
-                            Color.WHITE);
-                }
+            // Draw parked aircraft
+            if (gate.isOccupied()) {
+                drawAircraft(area, gate.getAircraftAtGate(),
+                        gateLineX - AIRCRAFT_WIDTH,
+                        terminalStartY + terminalLabelHeight,
+                        Color.WHITE);
             }
         }
     }
 
+    /*
+     * Returns the state of the given aircraft that is drawn by drawAircraft, so that changes to
+     * it can be detected.
+     */
+    private List<Object> aircraftState(Aircraft aircraft) {
+        return List.of(aircraft, aircraftText(aircraft), aircraft.hasEmergency(),
+                Objects.equals(aircraft, viewModel.getSelectedAircraft().get()));
+    }
+
+    /* Returns the states of the given aircraft that are drawn by drawAircraft */
+    private List<Object> aircraftState(List<Aircraft> aircraft) {
+        List<Object> states = new ArrayList<>(aircraft.size());
+        for (Aircraft a : aircraft) {
+            states.add(aircraftState(a));
+        }
+        return states;
+    }
+
+    /* Returns the text drawn below the given aircraft */
+    private static String aircraftText(Aircraft aircraft) {
+        Task currentTask = aircraft.getTaskList().getCurrentTask();
+        String aircraftTaskLine;
+        if (currentTask.getType() == TaskType.LOAD) {
+            aircraftTaskLine = "LOAD@" + currentTask.getLoadPercent() + "%";
+        } else {
+            aircraftTaskLine = currentTask.getType().name();
+        }
+        return aircraft.getCallsign() + System.lineSeparator()
+                + aircraftTaskLine + System.lineSeparator()
+                + aircraft.calculateOccupancyLevel() + "%";
+    }
+
     /*
      * Draws an aircraft at the given position on the canvas.
      *
+     * @param area area of the airport the aircraft is drawn in
      * @param aircraft aircraft to draw
      * @param x x-coord of top left corner
      * @param y y-coord of top left corner
      * @param textColor color to use when drawing aircraft info text
      */
-    private void drawAircraft(Aircraft aircraft, double x, double y, Color textColor) {
+    private void drawAircraft(CanvasArea area, Aircraft aircraft, double x, double y,
+            Color textColor) {
         GraphicsContext gc = getGraphicsContext2D();
 
-        this.drawnAircraft.put(new ClickableRegion(x, y, AIRCRAFT_WIDTH, AIRCRAFT_HEIGHT),
+        ClickableRegion region = new ClickableRegion(x, y, AIRCRAFT_WIDTH, AIRCRAFT_HEIGHT,
                 aircraft);
+        area.clickableRegions.add(region);
+        this.regionGrid.add(region, x, y, AIRCRAFT_WIDTH, AIRCRAFT_HEIGHT);
 
         if (aircraft instanceof PassengerAircraft) {
             gc.setFill(Color.CADETBLUE);
@@ -474,18 +1107,7 @@ public class AirportCanvas extends Canvas {
         gc.setTextBaseline(VPos.BOTTOM);
         gc.setTextAlign(TextAlignment.CENTER);
         gc.setFont(Font.font("monospace", fontWeight, 12));
-
-        Task currentTask = aircraft.getTaskList().getCurrentTask();
-        String aircraftTaskLine;
-        if (currentTask.getType() == TaskType.LOAD) {
-            aircraftTaskLine = "LOAD@" + currentTask.getLoadPercent() + "%";
-        } else {
-            aircraftTaskLine = currentTask.getType().name();
-        }
-        String aircraftText = aircraft.getCallsign() + System.lineSeparator()
-                + aircraftTaskLine + System.lineSeparator()
-                + aircraft.calculateOccupancyLevel() + "%";
-        gc.fillText(aircraftText,
+        gc.fillText(aircraftText(aircraft),
                 x + AIRCRAFT_WIDTH / 2,
                 y + AIRCRAFT_HEIGHT);
     }
@@ -538,11 +1160,31 @@ public class AirportCanvas extends Canvas {
         gc.fillRect(x + AIRCRAFT_WIDTH - 14, y + 16, 2, 14);
     }
 
-    /* Draws the status bar containing tick information */
-    private void drawTickStatus() {
-        GraphicsContext gc = getGraphicsContext2D();
+    /*
+     * Area of the status bar containing tick information. Unlike the other areas, its bounds are
+     * in canvas coordinates, as it is not scrolled or zoomed with the airport.
+     */
+    private class TickStatusArea extends CanvasArea {
 
-        final double height = 20;
+        /* Creates the area, along the bottom of the canvas */
+        public TickStatusArea() {
+            setBounds(0, getHeight() - STATUS_HEIGHT, getWidth(), STATUS_HEIGHT);
+        }
+
+        @Override
+        public Object getState() {
+            return viewModel.getControlTower().getTicksElapsed();
+        }
+
+        @Override
+        public void paint(GraphicsContext gc) {
+            drawTickStatus(gc);
+        }
+    }
+
+    /* Draws the status bar containing tick information */
+    private void drawTickStatus(GraphicsContext gc) {
+        final double height = STATUS_HEIGHT;
 
         gc.setFill(Color.gray(0.5));
         gc.fillRect(0, getHeight() - height, getWidth(), height);
@@ -0,0 +1,123 @@
+package towersim.display;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A uniform grid of square cells that indexes items by the rectangular regions they cover.
+ * <p>
+ * Each item is listed in every cell its region overlaps, so the items whose regions may contain
+ * a point are found by looking in the single cell containing that point. When the cells are
+ * about the size of the regions, each region covers at most four cells and each cell holds only
+ * a few items, so adding, removing and finding items take constant time.
+ * <p>
+ * The grid is unbounded: cells are created as items are added to them and dropped once they are
+ * empty again. Items are compared by identity.
+ *
+ * @param <T> type of the items indexed by the grid
+ */
+class RegionGrid<T> {
+
+    /** Width and height of each cell */
+    private final double cellSize;
+
+    /** Items listed in each non-empty cell, keyed by the packed column and row of the cell */
+    private final Map<Long, List<T>> cells = new HashMap<>();
+
+    /**
+     * Creates a new empty grid with cells of the given size.
+     *
+     * @param cellSize width and height of each cell
+     * @throws IllegalArgumentException if cellSize is not positive
+     */
+    RegionGrid(double cellSize) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Adds the given item to every cell overlapped by the given region, including its edges.
+     * Items added later are listed after items added earlier in each cell.
+     *
+     * @param item item to add
+     * @param x x-coordinate of the region (top left)
+     * @param y y-coordinate of the region (top left)
+     * @param width width of the region
+     * @param height height of the region
+     */
+    void add(T item, double x, double y, double width, double height) {
+        for (int col = cell(x); col <= cell(x + width); ++col) {
+            for (int row = cell(y); row <= cell(y + height); ++row) {
+                this.cells.computeIfAbsent(key(col, row), k -> new ArrayList<>(2)).add(item);
+            }
+        }
+    }
+
+    /**
+     * Removes the given item from every cell overlapped by the given region, which should be the
+     * region the item was added with.
+     *
+     * @param item item to remove
+     * @param x x-coordinate of the region (top left)
+     * @param y y-coordinate of the region (top left)
+     * @param width width of the region
+     * @param height height of the region
+     */
+    void remove(T item, double x, double y, double width, double height) {
+        for (int col = cell(x); col <= cell(x + width); ++col) {
+            for (int row = cell(y); row <= cell(y + height); ++row) {
+                long key = key(col, row);
+                List<T> items = this.cells.get(key);
+                if (items == null) {
+                    continue;
+                }
+                for (int i = items.size() - 1; i >= 0; --i) {
+                    if (items.get(i) == item) {
+                        items.remove(i);
+                        break;
+                    }
+                }
+                if (items.isEmpty()) {
+                    this.cells.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the items listed in the cell containing the given point, in the order they were
+     * added. These are all the items whose regions may contain the point; the caller is
+     * expected to check each against its exact region.
+     * <p>
+     * The returned list is a view of the cell and must not be modified, nor used after the grid
+     * is next changed.
+     *
+     * @param x x-coordinate of the point
+     * @param y y-coordinate of the point
+     * @return items whose regions overlap the cell containing the point
+     */
+    List<T> candidatesAt(double x, double y) {
+        return this.cells.getOrDefault(key(cell(x), cell(y)), List.of());
+    }
+
+    /**
+     * Removes all items from the grid.
+     */
+    void clear() {
+        this.cells.clear();
+    }
+
+    /* Returns the column or row of the cell containing the given coordinate */
+    private int cell(double coordinate) {
+        return (int) Math.floor(coordinate / this.cellSize);
+    }
+
+    /* Packs the given column and row into a single key */
+    private static long key(int col, int row) {
+        return ((long) col << 32) | (row & 0xffffffffL);
+    }
+}
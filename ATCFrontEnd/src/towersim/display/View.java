@@ -1,6 +1,7 @@
 package towersim.display;
 
 import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
@@ -17,6 +18,7 @@ import towersim.aircraft.Aircraft;
 import towersim.aircraft.AircraftCharacteristics;
 import towersim.aircraft.FreightAircraft;
 import towersim.aircraft.PassengerAircraft;
+import towersim.control.ControlTower;
 import towersim.ground.AirplaneTerminal;
 import towersim.ground.Gate;
 import towersim.ground.HelicopterTerminal;
@@ -27,9 +29,9 @@ import towersim.tasks.TaskType;
 import towersim.util.NoSpaceException;
 import towersim.util.NoSuitableGateException;
 
-import java.io.FileWriter;
-import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * View for the Control Tower Simulation GUI.
@@ -46,12 +48,6 @@ public class View {
     /** Custom canvas that represents the state of the simulation graphically */
     private AirportCanvas canvas;
 
-    /** Last recorded time in nanoseconds */
-    private long lastNanoTime;
-
-    /** Time spent un-paused since last tick, in nanoseconds */
-    private long timeSpentUnpaused = 0;
-
     /** Time interval between ticks of the view model */
     private final IntegerProperty secondsPerTick = new SimpleIntegerProperty(5);
 
@@ -103,8 +99,20 @@ public class View {
         gateInfoLabel.textProperty().bind(viewModel.getSuitableGateText());
         buttons.getChildren().add(gateInfoLabel);
 
+        var saveProgressBar = new ProgressBar();
+        saveProgressBar.progressProperty().bind(viewModel.getSaveProgress());
+        saveProgressBar.visibleProperty().bind(viewModel.getSaving());
+        var saveStatusLabel = new Label();
+        saveStatusLabel.textProperty().bind(viewModel.getSaveStatusText());
+        var saveStatus = new HBox();
+        saveStatus.setPadding(new Insets(0, 10, 10, 10));
+        saveStatus.setSpacing(10);
+        saveStatus.getChildren().add(saveProgressBar);
+        saveStatus.getChildren().add(saveStatusLabel);
+
         var bottomRightPanel = new VBox();
         bottomRightPanel.getChildren().add(buttons);
+        bottomRightPanel.getChildren().add(saveStatus);
         bottomRightPanel.getChildren().add(space);
         var rightInfoBox = createInfoBox(viewModel.getLoadingInfoText(), 6);
         bottomRightPanel.getChildren().add(rightInfoBox);
@@ -131,17 +139,7 @@ public class View {
 
         MenuItem save = new MenuItem("_Save");
         save.setMnemonicParsing(true);
-        save.setOnAction(event -> {
-            try {
-                viewModel.save();
-            } catch (IOException e) {
-                viewModel.createErrorDialog("Error saving to file",
-                        e.getMessage());
-                return;
-            }
-            viewModel.createSuccessDialog("Saved successfully",
-                    "Saved to default provided file locations successfully.");
-        });
+        save.setOnAction(event -> showSaveErrors(viewModel.saveInBackground()));
 
         MenuItem exit = new MenuItem("_Exit");
         exit.setMnemonicParsing(true);
@@ -152,6 +150,7 @@ public class View {
         menuFile.setMnemonicParsing(true);
         menuFile.getItems().add(save);
         menuFile.getItems().add(createSaveAsMenuItem());
+        menuFile.getItems().add(createSaveSnapshotAsMenuItem());
         menuFile.getItems().add(new SeparatorMenuItem());
         menuFile.getItems().add(exit);
 
@@ -166,12 +165,19 @@ public class View {
         emergencyAircraft.disableProperty().bind(viewModel.getSelectedAircraft().isNull());
         emergencyAircraft.setOnAction(e -> {
             var selectedAircraft = viewModel.getSelectedAircraft().get();
-            if (selectedAircraft.hasEmergency()) {
-                selectedAircraft.clearEmergency();
-            } else {
-                selectedAircraft.declareEmergency();
-            }
-            viewModel.registerChange();
+            viewModel.submit(tower -> {
+                for (Aircraft aircraft : tower.getAircraft()) {
+                    if (!aircraft.equals(selectedAircraft)) {
+                        continue;
+                    }
+                    if (aircraft.hasEmergency()) {
+                        aircraft.clearEmergency();
+                    } else {
+                        aircraft.declareEmergency();
+                    }
+                }
+                return null;
+            });
         });
         MenuItem emergencyTerminal = new MenuItem("On a _terminal...");
         emergencyTerminal.setMnemonicParsing(true);
@@ -181,13 +187,16 @@ public class View {
             if (choice.isEmpty()) {
                 return;
             }
-            var terminal = choice.get();
-            if (terminal.hasEmergency()) {
-                terminal.clearEmergency();
-            } else {
-                terminal.declareEmergency();
-            }
-            viewModel.registerChange();
+            var terminalNumber = choice.get().getTerminalNumber();
+            viewModel.submit(tower -> {
+                var terminal = findTerminal(tower, terminalNumber);
+                if (terminal.hasEmergency()) {
+                    terminal.clearEmergency();
+                } else {
+                    terminal.declareEmergency();
+                }
+                return null;
+            });
         });
         Menu emergency = new Menu("Toggle _emergency");
         emergency.setMnemonicParsing(true);
@@ -276,9 +285,10 @@ public class View {
             } else {
                 newTerminal = new HelicopterTerminal(terminalNumber.get());
             }
-            viewModel.getControlTower().addTerminal(newTerminal);
-            viewModel.getNumTerminals().set(viewModel.getNumTerminals().get() + 1);
-            viewModel.registerChange();
+            viewModel.submit(tower -> {
+                tower.addTerminal(newTerminal);
+                return null;
+            });
         });
         addTerminal.disableProperty().bind(Bindings.greaterThan(viewModel.getNumTerminals(),
                 MAX_TERMINALS - 1));
@@ -326,12 +336,16 @@ public class View {
                         "A gate already exists with number " + gateNumberChoice.get());
                 return;
             }
-            try {
-                terminal.addGate(new Gate(gateNumberChoice.get()));
-            } catch (NoSpaceException ex) {
-                // ignored (not possible)
-            }
-            viewModel.registerChange();
+            var terminalNumber = terminal.getTerminalNumber();
+            var newGate = new Gate(gateNumberChoice.get());
+            viewModel.submit(tower -> {
+                try {
+                    findTerminal(tower, terminalNumber).addGate(newGate);
+                } catch (NoSpaceException ex) {
+                    // ignored (not possible)
+                }
+                return null;
+            });
         });
         return addGate;
     }
@@ -395,16 +409,20 @@ public class View {
             }
             String chosenKey = choice.get();
             Aircraft chosenAircraft = aircraftPresets.get(chosenKey);
-            try {
-                viewModel.getControlTower().addAircraft(chosenAircraft);
-            } catch (NoSuitableGateException e) {
-                viewModel.createErrorDialog("Cannot create aircraft",
-                        "No suitable gate for aircraft " + chosenAircraft);
-                return;
-            }
-            viewModel.registerChange();
-            viewModel.createSuccessDialog("Successfully created aircraft",
-                    "Aircraft created:\n" + chosenAircraft);
+            // the aircraft belongs to the simulation thread once it is submitted
+            String chosenDescription = chosenAircraft.toString();
+            viewModel.submit(tower -> {
+                tower.addAircraft(chosenAircraft);
+                return null;
+            }).whenComplete((ignored, error) -> {
+                if (error instanceof NoSuitableGateException) {
+                    viewModel.createErrorDialog("Cannot create aircraft",
+                            "No suitable gate for aircraft " + chosenDescription);
+                } else if (error == null) {
+                    viewModel.createSuccessDialog("Successfully created aircraft",
+                            "Aircraft created:\n" + chosenDescription);
+                }
+            });
         });
         return addAircraft;
     }
@@ -425,23 +443,46 @@ public class View {
                 }
                 enteredFilenames.add(filename.get());
             }
-            try {
-                viewModel.saveAs(new FileWriter(enteredFilenames.get(0)),
-                        new FileWriter(enteredFilenames.get(1)),
-                        new FileWriter(enteredFilenames.get(2)),
-                        new FileWriter(enteredFilenames.get(3)));
-            } catch (IOException e) {
-                viewModel.createErrorDialog("Error saving to file",
-                        e.getMessage());
-                return;
-            }
-            viewModel.createSuccessDialog("Saved files successfully",
-                    "Saved to \"" + enteredFilenames + "\" successfully.");
+            showSaveErrors(viewModel.saveAsInBackground(enteredFilenames.get(0),
+                    enteredFilenames.get(1), enteredFilenames.get(2), enteredFilenames.get(3)));
         });
         saveAs.setAccelerator(KeyCombination.keyCombination("Shortcut+S"));
         return saveAs;
     }
 
+    /*
+     * Creates a menu item that, when clicked, prompts for the state of the model to be saved to a
+     * single binary snapshot file
+     */
+    private MenuItem createSaveSnapshotAsMenuItem() {
+        MenuItem saveSnapshotAs = new MenuItem("Save S_napshot As...");
+        saveSnapshotAs.setMnemonicParsing(true);
+        saveSnapshotAs.setOnAction(event -> {
+            var filename = getResponse("Save to snapshot file",
+                    "Please enter the path of the file to save to", "Snapshot file name", "");
+            if (filename.isEmpty()) {
+                return;
+            }
+            showSaveErrors(viewModel.saveSnapshotInBackground(Path.of(filename.get())));
+        });
+        saveSnapshotAs.setAccelerator(KeyCombination.keyCombination("Shortcut+Shift+S"));
+        return saveSnapshotAs;
+    }
+
+    /*
+     * Shows an error dialog if the given background save fails; its progress and success are
+     * shown in the save status bar
+     */
+    private void showSaveErrors(CompletableFuture<Void> save) {
+        save.whenComplete((ignored, error) -> {
+            if (error != null) {
+                // the dialog waits for the current pulse to finish before it is shown
+                Platform.runLater(() -> viewModel.createErrorDialog("Error saving to file",
+                        error.getMessage()));
+            }
+        });
+    }
+
     /* Generates a random callsign based on the given airline code and list of existing aircraft */
     private String generateRandomCallsign(String airlineCode, List<Aircraft> existingAircraft) {
         Random random = new Random();
@@ -469,6 +510,14 @@ public class View {
         return callsign;
     }
 
+    /* Returns the terminal of the given control tower with the given number */
+    private static Terminal findTerminal(ControlTower tower, int terminalNumber) {
+        return tower.getTerminals().stream()
+                .filter(t -> t.getTerminalNumber() == terminalNumber)
+                .findFirst()
+                .orElseThrow();
+    }
+
     /* Prompts the user to choose a terminal from a list of all the control tower's terminals */
     private Optional<Terminal> chooseTerminal(String title, String header) {
         var terminalOptions = new TreeMap<String, Terminal>();
@@ -555,34 +604,28 @@ public class View {
     }
 
     /**
-     * Initialises the view and begins the timer responsible for performing ticks
+     * Initialises the view, starts the simulation and begins the timer responsible for showing
+     * the newest state of the simulation on every pulse
      *
      * @given
      */
     public void run() {
-        final long nanosPerSecond = 1000000000;
+        viewModel.setSecondsPerTick(secondsPerTick.get());
+        secondsPerTick.addListener((observable, oldValue, newValue) ->
+                viewModel.setSecondsPerTick(newValue.intValue()));
+        viewModel.startSimulation();
 
         new AnimationTimer() {
             @Override
             public void handle(long currentNanoTime) {
+                if (viewModel.update()) {
+                    canvas.animate();
+                }
+
                 if (viewModel.isChanged()) {
                     viewModel.notChanged();
                     canvas.draw();
                 }
-
-                if (viewModel.getPaused().get()) {
-                    lastNanoTime = currentNanoTime;
-                    return;
-                }
-
-                timeSpentUnpaused += currentNanoTime - lastNanoTime;
-                lastNanoTime = currentNanoTime;
-
-                if (timeSpentUnpaused > secondsPerTick.get() * nanosPerSecond) {
-                    timeSpentUnpaused = 0;
-                    viewModel.tick();
-                    canvas.animate();
-                }
             }
         }.start();
 
@@ -1,5 +1,6 @@
 package towersim.display;
 
+import javafx.application.Platform;
 import javafx.beans.property.*;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
@@ -7,6 +8,10 @@ import javafx.scene.control.Alert;
 import towersim.aircraft.Aircraft;
 import towersim.control.ControlTower;
 import towersim.control.ControlTowerInitialiser;
+import towersim.control.ControlTowerJournal;
+import towersim.control.ControlTowerSaver;
+import towersim.control.ControlTowerSnapshot;
+import towersim.control.SimulationLoop;
 import towersim.ground.Gate;
 import towersim.ground.Terminal;
 import towersim.tasks.TaskType;
@@ -14,10 +19,17 @@ import towersim.util.MalformedSaveException;
 import towersim.util.NoSuitableGateException;
 
 import java.io.*;
-import java.util.ArrayList;
+import java.nio.file.Path;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleConsumer;
 import java.util.stream.Collectors;
 
 /**
@@ -26,8 +38,17 @@ import java.util.stream.Collectors;
  */
 public class ViewModel {
 
-    /** Control tower model containing aircraft and terminals */
-    private final ControlTower tower;
+    /**
+     * Latest snapshot of the control tower model shown by the GUI, published by the simulation
+     * loop; only used by the JavaFX application thread
+     */
+    private ControlTower tower;
+
+    /** Simulation loop that ticks the control tower model on its own thread */
+    private final SimulationLoop simulation;
+
+    /** Time between ticks of the simulation until it is set by the view, in seconds */
+    private static final int DEFAULT_SECONDS_PER_TICK = 5;
 
     /** Whether the state of the model has changed */
     private final BooleanProperty changed = new SimpleBooleanProperty(false);
@@ -63,11 +84,26 @@ public class ViewModel {
     /** The aircraft currently taking off (i.e. just went from TAKEOFF to AWAY) */
     private final ObjectProperty<Aircraft> aircraftTakingOff = new SimpleObjectProperty<>();
 
-    /** List of all aircraft whose task is TAKEOFF; used in finding aircraftTakingOff */
-    private List<Aircraft> allTakeoffAircraft = new ArrayList<>();
+    /**
+     * Set of all aircraft whose task was TAKEOFF in the previous snapshot; used in finding
+     * aircraftTakingOff
+     */
+    private Set<Aircraft> allTakeoffAircraft = new HashSet<>();
+
+    /**
+     * Set of all aircraft whose task was LAND in the previous snapshot; used in finding
+     * aircraftLanding
+     */
+    private Set<Aircraft> allLandAircraft = new HashSet<>();
+
+    /** Aircraft in the takeoff queue of the snapshot shown, in the order they will take off */
+    private List<Aircraft> takeoffQueueAircraft;
+
+    /** Aircraft in the landing queue of the snapshot shown, in the order they will land */
+    private List<Aircraft> landingQueueAircraft;
 
-    /** List of all aircraft whose task is LAND; used in finding aircraftLanding */
-    private List<Aircraft> allLandAircraft = new ArrayList<>();
+    /** Aircraft of the snapshot shown whose current task is AWAY */
+    private List<Aircraft> awayAircraft;
 
     /** File path of the tick file that we loaded from */
     private final String defaultTickSaveLocation;
@@ -81,28 +117,93 @@ public class ViewModel {
     /** File path of the terminals with gates file that we loaded from */
     private final String defaultTerminalsSaveLocation;
 
+    /** Suffix added to the path of the snapshot file to give the path of its journal file */
+    private static final String JOURNAL_SUFFIX = ".journal";
+
+    /** Journal recording every tick of the control tower; or null if loaded from text files */
+    private final ControlTowerJournal journal;
+
+    /** Executor that encodes and writes saves in the background, one at a time */
+    private final ExecutorService saveExecutor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "towersim-save");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Number of background saves that have been started but not finished */
+    private int pendingSaves = 0;
+
+    /** Whether any save is being written in the background */
+    private final BooleanProperty saving = new SimpleBooleanProperty(false);
+
+    /** Fraction of the background save being written that has been completed, from 0 to 1 */
+    private final DoubleProperty saveProgress = new SimpleDoubleProperty(0);
+
+    /** Text describing the background save being written, or the last one written */
+    private final StringProperty saveStatusText = new SimpleStringProperty("");
+
+    /** Average time taken to draw a frame of the airport, in milliseconds */
+    private final DoubleProperty frameTime = new SimpleDoubleProperty(0);
+
+    /** Weight given to the most recent frame in the average frame time, from 0 to 1 */
+    private static final double FRAME_TIME_WEIGHT = 0.1;
+
     /**
      * Creates a new view model and constructs a control tower by reading from the given filenames.
+     * <p>
+     * The control tower is ticked by a {@link SimulationLoop} on its own thread, which is started
+     * by {@link #startSimulation()}; the GUI shows the snapshots it publishes.
+     * <p>
+     * If a single filename is given, the control tower is read from that binary snapshot file, as
+     * described in {@link ControlTowerSnapshot}, and is saved back to it by {@link #save()}. The
+     * changes made on every tick are appended to a journal file alongside the snapshot, named by
+     * adding {@code .journal} to the snapshot's filename, and a journal left by a previous run is
+     * replayed onto the snapshot when it is loaded (see {@link ControlTowerJournal}).
      *
      * @param filenames list of four filenames, specifying the paths to: (1) the tick file;
-     *                  (2) the aircraft file; (3) the queues file; (4) the terminals/gates file
+     *                  (2) the aircraft file; (3) the queues file; (4) the terminals/gates file;
+     *                  or a list containing the filename of a snapshot file
      * @throws IOException if loading from the files specifies generates an IOException
      * @throws MalformedSaveException if any of the files are invalid according to
-     * {@link ControlTowerInitialiser#createControlTower(Reader, Reader, Reader, Reader)}
-     * @requires filenames != null &amp;&amp; filenames.size() == 4
+     * {@link ControlTowerInitialiser#createControlTower(Reader, Reader, Reader, Reader)}, or the
+     * snapshot or its journal is invalid according to
+     * {@link ControlTowerJournal#recover(Path, Path)}
+     * @requires filenames != null &amp;&amp; (filenames.size() == 4 || filenames.size() == 1)
      * @given
      */
     public ViewModel(List<String> filenames) throws IOException, MalformedSaveException {
-        this.defaultTickSaveLocation = filenames.get(0);
-        this.defaultAircraftSaveLocation = filenames.get(1);
-        this.defaultQueuesSaveLocation = filenames.get(2);
-        this.defaultTerminalsSaveLocation = filenames.get(3);
-
-        this.tower = ControlTowerInitialiser.createControlTower(
-                new FileReader(filenames.get(0)),
-                new FileReader(filenames.get(1)),
-                new FileReader(filenames.get(2)),
-                new FileReader(filenames.get(3)));
+        ControlTower loaded;
+        if (filenames.size() == 1) {
+            this.defaultTickSaveLocation = null;
+            this.defaultAircraftSaveLocation = null;
+            this.defaultQueuesSaveLocation = null;
+            this.defaultTerminalsSaveLocation = null;
+
+            Path snapshotFile = Path.of(filenames.get(0));
+            Path journalFile = Path.of(filenames.get(0) + JOURNAL_SUFFIX);
+            loaded = ControlTowerJournal.recover(snapshotFile, journalFile);
+            this.journal = new ControlTowerJournal(loaded, snapshotFile, journalFile);
+        } else {
+            this.defaultTickSaveLocation = filenames.get(0);
+            this.defaultAircraftSaveLocation = filenames.get(1);
+            this.defaultQueuesSaveLocation = filenames.get(2);
+            this.defaultTerminalsSaveLocation = filenames.get(3);
+            this.journal = null;
+
+            loaded = ControlTowerInitialiser.createControlTower(
+                    new FileReader(filenames.get(0)),
+                    new FileReader(filenames.get(1)),
+                    new FileReader(filenames.get(2)),
+                    new FileReader(filenames.get(3)));
+        }
+        this.tower = ControlTowerSaver.copy(loaded);
+        this.simulation = new SimulationLoop(loaded,
+                TimeUnit.SECONDS.toNanos(DEFAULT_SECONDS_PER_TICK));
+        this.simulation.setTickFailureHandler(error -> Platform.runLater(() -> {
+            // the simulation has already paused itself
+            setPaused(true);
+            showTickFailure(error);
+        }));
 
         this.numTerminals.set(tower.getTerminals().size());
 
@@ -115,14 +216,15 @@ public class ViewModel {
         });
         this.loadingInfoText.set(generateLoadingInfoText());
 
-        fillTakeoffLandAircraftLists();
+        fillTakeoffLandAircraftSets(tower.getAircraft());
+        updateStripAircraft();
     }
 
     /**
      * Returns an event handler for when the "Drone Alert" button is clicked.
      * <p>
      * This event handler should declare a state of emergency on all terminals managed by the
-     * control tower. Finally, it should call {@link #registerChange()} to update the GUI.
+     * control tower. The GUI is updated once the simulation publishes the change.
      *
      * @return event handler for "Drone Alert" button
      * @ass2
@@ -131,10 +233,12 @@ public class ViewModel {
         return new EventHandler<ActionEvent>() {
             @Override
             public void handle(ActionEvent actionEvent) {
-                for (Terminal terminal : getControlTower().getTerminals()) {
-                    terminal.declareEmergency();
-                }
-                registerChange();
+                submit(tower -> {
+                    for (Terminal terminal : tower.getTerminals()) {
+                        terminal.declareEmergency();
+                    }
+                    return null;
+                });
             }
         };
     }
@@ -143,7 +247,7 @@ public class ViewModel {
      * Returns an event handler for when the "Clear Drone Alert" button is clicked.
      * <p>
      * This event handler should clear the state of emergency on all terminals managed by
-     * control tower. Finally, it should all {@link #registerChange()} to update the GUI.
+     * control tower. The GUI is updated once the simulation publishes the change.
      *
      * @return event handler for "Clear Drone Alert" button
      * @ass2
@@ -152,10 +256,12 @@ public class ViewModel {
         return new EventHandler<ActionEvent>() {
             @Override
             public void handle(ActionEvent actionEvent) {
-                for (Terminal terminal : getControlTower().getTerminals()) {
-                    terminal.clearEmergency();
-                }
-                registerChange();
+                submit(tower -> {
+                    for (Terminal terminal : tower.getTerminals()) {
+                        terminal.clearEmergency();
+                    }
+                    return null;
+                });
             }
         };
     }
@@ -290,151 +396,347 @@ public class ViewModel {
      */
     public void saveAs(Writer tickWriter, Writer aircraftWriter, Writer queuesWriter,
             Writer terminalsWithGatesWriter) throws IOException {
+        ControlTowerSaver.saveText(this.tower, tickWriter, aircraftWriter, queuesWriter,
+                terminalsWithGatesWriter);
+    }
 
-        // writes the ticks elapsed in the current control tower in a single line
-        try (BufferedWriter writer = new BufferedWriter(tickWriter)) {
-            writer.write(String.valueOf(this.tower.getTicksElapsed()));
-        } catch (IOException ioe) {
-            throw new IOException();
-        }
-
-        // writes the aircrafts present within the control tower
-        try (BufferedWriter writer = new BufferedWriter(aircraftWriter)) {
-            writer.write(String.valueOf(this.tower.getAircraft().size()));
+    /**
+     * Saves the current state of the control tower simulation to a binary snapshot at the given
+     * path, as described in {@link ControlTowerSnapshot}.
+     *
+     * @param file path of the snapshot file to save to
+     * @throws IOException if an IOException occurs when writing to the file
+     */
+    public void saveSnapshot(Path file) throws IOException {
+        ControlTowerSnapshot.save(this.tower, file);
+    }
 
-            // if there are aircrafts, then there will bo no encoded aircraft string to
-            // follow, otherwise, insert a line separator to begin writing the encoded strings
-            if (this.tower.getAircraft().size() != 0) {
-                writer.write(System.lineSeparator());
+    /**
+     * Saves the state of the control tower simulation as it is now to the four given text save
+     * files in the background, as described in {@link #saveAs(Writer, Writer, Writer, Writer)}.
+     * <p>
+     * See {@link #saveInBackground(String, SaveTask)} for how the save is made.
+     *
+     * @param tickFile      path of the file to which the number of ticks elapsed will be written
+     * @param aircraftFile  path of the file to which the list of aircraft will be written
+     * @param queuesFile    path of the file to which the takeoff/landing queues and loading map
+     *                      will be written
+     * @param terminalsFile path of the file to which the list of terminals and their gates will
+     *                      be written
+     * @return future completed on the JavaFX application thread once the files have been
+     *         written, or completed exceptionally with the IOException that stopped the save
+     */
+    public CompletableFuture<Void> saveAsInBackground(String tickFile, String aircraftFile,
+            String queuesFile, String terminalsFile) {
+        return saveInBackground(aircraftFile, (copy, progress) ->
+                ControlTowerSaver.saveText(copy, new FileWriter(tickFile),
+                        new FileWriter(aircraftFile), new FileWriter(queuesFile),
+                        new FileWriter(terminalsFile), progress));
+    }
 
-                for (int i = 0; i < this.tower.getAircraft().size(); i++) {
-                    writer.write(this.tower.getAircraft().get(i).encode());
+    /**
+     * Saves the state of the control tower simulation as it is now to a binary snapshot at the
+     * given path in the background, as described in {@link ControlTowerSnapshot}.
+     * <p>
+     * See {@link #saveInBackground(String, SaveTask)} for how the save is made.
+     *
+     * @param file path of the snapshot file to save to
+     * @return future completed on the JavaFX application thread once the file has been written,
+     *         or completed exceptionally with the IOException that stopped the save
+     */
+    public CompletableFuture<Void> saveSnapshotInBackground(Path file) {
+        return saveInBackground(file.toString(), (copy, progress) ->
+                ControlTowerSnapshot.save(copy, file, progress));
+    }
 
-                    // if it is the last aircraft being written, then dont add a line
-                    // afterwards, otherwise do so until new encoded strings need to be written
-                    if (i != this.tower.getAircraft().size() - 1) {
-                        writer.write(System.lineSeparator());
-                    }
-                }
+    /**
+     * Saves the state of the control tower simulation as it is now to the same files it was
+     * loaded from when the application was launched, without waiting for the files to be
+     * written.
+     * <p>
+     * Text save files are written in the background by
+     * {@link #saveAsInBackground(String, String, String, String)}. A snapshot is compacted with
+     * its journal instead, as the journal is kept up to date on every tick: the simulation thread
+     * starts the compaction between ticks by copying the control tower (see
+     * {@link ControlTowerJournal#startCompaction()}), the copy is written to a new snapshot by the
+     * same background thread as other saves while the simulation keeps ticking, and the
+     * simulation thread then swaps in the new snapshot and journal between ticks. The save
+     * properties are updated as described in {@link #saveInBackground(String, SaveTask)}.
+     *
+     * @return future completed on the JavaFX application thread once the files have been
+     *         written, or completed exceptionally with the exception that stopped the save
+     */
+    public CompletableFuture<Void> saveInBackground() {
+        if (this.journal == null) {
+            return saveAsInBackground(this.defaultTickSaveLocation,
+                    this.defaultAircraftSaveLocation, this.defaultQueuesSaveLocation,
+                    this.defaultTerminalsSaveLocation);
+        }
+        String description = "snapshot";
+        CompletableFuture<Void> result = startSave(description);
+        submit(tower -> this.journal.startCompaction()).whenComplete((compaction, error) -> {
+            if (error != null) {
+                finishSave(description, result, error);
+                return;
             }
+            this.saveExecutor.execute(() -> {
+                Platform.runLater(() -> this.saveProgress.set(0));
+                try {
+                    compaction.writeSnapshot(progress -> Platform.runLater(() ->
+                            this.saveProgress.set(progress)));
+                } catch (IOException e) {
+                    submit(tower -> {
+                        this.journal.abandonCompaction(compaction);
+                        return null;
+                    }).whenComplete((ignored, abandonError) ->
+                            finishSave(description, result, e));
+                    return;
+                }
+                submit(tower -> {
+                    this.journal.finishCompaction(compaction);
+                    return null;
+                }).whenComplete((ignored, finishError) ->
+                        finishSave(description, result, finishError));
+            });
+        });
+        return result;
+    }
 
-            /*
-            if (this.tower.getAircraft().size() != 0) {
-                for (int i = 0; i < this.tower.getAircraft().size(); i++) {
-                    writer.write(this.tower.getAircraft().get(i).encode());
+    /**
+     * Saves a copy of the control tower to files, given the progress consumer to report to.
+     */
+    @FunctionalInterface
+    private interface SaveTask {
+        void save(ControlTower copy, DoubleConsumer progress) throws IOException;
+    }
 
-                    // if it is the last aircraft being written, then dont add a line
-                    // afterwards, otherwise do so until new encoded strings need to be written
-                    if (i != this.tower.getAircraft().size() - 1) {
-                        writer.write(System.lineSeparator());
-                    }
-                }
+    /**
+     * Saves a copy of the latest snapshot of the control tower shown by the GUI on a background
+     * thread, so the simulation keeps running while the save is encoded and written.
+     * <p>
+     * The snapshot itself is not handed to the background thread, as reading it can still change
+     * its aircraft's task lists (see {@link towersim.tasks.TaskList#deferred(byte[])}) while the
+     * GUI is showing it.
+     * <p>
+     * While the save is being written, the {@link #getSaving() saving} property is true, and the
+     * {@link #getSaveProgress() save progress} and {@link #getSaveStatusText() save status text}
+     * properties are updated on the JavaFX application thread as the save progresses. Saves
+     * started while another is being written are queued behind it.
+     *
+     * @param description name of the file being saved, shown in the save status text
+     * @param task        saves the copy of the control tower
+     * @return future completed on the JavaFX application thread once the save has been written
+     */
+    private CompletableFuture<Void> saveInBackground(String description, SaveTask task) {
+        ControlTower copy = ControlTowerSaver.copy(this.tower);
+        CompletableFuture<Void> result = startSave(description);
+
+        this.saveExecutor.execute(() -> {
+            Platform.runLater(() -> this.saveProgress.set(0));
+            IOException error = null;
+            try {
+                task.save(copy, progress -> Platform.runLater(() ->
+                        this.saveProgress.set(progress)));
+            } catch (IOException e) {
+                error = e;
             }
+            IOException finalError = error;
+            Platform.runLater(() -> finishSave(description, result, finalError));
+        });
+        return result;
+    }
 
-             */
-        } catch (IOException ioe) {
-            throw new IOException();
-        }
-
-        // writes the takeoff and landing queues as well as the loading aircraft information
-        try (BufferedWriter writer = new BufferedWriter(queuesWriter)) {
+    /* Marks a save of the given file as started, returning the future to complete once it ends */
+    private CompletableFuture<Void> startSave(String description) {
+        this.pendingSaves++;
+        this.saving.set(true);
+        this.saveStatusText.set("Saving " + description + "...");
+        return new CompletableFuture<>();
+    }
 
-            // ensures in both takeoff and landing cases that if there are aircraft
-            // in the queues, then line separator is used to write new lines
-            writer.write(this.tower.getTakeoffQueue().encode());
-            if (this.tower.getTakeoffQueue().getAircraftInOrder().size() != 0) {
-                writer.write(System.lineSeparator());
-            }
+    /*
+     * Marks a save of the given file as finished on the JavaFX application thread, completing its
+     * future exceptionally if the given error is not null.
+     */
+    private void finishSave(String description, CompletableFuture<Void> result, Throwable error) {
+        this.pendingSaves--;
+        this.saving.set(this.pendingSaves > 0);
+        if (error == null) {
+            this.saveStatusText.set("Saved " + description);
+            result.complete(null);
+        } else {
+            this.saveStatusText.set("Failed to save " + description);
+            result.completeExceptionally(error);
+        }
+    }
 
-            writer.write(this.tower.getLandingQueue().encode());
-            if (this.tower.getLandingQueue().getAircraftInOrder().size() != 0) {
-                writer.write(System.lineSeparator());
-            }
+    /**
+     * Returns the latest snapshot of the control tower linked to this view model, as shown by the
+     * GUI.
+     * <p>
+     * The snapshot must not be modified; changes to the control tower are made by
+     * {@link #submit(SimulationLoop.Command) submitting} them to the simulation.
+     *
+     * @return control tower
+     * @given
+     */
+    public ControlTower getControlTower() {
+        return tower;
+    }
 
-            // writes the first of two lines with loading aircraft information
-            writer.write(String.format("LoadingAircraft:%d",
-                    this.tower.getLoadingAircraft().size()));
-            if (this.tower.getLoadingAircraft().size() != 0) {
-                writer.write(System.lineSeparator());
-            }
+    /**
+     * Returns the aircraft in the takeoff queue of the latest snapshot of the control tower, in
+     * the order they will take off. The list is made once per snapshot and must not be modified.
+     *
+     * @return aircraft waiting to take off
+     */
+    public List<Aircraft> getTakeoffQueueAircraft() {
+        return this.takeoffQueueAircraft;
+    }
 
-            // second line for loading aircraft is joined with every aircraft and its respective
-            // loading time in colon (:) separated tuples.
-            StringJoiner joiner = new StringJoiner(",");
-            for (Map.Entry<Aircraft, Integer> entry : this.tower.getLoadingAircraft().entrySet()) {
-                String aircraftCallsign = entry.getKey().getCallsign();
-                int aircraftLoadTime = entry.getValue();
-                joiner.add(String.format("%s:%d", aircraftCallsign, aircraftLoadTime));
-            }
+    /**
+     * Returns the aircraft in the landing queue of the latest snapshot of the control tower, in
+     * the order they will land. The list is made once per snapshot and must not be modified.
+     *
+     * @return aircraft waiting to land
+     */
+    public List<Aircraft> getLandingQueueAircraft() {
+        return this.landingQueueAircraft;
+    }
 
-            String allAircraftDetails = joiner.toString();
-            writer.write(allAircraftDetails);
-        } catch (IOException ioe) {
-            throw new IOException();
-        }
+    /**
+     * Returns the aircraft of the latest snapshot of the control tower whose current task is
+     * AWAY. The list is made once per snapshot and must not be modified.
+     *
+     * @return aircraft that are away
+     */
+    public List<Aircraft> getAwayAircraft() {
+        return this.awayAircraft;
+    }
 
-        // writes terminals alongside with any gates using the same logic in line separation
-        // as writing aircrafts above
-        try (BufferedWriter writer = new BufferedWriter(terminalsWithGatesWriter)) {
-            writer.write(String.valueOf(this.tower.getTerminals().size()));
-            if (this.tower.getTerminals().size() != 0) {
-                writer.write(System.lineSeparator());
-
-                for (int i = 0; i < this.tower.getTerminals().size(); i++) {
-                    writer.write(this.tower.getTerminals().get(i).encode());
-                    if (i != this.tower.getTerminals().size() - 1) {
-                        writer.write(System.lineSeparator());
-                    }
-                }
+    /**
+     * Ticks the model once, in addition to the ticks made by the simulation at its tick interval.
+     * The GUI is updated once the simulation publishes the tick, and an error dialog is shown if
+     * the tick fails.
+     *
+     * @given
+     */
+    public void tick() {
+        submit(tower -> {
+            tower.tick();
+            return null;
+        }).whenComplete((ignored, error) -> {
+            if (error != null) {
+                showTickFailure(error);
             }
+        });
+    }
 
-            /*
-            if (this.tower.getTerminals().size() != 0) {
-                for (int i = 0; i < this.tower.getTerminals().size(); i++) {
-                    writer.write(this.tower.getTerminals().get(i).encode());
-                    if (i != this.tower.getTerminals().size() - 1) {
-                        writer.write(System.lineSeparator());
-                    }
-                }
-            }
+    /* Shows an error dialog for the given exception thrown while ticking the control tower */
+    private void showTickFailure(Throwable error) {
+        createErrorDialog("Simulation paused", "The control tower failed to tick:\n" + error);
+    }
 
-             */
-        } catch (IOException ioe) {
-            throw new IOException();
-        }
+    /**
+     * Starts the simulation thread, which ticks the control tower model while the simulation is
+     * not paused.
+     */
+    public void startSimulation() {
+        this.simulation.start();
     }
 
+    /**
+     * Sets the time between ticks of the simulation.
+     *
+     * @param seconds time between ticks, in seconds
+     */
+    public void setSecondsPerTick(int seconds) {
+        this.simulation.setTickInterval(TimeUnit.SECONDS.toNanos(seconds));
+    }
 
     /**
-     * Returns the control tower linked to this view model.
+     * Submits a change to the control tower model to be made by the simulation thread between
+     * ticks, as described in {@link SimulationLoop#submit(SimulationLoop.Command)}. The command
+     * is given the control tower itself rather than a snapshot; objects taken from a snapshot must
+     * be looked up again in it, for example by callsign or terminal number.
      *
-     * @return control tower
-     * @given
+     * @param command change to make to the control tower
+     * @param <T>     type of the result of the command
+     * @return future completed on the JavaFX application thread with the result of the command,
+     *         or completed exceptionally with the exception thrown by the command
      */
-    public ControlTower getControlTower() {
-        return tower;
+    public <T> CompletableFuture<T> submit(SimulationLoop.Command<T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        this.simulation.submit(command).whenComplete((value, error) -> Platform.runLater(() -> {
+            if (error == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(error);
+            }
+        }));
+        return result;
     }
 
     /**
-     * Ticks the model and updates the state of the GUI.
+     * Updates the state of the GUI from the newest snapshot of the control tower published by the
+     * simulation, if one has been published since the last update.
+     * <p>
+     * Called on every pulse of the JavaFX application thread. The simulation only copies the
+     * control tower into a new snapshot once the previous one has been taken, so however fast it
+     * runs, at most one snapshot is made per pulse and the GUI shows the state as of the last
+     * pulse. The selected aircraft is replaced by the same aircraft in the new snapshot.
      *
-     * @given
+     * @return whether or not the control tower has ticked since the previous snapshot shown
      */
-    public void tick() {
-        tower.tick();
+    public boolean update() {
+        ControlTower snapshot = this.simulation.takeSnapshot();
+        if (snapshot == null) {
+            return false;
+        }
+        boolean ticked = snapshot.getTicksElapsed() != this.tower.getTicksElapsed();
+        this.tower = snapshot;
+
+        this.numTerminals.set(tower.getTerminals().size());
         this.loadingInfoText.set(generateLoadingInfoText());
         if (selectedAircraft.isNotNull().get()) {
-            this.aircraftInfoText.set(generateAircraftInfoText(selectedAircraft.get()));
+            // aircraft are equal if they have the same callsign and characteristics
+            Aircraft selected = tower.getAircraft().stream()
+                    .filter(selectedAircraft.get()::equals)
+                    .findFirst()
+                    .orElse(null);
+            this.selectedAircraft.set(selected);
+            if (selected != null) {
+                this.aircraftInfoText.set(generateAircraftInfoText(selected));
+            }
         }
         updateTakeoffLandAircraft();
+        updateStripAircraft();
         registerChange();
+        return ticked;
     }
 
-    /* Updates the lists of aircraft currently taking off and landing */
+    /*
+     * Lists the aircraft in each queue and the aircraft that are away, once per snapshot, so the
+     * airport canvas does not have to on every frame it draws.
+     */
+    private void updateStripAircraft() {
+        this.takeoffQueueAircraft = this.tower.getTakeoffQueue().getAircraftInOrder();
+        this.landingQueueAircraft = this.tower.getLandingQueue().getAircraftInOrder();
+        this.awayAircraft = this.tower.getAircraft().stream()
+                .filter(a -> a.getTaskList().getCurrentTask().getType() == TaskType.AWAY)
+                .collect(Collectors.toList());
+    }
+
+    /*
+     * Updates the aircraft currently taking off and landing. Each snapshot holds its own copies
+     * of the aircraft, so they are matched to the previous snapshot's by callsign and
+     * characteristics, using hash sets so that this takes linear time.
+     */
     private void updateTakeoffLandAircraft() {
         this.aircraftTakingOff.set(null);
         this.aircraftLanding.set(null);
-        for (Aircraft aircraft : getControlTower().getAircraft()) {
+        List<Aircraft> allAircraft = getControlTower().getAircraft();
+        for (Aircraft aircraft : allAircraft) {
             TaskType currentTaskType = aircraft.getTaskList().getCurrentTask().getType();
             if (currentTaskType == TaskType.AWAY && allTakeoffAircraft.contains(aircraft)) {
                 // Aircraft has just taken off
@@ -446,25 +748,23 @@ public class ViewModel {
                 this.aircraftLanding.set(aircraft);
             }
         }
-        fillTakeoffLandAircraftLists();
+        fillTakeoffLandAircraftSets(allAircraft);
     }
 
     /*
-     * Places all aircraft that have a TAKEOFF task into the list of aircraft taking off;
-     * same for LAND
+     * Places all of the given aircraft that have a TAKEOFF task into the set of aircraft taking
+     * off; same for LAND
      */
-    private void fillTakeoffLandAircraftLists() {
-        this.allTakeoffAircraft = findAircraftWithTask(getControlTower().getAircraft(),
-                TaskType.TAKEOFF);
-        this.allLandAircraft = findAircraftWithTask(getControlTower().getAircraft(),
-                TaskType.LAND);
+    private void fillTakeoffLandAircraftSets(List<Aircraft> allAircraft) {
+        this.allTakeoffAircraft = findAircraftWithTask(allAircraft, TaskType.TAKEOFF);
+        this.allLandAircraft = findAircraftWithTask(allAircraft, TaskType.LAND);
     }
 
     /* Returns all aircraft in the given list whose current task's type is the given type */
-    private List<Aircraft> findAircraftWithTask(List<Aircraft> aircraft, TaskType taskType) {
+    private Set<Aircraft> findAircraftWithTask(List<Aircraft> aircraft, TaskType taskType) {
         return aircraft.stream()
                 .filter(a -> a.getTaskList().getCurrentTask().getType() == taskType)
-                .collect(Collectors.toList());
+                .collect(Collectors.toCollection(HashSet::new));
     }
 
     /* Generates the formatted information text for the given aircraft */
@@ -506,8 +806,14 @@ public class ViewModel {
      * @given
      */
     public void togglePaused() {
-        this.paused.setValue(!this.paused.getValue());
-        if (this.paused.get()) {
+        setPaused(!this.paused.getValue());
+    }
+
+    /* Pauses or resumes the simulation, updating the paused status and pause menu texts */
+    private void setPaused(boolean paused) {
+        this.paused.setValue(paused);
+        this.simulation.setPaused(paused);
+        if (paused) {
             this.pausedStatusText.setValue(" (Paused)");
             this.pauseMenuText.setValue("Un_pause");
         } else {
@@ -519,11 +825,19 @@ public class ViewModel {
     /**
      * Saves the current state of the control tower simulation to the same files it was loaded
      * from when the application was launched.
+     * <p>
+     * A snapshot is compacted with its journal in the background without waiting for it, as
+     * described in {@link #saveInBackground()}; whether it succeeds is shown in the
+     * {@link #getSaveStatusText() save status text}.
      *
-     * @throws IOException if an IOException occurs when writing to the files
+     * @throws IOException if an IOException occurs when writing to the text save files
      * @given
      */
     public void save() throws IOException {
+        if (this.journal != null) {
+            saveInBackground();
+            return;
+        }
         saveAs(new FileWriter(this.defaultTickSaveLocation),
                 new FileWriter(this.defaultAircraftSaveLocation),
                 new FileWriter(this.defaultQueuesSaveLocation),
@@ -660,6 +974,61 @@ public class ViewModel {
         return aircraftTakingOff;
     }
 
+    /**
+     * Returns the property storing whether any save is being written in the background.
+     *
+     * @return saving property
+     */
+    public BooleanProperty getSaving() {
+        return saving;
+    }
+
+    /**
+     * Returns the property storing the fraction of the background save being written that has
+     * been completed, from 0 to 1.
+     *
+     * @return save progress property
+     */
+    public DoubleProperty getSaveProgress() {
+        return saveProgress;
+    }
+
+    /**
+     * Returns the property storing the text describing the background save being written, or the
+     * last one written.
+     *
+     * @return save status text property
+     */
+    public StringProperty getSaveStatusText() {
+        return saveStatusText;
+    }
+
+    /**
+     * Records the time taken to draw a frame of the airport, updating the average frame time.
+     * <p>
+     * The average is an exponential moving average, so that a regression in drawing performance
+     * shows up within a few frames without single slow frames dominating it.
+     *
+     * @param nanos time taken to draw the frame, in nanoseconds
+     */
+    public void recordFrameTime(long nanos) {
+        double millis = nanos / 1e6;
+        frameTime.set(frameTime.get() == 0
+                ? millis
+                : frameTime.get() + FRAME_TIME_WEIGHT * (millis - frameTime.get()));
+    }
+
+    /**
+     * Returns the property storing the average time taken to draw a frame of the airport, in
+     * milliseconds.
+     *
+     * @return frame time property
+     * @see #recordFrameTime(long)
+     */
+    public DoubleProperty getFrameTime() {
+        return frameTime;
+    }
+
     /**
      * Creates and shows an error dialog.
      *
@@ -23,6 +23,11 @@ public class Gate implements Encodable {
      */
     private Aircraft aircraftAtGate;
 
+    /**
+     * Terminal this gate has been added to; or null if it has not been added to a terminal.
+     */
+    private Terminal terminal;
+
     /**
      * Creates a new Gate with the given unique gate number.
      * <p>
@@ -64,6 +69,7 @@ public class Gate implements Encodable {
                     + " is occupied, cannot park aircraft");
         }
         this.aircraftAtGate = aircraft;
+        notifyTerminal(null);
     }
 
     /**
@@ -74,7 +80,31 @@ public class Gate implements Encodable {
      * @ass1
      */
     public void aircraftLeaves() {
-        this.aircraftAtGate = null;
+        if (this.aircraftAtGate != null) {
+            Aircraft previousAircraft = this.aircraftAtGate;
+            this.aircraftAtGate = null;
+            notifyTerminal(previousAircraft);
+        }
+    }
+
+    /**
+     * Records the terminal that this gate has been added to.
+     *
+     * @param terminal terminal containing this gate
+     */
+    void setTerminal(Terminal terminal) {
+        this.terminal = terminal;
+    }
+
+    /**
+     * Informs the terminal containing this gate, if any, that the gate's occupancy has changed.
+     *
+     * @param previousAircraft aircraft parked at this gate before the change; or null if none
+     */
+    private void notifyTerminal(Aircraft previousAircraft) {
+        if (this.terminal != null) {
+            this.terminal.gateOccupancyChanged(this, previousAircraft);
+        }
     }
 
     /**
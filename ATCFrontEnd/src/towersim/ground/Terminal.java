@@ -1,5 +1,6 @@
 package towersim.ground;
 
+import towersim.aircraft.Aircraft;
 import towersim.util.*;
 
 import java.util.ArrayList;
@@ -34,6 +35,11 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
      */
     private boolean emergency;
 
+    /**
+     * Listeners to notify when this terminal or its gates change; null if there are none.
+     */
+    private List<TerminalListener> listeners;
+
     /**
      * Creates a new Terminal with the given unique terminal number.
      * <p>
@@ -77,6 +83,12 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
             throw new NoSpaceException("Maximum number of gates reached (" + MAX_NUM_GATES + ")");
         }
         this.gates.add(gate);
+        gate.setTerminal(this);
+        if (this.listeners != null) {
+            for (TerminalListener listener : this.listeners) {
+                listener.gateAdded(this, gate);
+            }
+        }
     }
 
     /**
@@ -122,7 +134,10 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
      */
     @Override
     public void declareEmergency() {
-        this.emergency = true;
+        if (!this.emergency) {
+            this.emergency = true;
+            notifyEmergencyChanged();
+        }
     }
 
     /**
@@ -132,7 +147,10 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
      */
     @Override
     public void clearEmergency() {
-        this.emergency = false;
+        if (this.emergency) {
+            this.emergency = false;
+            notifyEmergencyChanged();
+        }
     }
 
     /**
@@ -145,6 +163,57 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
         return emergency;
     }
 
+    /**
+     * Registers the given listener to be notified whenever a gate is added to this terminal,
+     * an aircraft parks at or leaves one of its gates, or its emergency state changes.
+     *
+     * @param listener listener to register
+     */
+    public void addListener(TerminalListener listener) {
+        if (this.listeners == null) {
+            this.listeners = new ArrayList<>(1);
+        }
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Stops the given listener from being notified of changes to this terminal.
+     * <p>
+     * If the listener was not registered, no action is taken.
+     *
+     * @param listener listener to remove
+     */
+    public void removeListener(TerminalListener listener) {
+        if (this.listeners != null) {
+            this.listeners.remove(listener);
+        }
+    }
+
+    /**
+     * Notifies all registered listeners that the occupancy of the given gate has changed.
+     *
+     * @param gate             gate in this terminal whose occupancy changed
+     * @param previousAircraft aircraft parked at the gate before the change; or null if none
+     */
+    void gateOccupancyChanged(Gate gate, Aircraft previousAircraft) {
+        if (this.listeners != null) {
+            for (TerminalListener listener : this.listeners) {
+                listener.gateOccupancyChanged(this, gate, previousAircraft);
+            }
+        }
+    }
+
+    /**
+     * Notifies all registered listeners that the emergency state of this terminal has changed.
+     */
+    private void notifyEmergencyChanged() {
+        if (this.listeners != null) {
+            for (TerminalListener listener : this.listeners) {
+                listener.emergencyChanged(this);
+            }
+        }
+    }
+
     /**
      * Returns the ratio of occupied gates to total gates as a percentage from 0 to 100.
      * <p>
@@ -264,4 +333,4 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
 
         return joiner2.toString();
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
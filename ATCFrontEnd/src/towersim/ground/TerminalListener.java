@@ -0,0 +1,35 @@
+package towersim.ground;
+
+import towersim.aircraft.Aircraft;
+
+/**
+ * Denotes a class that wishes to be notified when a terminal or one of its gates changes.
+ */
+public interface TerminalListener {
+
+    /**
+     * Method called after a gate has been added to the given terminal.
+     *
+     * @param terminal terminal the gate was added to
+     * @param gate     gate that was added
+     */
+    void gateAdded(Terminal terminal, Gate gate);
+
+    /**
+     * Method called after an aircraft has parked at or left a gate in the given terminal.
+     *
+     * @param terminal         terminal containing the gate
+     * @param gate             gate whose occupancy changed
+     * @param previousAircraft aircraft that was parked at the gate before the change; or null if
+     *                         the gate was unoccupied
+     */
+    void gateOccupancyChanged(Terminal terminal, Gate gate, Aircraft previousAircraft);
+
+    /**
+     * Method called after a state of emergency has been declared or cleared on the given
+     * terminal.
+     *
+     * @param terminal terminal whose emergency state changed
+     */
+    void emergencyChanged(Terminal terminal);
+}
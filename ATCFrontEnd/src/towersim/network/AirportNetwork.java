@@ -0,0 +1,288 @@
+package towersim.network;
+
+import towersim.aircraft.Aircraft;
+import towersim.control.ArrivalListener;
+import towersim.control.ControlTower;
+import towersim.tasks.TaskType;
+import towersim.util.NoSuitableGateException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Represents a network of airports, each managed by its own control tower, that aircraft fly
+ * between.
+ * <p>
+ * Each control tower is a <i>shard</i> of the simulation, and the shards are ticked in parallel
+ * on a pool of worker threads. All shards advance in lockstep: no shard starts a tick until
+ * every shard has finished the previous tick.
+ * <p>
+ * When an aircraft finishes flying and arrives at a control tower, the network's {@link Router}
+ * decides which tower it should land at. If that is a different tower, then once the tick has
+ * finished, the aircraft is removed from the tower it arrived at and posted to a lock-free mailbox
+ * of the destination tower, which adds the aircraft to its landing queue at the start of the next
+ * tick. An aircraft that has already landed at the tower it arrived at by the end of the tick
+ * stays there.
+ * <p>
+ * Each shard only ever touches its own control tower, and mailboxes are drained in the order of
+ * the sending tower's index, so the results of a run do not depend on the number of threads.
+ */
+public class AirportNetwork {
+
+    /** Shards of the network, one per control tower, in the order the towers were given */
+    private final List<Shard> shards;
+
+    /** Decides where aircraft that have finished flying should land */
+    private final Router router;
+
+    /** Number of ticks run by the network so far */
+    private long ticksRun;
+
+    /**
+     * Creates a new network of the given control towers.
+     * <p>
+     * The network registers an {@link ArrivalListener} on each control tower. While the network
+     * is running, the control towers must not be accessed by any other thread.
+     *
+     * @param towers control towers in the network
+     * @param router decides which tower aircraft that have finished flying should land at
+     */
+    public AirportNetwork(List<ControlTower> towers, Router router) {
+        this.router = router;
+        this.shards = new ArrayList<>(towers.size());
+        for (int i = 0; i < towers.size(); i++) {
+            this.shards.add(new Shard(i, towers.get(i), towers.size()));
+        }
+        this.ticksRun = 0;
+    }
+
+    /**
+     * Returns the control towers in this network, in the order they were given.
+     *
+     * @return control towers in this network
+     */
+    public List<ControlTower> getTowers() {
+        List<ControlTower> towers = new ArrayList<>(this.shards.size());
+        for (Shard shard : this.shards) {
+            towers.add(shard.tower);
+        }
+        return towers;
+    }
+
+    /**
+     * Returns the number of ticks run by this network so far.
+     *
+     * @return number of ticks run
+     */
+    public long getTicksRun() {
+        return this.ticksRun;
+    }
+
+    /**
+     * Returns the total number of times an aircraft has been handed from one control tower to
+     * another.
+     *
+     * @return number of handoffs
+     */
+    public long getHandoffCount() {
+        long handoffs = 0;
+        for (Shard shard : this.shards) {
+            handoffs += shard.handoffs;
+        }
+        return handoffs;
+    }
+
+    /**
+     * Advances every control tower in the network by the given number of ticks, using the given
+     * number of worker threads.
+     * <p>
+     * Shards are assigned to workers round-robin. Once this method returns, every aircraft handed
+     * off during the run has been added to its destination tower.
+     *
+     * @param numTicks   number of ticks to run
+     * @param numThreads number of worker threads to run shards on
+     * @throws IllegalArgumentException if numThreads is less than one
+     * @throws InterruptedException     if the calling thread is interrupted while waiting for the
+     *                                  workers to finish
+     * @throws IllegalStateException    if a control tower or the router fails during the run
+     */
+    public void run(long numTicks, int numThreads) throws InterruptedException {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("Number of threads must be at least one: "
+                    + numThreads);
+        }
+        int numWorkers = Math.max(1, Math.min(numThreads, this.shards.size()));
+        CyclicBarrier barrier = new CyclicBarrier(numWorkers);
+        long firstTick = this.ticksRun;
+
+        ExecutorService executor = Executors.newFixedThreadPool(numWorkers);
+        try {
+            CompletionService<Void> workers = new ExecutorCompletionService<>(executor);
+            for (int i = 0; i < numWorkers; i++) {
+                int worker = i;
+                workers.submit(() -> {
+                    runWorker(worker, numWorkers, firstTick, numTicks, barrier);
+                    return null;
+                });
+            }
+            for (int i = 0; i < numWorkers; i++) {
+                try {
+                    workers.take().get();
+                } catch (ExecutionException e) {
+                    // interrupting the other workers breaks the barrier they are waiting at
+                    executor.shutdownNow();
+                    throw new IllegalStateException("Network simulation failed", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        this.ticksRun = firstTick + numTicks;
+
+        // deliver aircraft handed off on the final tick
+        for (Shard shard : this.shards) {
+            shard.receive(parityOf(this.ticksRun - 1));
+        }
+    }
+
+    /**
+     * Runs the given worker's shards for the given ticks, waiting for every other worker at the
+     * end of each tick.
+     */
+    private void runWorker(int worker, int numWorkers, long firstTick, long numTicks,
+            CyclicBarrier barrier) throws InterruptedException, BrokenBarrierException {
+        for (long tick = firstTick; tick < firstTick + numTicks; tick++) {
+            int parity = parityOf(tick);
+            for (int i = worker; i < this.shards.size(); i += numWorkers) {
+                Shard shard = this.shards.get(i);
+                shard.receive(1 - parity);
+                shard.tick(parity);
+            }
+            barrier.await();
+        }
+    }
+
+    /**
+     * Returns which of the two sets of mailboxes aircraft handed off on the given tick are
+     * posted to. Aircraft are posted to one set while the other is being drained.
+     */
+    private static int parityOf(long tick) {
+        return (int) (tick & 1);
+    }
+
+    /**
+     * A single control tower in the network, along with the mailboxes of aircraft handed off to
+     * it by other towers.
+     */
+    private class Shard implements ArrivalListener {
+
+        /** Index of this shard's control tower in the network */
+        private final int index;
+
+        /** Control tower simulated by this shard */
+        private final ControlTower tower;
+
+        /**
+         * Aircraft handed off to this shard, indexed by the parity of the tick they were handed
+         * off on and then by the index of the sending shard
+         */
+        private final List<List<Queue<Aircraft>>> inboxes;
+
+        /** Aircraft that have arrived at this shard's control tower during the current tick */
+        private final List<Aircraft> arrivals;
+
+        /** Whether aircraft are currently being received from other shards */
+        private boolean receiving;
+
+        /** Number of aircraft this shard has handed off to other shards */
+        private long handoffs;
+
+        /**
+         * Creates a new shard for the given control tower.
+         */
+        private Shard(int index, ControlTower tower, int numShards) {
+            this.index = index;
+            this.tower = tower;
+            this.inboxes = new ArrayList<>(2);
+            for (int parity = 0; parity < 2; parity++) {
+                List<Queue<Aircraft>> inbox = new ArrayList<>(numShards);
+                for (int i = 0; i < numShards; i++) {
+                    inbox.add(new ConcurrentLinkedQueue<>());
+                }
+                this.inboxes.add(inbox);
+            }
+            this.arrivals = new ArrayList<>();
+            this.receiving = false;
+            this.handoffs = 0;
+            tower.addArrivalListener(this);
+        }
+
+        /**
+         * Adds all aircraft posted to the given set of mailboxes to this shard's control tower, in
+         * the order of the sending shard's index.
+         */
+        private void receive(int parity) {
+            this.receiving = true;
+            try {
+                for (Queue<Aircraft> inbox : this.inboxes.get(parity)) {
+                    Aircraft arriving;
+                    while ((arriving = inbox.poll()) != null) {
+                        this.tower.addAircraft(arriving);
+                    }
+                }
+            } catch (NoSuitableGateException e) {
+                // not possible, as aircraft that have finished flying are not parked at a gate
+                throw new IllegalStateException(e);
+            } finally {
+                this.receiving = false;
+            }
+        }
+
+        /**
+         * Ticks this shard's control tower, then hands off the aircraft that arrived during the
+         * tick and are routed to other shards.
+         * <p>
+         * Aircraft are only handed off once the tick has finished, as a tower in
+         * {@link towersim.control.TickMode#LEGACY} mode may land an aircraft later in the same
+         * tick it arrived. Aircraft that are no longer waiting to land stay at this tower.
+         */
+        private void tick(int parity) {
+            this.tower.tick();
+            for (Aircraft arrived : this.arrivals) {
+                if (arrived.getTaskList().getCurrentTask().getType() != TaskType.LAND) {
+                    continue;
+                }
+                int destination = router.destinationOf(this.index, arrived);
+                if (destination == this.index) {
+                    continue;
+                }
+                if (destination < 0 || destination >= shards.size()) {
+                    throw new IllegalStateException("Router gave invalid destination "
+                            + destination + " for " + arrived.getCallsign());
+                }
+                // an aircraft that arrived twice in one tick has already been handed off
+                if (this.tower.removeAircraft(arrived)) {
+                    shards.get(destination).inboxes.get(parity).get(this.index).offer(arrived);
+                    this.handoffs++;
+                }
+            }
+            this.arrivals.clear();
+        }
+
+        @Override
+        public void aircraftArrived(ControlTower arrivalTower, Aircraft aircraft) {
+            if (!this.receiving) {
+                this.arrivals.add(aircraft);
+            }
+        }
+    }
+}
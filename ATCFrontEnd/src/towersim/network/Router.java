@@ -0,0 +1,23 @@
+package towersim.network;
+
+import towersim.aircraft.Aircraft;
+
+/**
+ * Decides which airport in a network an aircraft should land at once it has finished flying.
+ */
+public interface Router {
+
+    /**
+     * Returns the index of the control tower, in the network's list of towers, that the given
+     * aircraft should land at.
+     * <p>
+     * The aircraft has just finished flying and arrived at the source tower. Returning the index
+     * of the source tower keeps the aircraft at that tower. To keep the simulation deterministic,
+     * the result must only depend on the arguments and the state of the aircraft.
+     *
+     * @param sourceTower index of the control tower the aircraft has arrived at
+     * @param aircraft    aircraft that has finished flying
+     * @return index of the control tower the aircraft should land at
+     */
+    int destinationOf(int sourceTower, Aircraft aircraft);
+}
@@ -11,6 +11,19 @@ import java.util.Objects;
  * @ass1
  */
 public class Task implements Encodable {
+    /** Task types, indexed by ordinal. */
+    private static final TaskType[] TASK_TYPES = TaskType.values();
+
+    /** Largest load percentage of a shared LOAD task. */
+    private static final int MAX_SHARED_LOAD_PERCENT = 100;
+
+    /**
+     * Tasks shared by {@link #of(TaskType, int)}, indexed by code: first the task of each type
+     * with no load percentage, in ordinal order, then the LOAD tasks with load percentages from
+     * 1 to {@link #MAX_SHARED_LOAD_PERCENT}.
+     */
+    private static final Task[] SHARED_TASKS = createSharedTasks();
+
     /** Type of task. */
     private final TaskType type;
 
@@ -43,6 +56,84 @@ public class Task implements Encodable {
         this.loadPercent = loadPercent;
     }
 
+    /**
+     * Returns a task of the given type with no load percentage.
+     * <p>
+     * Tasks cannot change, so the same task is returned every time for the same type, rather
+     * than creating a new task as {@link #Task(TaskType)} does.
+     *
+     * @param type type of task
+     * @return shared task of the given type
+     */
+    public static Task of(TaskType type) {
+        return SHARED_TASKS[type.ordinal()];
+    }
+
+    /**
+     * Returns a task of the given type with the given load percentage.
+     * <p>
+     * Every task with no load percentage, and every LOAD task with a load percentage of up to
+     * 100, is shared, so the same task is returned every time for the same type and load
+     * percentage. A new task is created for any other load percentage.
+     *
+     * @param type        type of task
+     * @param loadPercent percentage of maximum capacity to load
+     * @return task of the given type and load percentage
+     */
+    public static Task of(TaskType type, int loadPercent) {
+        int code = codeOf(type, loadPercent);
+        return code < 0 ? new Task(type, loadPercent) : SHARED_TASKS[code];
+    }
+
+    /**
+     * Returns the code of the shared task equal to the given task, or -1 if no shared task is
+     * equal to it. Codes are less than 128, so they fit in a byte.
+     *
+     * @param task task whose code to return
+     * @return code of the task; or -1 if it is not shared
+     */
+    static int codeOf(Task task) {
+        return codeOf(task.type, task.loadPercent);
+    }
+
+    /**
+     * Returns the shared task with the given code.
+     *
+     * @param code code of the task, as returned by {@link #codeOf(Task)}
+     * @return shared task with the given code
+     */
+    static Task ofCode(int code) {
+        return SHARED_TASKS[code];
+    }
+
+    /**
+     * Returns the code of the shared task with the given type and load percentage, or -1 if
+     * there is none.
+     */
+    private static int codeOf(TaskType type, int loadPercent) {
+        if (loadPercent == 0) {
+            return type.ordinal();
+        }
+        if (type == TaskType.LOAD && loadPercent > 0 && loadPercent <= MAX_SHARED_LOAD_PERCENT) {
+            return TASK_TYPES.length + loadPercent - 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Creates the shared tasks, indexed by code.
+     */
+    private static Task[] createSharedTasks() {
+        Task[] tasks = new Task[TASK_TYPES.length + MAX_SHARED_LOAD_PERCENT];
+        for (TaskType type : TASK_TYPES) {
+            tasks[type.ordinal()] = new Task(type);
+        }
+        for (int percent = 1; percent <= MAX_SHARED_LOAD_PERCENT; percent++) {
+            tasks[TASK_TYPES.length + percent - 1] = new Task(TaskType.LOAD, percent);
+        }
+        return tasks;
+    }
+
     /**
      * Returns the type of this task.
      *
@@ -3,20 +3,43 @@ package towersim.tasks;
 import towersim.util.Encodable;
 import towersim.util.MalformedSaveException;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.StringJoiner;
 
 /**
  * Represents a circular list of tasks for an aircraft to cycle through.
+ * <p>
+ * Tasks are stored compactly as one byte per task, holding the code of a shared task (see
+ * {@link Task#of(TaskType, int)}), unless the list contains a task that is not shared, such as a
+ * LOAD task with a load percentage over 100.
  * @ass1
  */
 public class TaskList implements Encodable {
-    /** List of tasks to cycle through. */
-    private final List<Task> tasks;
+    /** Task types, indexed by ordinal. */
+    private static final TaskType[] TASK_TYPES = TaskType.values();
+    /** Names of the task types, encoded as bytes and indexed by ordinal. */
+    private static final byte[][] TASK_TYPE_NAMES = encodeTaskTypeNames();
+    /** Largest number of digits in a load percentage that a deferred list decodes. */
+    private static final int MAX_PERCENT_DIGITS = 9;
+
+    /** Codes of the shared tasks to cycle through; null if any task is not shared or deferred. */
+    private byte[] taskCodes;
+    /** List of tasks to cycle through if any task is not shared; null otherwise or if deferred. */
+    private List<Task> tasks;
     /** Index of current task in tasks list. */
     private int currentTaskIndex;
+    /** Number of tasks in the list. */
+    private final int size;
+    /** Encoded tasks that have not yet been decoded; null once the tasks have been decoded. */
+    private byte[] encodedTasks;
+    /** While the tasks are deferred, type of the current task. */
+    private TaskType deferredType;
+    /** While the tasks are deferred, the value of {@link #countTasksOfCurrentType()}. */
+    private int deferredRunLength;
 
     /**
      * Creates a new TaskList with the given list of tasks.
@@ -34,8 +57,247 @@ public class TaskList implements Encodable {
             throw new IllegalArgumentException();
         }
 
-        this.tasks = tasks;
+        this.taskCodes = encodeTaskCodes(tasks);
+        this.tasks = this.taskCodes == null ? tasks : null;
         this.currentTaskIndex = 0;
+        this.size = tasks.size();
+    }
+
+    /**
+     * Creates a task list on the given task, which has already been validated, copying the
+     * tasks or deferred tasks of the given list.
+     *
+     * @param other            task list whose tasks to share
+     * @param currentTaskIndex index of the current task
+     */
+    private TaskList(TaskList other, int currentTaskIndex) {
+        this.taskCodes = other.taskCodes;
+        this.tasks = other.tasks;
+        this.currentTaskIndex = currentTaskIndex;
+        this.size = other.size;
+        this.encodedTasks = other.encodedTasks;
+        this.deferredType = other.deferredType;
+        this.deferredRunLength = other.deferredRunLength;
+    }
+
+    /**
+     * Creates a task list on its first task, whose tasks are decoded from the given bytes only
+     * when they are first needed.
+     *
+     * @param encodedTasks encoded tasks, which have already been validated
+     * @param size         number of tasks encoded
+     * @param firstType    type of the first task
+     * @param runLength    number of consecutive tasks of the first task's type, as returned by
+     *                     {@link #countTasksOfCurrentType()}
+     */
+    private TaskList(byte[] encodedTasks, int size, TaskType firstType, int runLength) {
+        this.taskCodes = null;
+        this.tasks = null;
+        this.currentTaskIndex = 0;
+        this.size = size;
+        this.encodedTasks = encodedTasks;
+        this.deferredType = firstType;
+        this.deferredRunLength = runLength;
+    }
+
+    /**
+     * Creates a task list from the encoded form of its tasks (as returned by {@link #encode()}),
+     * deferring the creation of the tasks until they are first needed.
+     * <p>
+     * Until then, only the type of the current task and the number of tasks of that type that
+     * follow it are kept, so the list can be moved through a run of tasks of the same type, and
+     * any task of a type other than {@code LOAD} can be returned, without decoding the tasks. The
+     * tasks are decoded when a {@code LOAD} task is needed, or when the list moves on to a task of
+     * a different type. Encoding the list decodes its tasks without keeping them, so the list
+     * stays deferred. A deferred list behaves exactly the same as a list created from the decoded
+     * tasks by {@link #TaskList(List)}.
+     * <p>
+     * Only the plain form written by {@link #encode()} is decoded: tasks separated by commas,
+     * with trailing commas ignored, where only {@code LOAD} tasks may have an at-symbol followed
+     * by a load percentage of up to nine ASCII digits. Null is returned for any other form, so
+     * that the caller may decode it by other means.
+     *
+     * @param encodedTasks UTF-8 encoded tasks, which must not be modified after this call
+     * @return task list that decodes the given tasks when needed; or null if the given bytes are
+     *         not in the plain encoded form
+     * @throws IllegalArgumentException if the tasks are in the plain encoded form, but are not a
+     *                                  valid task list according to {@link #TaskList(List)}
+     */
+    public static TaskList deferred(byte[] encodedTasks) {
+        // trailing empty tasks are ignored, as by String.split(String)
+        int end = encodedTasks.length;
+        while (end > 0 && encodedTasks[end - 1] == ',') {
+            end--;
+        }
+
+        int size = 0;
+        TaskType firstType = null;
+        TaskType previousType = null;
+        int runLength = -1;
+        int taskStart = 0;
+        while (true) {
+            int taskEnd = taskStart;
+            while (taskEnd < end && encodedTasks[taskEnd] != ',') {
+                taskEnd++;
+            }
+            TaskType type = readTaskType(encodedTasks, taskStart, taskEnd);
+            if (type == null) {
+                return null;
+            }
+            if (size == 0) {
+                firstType = type;
+            } else {
+                if (!canFollow(previousType, type)) {
+                    throw new IllegalArgumentException();
+                }
+                if (runLength < 0 && type != firstType) {
+                    runLength = size;
+                }
+            }
+            previousType = type;
+            size++;
+
+            if (taskEnd >= end) {
+                break;
+            }
+            taskStart = taskEnd + 1;
+        }
+
+        // the list is circular, so the first task must also be able to follow the last
+        if (!canFollow(previousType, firstType)) {
+            throw new IllegalArgumentException();
+        }
+        return new TaskList(encodedTasks, size, firstType, runLength);
+    }
+
+    /**
+     * Returns the type of the plainly encoded task between the given positions, or null if it is
+     * not in the plain encoded form.
+     */
+    private static TaskType readTaskType(byte[] encodedTasks, int start, int end) {
+        int nameEnd = start;
+        while (nameEnd < end && encodedTasks[nameEnd] != '@') {
+            nameEnd++;
+        }
+        TaskType type = null;
+        for (int i = 0; i < TASK_TYPE_NAMES.length && type == null; i++) {
+            if (Arrays.equals(encodedTasks, start, nameEnd,
+                    TASK_TYPE_NAMES[i], 0, TASK_TYPE_NAMES[i].length)) {
+                type = TASK_TYPES[i];
+            }
+        }
+        if (type == null || nameEnd == end) {
+            return type;
+        }
+
+        // only a LOAD task may have a load percentage, which must be plain digits
+        if (type != TaskType.LOAD || end - nameEnd - 1 < 1
+                || end - nameEnd - 1 > MAX_PERCENT_DIGITS) {
+            return null;
+        }
+        for (int i = nameEnd + 1; i < end; i++) {
+            if (encodedTasks[i] < '0' || encodedTasks[i] > '9') {
+                return null;
+            }
+        }
+        return type;
+    }
+
+    /**
+     * Decodes the deferred tasks of this list, which have already been validated.
+     */
+    private void decodeTasks() {
+        List<Task> decoded = readDeferredTasks();
+        this.taskCodes = encodeTaskCodes(decoded);
+        this.tasks = this.taskCodes == null ? decoded : null;
+        this.encodedTasks = null;
+        this.deferredType = null;
+    }
+
+    /**
+     * Returns the deferred tasks of this list, decoded in order, without changing the list.
+     */
+    private List<Task> readDeferredTasks() {
+        List<Task> decoded = new ArrayList<>(this.size);
+        int taskStart = 0;
+        for (int i = 0; i < this.size; i++) {
+            int taskEnd = taskStart;
+            int symbolIndex = -1;
+            while (taskEnd < this.encodedTasks.length && this.encodedTasks[taskEnd] != ',') {
+                if (this.encodedTasks[taskEnd] == '@') {
+                    symbolIndex = taskEnd;
+                }
+                taskEnd++;
+            }
+            TaskType type = readTaskType(this.encodedTasks, taskStart, taskEnd);
+            if (symbolIndex < 0) {
+                decoded.add(Task.of(type));
+            } else {
+                int loadPercent = 0;
+                for (int j = symbolIndex + 1; j < taskEnd; j++) {
+                    loadPercent = loadPercent * 10 + (this.encodedTasks[j] - '0');
+                }
+                decoded.add(Task.of(type, loadPercent));
+            }
+            taskStart = taskEnd + 1;
+        }
+        return decoded;
+    }
+
+    /**
+     * Returns true if the tasks of this list have not yet been decoded (see
+     * {@link #deferred(byte[])}).
+     *
+     * @return whether the tasks of this list are deferred
+     */
+    public boolean isDeferred() {
+        return this.encodedTasks != null;
+    }
+
+    /**
+     * Returns the codes of the given tasks, or null if any of them is not a shared task.
+     */
+    private static byte[] encodeTaskCodes(List<Task> tasks) {
+        byte[] codes = new byte[tasks.size()];
+        for (int i = 0; i < codes.length; i++) {
+            int code = Task.codeOf(tasks.get(i));
+            if (code < 0) {
+                return null;
+            }
+            codes[i] = (byte) code;
+        }
+        return codes;
+    }
+
+    /**
+     * Returns the task at the given index of this list, whose tasks have been decoded.
+     */
+    private Task taskAt(int index) {
+        return this.taskCodes != null ? Task.ofCode(this.taskCodes[index]) : this.tasks.get(index);
+    }
+
+    /**
+     * Returns the names of the task types, encoded as bytes and indexed by ordinal.
+     */
+    private static byte[][] encodeTaskTypeNames() {
+        byte[][] names = new byte[TASK_TYPES.length][];
+        for (int i = 0; i < TASK_TYPES.length; i++) {
+            names[i] = TASK_TYPES[i].name().getBytes(StandardCharsets.US_ASCII);
+        }
+        return names;
+    }
+
+
+    /**
+     * Returns a copy of this task list, on the same current task.
+     * <p>
+     * The copy shares the tasks of this list, which cannot change, but moves through them
+     * independently of this list.
+     *
+     * @return copy of this task list
+     */
+    public TaskList copy() {
+        return new TaskList(this, this.currentTaskIndex);
     }
 
     /**
@@ -71,34 +333,36 @@ public class TaskList implements Encodable {
         // distinctively checks that only certain tasks can come after a specific task,
         // returning false if the criteria is violated
         for (int i = 0; i < testingTasks.size() - 1; i++) {
-            if (testingTasks.get(i).getType() == TaskType.AWAY) {
-                if (testingTasks.get(i + 1).getType() != TaskType.AWAY
-                        && testingTasks.get(i + 1).getType() != TaskType.LAND) {
-                    return false;
-                }
-            } else if (testingTasks.get(i).getType() == TaskType.LAND) {
-                if (testingTasks.get(i + 1).getType() != TaskType.WAIT
-                        && testingTasks.get(i + 1).getType() != TaskType.LOAD) {
-                    return false;
-                }
-            } else if (testingTasks.get(i).getType() == TaskType.WAIT) {
-                if (testingTasks.get(i + 1).getType() != TaskType.WAIT
-                        && testingTasks.get(i + 1).getType() != TaskType.LOAD) {
-                    return false;
-                }
-            } else if (testingTasks.get(i).getType() == TaskType.LOAD) {
-                if (testingTasks.get(i + 1).getType() != TaskType.TAKEOFF) {
-                    return false;
-                }
-            } else if (testingTasks.get(i).getType() == TaskType.TAKEOFF) {
-                if (testingTasks.get(i + 1).getType() != TaskType.AWAY) {
-                    return false;
-                }
+            if (!canFollow(testingTasks.get(i).getType(), testingTasks.get(i + 1).getType())) {
+                return false;
             }
         }
         return true;
     }
 
+    /**
+     * Returns true if a task of the given type may come straight after a task of the given
+     * previous type.
+     *
+     * @param previous type of the earlier task
+     * @param next     type of the task after it
+     * @return whether the next type may follow the previous type
+     */
+    private static boolean canFollow(TaskType previous, TaskType next) {
+        if (previous == TaskType.AWAY) {
+            return next == TaskType.AWAY || next == TaskType.LAND;
+        } else if (previous == TaskType.LAND) {
+            return next == TaskType.WAIT || next == TaskType.LOAD;
+        } else if (previous == TaskType.WAIT) {
+            return next == TaskType.WAIT || next == TaskType.LOAD;
+        } else if (previous == TaskType.LOAD) {
+            return next == TaskType.TAKEOFF;
+        } else if (previous == TaskType.TAKEOFF) {
+            return next == TaskType.AWAY;
+        }
+        return true;
+    }
+
     /**
      * Returns the current task in the list.
      *
@@ -106,7 +370,31 @@ public class TaskList implements Encodable {
      * @ass1
      */
     public Task getCurrentTask() {
-        return this.tasks.get(this.currentTaskIndex);
+        if (this.encodedTasks != null) {
+            if (this.deferredType != TaskType.LOAD) {
+                return Task.of(this.deferredType);
+            }
+            decodeTasks();
+        }
+        return taskAt(this.currentTaskIndex);
+    }
+
+    /**
+     * Returns the position of the current task in the list, counting from zero.
+     *
+     * @return index of the current task
+     */
+    public int getCurrentTaskIndex() {
+        return this.currentTaskIndex;
+    }
+
+    /**
+     * Returns the number of tasks in the list.
+     *
+     * @return number of tasks
+     */
+    public int size() {
+        return this.size;
     }
 
     /**
@@ -122,8 +410,15 @@ public class TaskList implements Encodable {
      * @ass1
      */
     public Task getNextTask() {
-        int nextTaskIndex = (this.currentTaskIndex + 1) % this.tasks.size();
-        return this.tasks.get(nextTaskIndex);
+        if (this.encodedTasks != null) {
+            // a LOAD task is never followed by another, so its run length is always one
+            if (this.deferredRunLength != 1) {
+                return Task.of(this.deferredType);
+            }
+            decodeTasks();
+        }
+        int nextTaskIndex = (this.currentTaskIndex + 1) % this.size;
+        return taskAt(nextTaskIndex);
     }
 
     /**
@@ -137,7 +432,62 @@ public class TaskList implements Encodable {
      * @ass1
      */
     public void moveToNextTask() {
-        this.currentTaskIndex = (this.currentTaskIndex + 1) % this.tasks.size();
+        this.currentTaskIndex = (this.currentTaskIndex + 1) % this.size;
+        if (this.encodedTasks == null || this.deferredRunLength < 0) {
+            return;
+        }
+        this.deferredRunLength--;
+        if (this.deferredRunLength == 0) {
+            // the type of the current task has changed
+            decodeTasks();
+        }
+    }
+
+    /**
+     * Moves the reference to the current task forward by the given number of tasks in the
+     * circular task list.
+     * <p>
+     * This has the same effect as calling {@link #moveToNextTask()} the given number of times.
+     *
+     * @param numTasks number of tasks to move forward by, must not be negative
+     */
+    public void moveForward(long numTasks) {
+        this.currentTaskIndex = (int) ((this.currentTaskIndex + numTasks) % this.size);
+        if (this.encodedTasks == null || this.deferredRunLength < 0) {
+            return;
+        }
+        if (numTasks < this.deferredRunLength) {
+            this.deferredRunLength -= (int) numTasks;
+        } else {
+            decodeTasks();
+        }
+    }
+
+    /**
+     * Returns the number of consecutive tasks, starting from and including the current task, that
+     * have the same type as the current task.
+     * <p>
+     * For example, a task list with the list of tasks {@code [AWAY, AWAY, LAND, LOAD, TAKEOFF]}
+     * which is currently on the first {@code AWAY} task would return 2.
+     * <p>
+     * If every task in the list has the same type as the current task, -1 is returned, as the
+     * aircraft will never move on to a task of a different type.
+     *
+     * @return number of consecutive tasks of the current task's type; or -1 if all tasks are
+     *         of that type
+     */
+    public int countTasksOfCurrentType() {
+        if (this.encodedTasks != null) {
+            return this.deferredRunLength;
+        }
+        TaskType currentType = getCurrentTask().getType();
+        for (int i = 1; i < this.size; i++) {
+            int index = (this.currentTaskIndex + i) % this.size;
+            if (taskAt(index).getType() != currentType) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -162,22 +512,27 @@ public class TaskList implements Encodable {
         return String.format("TaskList currently on %s [%d/%d]",
                 this.getCurrentTask(),
                 this.currentTaskIndex + 1,
-                this.tasks.size());
+                this.size);
     }
 
     /**
      * Returns the machine-readable string representation of this task list.
      * The format of the string to return is
      * encodedTask1,encodedTask2,...,encodedTaskN
+     * <p>
+     * The tasks are listed starting from the current task. Encoding does not change the list,
+     * nor decode the tasks of a deferred list (see {@link #deferred(byte[])}).
      *
      * @return encoded string representation of this task list
      */
     public String encode() {
+        List<Task> deferredTasks = this.encodedTasks != null ? readDeferredTasks() : null;
         StringJoiner joiner = new StringJoiner(",");
 
-        for (int i = 0; i < this.tasks.size(); i++) {
-            joiner.add(getCurrentTask().encode());
-            moveToNextTask();
+        for (int i = 0; i < this.size; i++) {
+            int index = (this.currentTaskIndex + i) % this.size;
+            joiner.add((deferredTasks != null ? deferredTasks.get(index) : taskAt(index))
+                    .encode());
         }
         return joiner.toString();
     }
@@ -0,0 +1,141 @@
+package towersim.aircraft;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import towersim.util.MalformedSaveException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BufferFleetStoreTest {
+
+    private Path file;
+
+    private BufferFleetStore fleetStore;
+
+    @Before
+    public void setup() throws IOException {
+        file = Files.createTempFile("towersim", ".atcf");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (fleetStore != null) {
+            fleetStore.close();
+        }
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Ticks the given aircraft and moves each on to its next task, as a control tower would
+     * for aircraft that are away or loading.
+     */
+    private static void tickAndMove(List<Aircraft> fleet, FleetStore store) {
+        if (store != null) {
+            store.tick();
+        } else {
+            fleet.forEach(Aircraft::tick);
+        }
+        fleet.forEach(aircraft -> aircraft.getTaskList().moveToNextTask());
+    }
+
+    @Test
+    public void directTickSameAsAircraftTest() {
+        List<Aircraft> plain = RandomFleet.create(1, "BUF", 300);
+        List<Aircraft> stored = RandomFleet.create(1, "BUF", 300);
+        fleetStore = new BufferFleetStore();
+        stored.forEach(fleetStore::add);
+
+        for (int i = 0; i < 40; i++) {
+            tickAndMove(plain, null);
+            tickAndMove(stored, fleetStore);
+            assertEquals("Aircraft should match after tick " + i,
+                    RandomFleet.describe(plain), RandomFleet.describe(stored));
+        }
+        fleetStore.remove(stored.get(5));
+        fleetStore.clear();
+        assertEquals(RandomFleet.describe(plain), RandomFleet.describe(stored));
+    }
+
+    @Test
+    public void flushAndOpenTest() throws IOException, MalformedSaveException {
+        List<Aircraft> plain = RandomFleet.create(2, "BUF", 200);
+        List<Aircraft> stored = RandomFleet.create(2, "BUF", 200);
+        fleetStore = BufferFleetStore.create(file);
+        stored.forEach(fleetStore::add);
+        for (int i = 0; i < 7; i++) {
+            tickAndMove(plain, null);
+            tickAndMove(stored, fleetStore);
+        }
+        fleetStore.flush();
+        fleetStore.close();
+
+        fleetStore = BufferFleetStore.open(file);
+        List<Aircraft> restored = fleetStore.getAircraft();
+        assertEquals(RandomFleet.describe(plain), RandomFleet.describe(restored));
+        for (int i = 0; i < 7; i++) {
+            tickAndMove(plain, null);
+            tickAndMove(restored, fleetStore);
+        }
+        assertEquals("Restored aircraft should continue from the snapshot",
+                RandomFleet.describe(plain), RandomFleet.describe(restored));
+    }
+
+    @Test
+    public void openGrownStoreTest() throws IOException, MalformedSaveException {
+        List<Aircraft> fleet = RandomFleet.create(3, "BUF", 40);
+        fleetStore = BufferFleetStore.create(file);
+        fleet.subList(0, 10).forEach(fleetStore::add);
+        fleetStore.flush();
+        fleet.subList(10, 40).forEach(fleetStore::add);
+        fleetStore.flush();
+        fleetStore.close();
+
+        fleetStore = BufferFleetStore.open(file);
+        assertEquals(RandomFleet.describe(fleet), RandomFleet.describe(fleetStore.getAircraft()));
+
+        // flushing again after restoring should keep the restored fleet
+        fleetStore.flush();
+        fleetStore.close();
+        fleetStore = BufferFleetStore.open(file);
+        assertEquals(RandomFleet.describe(fleet), RandomFleet.describe(fleetStore.getAircraft()));
+    }
+
+    @Test
+    public void openEmptyStoreTest() throws IOException, MalformedSaveException {
+        fleetStore = BufferFleetStore.create(file);
+        fleetStore.flush();
+        fleetStore.close();
+        fleetStore = BufferFleetStore.open(file);
+        assertEquals(0, fleetStore.size());
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void openInvalidFileTest() throws IOException, MalformedSaveException {
+        Files.writeString(file, "not a fleet store file");
+        fleetStore = BufferFleetStore.open(file);
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void openTruncatedFileTest() throws IOException, MalformedSaveException {
+        fleetStore = BufferFleetStore.create(file);
+        RandomFleet.create(4, "BUF", 20).forEach(fleetStore::add);
+        fleetStore.flush();
+        fleetStore.close();
+        fleetStore = null;
+        byte[] contents = Files.readAllBytes(file);
+        Files.write(file, java.util.Arrays.copyOf(contents, contents.length - 10));
+        fleetStore = BufferFleetStore.open(file);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void flushDirectStoreTest() throws IOException {
+        fleetStore = new BufferFleetStore();
+        fleetStore.flush();
+    }
+}
@@ -0,0 +1,169 @@
+package towersim.aircraft;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FleetStoreTest {
+
+    private FleetStore fleetStore;
+
+    @Before
+    public void setup() {
+        fleetStore = new ArrayFleetStore();
+    }
+
+    /**
+     * Creates a task list of the given load percentage, on its LOAD task.
+     */
+    private static TaskList loadingTaskList(int loadPercent) {
+        TaskList taskList = new TaskList(List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.LAND), new Task(TaskType.LOAD, loadPercent),
+                new Task(TaskType.TAKEOFF)));
+        taskList.moveForward(2);
+        return taskList;
+    }
+
+    /**
+     * Creates one aircraft of every characteristics on each of the given task lists' current
+     * tasks, with a little fuel and cargo onboard.
+     */
+    private static List<Aircraft> createFleet(List<TaskList> taskLists) {
+        List<Aircraft> fleet = new ArrayList<>();
+        for (TaskList taskList : taskLists) {
+            for (AircraftCharacteristics model : AircraftCharacteristics.values()) {
+                String callsign = "FLT" + fleet.size();
+                double fuel = model.fuelCapacity / 7;
+                fleet.add(model.passengerCapacity > 0
+                        ? new PassengerAircraft(callsign, model, taskList.copy(), fuel,
+                                model.passengerCapacity / 3)
+                        : new FreightAircraft(callsign, model, taskList.copy(), fuel,
+                                model.freightCapacity / 3));
+            }
+        }
+        return fleet;
+    }
+
+    @Test
+    public void tickSameAsAircraftTest() {
+        List<TaskList> taskLists = new ArrayList<>();
+        for (int percent : new int[] {0, 1, 15, 60, 99, 100, 150, 400}) {
+            taskLists.add(loadingTaskList(percent));
+        }
+        TaskList away = loadingTaskList(50);
+        away.moveForward(2);
+        taskLists.add(away);
+
+        List<Aircraft> plain = createFleet(taskLists);
+        List<Aircraft> stored = createFleet(taskLists);
+        stored.forEach(fleetStore::add);
+        assertEquals(stored.size(), fleetStore.size());
+
+        for (int i = 0; i < 12; i++) {
+            plain.forEach(Aircraft::tick);
+            fleetStore.tick();
+            assertEquals("Aircraft should match after tick " + i,
+                    RandomFleet.describe(plain), RandomFleet.describe(stored));
+        }
+    }
+
+    @Test
+    public void viewsReadAndWriteStoreTest() {
+        PassengerAircraft passenger = new PassengerAircraft("PAS1",
+                AircraftCharacteristics.AIRBUS_A320, loadingTaskList(50), 1000, 20);
+        FreightAircraft freight = new FreightAircraft("FRE1",
+                AircraftCharacteristics.BOEING_747_8F, loadingTaskList(50), 2000, 300);
+        passenger.declareEmergency();
+        fleetStore.add(passenger);
+        fleetStore.add(freight);
+
+        assertEquals(1000, passenger.getFuelAmount(), 1e-9);
+        assertEquals(20, passenger.getNumPassengers());
+        assertTrue(passenger.hasEmergency());
+        assertEquals(300, freight.getFreightAmount());
+        assertFalse(freight.hasEmergency());
+
+        passenger.clearEmergency();
+        freight.declareEmergency();
+        passenger.unload();
+        assertFalse(passenger.hasEmergency());
+        assertTrue(freight.hasEmergency());
+        assertEquals(0, passenger.getNumPassengers());
+
+        fleetStore.clear();
+        assertEquals(0, fleetStore.size());
+        assertFalse("State should be moved back into the aircraft", passenger.hasEmergency());
+        assertTrue(freight.hasEmergency());
+        assertEquals(0, passenger.getNumPassengers());
+        assertEquals(300, freight.getFreightAmount());
+        assertEquals(2000, freight.getFuelAmount(), 1e-9);
+    }
+
+    @Test
+    public void removeMovesLastAircraftTest() {
+        List<Aircraft> fleet = createFleet(List.of(loadingTaskList(30)));
+        fleet.forEach(fleetStore::add);
+        fleet.get(fleet.size() - 1).declareEmergency();
+
+        Aircraft removed = fleet.get(1);
+        double fuel = removed.getFuelAmount();
+        assertTrue(fleetStore.remove(removed));
+        assertFalse(fleetStore.remove(removed));
+        assertEquals(fleet.size() - 1, fleetStore.size());
+        assertEquals(fuel, removed.getFuelAmount(), 1e-9);
+
+        List<String> before = RandomFleet.describe(fleet);
+        removed.tick();
+        fleetStore.tick();
+        assertNotEquals("Removed aircraft should hold its own state", before,
+                RandomFleet.describe(fleet));
+        assertTrue("Moved aircraft should keep its state",
+                fleet.get(fleet.size() - 1).hasEmergency());
+    }
+
+    @Test
+    public void listenersNotifiedTest() {
+        List<Aircraft> changed = new ArrayList<>();
+        Aircraft before = createFleet(List.of(loadingTaskList(30))).get(0);
+        Aircraft after = createFleet(List.of(loadingTaskList(30))).get(1);
+        before.addListener(changed::add);
+        fleetStore.add(before);
+        fleetStore.add(after);
+        after.addListener(changed::add);
+
+        fleetStore.tick();
+        assertEquals(List.of(before, after), changed);
+    }
+
+    @Test
+    public void otherAircraftTickedTest() {
+        List<Aircraft> ticked = new ArrayList<>();
+        Aircraft other = new PassengerAircraft("OTH1", AircraftCharacteristics.FOKKER_100,
+                loadingTaskList(30), 100, 0) {
+            @Override
+            public void tick() {
+                ticked.add(this);
+            }
+        };
+        fleetStore.add(other);
+        fleetStore.tick();
+        assertEquals(List.of(other), ticked);
+        assertEquals(100, other.getFuelAmount(), 1e-9);
+        assertTrue(fleetStore.remove(other));
+        assertEquals(0, fleetStore.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void aircraftAlreadyStoredTest() {
+        Aircraft aircraft = createFleet(List.of(loadingTaskList(30))).get(0);
+        fleetStore.add(aircraft);
+        new ArrayFleetStore().add(aircraft);
+    }
+}
@@ -0,0 +1,91 @@
+package towersim.aircraft;
+
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates random fleets of aircraft and describes their state, so that tests can check that
+ * two ways of simulating the same fleet leave it in the same state.
+ */
+public final class RandomFleet {
+
+    private RandomFleet() {
+    }
+
+    /**
+     * Creates randomly generated aircraft of every model, each partway through a task list of
+     * AWAY, LAND, WAIT, LOAD and TAKEOFF tasks, with random fuel and cargo. Some aircraft have
+     * declared an emergency.
+     * <p>
+     * Fleets created with the same seed and prefix are identical.
+     *
+     * @param seed           seed of the random aircraft generator
+     * @param callsignPrefix prefix of every generated callsign
+     * @param numAircraft    number of aircraft to generate
+     * @return generated aircraft
+     */
+    public static List<Aircraft> create(long seed, String callsignPrefix, int numAircraft) {
+        Random random = new Random(seed);
+        AircraftCharacteristics[] models = AircraftCharacteristics.values();
+        List<Aircraft> fleet = new ArrayList<>();
+        for (int i = 0; i < numAircraft; i++) {
+            List<Task> tasks = new ArrayList<>();
+            for (int j = random.nextInt(6); j >= 0; j--) {
+                tasks.add(new Task(TaskType.AWAY));
+            }
+            tasks.add(new Task(TaskType.LAND));
+            for (int j = random.nextInt(4); j > 0; j--) {
+                tasks.add(new Task(TaskType.WAIT));
+            }
+            tasks.add(new Task(TaskType.LOAD, random.nextInt(101)));
+            tasks.add(new Task(TaskType.TAKEOFF));
+            TaskList taskList = new TaskList(tasks);
+            taskList.moveForward(random.nextInt(tasks.size()));
+
+            AircraftCharacteristics model = models[random.nextInt(models.length)];
+            String callsign = String.format("%s%03d", callsignPrefix, i);
+            double fuel = model.fuelCapacity * random.nextDouble();
+            Aircraft aircraft = model.passengerCapacity > 0
+                    ? new PassengerAircraft(callsign, model, taskList, fuel,
+                            random.nextInt(model.passengerCapacity + 1))
+                    : new FreightAircraft(callsign, model, taskList, fuel,
+                            random.nextInt(model.freightCapacity + 1));
+            if (random.nextInt(10) == 0) {
+                aircraft.declareEmergency();
+            }
+            fleet.add(aircraft);
+        }
+        return fleet;
+    }
+
+    /**
+     * Returns a description of the complete state of the given aircraft.
+     *
+     * @param aircraft aircraft to describe
+     * @return description of the aircraft
+     */
+    public static String describe(Aircraft aircraft) {
+        return aircraft.getClass().getSimpleName() + " " + aircraft.encode() + " "
+                + aircraft.getTaskList() + " " + aircraft.getFuelAmount() + " "
+                + aircraft.getTotalWeight() + " " + aircraft.calculateOccupancyLevel();
+    }
+
+    /**
+     * Returns a description of the complete state of each of the given aircraft.
+     *
+     * @param fleet aircraft to describe
+     * @return description of each aircraft, in the same order as the given aircraft
+     */
+    public static List<String> describe(List<Aircraft> fleet) {
+        List<String> descriptions = new ArrayList<>();
+        for (Aircraft aircraft : fleet) {
+            descriptions.add(describe(aircraft));
+        }
+        return descriptions;
+    }
+}
@@ -6,16 +6,23 @@ import towersim.aircraft.Aircraft;
 import towersim.aircraft.AircraftCharacteristics;
 import towersim.aircraft.FreightAircraft;
 import towersim.aircraft.PassengerAircraft;
+import towersim.ground.Gate;
 import towersim.tasks.Task;
 import towersim.tasks.TaskList;
 import towersim.tasks.TaskType;
 import towersim.util.MalformedSaveException;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.StringJoiner;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.*;
 
@@ -552,16 +559,181 @@ public class ControlTowerInitialiserTest {
         assertTrue("The task list is not correctly ordered to match the " +
                 "task list criteria", expected);
     }
-}
 
+    @Test
+    public void readAircraftMissingCargoTest() {
+        String test = "UTD302:BOEING_787:WAIT,LOAD@100,TAKEOFF,AWAY,AWAY,AWAY,LAND:10000.00:false:";
+        boolean expected = false;
+        try {
+            ControlTowerInitialiser.readAircraft(test);
+        } catch (MalformedSaveException e) {
+            expected = true;
+        }
+        assertTrue("This aircraft input is missing its cargo amount", expected);
+    }
 
+    @Test
+    public void readGateValidInputsTest() throws MalformedSaveException {
+        List<Aircraft> aircraft = List.of(aircraft1, aircraft2, aircraft3);
 
+        Gate gate = ControlTowerInitialiser.readGate("5:UTD302", aircraft);
+        assertEquals(5, gate.getGateNumber());
+        assertSame(aircraft2, gate.getAircraftAtGate());
 
+        Gate emptyGate = ControlTowerInitialiser.readGate("6:empty", aircraft);
+        assertNull(emptyGate.getAircraftAtGate());
+    }
 
+    @Test
+    public void readGateUnknownCallsignTest() {
+        boolean expected = false;
+        try {
+            ControlTowerInitialiser.readGate("5:ABC123", List.of(aircraft1, aircraft2));
+        } catch (MalformedSaveException e) {
+            expected = true;
+        }
+        assertTrue("The gate contains an aircraft that does not exist", expected);
+    }
+
+    @Test
+    public void loadQueuesValidInputsTest() throws MalformedSaveException, IOException {
+        StringJoiner joiner = new StringJoiner(System.lineSeparator());
+        joiner.add("TakeoffQueue:1");
+        joiner.add("UPS119");
+        joiner.add("LandingQueue:2");
+        joiner.add("QFA481,VH-BFK");
+        joiner.add("LoadingAircraft:1");
+        joiner.add("UTD302:12");
+
+        TakeoffQueue takeoffQueue = new TakeoffQueue();
+        LandingQueue landingQueue = new LandingQueue();
+        Map<Aircraft, Integer> loadingAircraft = new HashMap<>();
+        ControlTowerInitialiser.loadQueues(new StringReader(joiner.toString()),
+                List.of(aircraft1, aircraft2, aircraft3, aircraft4), takeoffQueue, landingQueue,
+                loadingAircraft);
 
+        assertEquals(List.of(aircraft3), takeoffQueue.getAircraftInOrder());
+        assertEquals(List.of(aircraft1, aircraft4), landingQueue.getAircraftInOrder());
+        assertEquals(Map.of(aircraft2, 12), loadingAircraft);
+    }
+
+    @Test
+    public void readQueueUnknownCallsignTest() {
+        StringJoiner joiner = new StringJoiner(System.lineSeparator());
+        joiner.add("TakeoffQueue:2");
+        joiner.add("UPS119,ABC123");
 
+        boolean expected = false;
+        try {
+            ControlTowerInitialiser.readQueue(
+                    new BufferedReader(new StringReader(joiner.toString())),
+                    List.of(aircraft1, aircraft2, aircraft3), new TakeoffQueue());
+        } catch (MalformedSaveException | IOException e) {
+            expected = true;
+        }
+        assertTrue("The queue contains an aircraft that does not exist", expected);
+    }
 
+    @Test
+    public void readQueueCountMismatchTest() {
+        StringJoiner joiner = new StringJoiner(System.lineSeparator());
+        joiner.add("TakeoffQueue:3");
+        joiner.add("UPS119,QFA481");
 
+        boolean expected = false;
+        try {
+            ControlTowerInitialiser.readQueue(
+                    new BufferedReader(new StringReader(joiner.toString())),
+                    List.of(aircraft1, aircraft2, aircraft3), new TakeoffQueue());
+        } catch (MalformedSaveException | IOException e) {
+            expected = true;
+        }
+        assertTrue("The queue contains fewer callsigns than declared", expected);
+    }
 
+    @Test
+    public void readLoadingAircraftTooManyColonsTest() {
+        StringJoiner joiner = new StringJoiner(System.lineSeparator());
+        joiner.add("LoadingAircraft:1");
+        joiner.add("UTD302:5:9");
 
+        boolean expected = false;
+        try {
+            ControlTowerInitialiser.readLoadingAircraft(
+                    new BufferedReader(new StringReader(joiner.toString())),
+                    List.of(aircraft1, aircraft2), new HashMap<>());
+        } catch (MalformedSaveException | IOException e) {
+            expected = true;
+        }
+        assertTrue("The loading aircraft contains more colons than expected", expected);
+    }
 
+    /**
+     * Writes the given save files to a temporary directory, and loads them in parallel, with and
+     * without deferring task lists, and from readers, returning the encoded tower loaded in
+     * parallel. Null is returned if every way of loading rejects the files.
+     */
+    private static String assertParallelSameAsReaders(String tick, String aircraft, String queues,
+            String terminals) throws IOException {
+        String expected;
+        try {
+            expected = SavedText.encode(ControlTowerInitialiser.createControlTower(
+                    new StringReader(tick), new StringReader(aircraft), new StringReader(queues),
+                    new StringReader(terminals)));
+        } catch (MalformedSaveException e) {
+            expected = null;
+        }
+
+        Path directory = Files.createTempDirectory("towersim");
+        Path[] files = {directory.resolve("tick.txt"), directory.resolve("aircraft.txt"),
+            directory.resolve("queues.txt"), directory.resolve("terminals.txt")};
+        String[] contents = {tick, aircraft, queues, terminals};
+        ForkJoinPool pool = new ForkJoinPool(3);
+        String actual;
+        try {
+            for (int i = 0; i < files.length; i++) {
+                Files.writeString(files[i], contents[i]);
+            }
+            actual = SavedText.encode(ControlTowerInitialiser.createControlTower(files[0],
+                    files[1], files[2], files[3], pool));
+            assertEquals(actual, SavedText.encode(ControlTowerInitialiser.createControlTower(
+                    files[0], files[1], files[2], files[3], pool, true)));
+        } catch (MalformedSaveException e) {
+            actual = null;
+        } finally {
+            pool.shutdown();
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+            Files.delete(directory);
+        }
+        assertEquals(expected, actual);
+        return actual;
+    }
+
+    @Test
+    public void createControlTowerInParallelTest() throws IOException {
+        StringJoiner aircraft = new StringJoiner(System.lineSeparator());
+        aircraft.add("3");
+        aircraft.add("QFA481:AIRBUS_A320:AWAY,AWAY,LAND,WAIT,WAIT,LOAD@60,TAKEOFF,AWAY"
+                + ":10000.00:false:132");
+        aircraft.add("UTD302:BOEING_787:LOAD@100,TAKEOFF,AWAY,AWAY,AWAY,LAND,WAIT"
+                + ":10000.00:false:0");
+        aircraft.add("VH-BFK:ROBINSON_R44:LAND,WAIT,LOAD@75,TAKEOFF,AWAY,AWAY:40.00:true:4");
+        String queues = String.join(System.lineSeparator(), "TakeoffQueue:0",
+                "LandingQueue:1", "VH-BFK", "LoadingAircraft:1", "UTD302:3");
+        String terminals = String.join(System.lineSeparator(), "2",
+                "AirplaneTerminal:1:false:2", "1:UTD302", "2:empty",
+                "HelicopterTerminal:2:true:0");
+
+        assertNotNull(assertParallelSameAsReaders("12", aircraft.toString(), queues, terminals));
+        // a queue or gate referring to an aircraft that is not loaded is rejected
+        assertNull(assertParallelSameAsReaders("12", aircraft.toString(),
+                queues.replace("VH-BFK", "VH-ZZZ"), terminals));
+        assertNull(assertParallelSameAsReaders("12", aircraft.toString(), queues,
+                terminals.replace("1:UTD302", "1:UTD303")));
+        assertNull(assertParallelSameAsReaders("12", "4" + aircraft.toString().substring(1),
+                queues, terminals));
+        assertNull(assertParallelSameAsReaders("-1", aircraft.toString(), queues, terminals));
+    }
+}
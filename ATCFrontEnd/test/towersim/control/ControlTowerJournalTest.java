@@ -0,0 +1,393 @@
+package towersim.control;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.Gate;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.MalformedSaveException;
+import towersim.util.NoSuitableGateException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class ControlTowerJournalTest {
+
+    private ControlTower tower;
+
+    private Path snapshotFile;
+
+    private Path journalFile;
+
+    @Before
+    public void setup() throws MalformedSaveException, IOException {
+        StringJoiner aircraft = new StringJoiner(System.lineSeparator());
+        aircraft.add("6");
+        aircraft.add("QFA481:AIRBUS_A320:AWAY,AWAY,LAND,WAIT,WAIT,LOAD@60,TAKEOFF,AWAY"
+                + ":10000.00:false:132");
+        aircraft.add("UTD302:BOEING_787:LOAD@100,TAKEOFF,AWAY,AWAY,AWAY,LAND,WAIT"
+                + ":10000.00:false:0");
+        aircraft.add("UPS119:BOEING_747_8F:TAKEOFF,AWAY,AWAY,AWAY,LAND,WAIT,LOAD@50"
+                + ":4000.00:true:37000");
+        aircraft.add("VH-BFK:ROBINSON_R44:LAND,WAIT,LOAD@75,TAKEOFF,AWAY,AWAY:40.00:true:4");
+        aircraft.add("VH-VLP:SIKORSKY_SKYCRANE:WAIT,LOAD@90,TAKEOFF,AWAY,AWAY,AWAY,LAND"
+                + ":332.80:false:0");
+        aircraft.add("ABC123:AIRBUS_A320:AWAY:27200.00:false:0");
+
+        StringJoiner queues = new StringJoiner(System.lineSeparator());
+        queues.add("TakeoffQueue:1");
+        queues.add("UPS119");
+        queues.add("LandingQueue:1");
+        queues.add("VH-BFK");
+        queues.add("LoadingAircraft:1");
+        queues.add("UTD302:3");
+
+        StringJoiner terminals = new StringJoiner(System.lineSeparator());
+        terminals.add("3");
+        terminals.add("AirplaneTerminal:1:false:3");
+        terminals.add("1:UTD302");
+        terminals.add("2:empty");
+        terminals.add("3:UPS119");
+        terminals.add("HelicopterTerminal:2:false:2");
+        terminals.add("7:VH-VLP");
+        terminals.add("8:empty");
+        terminals.add("HelicopterTerminal:4:true:0");
+
+        tower = ControlTowerInitialiser.createControlTower(new StringReader("5"),
+                new StringReader(aircraft.toString()), new StringReader(queues.toString()),
+                new StringReader(terminals.toString()));
+
+        snapshotFile = Files.createTempFile("towersim", ".atcs");
+        journalFile = Files.createTempFile("towersim", ".journal");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(journalFile);
+    }
+
+    private ControlTower recover() throws MalformedSaveException, IOException {
+        return ControlTowerJournal.recover(snapshotFile, journalFile);
+    }
+
+    /**
+     * Ticks the tower the given number of times, checking after every tick that the tower
+     * recovered from the journal matches the tower being journalled, and that the journal's size
+     * matches the size of its file.
+     */
+    private void assertRecoversEveryTick(ControlTowerJournal journal, int numTicks)
+            throws MalformedSaveException, IOException {
+        for (int i = 0; i < numTicks; i++) {
+            tower.tick();
+            assertEquals("Tick " + tower.getTicksElapsed(), SavedText.encode(tower),
+                    SavedText.encode(recover()));
+            assertEquals(Files.size(journalFile), journal.getJournalSize());
+        }
+    }
+
+    @Test
+    public void recoveryMatchesTowerTest() throws MalformedSaveException, IOException {
+        try (ControlTowerJournal journal =
+                new ControlTowerJournal(tower, snapshotFile, journalFile)) {
+            assertRecoversEveryTick(journal, 60);
+        }
+    }
+
+    @Test
+    public void recoveryMatchesEventDrivenTowerTest() throws MalformedSaveException, IOException {
+        tower.setTickMode(TickMode.EVENT_DRIVEN);
+        try (ControlTowerJournal journal =
+                new ControlTowerJournal(tower, snapshotFile, journalFile)) {
+            assertRecoversEveryTick(journal, 60);
+        }
+    }
+
+    @Test
+    public void recoveryMatchesLegacyTowerTest() throws MalformedSaveException, IOException {
+        tower.setTickMode(TickMode.LEGACY);
+        try (ControlTowerJournal journal =
+                new ControlTowerJournal(tower, snapshotFile, journalFile)) {
+            assertRecoversEveryTick(journal, 5);
+        }
+    }
+
+    @Test
+    public void emergenciesJournalledTest() throws MalformedSaveException, IOException {
+        try (ControlTowerJournal journal =
+                new ControlTowerJournal(tower, snapshotFile, journalFile)) {
+            tower.tick();
+            tower.getAircraft().get(0).declareEmergency();
+            tower.getAircraft().get(2).clearEmergency();
+            tower.getTerminals().get(2).clearEmergency();
+            tower.getTerminals().get(0).declareEmergency();
+            assertRecoversEveryTick(journal, 1);
+            assertTrue(recover().getAircraft().get(0).hasEmergency());
+            assertFalse(recover().getTerminals().get(2).hasEmergency());
+        }
+    }
+
+    @Test
+    public void journalGrowsWithChangesTest() throws IOException {
+        try (ControlTowerJournal journal =
+                new ControlTowerJournal(tower, snapshotFile, journalFile)) {
+            long snapshotSize = Files.size(snapshotFile);
+            tower.tick();
+            assertEquals(snapshotSize, Files.size(snapshotFile));
+            assertEquals(journal.getJournalSize(), Files.size(journalFile));
+            assertTrue(journal.getJournalSize() < snapshotSize);
+        }
+    }
+
+    @Test
+    public void compactsWhenJournalOutgrowsSnapshotTest()
+            throws MalformedSaveException, IOException {
+        try (ControlTowerJournal journal =
+                new ControlTowerJournal(tower, snapshotFile, journalFile)) {
+            for (int i = 0; i < 200; i++) {
+                tower.tick();
+                assertTrue(journal.getJournalSize() <= 2 * journal.getSnapshotSize());
+            }
+            assertEquals(SavedText.encode(tower), SavedText.encode(recover()));
+        }
+    }
+
+    @Test
+    public void addedAircraftCompactsTest()
+            throws MalformedSaveException, IOException, NoSuitableGateException {
+        try (ControlTowerJournal journal =
+                new ControlTowerJournal(tower, snapshotFile, journalFile)) {
+            tower.tick();
+            tower.addAircraft(new PassengerAircraft("NEW001", AircraftCharacteristics.AIRBUS_A320,
+                    new TaskList(List.of(new Task(TaskType.AWAY), new Task(TaskType.LAND),
+                            new Task(TaskType.WAIT), new Task(TaskType.LOAD, 10),
+                            new Task(TaskType.TAKEOFF))), 20000, 100));
+            assertRecoversEveryTick(journal, 20);
+            assertEquals(7, recover().getAircraft().size());
+
+            Aircraft removed = tower.getAircraft().get(1);
+            tower.removeAircraft(removed);
+            assertRecoversEveryTick(journal, 20);
+        }
+    }
+
+    @Test
+    public void addedGateCompactsTest() throws MalformedSaveException, IOException, Exception {
+        try (ControlTowerJournal journal =
+                new ControlTowerJournal(tower, snapshotFile, journalFile)) {
+            tower.tick();
+            tower.getTerminals().get(2).addGate(new Gate(9));
+            assertRecoversEveryTick(journal, 10);
+            assertEquals(1, recover().getTerminals().get(2).getGates().size());
+        }
+    }
+
+    /**
+     * Returns the temporary files left beside the snapshot file by compactions.
+     */
+    private List<Path> temporaryFiles() throws IOException {
+        String prefix = snapshotFile.getFileName().toString();
+        try (Stream<Path> siblings = Files.list(snapshotFile.toAbsolutePath().getParent())) {
+            return siblings.filter(path -> path.getFileName().toString().startsWith(prefix)
+                    && path.getFileName().toString().endsWith(".tmp"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void backgroundCompactionTest() throws MalformedSaveException, IOException {
+        try (ControlTowerJournal journal =
+                new ControlTowerJournal(tower, snapshotFile, journalFile)) {
+            assertRecoversEveryTick(journal, 5);
+            long ticks = tower.getTicksElapsed();
+            ControlTowerJournal.Compaction compaction = journal.startCompaction();
+            // the old snapshot and journal keep recovering every tick until the compaction ends
+            assertRecoversEveryTick(journal, 5);
+            compaction.writeSnapshot(progress -> {});
+            assertRecoversEveryTick(journal, 5);
+
+            journal.finishCompaction(compaction);
+            assertEquals(SavedText.encode(tower), SavedText.encode(recover()));
+            assertEquals(ticks, ControlTowerSnapshot.load(snapshotFile).getTicksElapsed());
+            assertEquals(Files.size(snapshotFile), journal.getSnapshotSize());
+            assertRecoversEveryTick(journal, 20);
+            assertEquals(List.of(), temporaryFiles());
+        }
+    }
+
+    @Test
+    public void backgroundCompactionOfEventDrivenTowerTest()
+            throws MalformedSaveException, IOException {
+        tower.setTickMode(TickMode.EVENT_DRIVEN);
+        try (ControlTowerJournal journal =
+                new ControlTowerJournal(tower, snapshotFile, journalFile)) {
+            for (int i = 0; i < 4; i++) {
+                ControlTowerJournal.Compaction compaction = journal.startCompaction();
+                tower.tick();
+                tower.getAircraft().get(i).declareEmergency();
+                compaction.writeSnapshot(progress -> {});
+                assertRecoversEveryTick(journal, 3);
+                journal.finishCompaction(compaction);
+                assertRecoversEveryTick(journal, 3);
+            }
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void finishUnwrittenCompactionTest() throws IOException {
+        try (ControlTowerJournal journal =
+                new ControlTowerJournal(tower, snapshotFile, journalFile)) {
+            journal.finishCompaction(journal.startCompaction());
+        }
+    }
+
+    @Test
+    public void abandonedCompactionLeavesNoFilesTest()
+            throws MalformedSaveException, IOException {
+        try (ControlTowerJournal journal =
+                new ControlTowerJournal(tower, snapshotFile, journalFile)) {
+            // abandoned before its snapshot is written
+            ControlTowerJournal.Compaction first = journal.startCompaction();
+            tower.tick();
+            ControlTowerJournal.Compaction second = journal.startCompaction();
+            first.writeSnapshot(progress -> {});
+            journal.finishCompaction(first);
+
+            // abandoned after its snapshot is written
+            second.writeSnapshot(progress -> {});
+            journal.compact();
+            journal.finishCompaction(second);
+            assertRecoversEveryTick(journal, 3);
+
+            ControlTowerJournal.Compaction failed = journal.startCompaction();
+            journal.abandonCompaction(failed);
+            assertRecoversEveryTick(journal, 3);
+
+            journal.startCompaction();
+        }
+        assertEquals(List.of(), temporaryFiles());
+        assertEquals(SavedText.encode(tower), SavedText.encode(recover()));
+    }
+
+    @Test
+    public void addedAircraftAbandonsCompactionTest()
+            throws MalformedSaveException, IOException, NoSuitableGateException {
+        try (ControlTowerJournal journal =
+                new ControlTowerJournal(tower, snapshotFile, journalFile)) {
+            ControlTowerJournal.Compaction compaction = journal.startCompaction();
+            tower.addAircraft(new PassengerAircraft("NEW001", AircraftCharacteristics.AIRBUS_A320,
+                    new TaskList(List.of(new Task(TaskType.AWAY), new Task(TaskType.LAND),
+                            new Task(TaskType.WAIT), new Task(TaskType.LOAD, 10),
+                            new Task(TaskType.TAKEOFF))), 20000, 100));
+            // the copy being written lacks the new aircraft, so the tick writes a snapshot itself
+            assertRecoversEveryTick(journal, 1);
+            compaction.writeSnapshot(progress -> {});
+            journal.finishCompaction(compaction);
+            assertRecoversEveryTick(journal, 5);
+            assertEquals(7, recover().getAircraft().size());
+
+            // a compaction started before the next tick is written synchronously
+            tower.removeAircraft(tower.getAircraft().get(1));
+            compaction = journal.startCompaction();
+            compaction.writeSnapshot(progress -> {});
+            journal.finishCompaction(compaction);
+            assertEquals(SavedText.encode(tower), SavedText.encode(recover()));
+            assertRecoversEveryTick(journal, 5);
+        }
+        assertEquals(List.of(), temporaryFiles());
+    }
+
+    @Test
+    public void closeWritesPendingChangesTest() throws MalformedSaveException, IOException {
+        ControlTowerJournal journal = new ControlTowerJournal(tower, snapshotFile, journalFile);
+        tower.tick();
+        tower.getAircraft().get(5).declareEmergency();
+        journal.close();
+
+        assertTrue(recover().getAircraft().get(5).hasEmergency());
+        // the closed journal no longer listens to the tower
+        tower.tick();
+        assertEquals(tower.getTicksElapsed() - 1, recover().getTicksElapsed());
+    }
+
+    @Test
+    public void tornBlockIgnoredTest() throws MalformedSaveException, IOException {
+        try (ControlTowerJournal journal =
+                new ControlTowerJournal(tower, snapshotFile, journalFile)) {
+            assertRecoversEveryTick(journal, 10);
+        }
+        String expected = SavedText.encode(recover());
+        long ticks = recover().getTicksElapsed();
+
+        // appends a block that was only partly written
+        byte[] journal = Files.readAllBytes(journalFile);
+        byte[] torn = Arrays.copyOf(journal, journal.length + 6);
+        torn[journal.length + 3] = 50;
+        Files.write(journalFile, torn);
+        assertEquals(expected, SavedText.encode(recover()));
+
+        // corrupts the last byte of the last complete block
+        journal[journal.length - 1] ^= 1;
+        Files.write(journalFile, journal);
+        assertEquals(ticks - 1, recover().getTicksElapsed());
+    }
+
+    @Test
+    public void staleJournalIgnoredTest() throws MalformedSaveException, IOException {
+        try (ControlTowerJournal journal =
+                new ControlTowerJournal(tower, snapshotFile, journalFile)) {
+            tower.tick();
+            tower.tick();
+            byte[] staleJournal = Files.readAllBytes(journalFile);
+            journal.compact();
+            // as if the application stopped after the snapshot was rewritten
+            Files.write(journalFile, staleJournal);
+            assertEquals(SavedText.encode(tower), SavedText.encode(recover()));
+        }
+    }
+
+    @Test
+    public void missingJournalTest() throws MalformedSaveException, IOException {
+        ControlTowerSnapshot.save(tower, snapshotFile);
+        Files.delete(journalFile);
+        assertEquals(SavedText.encode(tower), SavedText.encode(recover()));
+
+        Files.write(journalFile, new byte[3]);
+        assertEquals(SavedText.encode(tower), SavedText.encode(recover()));
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void wrongMagicTest() throws MalformedSaveException, IOException {
+        new ControlTowerJournal(tower, snapshotFile, journalFile).close();
+        byte[] bytes = Files.readAllBytes(journalFile);
+        bytes[0] = 'X';
+        Files.write(journalFile, bytes);
+        recover();
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void journalNewerThanSnapshotTest() throws MalformedSaveException, IOException {
+        try (ControlTowerJournal journal =
+                new ControlTowerJournal(tower, snapshotFile, journalFile)) {
+            byte[] snapshot = Files.readAllBytes(snapshotFile);
+            tower.tick();
+            journal.compact();
+            Files.write(snapshotFile, snapshot);
+        }
+        recover();
+    }
+}
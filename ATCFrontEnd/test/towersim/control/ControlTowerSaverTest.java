@@ -0,0 +1,135 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.util.MalformedSaveException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.junit.Assert.*;
+
+public class ControlTowerSaverTest {
+
+    private ControlTower tower;
+
+    @Before
+    public void setup() throws MalformedSaveException, IOException {
+        StringJoiner aircraft = new StringJoiner(System.lineSeparator());
+        aircraft.add("5");
+        aircraft.add("QFA481:AIRBUS_A320:AWAY,AWAY,LAND,WAIT,WAIT,LOAD@60,TAKEOFF,AWAY"
+                + ":10000.00:false:132");
+        aircraft.add("UTD302:BOEING_787:LOAD@100,TAKEOFF,AWAY,AWAY,AWAY,LAND,WAIT"
+                + ":10000.00:false:0");
+        aircraft.add("UPS119:BOEING_747_8F:TAKEOFF,AWAY,AWAY,AWAY,LAND,WAIT,LOAD@50"
+                + ":4000.00:true:37000");
+        aircraft.add("VH-BFK:ROBINSON_R44:LAND,WAIT,LOAD@75,TAKEOFF,AWAY,AWAY:40.00:true:4");
+        aircraft.add("VH-VLP:SIKORSKY_SKYCRANE:WAIT,LOAD@90,TAKEOFF,AWAY,AWAY,AWAY,LAND"
+                + ":332.80:false:0");
+
+        StringJoiner queues = new StringJoiner(System.lineSeparator());
+        queues.add("TakeoffQueue:1");
+        queues.add("UPS119");
+        queues.add("LandingQueue:1");
+        queues.add("VH-BFK");
+        queues.add("LoadingAircraft:1");
+        queues.add("UTD302:3");
+
+        StringJoiner terminals = new StringJoiner(System.lineSeparator());
+        terminals.add("3");
+        terminals.add("AirplaneTerminal:1:false:3");
+        terminals.add("1:UTD302");
+        terminals.add("2:empty");
+        terminals.add("3:UPS119");
+        terminals.add("HelicopterTerminal:2:false:2");
+        terminals.add("7:VH-VLP");
+        terminals.add("8:empty");
+        terminals.add("HelicopterTerminal:4:true:0");
+
+        tower = ControlTowerInitialiser.createControlTower(new StringReader("5"),
+                new StringReader(aircraft.toString()), new StringReader(queues.toString()),
+                new StringReader(terminals.toString()));
+        tower.tick();
+    }
+
+    @Test
+    public void copySavesSameAsTowerTest() throws IOException {
+        ControlTower copy = ControlTowerSaver.copy(tower);
+        assertEquals(SavedText.encode(tower), SavedText.encode(copy));
+        assertEquals(tower.toString(), copy.toString());
+    }
+
+    @Test
+    public void copySharesNoAircraftTest() {
+        ControlTower copy = ControlTowerSaver.copy(tower);
+        for (Aircraft copied : copy.getAircraft()) {
+            assertTrue(tower.getAircraft().stream().noneMatch(a -> a == copied));
+        }
+        for (Aircraft loading : copy.getLoadingAircraft().keySet()) {
+            assertTrue(copy.getAircraft().stream().anyMatch(a -> a == loading));
+        }
+        Aircraft parked = copy.getTerminals().get(0).getGates().get(0).getAircraftAtGate();
+        assertTrue(copy.getAircraft().stream().anyMatch(a -> a == parked));
+    }
+
+    @Test
+    public void copyUnaffectedByTickingTest() throws IOException {
+        ControlTower copy = ControlTowerSaver.copy(tower);
+        String copied = SavedText.encode(copy);
+        for (int i = 0; i < 10; i++) {
+            tower.tick();
+        }
+        tower.getAircraft().get(0).declareEmergency();
+        tower.getTerminals().get(0).declareEmergency();
+        assertEquals(copied, SavedText.encode(copy));
+        assertNotEquals(copied, SavedText.encode(tower));
+    }
+
+    @Test
+    public void copiedTaskListsMoveIndependentlyTest() {
+        ControlTower copy = ControlTowerSaver.copy(tower);
+        Aircraft original = tower.getAircraft().get(0);
+        Aircraft copied = copy.getAircraft().get(0);
+        original.getTaskList().moveToNextTask();
+        assertNotEquals(original.getTaskList().getCurrentTaskIndex(),
+                copied.getTaskList().getCurrentTaskIndex());
+    }
+
+    @Test
+    public void textProgressTest() throws IOException {
+        List<Double> progress = new ArrayList<>();
+        ControlTowerSaver.saveText(tower, new StringWriter(), new StringWriter(),
+                new StringWriter(), new StringWriter(), progress::add);
+        assertProgress(progress);
+    }
+
+    @Test
+    public void snapshotProgressTest() throws IOException {
+        Path file = Files.createTempFile("towersim", ".atcs");
+        try {
+            List<Double> progress = new ArrayList<>();
+            ControlTowerSnapshot.save(tower, file, progress::add);
+            assertProgress(progress);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Checks that progress was reported in order, and finished at 1.
+     */
+    private static void assertProgress(List<Double> progress) {
+        assertFalse(progress.isEmpty());
+        for (int i = 1; i < progress.size(); i++) {
+            assertTrue(progress.get(i) >= progress.get(i - 1));
+        }
+        assertEquals(1.0, progress.get(progress.size() - 1), 0);
+    }
+}
@@ -0,0 +1,204 @@
+package towersim.control;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.util.MalformedSaveException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.junit.Assert.*;
+
+public class ControlTowerSnapshotTest {
+
+    private ControlTower tower;
+
+    private Path file;
+
+    @Before
+    public void setup() throws MalformedSaveException, IOException {
+        StringJoiner aircraft = new StringJoiner(System.lineSeparator());
+        aircraft.add("5");
+        aircraft.add("QFA481:AIRBUS_A320:AWAY,AWAY,LAND,WAIT,WAIT,LOAD@60,TAKEOFF,AWAY"
+                + ":10000.00:false:132");
+        aircraft.add("UTD302:BOEING_787:LOAD@100,TAKEOFF,AWAY,AWAY,AWAY,LAND,WAIT"
+                + ":10000.00:false:0");
+        aircraft.add("UPS119:BOEING_747_8F:TAKEOFF,AWAY,AWAY,AWAY,LAND,WAIT,LOAD@50"
+                + ":4000.00:true:37000");
+        aircraft.add("VH-BFK:ROBINSON_R44:LAND,WAIT,LOAD@75,TAKEOFF,AWAY,AWAY:40.00:true:4");
+        aircraft.add("VH-VLP:SIKORSKY_SKYCRANE:WAIT,LOAD@90,TAKEOFF,AWAY,AWAY,AWAY,LAND"
+                + ":332.80:false:0");
+
+        StringJoiner queues = new StringJoiner(System.lineSeparator());
+        queues.add("TakeoffQueue:1");
+        queues.add("UPS119");
+        queues.add("LandingQueue:1");
+        queues.add("VH-BFK");
+        queues.add("LoadingAircraft:1");
+        queues.add("UTD302:3");
+
+        StringJoiner terminals = new StringJoiner(System.lineSeparator());
+        terminals.add("3");
+        terminals.add("AirplaneTerminal:1:false:3");
+        terminals.add("1:UTD302");
+        terminals.add("2:empty");
+        terminals.add("3:UPS119");
+        terminals.add("HelicopterTerminal:2:false:2");
+        terminals.add("7:VH-VLP");
+        terminals.add("8:empty");
+        terminals.add("HelicopterTerminal:4:true:0");
+
+        tower = ControlTowerInitialiser.createControlTower(new StringReader("5"),
+                new StringReader(aircraft.toString()), new StringReader(queues.toString()),
+                new StringReader(terminals.toString()));
+        // ticking leaves fuel amounts that cannot be written exactly to two decimal places
+        tower.tick();
+        tower.tick();
+
+        file = Files.createTempFile("towersim", ".atcs");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void roundTripTest() throws MalformedSaveException, IOException {
+        ControlTowerSnapshot.save(tower, file);
+        ControlTower loaded = ControlTowerSnapshot.load(file);
+
+        assertEquals(SavedText.encode(tower), SavedText.encode(loaded));
+        assertEquals(tower.getTicksElapsed(), loaded.getTicksElapsed());
+        assertEquals(tower.toString(), loaded.toString());
+    }
+
+    @Test
+    public void roundTripExactFuelTest() throws MalformedSaveException, IOException {
+        ControlTowerSnapshot.save(tower, file);
+        ControlTower loaded = ControlTowerSnapshot.load(file);
+
+        List<Aircraft> expected = tower.getAircraft();
+        List<Aircraft> actual = loaded.getAircraft();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getCallsign(), actual.get(i).getCallsign());
+            assertEquals(Double.doubleToLongBits(expected.get(i).getFuelAmount()),
+                    Double.doubleToLongBits(actual.get(i).getFuelAmount()));
+            assertEquals(expected.get(i).hasEmergency(), actual.get(i).hasEmergency());
+            assertSame(expected.get(i).getClass(), actual.get(i).getClass());
+        }
+    }
+
+    @Test
+    public void roundTripSharesAircraftTest() throws MalformedSaveException, IOException {
+        ControlTowerSnapshot.save(tower, file);
+        ControlTower loaded = ControlTowerSnapshot.load(file);
+
+        Aircraft landing = loaded.getLandingQueue().peekAircraft();
+        assertNotNull(landing);
+        assertSame(landing, loaded.getAircraft().stream()
+                .filter(a -> a.getCallsign().equals("VH-BFK"))
+                .findFirst().orElseThrow());
+        assertFalse(loaded.getLoadingAircraft().isEmpty());
+        for (Aircraft loading : loaded.getLoadingAircraft().keySet()) {
+            assertTrue(loaded.getAircraft().stream().anyMatch(a -> a == loading));
+        }
+    }
+
+    @Test
+    public void snapshotSmallerThanTextTest() throws IOException {
+        ControlTowerSnapshot.save(tower, file);
+        assertTrue(Files.size(file) < SavedText.encode(tower).length());
+    }
+
+    @Test
+    public void saveReplacesExistingFileTest() throws MalformedSaveException, IOException {
+        Files.write(file, new byte[1 << 17]);
+        ControlTowerSnapshot.save(tower, file);
+        assertEquals(SavedText.encode(tower), SavedText.encode(ControlTowerSnapshot.load(file)));
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void wrongMagicTest() throws MalformedSaveException, IOException {
+        ControlTowerSnapshot.save(tower, file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[0] = 'X';
+        Files.write(file, bytes);
+        ControlTowerSnapshot.load(file);
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void emptyFileTest() throws MalformedSaveException, IOException {
+        ControlTowerSnapshot.load(file);
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void newerVersionTest() throws MalformedSaveException, IOException {
+        ControlTowerSnapshot.save(tower, file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[4] = (byte) ((ControlTowerSnapshot.VERSION + 1) >> 8);
+        bytes[5] = (byte) (ControlTowerSnapshot.VERSION + 1);
+        Files.write(file, bytes);
+        ControlTowerSnapshot.load(file);
+    }
+
+    @Test
+    public void truncatedTest() throws IOException {
+        ControlTowerSnapshot.save(tower, file);
+        byte[] bytes = Files.readAllBytes(file);
+        // every prefix of the snapshot is missing at least part of a required section
+        for (int length = 0; length < bytes.length; length++) {
+            Files.write(file, Arrays.copyOf(bytes, length));
+            try {
+                ControlTowerSnapshot.load(file);
+                fail("Snapshot truncated to " + length + " bytes should be rejected");
+            } catch (MalformedSaveException expected) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void unknownSectionSkippedTest() throws MalformedSaveException, IOException {
+        ControlTowerSnapshot.save(tower, file);
+        byte[] bytes = Files.readAllBytes(file);
+        byte[] unknownSection = {99, 0, 0, 0, 3, 1, 2, 3};
+
+        // inserts the unknown section straight after the header
+        byte[] withUnknown = new byte[bytes.length + unknownSection.length];
+        System.arraycopy(bytes, 0, withUnknown, 0, 6);
+        System.arraycopy(unknownSection, 0, withUnknown, 6, unknownSection.length);
+        System.arraycopy(bytes, 6, withUnknown, 6 + unknownSection.length, bytes.length - 6);
+        Files.write(file, withUnknown);
+
+        assertEquals(SavedText.encode(tower), SavedText.encode(ControlTowerSnapshot.load(file)));
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void sectionOutOfOrderTest() throws MalformedSaveException, IOException {
+        ControlTowerSnapshot.save(tower, file);
+        byte[] bytes = Files.readAllBytes(file);
+        // the ticks section starts straight after the header; relabel it as the terminals section
+        bytes[6] = 6;
+        Files.write(file, bytes);
+        ControlTowerSnapshot.load(file);
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void sectionLengthMismatchTest() throws MalformedSaveException, IOException {
+        ControlTowerSnapshot.save(tower, file);
+        byte[] bytes = Files.readAllBytes(file);
+        // the ticks section holds a one byte varint; claim it is two bytes long
+        bytes[10] = 2;
+        Files.write(file, bytes);
+        ControlTowerSnapshot.load(file);
+    }
+}
@@ -0,0 +1,368 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.ArrayFleetStore;
+import towersim.aircraft.BufferFleetStore;
+import towersim.aircraft.FleetStore;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.NoSpaceException;
+import towersim.util.NoSuitableGateException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ControlTowerTest {
+
+    private ControlTower tower;
+
+    private Terminal airplaneTerminal1;
+    private Terminal helicopterTerminal;
+    private Terminal airplaneTerminal2;
+
+    private Aircraft airplane1;
+    private Aircraft airplane2;
+    private Aircraft helicopter;
+
+    @Before
+    public void setup() throws NoSpaceException {
+        tower = new ControlTower(0, new ArrayList<>(), new LandingQueue(), new TakeoffQueue(),
+                new HashMap<>());
+
+        airplaneTerminal1 = new AirplaneTerminal(1);
+        airplaneTerminal1.addGate(new Gate(1));
+        helicopterTerminal = new HelicopterTerminal(2);
+        helicopterTerminal.addGate(new Gate(2));
+        airplaneTerminal2 = new AirplaneTerminal(3);
+        airplaneTerminal2.addGate(new Gate(3));
+        airplaneTerminal2.addGate(new Gate(4));
+
+        tower.addTerminal(airplaneTerminal1);
+        tower.addTerminal(helicopterTerminal);
+        tower.addTerminal(airplaneTerminal2);
+
+        TaskList taskList = new TaskList(List.of(
+                new Task(TaskType.WAIT),
+                new Task(TaskType.LOAD),
+                new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY),
+                new Task(TaskType.LAND)));
+
+        airplane1 = new PassengerAircraft("ABC123", AircraftCharacteristics.AIRBUS_A320,
+                taskList, AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 0);
+        airplane2 = new PassengerAircraft("DEF456", AircraftCharacteristics.BOEING_787,
+                taskList, AircraftCharacteristics.BOEING_787.fuelCapacity, 0);
+        helicopter = new PassengerAircraft("GHI789", AircraftCharacteristics.ROBINSON_R44,
+                taskList, AircraftCharacteristics.ROBINSON_R44.fuelCapacity, 0);
+    }
+
+    @Test
+    public void findUnoccupiedGateOrderTest() throws NoSuitableGateException, NoSpaceException {
+        assertEquals("First gate of first airplane terminal should be found first",
+                airplaneTerminal1.getGates().get(0), tower.findUnoccupiedGate(airplane1));
+        assertEquals("Helicopters should only be given gates in helicopter terminals",
+                helicopterTerminal.getGates().get(0), tower.findUnoccupiedGate(helicopter));
+
+        airplaneTerminal1.getGates().get(0).parkAircraft(airplane1);
+        assertEquals("Next airplane terminal should be searched once first is full",
+                airplaneTerminal2.getGates().get(0), tower.findUnoccupiedGate(airplane2));
+    }
+
+    @Test
+    public void gateFreedAfterAircraftLeavesTest()
+            throws NoSuitableGateException, NoSpaceException {
+        Gate gate = tower.findUnoccupiedGate(airplane1);
+        gate.parkAircraft(airplane1);
+        assertNotEquals(gate, tower.findUnoccupiedGate(airplane2));
+
+        gate.aircraftLeaves();
+        assertEquals("Gate should be available again once its aircraft has left",
+                gate, tower.findUnoccupiedGate(airplane2));
+    }
+
+    @Test
+    public void emergencyTerminalSkippedTest() throws NoSuitableGateException {
+        airplaneTerminal1.declareEmergency();
+        assertEquals("Terminals in a state of emergency should be skipped",
+                airplaneTerminal2.getGates().get(0), tower.findUnoccupiedGate(airplane1));
+
+        airplaneTerminal1.clearEmergency();
+        assertEquals("Terminal should be searched again once its emergency is cleared",
+                airplaneTerminal1.getGates().get(0), tower.findUnoccupiedGate(airplane1));
+    }
+
+    @Test(expected = NoSuitableGateException.class)
+    public void noSuitableGateTest() throws NoSuitableGateException, NoSpaceException {
+        helicopterTerminal.getGates().get(0).parkAircraft(helicopter);
+        tower.findUnoccupiedGate(helicopter);
+    }
+
+    @Test
+    public void findGateOfAircraftTest() throws NoSpaceException {
+        assertNull(tower.findGateOfAircraft(airplane1));
+
+        Gate gate = airplaneTerminal2.getGates().get(1);
+        gate.parkAircraft(airplane1);
+        assertEquals("Gate should be found once aircraft has parked",
+                gate, tower.findGateOfAircraft(airplane1));
+        assertEquals(1, tower.getGatesOfAircraft().size());
+
+        gate.aircraftLeaves();
+        assertNull("Gate should not be found once aircraft has left",
+                tower.findGateOfAircraft(airplane1));
+        assertTrue(tower.getGatesOfAircraft().isEmpty());
+    }
+
+    @Test
+    public void findGateOfEqualAircraftTest() throws NoSpaceException {
+        Gate gate = airplaneTerminal2.getGates().get(0);
+        gate.parkAircraft(airplane1);
+        Aircraft equalAircraft = new PassengerAircraft("ABC123",
+                AircraftCharacteristics.AIRBUS_A320, airplane1.getTaskList().copy(), 0, 0);
+        assertEquals("Gate of an equal aircraft should be found",
+                gate, tower.findGateOfAircraft(equalAircraft));
+    }
+
+    @Test
+    public void findGateOfAircraftParkedBeforeTerminalAddedTest() throws NoSpaceException {
+        Terminal terminal = new AirplaneTerminal(4);
+        Gate gate = new Gate(6);
+        terminal.addGate(gate);
+        gate.parkAircraft(airplane2);
+
+        tower.addTerminal(terminal);
+        assertEquals("Aircraft already parked in a new terminal should be found",
+                gate, tower.findGateOfAircraft(airplane2));
+    }
+
+    @Test
+    public void loadAircraftTest() throws NoSpaceException {
+        Gate gate1 = airplaneTerminal1.getGates().get(0);
+        Gate gate2 = airplaneTerminal2.getGates().get(0);
+        gate1.parkAircraft(airplane1);
+        gate2.parkAircraft(airplane2);
+        airplane1.getTaskList().moveToNextTask();
+        Map<Aircraft, Integer> loadingAircraft = new HashMap<>();
+        loadingAircraft.put(airplane1, 1);
+        loadingAircraft.put(airplane2, 2);
+        tower = new ControlTower(0, new ArrayList<>(), new LandingQueue(), new TakeoffQueue(),
+                loadingAircraft);
+        tower.addTerminal(airplaneTerminal1);
+        tower.addTerminal(airplaneTerminal2);
+
+        tower.loadAircraft();
+        assertFalse("Aircraft should leave its gate once finished loading", gate1.isOccupied());
+        assertEquals(TaskType.TAKEOFF,
+                airplane1.getTaskList().getCurrentTask().getType());
+        assertEquals(Map.of(airplane2, 1), tower.getLoadingAircraft());
+
+        tower.getLoadingAircraft().clear();
+        assertEquals("Returned map should not affect loading aircraft",
+                1, tower.getLoadingAircraft().size());
+
+        tower.loadAircraft();
+        assertFalse(gate2.isOccupied());
+        assertTrue(tower.getLoadingAircraft().isEmpty());
+    }
+
+    @Test
+    public void eventDrivenMatchesPhasedEachTickTest() throws NoSpaceException {
+        ControlTower phased = RandomTowers.create(1, "RND", 100);
+        ControlTower eventDriven = RandomTowers.create(1, "RND", 100);
+        eventDriven.setTickMode(TickMode.EVENT_DRIVEN);
+
+        for (int i = 0; i < 300; i++) {
+            phased.tick();
+            eventDriven.tick();
+            assertEquals("Towers should match after tick " + i,
+                    RandomTowers.describe(phased), RandomTowers.describe(eventDriven));
+        }
+    }
+
+    @Test
+    public void eventDrivenMatchesPhasedAfterManyTicksTest() throws NoSpaceException {
+        for (long seed = 2; seed < 6; seed++) {
+            ControlTower phased = RandomTowers.create(seed, "RND", 150);
+            ControlTower eventDriven = RandomTowers.create(seed, "RND", 150);
+            eventDriven.setTickMode(TickMode.EVENT_DRIVEN);
+
+            for (int i = 0; i < 2000; i++) {
+                phased.tick();
+                eventDriven.tick();
+            }
+            assertEquals("Towers created with seed " + seed + " should match",
+                    RandomTowers.describe(phased), RandomTowers.describe(eventDriven));
+        }
+    }
+
+    @Test
+    public void eventDrivenRemoveAircraftTest() throws NoSpaceException {
+        ControlTower phased = RandomTowers.create(11, "RND", 40);
+        ControlTower eventDriven = RandomTowers.create(11, "RND", 40);
+        eventDriven.setTickMode(TickMode.EVENT_DRIVEN);
+        List<Aircraft> phasedAircraft = phased.getAircraft();
+        List<Aircraft> eventDrivenAircraft = eventDriven.getAircraft();
+
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 37; i++) {
+                phased.tick();
+                eventDriven.tick();
+            }
+            for (int i = 0; i < 4; i++) {
+                // removes aircraft from near the start, middle and end of the list
+                int index = (i * 41 + round * 7) % phasedAircraft.size();
+                Aircraft removedPhased = phasedAircraft.remove(index);
+                Aircraft removedEventDriven = eventDrivenAircraft.remove(index);
+                assertTrue(phased.removeAircraft(removedPhased));
+                assertTrue(eventDriven.removeAircraft(removedEventDriven));
+                assertEquals("Removed aircraft should be up to date",
+                        removedPhased.encode() + " " + removedPhased.getTaskList() + " "
+                                + removedPhased.getFuelAmount(),
+                        removedEventDriven.encode() + " " + removedEventDriven.getTaskList()
+                                + " " + removedEventDriven.getFuelAmount());
+            }
+        }
+        for (int i = 0; i < 300; i++) {
+            phased.tick();
+            eventDriven.tick();
+            assertEquals("Towers should match after tick " + i,
+                    RandomTowers.describe(phased), RandomTowers.describe(eventDriven));
+        }
+    }
+
+    @Test
+    public void switchTickModeTest() throws NoSpaceException {
+        ControlTower phased = RandomTowers.create(6, "RND", 80);
+        ControlTower switching = RandomTowers.create(6, "RND", 80);
+
+        for (TickMode mode : List.of(TickMode.EVENT_DRIVEN, TickMode.PHASED,
+                TickMode.EVENT_DRIVEN)) {
+            switching.setTickMode(mode);
+            for (int i = 0; i < 101; i++) {
+                phased.tick();
+                switching.tick();
+            }
+        }
+        assertEquals(RandomTowers.describe(phased), RandomTowers.describe(switching));
+    }
+
+    @Test
+    public void parallelUpdateMatchesSerialTest() throws NoSpaceException {
+        ControlTower serial = RandomTowers.create(7, "RND", 200);
+        ControlTower parallel = RandomTowers.create(7, "RND", 200);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            parallel.setUpdatePool(pool, 8);
+            for (int i = 0; i < 300; i++) {
+                serial.tick();
+                parallel.tick();
+                assertEquals("Towers should match after tick " + i,
+                        RandomTowers.describe(serial), RandomTowers.describe(parallel));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void fleetStoreMatchesPlainTest() throws NoSpaceException {
+        for (TickMode mode : TickMode.values()) {
+            for (FleetStore fleetStore : List.of(new ArrayFleetStore(), new BufferFleetStore())) {
+                ControlTower plain = RandomTowers.create(8, "RND", 200);
+                ControlTower stored = RandomTowers.create(8, "RND", 200);
+                plain.setTickMode(mode);
+                stored.setTickMode(mode);
+                stored.setFleetStore(fleetStore);
+                for (int i = 0; i < 300; i++) {
+                    plain.tick();
+                    stored.tick();
+                    assertEquals(mode + " towers should match after tick " + i,
+                            RandomTowers.describe(plain), RandomTowers.describe(stored));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void parallelFleetStoreMatchesSerialTest() throws NoSpaceException {
+        ControlTower serial = RandomTowers.create(9, "RND", 200);
+        ControlTower parallel = RandomTowers.create(9, "RND", 200);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            parallel.setFleetStore(new ArrayFleetStore());
+            parallel.setUpdatePool(pool, 8);
+            for (int i = 0; i < 300; i++) {
+                serial.tick();
+                parallel.tick();
+                assertEquals("Towers should match after tick " + i,
+                        RandomTowers.describe(serial), RandomTowers.describe(parallel));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void fleetStoreFollowsAddedAndRemovedAircraftTest() throws NoSpaceException {
+        ControlTower plain = RandomTowers.create(10, "RND", 100);
+        ControlTower stored = RandomTowers.create(10, "RND", 100);
+        stored.setFleetStore(new ArrayFleetStore());
+        for (int i = 0; i < 100; i++) {
+            plain.tick();
+            stored.tick();
+        }
+        for (int i = 0; i < 10; i++) {
+            assertTrue(plain.removeAircraft(plain.getAircraft().get(i * 3)));
+            assertTrue(stored.removeAircraft(stored.getAircraft().get(i * 3)));
+        }
+        assertEquals(stored.getAircraft().size(), stored.getFleetStore().size());
+        for (int i = 0; i < 200; i++) {
+            plain.tick();
+            stored.tick();
+        }
+        assertEquals(RandomTowers.describe(plain), RandomTowers.describe(stored));
+
+        stored.setFleetStore(null);
+        for (int i = 0; i < 100; i++) {
+            plain.tick();
+            stored.tick();
+        }
+        assertEquals("Aircraft should keep their state once the store is removed",
+                RandomTowers.describe(plain), RandomTowers.describe(stored));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonEmptyFleetStoreTest() throws NoSpaceException {
+        ArrayFleetStore fleetStore = new ArrayFleetStore();
+        RandomTowers.create(11, "RND", 10).setFleetStore(fleetStore);
+        tower.setFleetStore(fleetStore);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidUpdateChunkSizeTest() {
+        tower.setUpdatePool(ForkJoinPool.commonPool(), 0);
+    }
+
+    @Test
+    public void gateAddedAfterTerminalTest() throws NoSuitableGateException, NoSpaceException {
+        helicopterTerminal.getGates().get(0).parkAircraft(helicopter);
+        Gate newGate = new Gate(5);
+        helicopterTerminal.addGate(newGate);
+        assertEquals("Gates added after the terminal should be found",
+                newGate, tower.findUnoccupiedGate(helicopter));
+    }
+}
@@ -12,6 +12,7 @@ import towersim.tasks.TaskType;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.*;
 
@@ -471,4 +472,104 @@ public class LandingQueueTest {
         landingQueue.addAircraft(freightAircraft1);
         assertFalse("This aircraft does not belongs to the queue", landingQueue.containsAircraft(emergencyAircraft2));
     }
+
+    @Test
+    public void containsAndRemoveEqualAircraftTest() {
+        landingQueue.addAircraft(freightAircraft1);
+        Aircraft equalAircraft = new FreightAircraft("MNO105",
+                AircraftCharacteristics.BOEING_747_8F, new TaskList(List.of(
+                        new Task(TaskType.AWAY))), 0, 0);
+        assertTrue("An equal aircraft should be found in the queue",
+                landingQueue.containsAircraft(equalAircraft));
+        assertTrue(landingQueue.removeAircraft(equalAircraft));
+        assertFalse(landingQueue.containsAircraft(freightAircraft1));
+
+        freightAircraft1.declareEmergency();
+        assertEquals("Removed aircraft should no longer be reprioritised",
+                List.of(), landingQueue.getAircraftInOrder());
+    }
+
+    @Test
+    public void declareEmergencyWhileQueuedTest() {
+        landingQueue.addAircraft(passengerAircraft1);
+        landingQueue.addAircraft(freightAircraft1);
+        landingQueue.addAircraft(freightAircraft2);
+        freightAircraft2.declareEmergency();
+
+        List<Aircraft> expected = new ArrayList<Aircraft>();
+        expected.add(freightAircraft2);
+        expected.add(passengerAircraft1);
+        expected.add(freightAircraft1);
+
+        assertEquals("Aircraft declaring an emergency should move to the front",
+                expected, landingQueue.getAircraftInOrder());
+        assertEquals("Aircraft declaring an emergency should move to the front",
+                freightAircraft2, landingQueue.peekAircraft());
+    }
+
+    @Test
+    public void clearEmergencyWhileQueuedTest() {
+        landingQueue.addAircraft(freightAircraft1);
+        landingQueue.addAircraft(emergencyAircraft1);
+        landingQueue.addAircraft(freightAircraft2);
+        emergencyAircraft1.clearEmergency();
+
+        // emergencyAircraft1 is a passenger aircraft with half its fuel remaining
+        List<Aircraft> expected = new ArrayList<Aircraft>();
+        expected.add(emergencyAircraft1);
+        expected.add(freightAircraft1);
+        expected.add(freightAircraft2);
+
+        assertEquals("Incorrect Order", expected, landingQueue.getAircraftInOrder());
+    }
+
+    @Test
+    public void reprioritisedAircraftKeepsArrivalOrderTest() {
+        landingQueue.addAircraft(freightAircraft1);
+        landingQueue.addAircraft(emergencyAircraft2);
+        landingQueue.addAircraft(freightAircraft2);
+        freightAircraft1.declareEmergency();
+
+        List<Aircraft> expected = new ArrayList<Aircraft>();
+        expected.add(freightAircraft1);
+        expected.add(emergencyAircraft2);
+        expected.add(freightAircraft2);
+
+        assertEquals("Aircraft of the same priority should be in order of arrival",
+                expected, landingQueue.getAircraftInOrder());
+    }
+
+    @Test
+    public void removedAircraftNoLongerReprioritisedTest() {
+        landingQueue.addAircraft(freightAircraft1);
+        landingQueue.addAircraft(freightAircraft2);
+        assertEquals(freightAircraft1, landingQueue.removeAircraft());
+        freightAircraft1.declareEmergency();
+
+        assertFalse("Removed aircraft should not return to the queue",
+                landingQueue.containsAircraft(freightAircraft1));
+        assertEquals(freightAircraft2, landingQueue.peekAircraft());
+    }
+
+    @Test
+    public void reprioritiseFromManyThreadsTest() throws Exception {
+        List<Aircraft> queued = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            Aircraft aircraft = new FreightAircraft("PAR" + i,
+                    AircraftCharacteristics.BOEING_747_8F,
+                    new TaskList(List.of(new Task(TaskType.AWAY))),
+                    AircraftCharacteristics.BOEING_747_8F.fuelCapacity, 0);
+            queued.add(aircraft);
+            landingQueue.addAircraft(aircraft);
+        }
+        // listeners may be notified on the threads of a control tower's update pool
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            pool.submit(() -> queued.parallelStream().forEach(Aircraft::declareEmergency)).get();
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals("Every aircraft should keep its place in the order of arrival",
+                queued, landingQueue.getAircraftInOrder());
+    }
 }
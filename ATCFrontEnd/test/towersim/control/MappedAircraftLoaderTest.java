@@ -0,0 +1,377 @@
+package towersim.control;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.tasks.TaskList;
+import towersim.util.MalformedSaveException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class MappedAircraftLoaderTest {
+
+    private static final String QFA481 =
+            "QFA481:AIRBUS_A320:AWAY,AWAY,LAND,WAIT,WAIT,LOAD@60,TAKEOFF,AWAY:10000.00:false:132";
+
+    private static final String UPS119 =
+            "UPS119:BOEING_747_8F:WAIT,LOAD@50,TAKEOFF,AWAY,AWAY,AWAY,LAND:4000.00:true:0";
+
+    private static final String VH_VLP =
+            "VH-VLP:SIKORSKY_SKYCRANE:WAIT,LOAD@90,TAKEOFF,AWAY,AWAY,AWAY,LAND:332.80:false:0";
+
+    private Path file;
+
+    private ForkJoinPool pool;
+
+    @Before
+    public void setup() throws IOException {
+        file = Files.createTempFile("towersim", ".txt");
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        pool.shutdown();
+    }
+
+    /**
+     * Loads the given contents with both the mapped loader and loadAircraft(Reader), and checks
+     * that they load the same aircraft, or both reject the contents.
+     */
+    private List<Aircraft> assertSameAsReader(String contents, MappedAircraftLoader loader)
+            throws IOException {
+        Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+
+        List<Aircraft> expected;
+        try {
+            expected = ControlTowerInitialiser.loadAircraft(new StringReader(contents));
+        } catch (MalformedSaveException e) {
+            expected = null;
+        }
+        List<Aircraft> actual;
+        try {
+            actual = loader.load(file);
+        } catch (MalformedSaveException e) {
+            actual = null;
+        }
+
+        if (expected == null) {
+            assertNull("Mapped loader should reject: " + contents, actual);
+            return null;
+        }
+        assertNotNull("Mapped loader should accept: " + contents, actual);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Aircraft expectedAircraft = expected.get(i);
+            Aircraft actualAircraft = actual.get(i);
+            assertEquals(expectedAircraft.encode(), actualAircraft.encode());
+            assertEquals(Double.doubleToLongBits(expectedAircraft.getFuelAmount()),
+                    Double.doubleToLongBits(actualAircraft.getFuelAmount()));
+            assertSame(expectedAircraft.getClass(), actualAircraft.getClass());
+        }
+        return actual;
+    }
+
+    private List<Aircraft> assertSameAsReader(String contents) throws IOException {
+        MappedAircraftLoader deferring = new MappedAircraftLoader();
+        deferring.setDeferTaskLists(true);
+        assertSameAsReader(contents, deferring);
+        return assertSameAsReader(contents, new MappedAircraftLoader());
+    }
+
+    /**
+     * Checks that the deferred task list created from the given encoded tasks behaves the same as
+     * the task list read from them, while moving through several cycles of the list.
+     */
+    private static void assertDeferredSameAsRead(String encoded) throws MalformedSaveException {
+        TaskList expected = ControlTowerInitialiser.readTaskList(encoded);
+        TaskList deferred = TaskList.deferred(encoded.getBytes(StandardCharsets.UTF_8));
+        assertNotNull(encoded, deferred);
+        assertTrue(deferred.isDeferred());
+        TaskList copy = deferred.copy();
+
+        for (int step = 0; step < 4 * expected.size(); step++) {
+            assertEquals(expected.getCurrentTask(), deferred.getCurrentTask());
+            assertEquals(expected.getNextTask(), deferred.getNextTask());
+            assertEquals(expected.countTasksOfCurrentType(), deferred.countTasksOfCurrentType());
+            assertEquals(expected.getCurrentTaskIndex(), deferred.getCurrentTaskIndex());
+            assertEquals(expected.size(), deferred.size());
+            assertEquals(expected.toString(), deferred.toString());
+            // moves by one and by several tasks, so that runs are both left and skipped over
+            long numTasks = step % 3 == 2 ? step % 5 : 1;
+            expected.moveForward(numTasks);
+            if (numTasks == 1) {
+                deferred.moveToNextTask();
+            } else {
+                deferred.moveForward(numTasks);
+            }
+        }
+        assertEquals(expected.encode(), deferred.encode());
+        assertEquals(ControlTowerInitialiser.readTaskList(encoded).encode(), copy.encode());
+    }
+
+    private MappedAircraftLoader parallelLoader(int windowSize, int chunkSize) {
+        MappedAircraftLoader loader = new MappedAircraftLoader(windowSize);
+        loader.setParsePool(pool, chunkSize);
+        return loader;
+    }
+
+    private static String aircraftFile(String separator, String... lines) {
+        return lines.length + separator + String.join(separator, lines);
+    }
+
+    @Test
+    public void loadsBasicAircraftTest() throws IOException {
+        List<Aircraft> aircraft = assertSameAsReader(aircraftFile("\n", QFA481, UPS119, VH_VLP));
+        assertEquals(3, aircraft.size());
+        assertEquals("UPS119", aircraft.get(1).getCallsign());
+        assertTrue(aircraft.get(1).hasEmergency());
+    }
+
+    @Test
+    public void lineTerminatorsTest() throws IOException {
+        assertNotNull(assertSameAsReader(aircraftFile("\r\n", QFA481, UPS119, VH_VLP)));
+        assertNotNull(assertSameAsReader(aircraftFile("\r", QFA481, UPS119, VH_VLP)));
+        assertNotNull(assertSameAsReader(aircraftFile("\n", QFA481, UPS119) + "\n"));
+        assertNotNull(assertSameAsReader(aircraftFile("\r\n", QFA481, UPS119) + "\r\n"));
+        assertNotNull(assertSameAsReader(aircraftFile("\r", QFA481, UPS119) + "\r"));
+    }
+
+    @Test
+    public void aircraftCountTest() throws IOException {
+        assertSameAsReader("0");
+        assertSameAsReader("0\nnot an aircraft");
+        assertSameAsReader("-1");
+        assertSameAsReader("-1\n" + QFA481);
+        assertNull(assertSameAsReader(""));
+        assertNull(assertSameAsReader("\n"));
+        assertNull(assertSameAsReader("two\n" + QFA481 + "\n" + UPS119));
+        assertNull(assertSameAsReader("3\n" + QFA481 + "\n" + UPS119));
+        assertNull(assertSameAsReader("1\n" + QFA481 + "\n" + UPS119));
+        assertNull(assertSameAsReader("2\n" + QFA481 + "\n\n" + UPS119));
+    }
+
+    @Test
+    public void fieldsNotParsedInPlaceTest() throws IOException {
+        String[] fuelAmounts = {"1e3", ".5", "5.", "-0.0", "NaN", "+20", "0000332.80",
+            "332.80000000000000000000000001", "9007199254740993", "0.1", "  5"};
+        for (String fuel : fuelAmounts) {
+            assertSameAsReader(aircraftFile("\n",
+                    "VH-VLP:SIKORSKY_SKYCRANE:AWAY:" + fuel + ":false:0"));
+        }
+        String[] cargoAmounts = {"+5", "0005", "-0", "-5", "", "99999999999", "1 "};
+        for (String cargo : cargoAmounts) {
+            assertSameAsReader(aircraftFile("\n",
+                    "QFA481:AIRBUS_A320:AWAY:10000.00:false:" + cargo));
+        }
+        String[] loadPercents = {"+50", "050", "-1", "", "1234567890"};
+        for (String percent : loadPercents) {
+            assertSameAsReader(aircraftFile("\n", "QFA481:AIRBUS_A320:WAIT,LOAD@" + percent
+                    + ",TAKEOFF,AWAY,LAND:10.00:false:0"));
+        }
+    }
+
+    @Test
+    public void invalidAircraftTest() throws IOException {
+        String[] lines = {
+            "QFA481:AIRBUS_A320:AWAY:10000.00:false",
+            "QFA481:AIRBUS_A320:AWAY:10000.00:false:132:",
+            "QFA481:AIRBUS_A321:AWAY:10000.00:false:132",
+            "QFA481:AIRBUS_A320:AWAY:27200.01:false:132",
+            "QFA481:AIRBUS_A320:AWAY:10000.00:false:1000",
+            "QFA481:AIRBUS_A320:FLY:10000.00:false:132",
+            "QFA481:AIRBUS_A320:away:10000.00:false:132",
+            "QFA481:AIRBUS_A320:LOAD@5@6:10000.00:false:132",
+            "QFA481:AIRBUS_A320:AWAY,,AWAY:10000.00:false:132",
+            "QFA481:AIRBUS_A320::10000.00:false:132",
+            "QFA481:AIRBUS_A320:AWAY,TAKEOFF:10000.00:false:132",
+        };
+        for (String line : lines) {
+            assertNull(assertSameAsReader(aircraftFile("\n", line)));
+        }
+    }
+
+    @Test
+    public void unusualValidAircraftTest() throws IOException {
+        assertNotNull(assertSameAsReader(aircraftFile("\n",
+                "QFA481:AIRBUS_A320:AWAY,AWAY,,,:10000.00:false:132")));
+        assertNotNull(assertSameAsReader(aircraftFile("\n",
+                "QFA481:AIRBUS_A320:AWAY:10000.00:TRUE:132")));
+        assertNotNull(assertSameAsReader(aircraftFile("\n",
+                "QFA481:AIRBUS_A320:AWAY:10000:yes:0")));
+        List<Aircraft> aircraft = assertSameAsReader(aircraftFile("\n",
+                "\u00DCberflug:AIRBUS_A320:AWAY:0.005:true:132"));
+        assertEquals("\u00DCberflug", aircraft.get(0).getCallsign());
+    }
+
+    @Test
+    public void windowsTest() throws IOException {
+        String[] lines = new String[200];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = String.format("Q%05d:AIRBUS_A320:AWAY,LAND,WAIT,LOAD@%d,TAKEOFF"
+                    + ":%d.%02d:%s:%d",
+                    i, i % 101, i * 37 % 10000, i % 100, i % 7 == 0, i % 133);
+        }
+        String contents = aircraftFile("\r\n", lines);
+        for (int windowSize : new int[] {100, 101, 128, 1000, contents.length()}) {
+            List<Aircraft> aircraft = assertSameAsReader(contents,
+                    new MappedAircraftLoader(windowSize));
+            assertEquals(lines.length, aircraft.size());
+        }
+    }
+
+    @Test
+    public void parallelWindowsTest() throws IOException {
+        String[] lines = new String[500];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = String.format("P%05d:BOEING_747_8F:WAIT,LOAD@%d,TAKEOFF,AWAY,LAND"
+                    + ":%d.%d:%s:%d",
+                    i, i % 101, i * 53 % 10000, i % 10, i % 5 == 0, i * 71 % 137000);
+        }
+        String contents = aircraftFile("\n", lines);
+        for (int windowSize : new int[] {100, 4096, contents.length()}) {
+            for (int chunkSize : new int[] {1, 7, 64, lines.length}) {
+                List<Aircraft> aircraft = assertSameAsReader(contents,
+                        parallelLoader(windowSize, chunkSize));
+                assertEquals(lines.length, aircraft.size());
+            }
+        }
+    }
+
+    @Test
+    public void parallelInvalidAircraftTest() throws IOException {
+        String valid = aircraftFile("\n", QFA481, UPS119, VH_VLP, QFA481, UPS119, VH_VLP);
+        // invalidates each line in turn, whichever chunk it is parsed in
+        String[] lines = valid.split("\n");
+        for (int i = 1; i < lines.length; i++) {
+            String[] invalid = lines.clone();
+            invalid[i] = invalid[i].replace("AWAY", "FLY");
+            assertNull(assertSameAsReader(String.join("\n", invalid), parallelLoader(64, 2)));
+        }
+        assertSameAsReader("0\nnot an aircraft", parallelLoader(64, 2));
+        assertNull(assertSameAsReader("-1\n" + QFA481, parallelLoader(64, 2)));
+        assertNull(assertSameAsReader("2\n" + QFA481 + "\n" + UPS119 + "\n" + VH_VLP,
+                parallelLoader(128, 1)));
+        assertNull(assertSameAsReader("4\n" + QFA481 + "\n" + UPS119 + "\n" + VH_VLP,
+                parallelLoader(128, 1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidParseChunkSizeTest() {
+        new MappedAircraftLoader().setParsePool(pool, 0);
+    }
+
+    @Test
+    public void deferredTaskListsTest() throws MalformedSaveException {
+        String[] taskLists = {
+            "AWAY,AWAY,LAND,WAIT,WAIT,LOAD@60,TAKEOFF,AWAY",
+            "LOAD@100,TAKEOFF,AWAY,AWAY,AWAY,LAND,WAIT",
+            "TAKEOFF,AWAY,AWAY,AWAY,LAND,WAIT,LOAD@050",
+            "WAIT,LOAD,TAKEOFF,AWAY,LAND",
+            "AWAY,AWAY,AWAY,,,",
+            "AWAY",
+            "WAIT,WAIT",
+        };
+        for (String taskList : taskLists) {
+            assertDeferredSameAsRead(taskList);
+        }
+    }
+
+    @Test
+    public void deferredUntilTypeChangesTest() {
+        TaskList tasks = TaskList.deferred(
+                "AWAY,AWAY,AWAY,LAND,LOAD@20,TAKEOFF".getBytes(StandardCharsets.UTF_8));
+        assertEquals(3, tasks.countTasksOfCurrentType());
+        tasks.moveToNextTask();
+        assertEquals("AWAY,AWAY,LAND,LOAD@20,TAKEOFF,AWAY", tasks.encode());
+        assertTrue("Encoding should leave the tasks deferred", tasks.isDeferred());
+        assertEquals(2, tasks.countTasksOfCurrentType());
+        assertEquals("AWAY", tasks.getNextTask().encode());
+        tasks.moveForward(1);
+        assertTrue(tasks.isDeferred());
+        assertEquals("LAND", tasks.getNextTask().encode());
+        assertFalse(tasks.isDeferred());
+
+        // a deferred LOAD task is decoded as soon as it is needed, for its load percentage
+        TaskList loading = TaskList.deferred(
+                "LOAD@20,TAKEOFF,AWAY,LAND".getBytes(StandardCharsets.UTF_8));
+        assertEquals(20, loading.getCurrentTask().getLoadPercent());
+        assertFalse(loading.isDeferred());
+    }
+
+    @Test
+    public void unusualTaskListsNotDeferredTest() {
+        String[] taskLists = {"", ",", "AWAY,,AWAY", "AWAY@5", "LAND,LOAD@+5,TAKEOFF,AWAY",
+            "LAND,LOAD@,TAKEOFF,AWAY", "LAND,LOAD@1234567890,TAKEOFF,AWAY", "away", "FLY"};
+        for (String taskList : taskLists) {
+            assertNull(taskList, TaskList.deferred(taskList.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidDeferredTaskListTest() {
+        TaskList.deferred("AWAY,TAKEOFF".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void deferredAircraftBehaveSameTest() throws IOException, MalformedSaveException {
+        String contents = aircraftFile("\n", QFA481, UPS119, VH_VLP);
+        Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+        MappedAircraftLoader loader = new MappedAircraftLoader();
+        loader.setDeferTaskLists(true);
+        List<Aircraft> deferred = loader.load(file);
+        List<Aircraft> expected = ControlTowerInitialiser.loadAircraft(new StringReader(contents));
+        assertTrue(deferred.get(0).getTaskList().isDeferred());
+
+        for (int tick = 0; tick < 40; tick++) {
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).toString(), deferred.get(i).toString());
+                assertEquals(Double.doubleToLongBits(expected.get(i).getFuelAmount()),
+                        Double.doubleToLongBits(deferred.get(i).getFuelAmount()));
+                expected.get(i).tick();
+                deferred.get(i).tick();
+                expected.get(i).getTaskList().moveToNextTask();
+                deferred.get(i).getTaskList().moveToNextTask();
+            }
+        }
+    }
+
+    @Test
+    public void lineLongerThanWindowTest() throws IOException {
+        Files.write(file, aircraftFile("\n", QFA481, UPS119).getBytes(StandardCharsets.UTF_8));
+        try {
+            new MappedAircraftLoader(QFA481.length() - 1).load(file);
+            fail("Lines longer than the window should be rejected");
+        } catch (MalformedSaveException expected) {
+            // expected
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidWindowSizeTest() {
+        new MappedAircraftLoader(0);
+    }
+
+    @Test
+    public void reportsThroughputTest() throws IOException, MalformedSaveException {
+        String contents = aircraftFile("\n", QFA481, UPS119, VH_VLP);
+        Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+        MappedAircraftLoader loader = new MappedAircraftLoader();
+        loader.load(file);
+
+        assertEquals(contents.length(), loader.getBytesRead());
+        assertTrue(loader.getElapsedNanos() > 0);
+        assertEquals(loader.getBytesRead() * 1e9 / loader.getElapsedNanos(),
+                loader.getBytesPerSecond(), 1e-6);
+    }
+}
@@ -0,0 +1,83 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.RandomFleet;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.ground.Terminal;
+import towersim.util.NoSpaceException;
+import towersim.util.NoSuitableGateException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.StringJoiner;
+
+/**
+ * Generates control towers managing random fleets and describes their state, so that tests can
+ * check that two ways of simulating the same tower leave it in the same state.
+ */
+public final class RandomTowers {
+
+    private RandomTowers() {
+    }
+
+    /**
+     * Creates a control tower managing a fleet generated by {@link RandomFleet#create}, with
+     * fewer gates than aircraft so that some landings fail. Aircraft generated at a gate that
+     * could not be parked are not managed by the tower.
+     * <p>
+     * Towers created with the same seed and prefix are identical.
+     *
+     * @param seed           seed of the random aircraft generator
+     * @param callsignPrefix prefix of every generated callsign
+     * @param numAircraft    number of aircraft to generate
+     * @return generated control tower
+     * @throws NoSpaceException if a terminal could not hold its gates
+     */
+    public static ControlTower create(long seed, String callsignPrefix, int numAircraft)
+            throws NoSpaceException {
+        ControlTower tower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new HashMap<>());
+        int gateNumber = 1;
+        for (int i = 1; i <= 6; i++) {
+            Terminal terminal = i % 3 == 0 ? new HelicopterTerminal(i) : new AirplaneTerminal(i);
+            for (int j = 0; j < Terminal.MAX_NUM_GATES; j++) {
+                terminal.addGate(new Gate(gateNumber++));
+            }
+            tower.addTerminal(terminal);
+        }
+
+        for (Aircraft aircraft : RandomFleet.create(seed, callsignPrefix, numAircraft)) {
+            try {
+                tower.addAircraft(aircraft);
+            } catch (NoSuitableGateException e) {
+                // aircraft at a gate could not be parked, so is not managed by the tower
+            }
+        }
+        return tower;
+    }
+
+    /**
+     * Returns a description of the complete state of the given control tower.
+     *
+     * @param tower control tower to describe
+     * @return description of the tower
+     */
+    public static String describe(ControlTower tower) {
+        StringJoiner joiner = new StringJoiner(System.lineSeparator());
+        joiner.add(tower.toString());
+        joiner.add("Ticks: " + tower.getTicksElapsed());
+        joiner.add(tower.getLandingQueue().encode());
+        joiner.add(tower.getTakeoffQueue().encode());
+        tower.getLoadingAircraft().forEach((loading, ticks) ->
+                joiner.add(loading.getCallsign() + ":" + ticks));
+        for (Aircraft managed : tower.getAircraft()) {
+            joiner.add(RandomFleet.describe(managed));
+        }
+        for (Terminal terminal : tower.getTerminals()) {
+            joiner.add(terminal.encode());
+        }
+        return joiner.toString();
+    }
+}
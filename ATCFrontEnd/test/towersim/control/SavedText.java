@@ -0,0 +1,32 @@
+package towersim.control;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Encodes control towers in the text save format, so tests can compare towers by what would be
+ * saved for them.
+ */
+final class SavedText {
+
+    private SavedText() {
+    }
+
+    /**
+     * Returns the tick, aircraft, queues and terminals files that would be saved for the given
+     * tower, joined with "|".
+     *
+     * @param tower control tower to encode
+     * @return text save contents of the tower
+     * @throws IOException if the tower could not be written
+     */
+    static String encode(ControlTower tower) throws IOException {
+        StringWriter tick = new StringWriter();
+        StringWriter aircraft = new StringWriter();
+        StringWriter queues = new StringWriter();
+        StringWriter terminals = new StringWriter();
+        ControlTowerSaver.saveText(tower, tick, aircraft, queues, terminals);
+        return String.join("|", tick.toString(), aircraft.toString(), queues.toString(),
+                terminals.toString());
+    }
+}
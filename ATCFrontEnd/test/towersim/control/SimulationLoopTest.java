@@ -0,0 +1,243 @@
+package towersim.control;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Terminal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+
+public class SimulationLoopTest {
+
+    /** Longest time to wait for the simulation thread, in milliseconds */
+    private static final long TIMEOUT = 5000;
+
+    private ControlTower tower;
+
+    private SimulationLoop loop;
+
+    @Before
+    public void setup() {
+        tower = new ControlTower(0, new ArrayList<>(), new LandingQueue(), new TakeoffQueue(),
+                new HashMap<>());
+        loop = new SimulationLoop(tower, 0);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        loop.stop();
+    }
+
+    /**
+     * Takes snapshots until one matches the given condition, failing if none does in time.
+     */
+    private ControlTower awaitSnapshot(Predicate<ControlTower> condition)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (System.currentTimeMillis() < deadline) {
+            ControlTower snapshot = loop.takeSnapshot();
+            if (snapshot != null && condition.test(snapshot)) {
+                return snapshot;
+            }
+            Thread.sleep(1);
+        }
+        fail("No matching snapshot was published");
+        return null;
+    }
+
+    /**
+     * Returns the number of ticks elapsed of the control tower, read on the simulation thread.
+     */
+    private long ticksElapsed() throws Exception {
+        return loop.submit(ControlTower::getTicksElapsed).get(TIMEOUT, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void startPublishesSnapshotTest() throws InterruptedException {
+        loop.start();
+        ControlTower snapshot = awaitSnapshot(s -> true);
+        assertNotSame(tower, snapshot);
+        assertEquals(0, snapshot.getTicksElapsed());
+    }
+
+    @Test
+    public void pausedDoesNotTickTest() throws Exception {
+        loop.start();
+        assertEquals(0, ticksElapsed());
+        Thread.sleep(20);
+        assertEquals("A new loop should be paused", 0, ticksElapsed());
+    }
+
+    @Test
+    public void tickWhileUnpausedTest() throws Exception {
+        loop.start();
+        loop.setPaused(false);
+        ControlTower snapshot = awaitSnapshot(s -> s.getTicksElapsed() >= 100);
+        long seen = snapshot.getTicksElapsed();
+        awaitSnapshot(s -> s.getTicksElapsed() > seen + 10);
+        assertEquals("Snapshots should not change once published",
+                seen, snapshot.getTicksElapsed());
+
+        // commands are still run while ticking as fast as possible
+        assertTrue(ticksElapsed() > seen + 10);
+        loop.setPaused(true);
+        long paused = ticksElapsed();
+        Thread.sleep(20);
+        assertEquals(paused, ticksElapsed());
+    }
+
+    @Test
+    public void tickIntervalTest() throws Exception {
+        loop.setTickInterval(TimeUnit.HOURS.toNanos(1));
+        loop.start();
+        loop.setPaused(false);
+        Thread.sleep(20);
+        assertEquals("The first tick should wait for the interval", 0, ticksElapsed());
+
+        loop.setTickInterval(0);
+        awaitSnapshot(s -> s.getTicksElapsed() > 0);
+    }
+
+    @Test
+    public void snapshotIncludesCommandTest() throws Exception {
+        loop.start();
+        awaitSnapshot(s -> true);
+        Terminal terminal = new AirplaneTerminal(1);
+        loop.submit(t -> {
+            t.addTerminal(terminal);
+            return null;
+        });
+        ControlTower snapshot = awaitSnapshot(s -> s.getTerminals().size() == 1);
+        assertNotSame("Snapshots should hold copies of the terminals",
+                terminal, snapshot.getTerminals().get(0));
+    }
+
+    @Test
+    public void snapshotNotChangedByLaterCommandTest() throws Exception {
+        loop.start();
+        ControlTower snapshot = awaitSnapshot(s -> true);
+        loop.submit(t -> {
+            t.addTerminal(new AirplaneTerminal(1));
+            return null;
+        }).get(TIMEOUT, TimeUnit.MILLISECONDS);
+        assertEquals(0, snapshot.getTerminals().size());
+    }
+
+    @Test
+    public void noSnapshotsWhileUntakenTest() throws Exception {
+        loop.start();
+        loop.setPaused(false);
+        long ticked = ticksElapsed();
+        while (ticksElapsed() < ticked + 100) {
+            Thread.sleep(1);
+        }
+        assertEquals("Ticks should not be published until the first snapshot is taken",
+                0, loop.takeSnapshot().getTicksElapsed());
+        awaitSnapshot(s -> s.getTicksElapsed() > 0);
+    }
+
+    @Test
+    public void takingPublishesPendingChangesTest() throws Exception {
+        loop.start();
+        awaitSnapshot(s -> true);
+        for (int i = 1; i <= 2; i++) {
+            int number = i;
+            loop.submit(t -> {
+                t.addTerminal(new AirplaneTerminal(number));
+                return null;
+            }).get(TIMEOUT, TimeUnit.MILLISECONDS);
+        }
+        // the first terminal may have been published on its own, before the second was added;
+        // the loop is paused, so only taking that snapshot causes the next to be published
+        awaitSnapshot(s -> s.getTerminals().size() == 2);
+    }
+
+    @Test
+    public void submitResultTest() throws Exception {
+        CompletableFuture<String> early = loop.submit(t -> "early");
+        assertFalse("Commands should wait for the loop to start", early.isDone());
+        loop.start();
+        assertEquals("early", early.get(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertEquals(Integer.valueOf(4),
+                loop.submit(t -> 2 + 2).get(TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void submitFailureTest() throws Exception {
+        loop.start();
+        try {
+            loop.submit(t -> {
+                throw new IllegalStateException("failed");
+            }).get(TIMEOUT, TimeUnit.MILLISECONDS);
+            fail("The command's exception should complete the future");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        // the loop should keep running commands after one fails
+        assertEquals(0, ticksElapsed());
+    }
+
+    @Test
+    public void tickFailurePausesLoopTest() throws Exception {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        CountDownLatch tickStarted = new CountDownLatch(1);
+        CountDownLatch commandSubmitted = new CountDownLatch(1);
+        ControlTower failingTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new HashMap<>()) {
+            @Override
+            public void tick() {
+                if (failing.get()) {
+                    tickStarted.countDown();
+                    try {
+                        commandSubmitted.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new UncheckedIOException(new IOException("disk full"));
+                }
+                super.tick();
+            }
+        };
+        loop = new SimulationLoop(failingTower, 0);
+        CompletableFuture<RuntimeException> reported = new CompletableFuture<>();
+        loop.setTickFailureHandler(reported::complete);
+        loop.start();
+        loop.setPaused(false);
+
+        assertTrue(tickStarted.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        CompletableFuture<Integer> waiting = loop.submit(t -> 1);
+        commandSubmitted.countDown();
+        assertTrue(reported.get(TIMEOUT, TimeUnit.MILLISECONDS) instanceof UncheckedIOException);
+        try {
+            waiting.get(TIMEOUT, TimeUnit.MILLISECONDS);
+            fail("A command waiting during a failed tick should complete exceptionally");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertSame(reported.get(), e.getCause().getCause());
+        }
+
+        // the loop pauses itself, but still runs commands
+        failing.set(false);
+        Thread.sleep(20);
+        assertEquals(0, ticksElapsed());
+        loop.setPaused(false);
+        awaitSnapshot(s -> s.getTicksElapsed() > 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeTickIntervalTest() {
+        loop.setTickInterval(-1);
+    }
+}
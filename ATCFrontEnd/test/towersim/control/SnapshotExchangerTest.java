@@ -0,0 +1,73 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SnapshotExchangerTest {
+
+    private SnapshotExchanger<Integer> exchanger;
+
+    @Before
+    public void setup() {
+        exchanger = new SnapshotExchanger<>();
+    }
+
+    @Test
+    public void takeEmptyTest() {
+        assertNull(exchanger.take());
+    }
+
+    @Test
+    public void takeOnceTest() {
+        exchanger.publish(1);
+        assertEquals(Integer.valueOf(1), exchanger.take());
+        assertNull("A snapshot should only be taken once", exchanger.take());
+    }
+
+    @Test
+    public void newestReplacesUntakenTest() {
+        exchanger.publish(1);
+        exchanger.publish(2);
+        exchanger.publish(3);
+        assertEquals(Integer.valueOf(3), exchanger.take());
+        assertNull(exchanger.take());
+    }
+
+    @Test
+    public void isEmptyTest() {
+        assertTrue(exchanger.isEmpty());
+        exchanger.publish(1);
+        assertFalse(exchanger.isEmpty());
+        exchanger.take();
+        assertTrue(exchanger.isEmpty());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void publishNullTest() {
+        exchanger.publish(null);
+    }
+
+    @Test
+    public void concurrentTakesSeeNewerSnapshotsTest() throws InterruptedException {
+        final int numSnapshots = 200_000;
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < numSnapshots; i++) {
+                exchanger.publish(i);
+            }
+        });
+        writer.start();
+
+        int last = -1;
+        while (last < numSnapshots - 1) {
+            Integer taken = exchanger.take();
+            if (taken != null) {
+                assertTrue("Snapshots should be taken in the order published", taken > last);
+                last = taken;
+            }
+        }
+        writer.join();
+        assertNull(exchanger.take());
+    }
+}
@@ -0,0 +1,162 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TakeoffQueueTest {
+
+    private TakeoffQueue takeoffQueue;
+
+    private Aircraft passengerAircraft;
+    private Aircraft freightAircraft;
+    private Aircraft helicopter;
+
+    /**
+     * Creates a new aircraft with the given callsign, waiting to take off.
+     */
+    private static Aircraft createAircraft(String callsign) {
+        TaskList taskList = new TaskList(List.of(new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY), new Task(TaskType.LAND), new Task(TaskType.LOAD)));
+        return new PassengerAircraft(callsign, AircraftCharacteristics.AIRBUS_A320, taskList,
+                AircraftCharacteristics.AIRBUS_A320.fuelCapacity / 2,
+                AircraftCharacteristics.AIRBUS_A320.passengerCapacity / 2);
+    }
+
+    @Before
+    public void setup() {
+        takeoffQueue = new TakeoffQueue();
+
+        TaskList taskList = new TaskList(List.of(new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY), new Task(TaskType.LAND), new Task(TaskType.LOAD)));
+        passengerAircraft = new PassengerAircraft("ABC101", AircraftCharacteristics.BOEING_787,
+                taskList, AircraftCharacteristics.BOEING_787.fuelCapacity / 2,
+                AircraftCharacteristics.BOEING_787.passengerCapacity / 2);
+        freightAircraft = new FreightAircraft("DEF102", AircraftCharacteristics.BOEING_747_8F,
+                taskList, AircraftCharacteristics.BOEING_747_8F.fuelCapacity / 2,
+                AircraftCharacteristics.BOEING_747_8F.freightCapacity / 2);
+        helicopter = new PassengerAircraft("GHI103", AircraftCharacteristics.ROBINSON_R44,
+                taskList, AircraftCharacteristics.ROBINSON_R44.fuelCapacity / 2,
+                AircraftCharacteristics.ROBINSON_R44.passengerCapacity / 2);
+    }
+
+    @Test
+    public void emptyQueueTest() {
+        assertNull(takeoffQueue.peekAircraft());
+        assertNull(takeoffQueue.removeAircraft());
+        assertEquals(List.of(), takeoffQueue.getAircraftInOrder());
+        assertFalse(takeoffQueue.containsAircraft(passengerAircraft));
+    }
+
+    @Test
+    public void firstInFirstOutTest() {
+        takeoffQueue.addAircraft(freightAircraft);
+        takeoffQueue.addAircraft(passengerAircraft);
+        takeoffQueue.addAircraft(helicopter);
+        assertEquals(List.of(freightAircraft, passengerAircraft, helicopter),
+                takeoffQueue.getAircraftInOrder());
+
+        assertSame(freightAircraft, takeoffQueue.peekAircraft());
+        assertSame(freightAircraft, takeoffQueue.removeAircraft());
+        assertSame(passengerAircraft, takeoffQueue.removeAircraft());
+        assertSame(helicopter, takeoffQueue.removeAircraft());
+        assertNull(takeoffQueue.removeAircraft());
+    }
+
+    @Test
+    public void addDuplicateTest() {
+        takeoffQueue.addAircraft(passengerAircraft);
+        takeoffQueue.addAircraft(freightAircraft);
+        takeoffQueue.addAircraft(passengerAircraft);
+        assertEquals("Adding a queued aircraft again should not change the queue",
+                List.of(passengerAircraft, freightAircraft), takeoffQueue.getAircraftInOrder());
+
+        takeoffQueue.removeAircraft();
+        assertFalse(takeoffQueue.containsAircraft(passengerAircraft));
+        assertEquals(List.of(freightAircraft), takeoffQueue.getAircraftInOrder());
+    }
+
+    @Test
+    public void containsTest() {
+        takeoffQueue.addAircraft(passengerAircraft);
+        assertTrue(takeoffQueue.containsAircraft(passengerAircraft));
+        assertFalse(takeoffQueue.containsAircraft(freightAircraft));
+
+        takeoffQueue.removeAircraft();
+        assertFalse(takeoffQueue.containsAircraft(passengerAircraft));
+    }
+
+    @Test
+    public void containsComparesByEqualsTest() {
+        Aircraft queued = createAircraft("SAM001");
+        takeoffQueue.addAircraft(queued);
+        takeoffQueue.addAircraft(passengerAircraft);
+        assertTrue(takeoffQueue.containsAircraft(queued));
+        assertTrue("An equal aircraft should be found in the queue",
+                takeoffQueue.containsAircraft(createAircraft("SAM001")));
+
+        assertTrue(takeoffQueue.removeAircraft(createAircraft("SAM001")));
+        assertFalse(takeoffQueue.containsAircraft(queued));
+        assertEquals(List.of(passengerAircraft), takeoffQueue.getAircraftInOrder());
+    }
+
+    @Test
+    public void containsLongQueueTest() {
+        List<Aircraft> aircraft = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            aircraft.add(createAircraft("LNG" + i));
+            takeoffQueue.addAircraft(aircraft.get(i));
+        }
+        // each lookup is a hash set lookup, so checking every aircraft takes linear time
+        for (Aircraft queued : aircraft) {
+            assertTrue(takeoffQueue.containsAircraft(queued));
+        }
+        assertFalse(takeoffQueue.containsAircraft(passengerAircraft));
+    }
+
+    @Test
+    public void removeFromMiddleTest() {
+        takeoffQueue.addAircraft(freightAircraft);
+        takeoffQueue.addAircraft(passengerAircraft);
+        takeoffQueue.addAircraft(helicopter);
+
+        assertTrue(takeoffQueue.removeAircraft(passengerAircraft));
+        assertFalse(takeoffQueue.containsAircraft(passengerAircraft));
+        assertEquals(List.of(freightAircraft, helicopter), takeoffQueue.getAircraftInOrder());
+        assertFalse("Removing an aircraft twice should do nothing",
+                takeoffQueue.removeAircraft(passengerAircraft));
+
+        takeoffQueue.addAircraft(passengerAircraft);
+        assertEquals("A removed aircraft should rejoin at the back",
+                List.of(freightAircraft, helicopter, passengerAircraft),
+                takeoffQueue.getAircraftInOrder());
+    }
+
+    @Test
+    public void removeLastAndOnlyTest() {
+        takeoffQueue.addAircraft(freightAircraft);
+        takeoffQueue.addAircraft(helicopter);
+        assertTrue(takeoffQueue.removeAircraft(helicopter));
+        assertEquals(List.of(freightAircraft), takeoffQueue.getAircraftInOrder());
+        assertTrue(takeoffQueue.removeAircraft(freightAircraft));
+        assertNull(takeoffQueue.peekAircraft());
+    }
+
+    @Test
+    public void removeNotQueuedTest() {
+        takeoffQueue.addAircraft(freightAircraft);
+        assertFalse(takeoffQueue.removeAircraft(helicopter));
+        assertEquals(List.of(freightAircraft), takeoffQueue.getAircraftInOrder());
+    }
+}
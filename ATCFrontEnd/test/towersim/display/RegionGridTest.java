@@ -0,0 +1,101 @@
+package towersim.display;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RegionGridTest {
+
+    private RegionGrid<String> grid;
+
+    @Before
+    public void setup() {
+        grid = new RegionGrid<>(10);
+    }
+
+    @Test
+    public void emptyGridTest() {
+        assertEquals(List.of(), grid.candidatesAt(5, 5));
+        assertEquals(List.of(), grid.candidatesAt(-1000, 1e6));
+    }
+
+    @Test
+    public void candidatesInCoveredCellsTest() {
+        grid.add("a", 5, 5, 10, 10); // covers cells (0, 0) to (1, 1)
+        grid.add("b", 12, 2, 3, 3); // covers cell (1, 0) only
+
+        assertEquals(List.of("a"), grid.candidatesAt(1, 1));
+        assertEquals(List.of("a", "b"), grid.candidatesAt(14, 3));
+        assertEquals(List.of("a"), grid.candidatesAt(19.9, 19.9));
+        assertEquals(List.of(), grid.candidatesAt(20, 5));
+        assertEquals(List.of(), grid.candidatesAt(5, -0.1));
+    }
+
+    @Test
+    public void regionEdgeOnCellBoundaryTest() {
+        grid.add("a", 0, 0, 10, 10);
+        // a point on the far edge of the region lies in the next cell along
+        assertEquals(List.of("a"), grid.candidatesAt(10, 10));
+    }
+
+    @Test
+    public void negativeCoordinatesTest() {
+        grid.add("a", -25, -5, 10, 3);
+        assertEquals(List.of("a"), grid.candidatesAt(-24, -4));
+        assertEquals(List.of("a"), grid.candidatesAt(-15, -2));
+        assertEquals(List.of(), grid.candidatesAt(-5, -2));
+        assertEquals(List.of(), grid.candidatesAt(-24, 4));
+    }
+
+    @Test
+    public void removeTest() {
+        String first = new String("a");
+        String second = new String("a");
+        grid.add(first, 0, 0, 15, 5);
+        grid.add(second, 0, 0, 5, 5);
+
+        grid.remove(first, 0, 0, 15, 5);
+        List<String> candidates = grid.candidatesAt(1, 1);
+        assertEquals(1, candidates.size());
+        assertSame("Items should be removed by identity", second, candidates.get(0));
+        assertEquals(List.of(), grid.candidatesAt(12, 1));
+
+        grid.remove(second, 0, 0, 5, 5);
+        assertEquals(List.of(), grid.candidatesAt(1, 1));
+    }
+
+    @Test
+    public void removeMissingItemTest() {
+        grid.add("a", 0, 0, 5, 5);
+        grid.remove("b", 0, 0, 5, 5);
+        grid.remove("a", 100, 100, 5, 5);
+        assertEquals(List.of("a"), grid.candidatesAt(1, 1));
+    }
+
+    @Test
+    public void clearTest() {
+        grid.add("a", 0, 0, 5, 5);
+        grid.add("b", 50, 50, 5, 5);
+        grid.clear();
+        assertEquals(List.of(), grid.candidatesAt(1, 1));
+        assertEquals(List.of(), grid.candidatesAt(51, 51));
+    }
+
+    @Test
+    public void manyRegionsTest() {
+        for (int i = 0; i < 10000; ++i) {
+            grid.add("r" + i, (i % 100) * 10, (i / 100) * 10, 9, 9);
+        }
+        assertEquals(List.of("r0"), grid.candidatesAt(4, 4));
+        assertEquals(List.of("r9999"), grid.candidatesAt(995, 995));
+        assertEquals(List.of("r5050"), grid.candidatesAt(505, 505));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveCellSizeTest() {
+        new RegionGrid<String>(0);
+    }
+}
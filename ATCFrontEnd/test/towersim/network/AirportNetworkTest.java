@@ -0,0 +1,199 @@
+package towersim.network;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.PassengerAircraft;
+import towersim.control.ControlTower;
+import towersim.control.LandingQueue;
+import towersim.control.RandomTowers;
+import towersim.control.TakeoffQueue;
+import towersim.control.TickMode;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.NoSpaceException;
+import towersim.util.NoSuitableGateException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.junit.Assert.*;
+
+public class AirportNetworkTest {
+
+    /** Sends every aircraft to the next tower in the network */
+    private static final Router NEXT_TOWER = (source, aircraft) -> source + 1;
+
+    private ControlTower tower1;
+    private ControlTower tower2;
+    private Aircraft airplane;
+
+    @Before
+    public void setup() throws NoSpaceException {
+        tower1 = createEmptyTower();
+        tower2 = createEmptyTower();
+        airplane = new PassengerAircraft("ABC001", AircraftCharacteristics.AIRBUS_A320,
+                new TaskList(List.of(new Task(TaskType.AWAY), new Task(TaskType.LAND),
+                        new Task(TaskType.WAIT), new Task(TaskType.LOAD),
+                        new Task(TaskType.TAKEOFF))),
+                AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 0);
+    }
+
+    private static ControlTower createEmptyTower() throws NoSpaceException {
+        ControlTower emptyTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new HashMap<>());
+        Terminal terminal = new AirplaneTerminal(1);
+        terminal.addGate(new Gate(1));
+        emptyTower.addTerminal(terminal);
+        return emptyTower;
+    }
+
+    @Test
+    public void handoffTest() throws NoSuitableGateException, InterruptedException {
+        tower1.addAircraft(airplane);
+        AirportNetwork network = new AirportNetwork(List.of(tower1, tower2),
+                (source, aircraft) -> 1);
+
+        network.run(1, 1);
+
+        assertEquals(List.of(), tower1.getAircraft());
+        assertTrue(tower1.getLandingQueue().getAircraftInOrder().isEmpty());
+        assertEquals(List.of(airplane), tower2.getAircraft());
+        assertEquals(List.of(airplane), tower2.getLandingQueue().getAircraftInOrder());
+        assertEquals(1, network.getHandoffCount());
+        assertEquals(1, network.getTicksRun());
+    }
+
+    @Test
+    public void routedToSourceTowerTest() throws NoSuitableGateException, InterruptedException {
+        tower1.addAircraft(airplane);
+        AirportNetwork network = new AirportNetwork(List.of(tower1, tower2),
+                (source, aircraft) -> source);
+
+        network.run(1, 2);
+
+        assertEquals(List.of(airplane), tower1.getLandingQueue().getAircraftInOrder());
+        assertEquals(List.of(), tower2.getAircraft());
+        assertEquals(0, network.getHandoffCount());
+    }
+
+    @Test
+    public void handedOffAircraftLandsAtDestinationTest()
+            throws NoSuitableGateException, InterruptedException {
+        tower1.addAircraft(airplane);
+        AirportNetwork network = new AirportNetwork(List.of(tower1, tower2),
+                (source, aircraft) -> 1);
+
+        // aircraft only land every second tick
+        network.run(3, 2);
+
+        assertTrue(tower2.getLandingQueue().getAircraftInOrder().isEmpty());
+        assertEquals(airplane, tower2.findGateOfAircraft(airplane).getAircraftAtGate());
+        assertNull(tower1.findGateOfAircraft(airplane));
+    }
+
+    @Test
+    public void aircraftLandedInSameLegacyTickStaysTest()
+            throws NoSuitableGateException, InterruptedException {
+        tower1.setTickMode(TickMode.LEGACY);
+        tower1.addAircraft(airplane);
+        // a legacy tick runs every phase once per aircraft, so the airplane arrives while the
+        // first aircraft is processed and lands while the third is
+        for (int i = 0; i < 2; i++) {
+            tower1.addAircraft(new PassengerAircraft("AWY00" + i,
+                    AircraftCharacteristics.AIRBUS_A320,
+                    new TaskList(List.of(new Task(TaskType.AWAY), new Task(TaskType.AWAY),
+                            new Task(TaskType.AWAY), new Task(TaskType.LAND),
+                            new Task(TaskType.WAIT), new Task(TaskType.LOAD),
+                            new Task(TaskType.TAKEOFF))),
+                    AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 0));
+        }
+        AirportNetwork network = new AirportNetwork(List.of(tower1, tower2),
+                (source, aircraft) -> 1);
+
+        network.run(1, 1);
+
+        assertEquals(airplane, tower1.findGateOfAircraft(airplane).getAircraftAtGate());
+        assertEquals(3, tower1.getAircraft().size());
+        assertEquals(List.of(), tower2.getAircraft());
+        assertEquals(0, network.getHandoffCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void invalidDestinationTest() throws NoSuitableGateException, InterruptedException {
+        tower1.addAircraft(airplane);
+        AirportNetwork network = new AirportNetwork(List.of(tower1, tower2),
+                (source, aircraft) -> 2);
+        network.run(1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidNumberOfThreadsTest() throws InterruptedException {
+        new AirportNetwork(List.of(tower1, tower2), NEXT_TOWER).run(1, 0);
+    }
+
+    /**
+     * Creates a network of randomly generated towers that sends aircraft to a tower chosen by
+     * their callsign.
+     */
+    private static AirportNetwork createRandomNetwork() throws NoSpaceException {
+        List<ControlTower> towers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            towers.add(RandomTowers.create(i, "T" + i + "X", 40));
+        }
+        return new AirportNetwork(towers, (source, aircraft) ->
+                Math.floorMod(aircraft.getCallsign().hashCode() + source, 5));
+    }
+
+    /**
+     * Returns a description of the state of every control tower in the given network.
+     */
+    private static String describe(AirportNetwork network) {
+        StringJoiner joiner = new StringJoiner(System.lineSeparator());
+        for (ControlTower describedTower : network.getTowers()) {
+            joiner.add(RandomTowers.describe(describedTower));
+        }
+        return joiner.toString();
+    }
+
+    private static int countAircraft(AirportNetwork network) {
+        int count = 0;
+        for (ControlTower networkTower : network.getTowers()) {
+            count += networkTower.getAircraft().size();
+        }
+        return count;
+    }
+
+    @Test
+    public void sameResultWithAnyNumberOfThreadsTest()
+            throws NoSpaceException, InterruptedException {
+        AirportNetwork serial = createRandomNetwork();
+        AirportNetwork parallel = createRandomNetwork();
+
+        serial.run(300, 1);
+        parallel.run(200, 3);
+        parallel.run(100, 4);
+
+        assertTrue(serial.getHandoffCount() > 0);
+        assertEquals(serial.getHandoffCount(), parallel.getHandoffCount());
+        assertEquals(describe(serial), describe(parallel));
+    }
+
+    @Test
+    public void aircraftConservedTest() throws NoSpaceException, InterruptedException {
+        AirportNetwork network = createRandomNetwork();
+        int numAircraft = countAircraft(network);
+
+        for (int i = 0; i < 10; i++) {
+            network.run(37, 2);
+            assertEquals(numAircraft, countAircraft(network));
+        }
+    }
+}
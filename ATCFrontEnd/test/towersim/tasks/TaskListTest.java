@@ -0,0 +1,100 @@
+package towersim.tasks;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TaskListTest {
+
+    /**
+     * Checks that the given task list cycles through exactly the given tasks, starting from the
+     * first, for several cycles.
+     */
+    private static void assertCyclesThrough(List<Task> tasks, TaskList taskList) {
+        assertEquals(tasks.size(), taskList.size());
+        for (int step = 0; step < 3 * tasks.size(); step++) {
+            int index = step % tasks.size();
+            Task current = tasks.get(index);
+            assertEquals(index, taskList.getCurrentTaskIndex());
+            assertEquals(current, taskList.getCurrentTask());
+            assertEquals(current.getLoadPercent(), taskList.getCurrentTask().getLoadPercent());
+            assertEquals(tasks.get((index + 1) % tasks.size()), taskList.getNextTask());
+            assertEquals(current + " [" + (index + 1) + "/" + tasks.size() + "]",
+                    taskList.toString().substring("TaskList currently on ".length()));
+            taskList.moveToNextTask();
+        }
+    }
+
+    @Test
+    public void sharedTasksTest() {
+        assertSame(Task.of(TaskType.AWAY), Task.of(TaskType.AWAY));
+        assertSame(Task.of(TaskType.LOAD), Task.of(TaskType.LOAD, 0));
+        assertSame(Task.of(TaskType.LOAD, 60), Task.of(TaskType.LOAD, 60));
+        assertSame(Task.of(TaskType.LOAD, 100), Task.of(TaskType.LOAD, 100));
+        assertEquals(new Task(TaskType.LOAD, 60), Task.of(TaskType.LOAD, 60));
+        assertEquals(60, Task.of(TaskType.LOAD, 60).getLoadPercent());
+        assertEquals(TaskType.TAKEOFF, Task.of(TaskType.TAKEOFF).getType());
+
+        // tasks that are not shared are still created as requested
+        assertEquals(150, Task.of(TaskType.LOAD, 150).getLoadPercent());
+        assertEquals(5, Task.of(TaskType.AWAY, 5).getLoadPercent());
+        assertEquals(TaskType.AWAY, Task.of(TaskType.AWAY, 5).getType());
+    }
+
+    @Test
+    public void compactTaskListTest() {
+        List<Task> tasks = List.of(new Task(TaskType.AWAY), new Task(TaskType.AWAY),
+                new Task(TaskType.LAND), new Task(TaskType.WAIT), new Task(TaskType.LOAD, 100),
+                new Task(TaskType.TAKEOFF));
+        TaskList taskList = new TaskList(tasks);
+        assertCyclesThrough(tasks, taskList);
+        assertEquals("AWAY,AWAY,LAND,WAIT,LOAD@100,TAKEOFF", taskList.encode());
+        assertEquals(2, taskList.countTasksOfCurrentType());
+
+        // tasks are shared between task lists rather than copied into each
+        TaskList other = new TaskList(List.of(new Task(TaskType.AWAY), new Task(TaskType.LAND),
+                new Task(TaskType.LOAD, 100), new Task(TaskType.TAKEOFF)));
+        other.moveForward(2);
+        taskList.moveForward(4);
+        assertSame(taskList.getCurrentTask(), other.getCurrentTask());
+    }
+
+    @Test
+    public void unsharedTasksTest() {
+        List<Task> tasks = List.of(new Task(TaskType.AWAY, 5), new Task(TaskType.LAND),
+                new Task(TaskType.LOAD, 150), new Task(TaskType.TAKEOFF));
+        TaskList taskList = new TaskList(tasks);
+        assertCyclesThrough(tasks, taskList);
+        assertEquals("AWAY,LAND,LOAD@150,TAKEOFF", taskList.encode());
+    }
+
+    @Test
+    public void encodeFromCurrentTaskTest() {
+        TaskList taskList = new TaskList(List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.LAND), new Task(TaskType.LOAD, 150), new Task(TaskType.TAKEOFF)));
+        taskList.moveForward(2);
+        assertEquals("LOAD@150,TAKEOFF,AWAY,LAND", taskList.encode());
+        assertEquals("Encoding should not move the current task",
+                2, taskList.getCurrentTaskIndex());
+        assertEquals(TaskType.LOAD, taskList.getCurrentTask().getType());
+    }
+
+    @Test
+    public void copyMovesIndependentlyTest() {
+        List<Task> tasks = List.of(new Task(TaskType.WAIT), new Task(TaskType.LOAD, 20),
+                new Task(TaskType.TAKEOFF), new Task(TaskType.AWAY), new Task(TaskType.LAND));
+        TaskList taskList = new TaskList(tasks);
+        taskList.moveToNextTask();
+        TaskList copy = taskList.copy();
+        taskList.moveToNextTask();
+        assertEquals(tasks.get(1), copy.getCurrentTask());
+        assertEquals(tasks.get(2), taskList.getCurrentTask());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidTaskListTest() {
+        new TaskList(List.of(new Task(TaskType.LOAD, 20), new Task(TaskType.LAND)));
+    }
+}